@@ -33,12 +33,16 @@ dependencies {
     testRuntimeOnly("org.slf4j:slf4j-simple:2.0.9")
 }
 
+// VectorPackingKernels compiles against jdk.incubator.vector; -Xlint:-incubating keeps the build warning-free.
+// At runtime the kernels are loaded only if the application adds the module, otherwise scalar kernels are used.
+// Tests always add it, so they exercise the Vector API kernels.
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector", "-Xlint:-incubating"))
 }
 
 tasks.withType<Test> {
-    jvmArgs("--enable-native-access=ALL-UNNAMED")
+    jvmArgs("--enable-native-access=ALL-UNNAMED", "--add-modules", "jdk.incubator.vector")
     useJUnitPlatform()
 }
 
@@ -47,6 +51,7 @@ tasks.withType<Javadoc> {
         options {
             this as StandardJavadocDocletOptions
             addStringOption("-source", "24")
+            addStringOption("-add-modules", "jdk.incubator.vector")
             addBooleanOption("html5", true)
         }
     }
@@ -230,6 +235,12 @@ tasks.register("copyAllNativeLibraries") {
                     into(targetDir)
                     include("*.dylib", "*.so", "*.dll")
                 }
+                // Hashes let WgpuNative reuse its extraction cache without hashing the library on every start.
+                targetDir.listFiles { f: File -> f.name.endsWith(".dylib") || f.name.endsWith(".so") || f.name.endsWith(".dll") }
+                    ?.forEach { library ->
+                        val digest = java.security.MessageDigest.getInstance("SHA-256").digest(library.readBytes())
+                        file("${library.path}.sha256").writeText(digest.joinToString("") { "%02x".format(it) } + "\n")
+                    }
                 println("Copied $platform libraries to $targetDir")
             } else {
                 println("Warning: No libraries found for $platform at $libDir")
@@ -0,0 +1,246 @@
+package org.wgpu4j;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Extracts native libraries from the JAR into a per-user cache, once per library version.
+ * <p>
+ * A library is stored at {@code <root>/<platform>/<sha256>/<name>}, where the hash is read from the
+ * {@code <name>.sha256} resource written by the build, or computed from the library resource when that is
+ * missing. A later start whose cached file still has the expected hash loads it without extracting anything.
+ * <p>
+ * Extraction happens under an exclusive file lock on the platform directory, so of many JVMs starting at
+ * once only one writes the file and the others reuse it. The library is written to a temporary file in the
+ * same directory, verified, and atomically renamed into place, so no process ever loads a partial file and
+ * a crash leaves at most an orphaned temporary file that the next extraction removes.
+ */
+final class NativeLibraryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeLibraryCache.class);
+
+    private static final String TEMP_PREFIX = ".extract-";
+
+    /**
+     * Serializes extraction within this JVM. File locks are held per process, so two threads would
+     * otherwise fail with an OverlappingFileLockException instead of waiting for each other.
+     */
+    private static final Object PROCESS_LOCK = new Object();
+
+    /**
+     * Thrown when a library resource does not match its hash, or its hash resource is malformed. Unlike an
+     * {@link IOException}, this must not be handled by loading the library some other way.
+     */
+    static final class IntegrityException extends WgpuException {
+        IntegrityException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Opens a resource of the JAR, returning null when it does not exist.
+     */
+    @FunctionalInterface
+    interface ResourceOpener {
+        InputStream open(String path) throws IOException;
+    }
+
+    private final Path root;
+    private final ResourceOpener resources;
+    private final boolean verifyCached;
+
+    /**
+     * @param root         The cache directory
+     * @param resources    Opens the library resources
+     * @param verifyCached Whether a cached library is hashed again before it is reused
+     */
+    NativeLibraryCache(Path root, ResourceOpener resources, boolean verifyCached) {
+        this.root = root;
+        this.resources = resources;
+        this.verifyCached = verifyCached;
+    }
+
+    /**
+     * Gets the default cache directory: the {@code wgpu4j.cache.dir} system property if set, otherwise
+     * {@code wgpu4j/native} in the platform's per-user cache directory.
+     */
+    static Path defaultRoot() {
+        String configured = System.getProperty("wgpu4j.cache.dir");
+        if (configured != null) {
+            return Path.of(configured, "native");
+        }
+
+        String os = System.getProperty("os.name").toLowerCase();
+        String home = System.getProperty("user.home");
+        Path base;
+        if (os.contains("windows") && System.getenv("LOCALAPPDATA") != null) {
+            base = Path.of(System.getenv("LOCALAPPDATA"));
+        } else if (os.contains("mac")) {
+            base = Path.of(home, "Library", "Caches");
+        } else if (System.getenv("XDG_CACHE_HOME") != null) {
+            base = Path.of(System.getenv("XDG_CACHE_HOME"));
+        } else {
+            base = Path.of(home, ".cache");
+        }
+        return base.resolve("wgpu4j").resolve("native");
+    }
+
+    /**
+     * Gets the cached copy of a library, extracting it first if needed.
+     *
+     * @param platform    The platform directory of the resource, such as {@code linux-x86_64}
+     * @param libraryName The library file name
+     * @return The verified library file, or null if the JAR does not contain the library
+     * @throws IOException        if the cache cannot be written
+     * @throws IntegrityException if the library does not match its hash
+     */
+    Path resolve(String platform, String libraryName) throws IOException {
+        String resourcePath = "/native/" + platform + "/" + libraryName;
+        String expectedHash = readExpectedHash(resourcePath + ".sha256");
+        if (expectedHash == null) {
+            expectedHash = hashResource(resourcePath);
+            if (expectedHash == null) {
+                return null;
+            }
+        }
+
+        Path platformDir = root.resolve(platform);
+        Path target = platformDir.resolve(expectedHash).resolve(libraryName);
+        if (isValid(target, expectedHash)) {
+            logger.debug("Reusing cached native library: {}", target);
+            return target;
+        }
+
+        Files.createDirectories(platformDir);
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel lockChannel = FileChannel.open(platformDir.resolve(".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+
+                // Another process may have extracted it while we waited for the lock.
+                if (isValid(target, expectedHash)) {
+                    logger.debug("Native library extracted by another process: {}", target);
+                    return target;
+                }
+                deleteStaleTemporaryFiles(platformDir);
+                extract(resourcePath, expectedHash, platformDir, target);
+                return target;
+            }
+        }
+    }
+
+    private void extract(String resourcePath, String expectedHash, Path platformDir, Path target) throws IOException {
+        Path temp = Files.createTempFile(platformDir, TEMP_PREFIX, ".tmp");
+        try {
+            String actualHash;
+            try (InputStream in = resources.open(resourcePath)) {
+                if (in == null) {
+                    throw new IOException("Native library resource disappeared: " + resourcePath);
+                }
+                DigestInputStream digestIn = new DigestInputStream(in, sha256());
+                try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    digestIn.transferTo(out);
+                }
+                actualHash = HexFormat.of().formatHex(digestIn.getMessageDigest().digest());
+            }
+            if (!actualHash.equals(expectedHash)) {
+                throw new IntegrityException(String.format("Native library %s has SHA-256 %s, expected %s",
+                        resourcePath, actualHash, expectedHash));
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.debug("Extracted native library to cache: {}", target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private boolean isValid(Path file, String expectedHash) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        if (!verifyCached) {
+            return Files.size(file) > 0;
+        }
+        String actualHash;
+        try (InputStream in = Files.newInputStream(file)) {
+            actualHash = hash(in);
+        }
+        if (!actualHash.equals(expectedHash)) {
+            logger.warn("Cached native library {} is corrupt, extracting it again", file);
+            return false;
+        }
+        return true;
+    }
+
+    private String readExpectedHash(String hashResourcePath) throws IOException {
+        try (InputStream in = resources.open(hashResourcePath)) {
+            if (in == null) {
+                return null;
+            }
+            // Accept both a bare hash and sha256sum output ("<hash>  <file>").
+            String content = new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+            String hash = content.split("\\s+", 2)[0].toLowerCase();
+            if (hash.length() != 64 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+                throw new IntegrityException("Invalid SHA-256 in " + hashResourcePath + ": " + content);
+            }
+            return hash;
+        }
+    }
+
+    private String hashResource(String resourcePath) throws IOException {
+        try (InputStream in = resources.open(resourcePath)) {
+            return in == null ? null : hash(in);
+        }
+    }
+
+    private static void deleteStaleTemporaryFiles(Path platformDir) {
+        // Only called under the lock, so no other process is still writing these.
+        try (var files = Files.newDirectoryStream(platformDir, TEMP_PREFIX + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to delete stale temporary files in {}", platformDir, e);
+        }
+    }
+
+    private static String hash(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.wgpu4j;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Off-heap ring of raw native log records, written by any number of wgpu threads and read by one consumer.
+ * <p>
+ * Producers never block and never allocate: a message is filtered by level, its bytes are copied into a
+ * claimed slot, and the slot is published. When the ring is full the message is dropped and counted.
+ * Decoding and dispatch to the {@link WgpuLogging.LogCallback} happen on the consumer thread.
+ * <p>
+ * Each record is an 8-byte header (length, level) followed by the UTF-8 bytes, padded to 8 bytes. A
+ * producer claims space by moving the tail with a CAS and publishes the record by writing its length last,
+ * with release semantics. The consumer reads the length with acquire semantics, so a zero length means the
+ * record at the head is not published yet. Consumed records are zeroed before the head moves past them.
+ */
+final class NativeLogRing implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeLogRing.class);
+
+    static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int ALIGNMENT = 8;
+    private static final int PADDING_LEVEL = -1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final VarHandle INT = ValueLayout.JAVA_INT.varHandle();
+
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment buffer;
+    private final int capacity;
+    private final int maxMessageSize;
+    private final int maxLevel;
+    private final WgpuLogging.LogCallback callback;
+    private final byte[] scratch;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0;
+
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder droppedBytes = new LongAdder();
+
+    private volatile boolean running = false;
+    private Thread consumer;
+
+    /**
+     * Creates a ring. Call {@link #start()} to begin dispatching.
+     *
+     * @param capacity Size of the ring in bytes, a power of two of at least 1 KiB
+     * @param maxLevel The most verbose level kept, such as {@link WgpuLogging#WGPU_LOG_LEVEL_INFO}
+     * @param callback Receives the decoded messages on the consumer thread
+     */
+    NativeLogRing(int capacity, int maxLevel, WgpuLogging.LogCallback callback) {
+        if (capacity < 1024 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least 1024, got " + capacity);
+        }
+        this.capacity = capacity;
+        // A quarter of the ring, so one message can never wedge it with wrap-around padding.
+        this.maxMessageSize = capacity / 4 - HEADER_SIZE;
+        this.maxLevel = maxLevel;
+        this.callback = callback;
+        this.scratch = new byte[maxMessageSize];
+        this.buffer = arena.allocate(capacity, ALIGNMENT);
+    }
+
+    /**
+     * Whether messages at a level are kept. Checked before the message is read.
+     */
+    boolean accepts(int level) {
+        return level > 0 && level <= maxLevel;
+    }
+
+    /**
+     * Copies a message into the ring. Safe to call from any thread, including native upcalls.
+     *
+     * @param level  The wgpu log level
+     * @param data   The message bytes
+     * @param length The number of bytes, truncated to a quarter of the ring
+     * @return Whether the message was stored; otherwise it was counted as dropped
+     */
+    boolean offer(int level, MemorySegment data, long length) {
+        int payload = (int) Math.min(length, maxMessageSize);
+        int recordLength = HEADER_SIZE + payload;
+        int aligned = align(recordLength);
+
+        long claimed;
+        int index;
+        int padding;
+        while (true) {
+            claimed = tail.get();
+            index = (int) (claimed & (capacity - 1));
+            int toEnd = capacity - index;
+            padding = aligned > toEnd ? toEnd : 0;
+            long required = padding + aligned;
+            if (claimed + required - head > capacity) {
+                droppedMessages.increment();
+                droppedBytes.add(payload);
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + required)) {
+                break;
+            }
+        }
+
+        if (padding > 0) {
+            buffer.set(ValueLayout.JAVA_INT, index + 4, PADDING_LEVEL);
+            INT.setRelease(buffer, (long) index, padding);
+            index = 0;
+        }
+        buffer.set(ValueLayout.JAVA_INT, index + 4, level);
+        MemorySegment.copy(data, 0, buffer, index + HEADER_SIZE, payload);
+        INT.setRelease(buffer, (long) index, recordLength);
+        return true;
+    }
+
+    /**
+     * Decodes and dispatches every published record. Only the consumer may call this.
+     *
+     * @return The number of messages dispatched
+     */
+    int drain() {
+        int dispatched = 0;
+        long position = head;
+        while (true) {
+            int index = (int) (position & (capacity - 1));
+            int recordLength = (int) INT.getAcquire(buffer, (long) index);
+            if (recordLength == 0) {
+                break;
+            }
+            int level = buffer.get(ValueLayout.JAVA_INT, index + 4);
+            int aligned = align(recordLength);
+            if (level != PADDING_LEVEL) {
+                int payload = recordLength - HEADER_SIZE;
+                MemorySegment.copy(buffer, ValueLayout.JAVA_BYTE, index + HEADER_SIZE, scratch, 0, payload);
+                dispatch(level, new String(scratch, 0, payload, StandardCharsets.UTF_8));
+                dispatched++;
+            }
+            buffer.asSlice(index, aligned).fill((byte) 0);
+            position += aligned;
+            head = position;
+        }
+        return dispatched;
+    }
+
+    private void dispatch(int level, String message) {
+        try {
+            callback.log(level, message);
+        } catch (RuntimeException e) {
+            logger.error("Log callback failed", e);
+        }
+    }
+
+    /**
+     * Starts the consumer thread.
+     */
+    void start() {
+        running = true;
+        consumer = Thread.ofPlatform().daemon().name("wgpu4j-log-", 0).start(() -> {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the number of messages dropped because the ring was full.
+     */
+    long getDroppedMessageCount() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * Gets the number of message bytes dropped because the ring was full.
+     */
+    long getDroppedByteCount() {
+        return droppedBytes.sum();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Stops the consumer after dispatching what is already published, then frees the ring. A producer
+     * still inside {@link #offer} fails with an {@link IllegalStateException} instead of touching freed memory.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+        drain();
+        arena.close();
+    }
+
+    private static int align(int size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -36,6 +36,7 @@ public class WgpuLogging {
 
     private static LogCallback currentCallback = null;
     private static Arena callbackArena = null;
+    private static volatile NativeLogRing ring = null;
 
     /**
      * Log callback interface
@@ -61,12 +62,68 @@ public class WgpuLogging {
      * Set WGPU log callback using generated bindings
      */
     public static void setLogCallback(LogCallback callback) {
+        installCallback(callback, null, "nativeLogCallback");
+    }
+
+    /**
+     * Set a WGPU log callback that never runs on wgpu threads. The native callback only copies the raw
+     * bytes of messages up to {@code maxLevel} into a preallocated off-heap ring; a background thread
+     * decodes them and calls {@code callback} in order. When the ring is full, messages are dropped rather
+     * than stalling the driver, and counted by {@link #getDroppedLogCount()}.
+     * <p>
+     * Use this with debug or trace logging, where a synchronous callback would serialize driver threads
+     * behind the logging backend.
+     *
+     * @param callback     Receives the messages on the {@code wgpu4j-log-} thread
+     * @param maxLevel     The most verbose level kept, such as {@link #WGPU_LOG_LEVEL_DEBUG}
+     * @param ringCapacity Size of the ring in bytes, a power of two of at least 1 KiB. Longer messages are
+     *                     truncated to a quarter of it.
+     */
+    public static void setAsyncLogCallback(LogCallback callback, int maxLevel, int ringCapacity) {
+        if (callback == null) {
+            setLogCallback(null);
+            return;
+        }
+        installCallback(callback, new NativeLogRing(ringCapacity, maxLevel, callback), "nativeLogToRing");
+    }
+
+    /**
+     * Set a WGPU log callback that never runs on wgpu threads, keeping every level in a 1 MiB ring.
+     *
+     * @see #setAsyncLogCallback(LogCallback, int, int)
+     */
+    public static void setAsyncLogCallback(LogCallback callback) {
+        setAsyncLogCallback(callback, WGPU_LOG_LEVEL_TRACE, NativeLogRing.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Number of messages the asynchronous callback dropped because its ring was full.
+     */
+    public static long getDroppedLogCount() {
+        NativeLogRing current = ring;
+        return current != null ? current.getDroppedMessageCount() : 0;
+    }
+
+    /**
+     * Number of message bytes the asynchronous callback dropped because its ring was full.
+     */
+    public static long getDroppedLogBytes() {
+        NativeLogRing current = ring;
+        return current != null ? current.getDroppedByteCount() : 0;
+    }
+
+    private static synchronized void installCallback(LogCallback callback, NativeLogRing newRing, String target) {
         try {
 
             if (callbackArena != null) {
+                wgpu_h.wgpuSetLogCallback(MemorySegment.NULL, MemorySegment.NULL);
                 callbackArena.close();
                 callbackArena = null;
             }
+            if (ring != null) {
+                ring.close();
+                ring = null;
+            }
 
             if (callback == null) {
                 wgpu_h.wgpuSetLogCallback(MemorySegment.NULL, MemorySegment.NULL);
@@ -78,12 +135,16 @@ public class WgpuLogging {
             callbackArena = Arena.ofShared();
 
 
-            currentCallback = callback;
+            currentCallback = newRing == null ? callback : null;
+            if (newRing != null) {
+                newRing.start();
+                ring = newRing;
+            }
 
 
             var callbackDesc = WGPULogCallback.descriptor();
             MethodHandle callbackMH = MethodHandles.lookup().findStatic(
-                    WgpuLogging.class, "nativeLogCallback",
+                    WgpuLogging.class, target,
                     MethodType.methodType(void.class, int.class, MemorySegment.class, MemorySegment.class)
             );
 
@@ -133,6 +194,36 @@ public class WgpuLogging {
         }
     }
 
+    /**
+     * Native callback of the asynchronous mode: filters by level, then copies the raw bytes into the ring.
+     */
+    public static void nativeLogToRing(int level, MemorySegment messagePtr, MemorySegment userdata) {
+        try {
+            NativeLogRing current = ring;
+            if (current == null || !current.accepts(level) || messagePtr.equals(MemorySegment.NULL)) {
+                return;
+            }
+            MemorySegment dataPtr = WGPUStringView.data(messagePtr);
+            long length = WGPUStringView.length(messagePtr);
+            if (dataPtr.equals(MemorySegment.NULL) || length == 0) {
+                return;
+            }
+            if (length < 0) {
+                // WGPU_STRLEN: null-terminated, bounded by what the ring keeps anyway
+                MemorySegment terminated = dataPtr.reinterpret(current.getCapacity() / 4);
+                length = 0;
+                while (length < terminated.byteSize() && terminated.get(ValueLayout.JAVA_BYTE, length) != 0) {
+                    length++;
+                }
+                current.offer(level, terminated, length);
+            } else {
+                current.offer(level, dataPtr.reinterpret(length), length);
+            }
+        } catch (Throwable e) {
+            // Never let an exception unwind into native code; the ring may have been closed concurrently.
+        }
+    }
+
     /**
      * Cleanup resources
      */
@@ -99,12 +99,32 @@ public class WgpuNative {
     }
 
     /**
-     * Attempts to load the library from JAR resources.
+     * Attempts to load the library from JAR resources, through the per-user extraction cache.
+     * Falls back to a temporary file when the cache directory cannot be used.
      */
     private static boolean tryLoadFromResources(String platform, String libraryName) throws IOException {
         String resourcePath = "/native/" + platform + "/" + libraryName;
 
         logger.debug("Attempting to load library from JAR resource: {}", resourcePath);
+        NativeLibraryCache cache = new NativeLibraryCache(NativeLibraryCache.defaultRoot(),
+                WgpuNative.class::getResourceAsStream,
+                Boolean.parseBoolean(System.getProperty("wgpu4j.library.verify", "true")));
+        try {
+            Path cached = cache.resolve(platform, libraryName);
+            if (cached == null) {
+                logger.debug("Library not found at resource path: {}", resourcePath);
+                return false;
+            }
+            System.load(cached.toAbsolutePath().toString());
+            loaded = true;
+            logger.info("Successfully loaded wgpu-native from cache for platform: {}", platform);
+            return true;
+        } catch (IOException e) {
+            // Only an unusable cache directory falls back; an IntegrityException propagates, since the
+            // temporary file would hold the same unverified bytes.
+            logger.warn("Native library cache unavailable, extracting to a temporary file", e);
+        }
+
         InputStream in = WgpuNative.class.getResourceAsStream(resourcePath);
         if (in == null) {
             logger.debug("Library not found at resource path: {}", resourcePath);
@@ -2,6 +2,7 @@ package org.wgpu4j;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wgpu4j.metrics.WgpuMetrics;
 
 import java.lang.foreign.MemorySegment;
 
@@ -22,6 +23,7 @@ public abstract class WgpuResource implements AutoCloseable {
             throw new IllegalArgumentException("Invalid WGPU resource handle");
         }
         this.handle = handle;
+        WgpuMetrics.resourceCreated(getClass());
     }
 
     protected WgpuResource(MemorySegment handle, java.lang.foreign.Arena arena) {
@@ -30,6 +32,7 @@ public abstract class WgpuResource implements AutoCloseable {
         }
         this.handle = handle;
         this.resourceArena = arena;
+        WgpuMetrics.resourceCreated(getClass());
 
         if (logger.isDebugEnabled()) {
             logger.debug("Created {} with handle 0x{}",
@@ -79,6 +82,7 @@ public abstract class WgpuResource implements AutoCloseable {
             }
 
             closed = true;
+            WgpuMetrics.resourceReleased(getClass());
             try {
                 releaseNative();
             } catch (Exception e) {
@@ -0,0 +1,54 @@
+package org.wgpu4j.constant;
+
+import org.wgpu4j.bindings.webgpu_h;
+
+/**
+ * Reasons a device can be lost.
+ */
+public enum DeviceLostReason {
+    /**
+     * The device was lost for a reason the implementation does not report, such as a driver reset.
+     */
+    UNKNOWN(webgpu_h.WGPUDeviceLostReason_Unknown()),
+
+    /**
+     * The device was destroyed by the application.
+     */
+    DESTROYED(webgpu_h.WGPUDeviceLostReason_Destroyed()),
+
+    /**
+     * The instance was released while the device was still alive.
+     */
+    INSTANCE_DROPPED(webgpu_h.WGPUDeviceLostReason_InstanceDropped()),
+
+    /**
+     * The device could not be created.
+     */
+    FAILED_CREATION(webgpu_h.WGPUDeviceLostReason_FailedCreation());
+
+    private final int value;
+
+    DeviceLostReason(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the native WGPU value for this reason.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Converts a native WGPU device lost reason to the corresponding enum.
+     * Values added by newer native versions map to {@link #UNKNOWN}.
+     */
+    public static DeviceLostReason fromValue(int value) {
+        for (DeviceLostReason reason : values()) {
+            if (reason.value == value) {
+                return reason;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,59 @@
+package org.wgpu4j.constant;
+
+import org.wgpu4j.bindings.webgpu_h;
+
+/**
+ * Types of errors reported by a device.
+ */
+public enum ErrorType {
+    /**
+     * No error occurred.
+     */
+    NO_ERROR(webgpu_h.WGPUErrorType_NoError()),
+
+    /**
+     * Validation errors - errors that occur due to invalid API usage.
+     */
+    VALIDATION(webgpu_h.WGPUErrorType_Validation()),
+
+    /**
+     * Out of memory errors - errors that occur when GPU runs out of memory.
+     */
+    OUT_OF_MEMORY(webgpu_h.WGPUErrorType_OutOfMemory()),
+
+    /**
+     * Internal errors - errors that occur due to GPU driver or system issues.
+     */
+    INTERNAL(webgpu_h.WGPUErrorType_Internal()),
+
+    /**
+     * Errors of a type the implementation does not classify.
+     */
+    UNKNOWN(webgpu_h.WGPUErrorType_Unknown());
+
+    private final int value;
+
+    ErrorType(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the native WGPU value for this error type.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Converts a native WGPU error type value to the corresponding enum.
+     * Values added by newer native versions map to {@link #UNKNOWN}.
+     */
+    public static ErrorType fromValue(int value) {
+        for (ErrorType type : values()) {
+            if (type.value == value) {
+                return type;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -4,68 +4,102 @@ package org.wgpu4j.constant;
  * Texture formats supported by WGPU.
  */
 public enum TextureFormat {
-    UNDEFINED(0),
-
-    R8_UNORM(1),
-    R8_SNORM(2),
-    R8_UINT(3),
-    R8_SINT(4),
-
-    R16_UINT(5),
-    R16_SINT(6),
-    R16_FLOAT(7),
-    RG8_UNORM(8),
-    RG8_SNORM(9),
-    RG8_UINT(10),
-    RG8_SINT(11),
-
-    R32_FLOAT(12),
-    R32_UINT(13),
-    R32_SINT(14),
-    RG16_UINT(15),
-    RG16_SINT(16),
-    RG16_FLOAT(17),
-    RGBA8_UNORM(18),
-    RGBA8_UNORM_SRGB(19),
-    RGBA8_SNORM(20),
-    RGBA8_UINT(21),
-    RGBA8_SINT(22),
-    BGRA8_UNORM(23),
-    BGRA8_UNORM_SRGB(24),
-
-    RGB10A2_UINT(25),
-    RGB10A2_UNORM(26),
-    RG11B10_UFLOAT(27),
-    RGB9E5_UFLOAT(28),
-
-    RG32_FLOAT(29),
-    RG32_UINT(30),
-    RG32_SINT(31),
-    RGBA16_UINT(32),
-    RGBA16_SINT(33),
-    RGBA16_FLOAT(34),
-
-    RGBA32_FLOAT(35),
-    RGBA32_UINT(36),
-    RGBA32_SINT(37),
-
-    STENCIL8(38),
-    DEPTH16_UNORM(39),
-    DEPTH24_PLUS(40),
-    DEPTH24_PLUS_STENCIL8(41),
-    DEPTH32_FLOAT(42),
-    DEPTH32_FLOAT_STENCIL8(43);
+    UNDEFINED(0, 0),
+
+    R8_UNORM(1, 1),
+    R8_SNORM(2, 1),
+    R8_UINT(3, 1),
+    R8_SINT(4, 1),
+
+    R16_UINT(5, 2),
+    R16_SINT(6, 2),
+    R16_FLOAT(7, 2),
+    RG8_UNORM(8, 2),
+    RG8_SNORM(9, 2),
+    RG8_UINT(10, 2),
+    RG8_SINT(11, 2),
+
+    R32_FLOAT(12, 4),
+    R32_UINT(13, 4),
+    R32_SINT(14, 4),
+    RG16_UINT(15, 4),
+    RG16_SINT(16, 4),
+    RG16_FLOAT(17, 4),
+    RGBA8_UNORM(18, 4),
+    RGBA8_UNORM_SRGB(19, 4),
+    RGBA8_SNORM(20, 4),
+    RGBA8_UINT(21, 4),
+    RGBA8_SINT(22, 4),
+    BGRA8_UNORM(23, 4),
+    BGRA8_UNORM_SRGB(24, 4),
+
+    RGB10A2_UINT(25, 4),
+    RGB10A2_UNORM(26, 4),
+    RG11B10_UFLOAT(27, 4),
+    RGB9E5_UFLOAT(28, 4),
+
+    RG32_FLOAT(29, 8),
+    RG32_UINT(30, 8),
+    RG32_SINT(31, 8),
+    RGBA16_UINT(32, 8),
+    RGBA16_SINT(33, 8),
+    RGBA16_FLOAT(34, 8),
+
+    RGBA32_FLOAT(35, 16),
+    RGBA32_UINT(36, 16),
+    RGBA32_SINT(37, 16),
+
+    STENCIL8(38, 1),
+    DEPTH16_UNORM(39, 2),
+    DEPTH24_PLUS(40, 4),
+    DEPTH24_PLUS_STENCIL8(41, 4),
+    DEPTH32_FLOAT(42, 4),
+    DEPTH32_FLOAT_STENCIL8(43, 8);
 
     private final int value;
+    private final int bytesPerTexel;
 
-    TextureFormat(int value) {
+    TextureFormat(int value, int bytesPerTexel) {
         this.value = value;
+        this.bytesPerTexel = bytesPerTexel;
     }
 
     public int getValue() {
         return value;
     }
 
+    /**
+     * Gets the number of bytes a single texel occupies in GPU memory.
+     * For depth formats whose storage is implementation-defined (e.g. {@link #DEPTH24_PLUS})
+     * this is the size used by common drivers, so it should be treated as an estimate.
+     *
+     * @return Bytes per texel, or 0 for {@link #UNDEFINED}
+     */
+    public int getBytesPerTexel() {
+        return bytesPerTexel;
+    }
+
+    /**
+     * Returns true if this is a depth, stencil or combined depth-stencil format.
+     */
+    public boolean isDepthOrStencil() {
+        return value >= STENCIL8.value && value <= DEPTH32_FLOAT_STENCIL8.value;
+    }
+
+    /**
+     * Returns true if this format has a depth aspect.
+     */
+    public boolean hasDepthAspect() {
+        return isDepthOrStencil() && this != STENCIL8;
+    }
+
+    /**
+     * Returns true if this format has a stencil aspect.
+     */
+    public boolean hasStencilAspect() {
+        return this == STENCIL8 || this == DEPTH24_PLUS_STENCIL8 || this == DEPTH32_FLOAT_STENCIL8;
+    }
+
     public static TextureFormat fromValue(int value) {
         for (TextureFormat format : values()) {
             if (format.value == value) {
@@ -0,0 +1,109 @@
+package org.wgpu4j.descriptor;
+
+import org.wgpu4j.bindings.*;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Identifies the physical adapter and driver behind an {@link org.wgpu4j.resource.Adapter}.
+ */
+public class AdapterInfo {
+    private final String vendor;
+    private final String architecture;
+    private final String device;
+    private final String description;
+    private final int backendType;
+    private final int adapterType;
+    private final int vendorId;
+    private final int deviceId;
+
+    public AdapterInfo(String vendor, String architecture, String device, String description,
+                       int backendType, int adapterType, int vendorId, int deviceId) {
+        this.vendor = vendor;
+        this.architecture = architecture;
+        this.device = device;
+        this.description = description;
+        this.backendType = backendType;
+        this.adapterType = adapterType;
+        this.vendorId = vendorId;
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Creates an AdapterInfo object from a native WGPUAdapterInfo structure.
+     * The strings are copied, so the native members can be freed afterwards.
+     */
+    public static AdapterInfo fromNative(MemorySegment nativeInfo) {
+        return new AdapterInfo(
+                readString(WGPUAdapterInfo.vendor(nativeInfo)),
+                readString(WGPUAdapterInfo.architecture(nativeInfo)),
+                readString(WGPUAdapterInfo.device(nativeInfo)),
+                readString(WGPUAdapterInfo.description(nativeInfo)),
+                WGPUAdapterInfo.backendType(nativeInfo),
+                WGPUAdapterInfo.adapterType(nativeInfo),
+                WGPUAdapterInfo.vendorID(nativeInfo),
+                WGPUAdapterInfo.deviceID(nativeInfo));
+    }
+
+    private static String readString(MemorySegment stringView) {
+        MemorySegment data = WGPUStringView.data(stringView);
+        long length = WGPUStringView.length(stringView);
+        if (data.equals(MemorySegment.NULL) || length == 0) {
+            return "";
+        }
+        if (length < 0) {
+            // WGPU_STRLEN: the string is null-terminated
+            return data.reinterpret(Long.MAX_VALUE).getString(0, StandardCharsets.UTF_8);
+        }
+        return new String(data.reinterpret(length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getArchitecture() {
+        return architecture;
+    }
+
+    public String getDevice() {
+        return device;
+    }
+
+    /**
+     * Gets the driver description, which usually includes the driver version.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the backend as a {@code WGPUBackendType} value.
+     */
+    public int getBackendType() {
+        return backendType;
+    }
+
+    /**
+     * Gets the adapter type as a {@code WGPUAdapterType} value.
+     */
+    public int getAdapterType() {
+        return adapterType;
+    }
+
+    public int getVendorId() {
+        return vendorId;
+    }
+
+    public int getDeviceId() {
+        return deviceId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdapterInfo[vendor=%s, device=%s, description=%s, backendType=%d, vendorId=0x%x, deviceId=0x%x]",
+                vendor, device, description, backendType, vendorId, deviceId);
+    }
+}
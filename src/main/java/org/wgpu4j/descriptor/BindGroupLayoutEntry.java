@@ -11,11 +11,11 @@ import java.util.EnumSet;
 
 /**
  * Descriptor for a bind group layout entry.
- * Supports buffer, sampler, and texture bindings.
+ * Supports buffer, sampler, texture, and storage texture bindings.
  */
 public class BindGroupLayoutEntry implements Marshalable {
     public enum BindingType {
-        BUFFER, SAMPLER, TEXTURE
+        BUFFER, SAMPLER, TEXTURE, STORAGE_TEXTURE
     }
 
     private final int binding;
@@ -30,6 +30,8 @@ public class BindGroupLayoutEntry implements Marshalable {
 
     private final TextureBindingLayout textureBindingLayout;
 
+    private final StorageTextureBindingLayout storageTextureBindingLayout;
+
     private BindGroupLayoutEntry(Builder builder) {
         this.binding = builder.binding;
         this.visibility = builder.visibility;
@@ -39,6 +41,7 @@ public class BindGroupLayoutEntry implements Marshalable {
         this.minBindingSize = builder.minBindingSize;
         this.samplerBindingLayout = builder.samplerBindingLayout;
         this.textureBindingLayout = builder.textureBindingLayout;
+        this.storageTextureBindingLayout = builder.storageTextureBindingLayout;
     }
 
     public static Builder builder() {
@@ -88,6 +91,15 @@ public class BindGroupLayoutEntry implements Marshalable {
                 setUnusedSamplerLayout(entry);
                 setUnusedStorageTextureLayout(entry);
             }
+            case STORAGE_TEXTURE -> {
+                MemorySegment storageTextureLayout = WGPUBindGroupLayoutEntry.storageTexture(entry);
+                MemorySegment storageTextureStruct = storageTextureBindingLayout.marshal(arena);
+                MemorySegment.copy(storageTextureStruct, 0, storageTextureLayout, 0, WGPUStorageTextureBindingLayout.sizeof());
+
+                setUnusedBufferLayout(entry);
+                setUnusedSamplerLayout(entry);
+                setUnusedTextureLayout(entry);
+            }
         }
 
         return entry;
@@ -148,6 +160,10 @@ public class BindGroupLayoutEntry implements Marshalable {
         return textureBindingLayout;
     }
 
+    public StorageTextureBindingLayout getStorageTextureBindingLayout() {
+        return storageTextureBindingLayout;
+    }
+
     public static class Builder {
         private int binding;
         private EnumSet<ShaderStageFlags> visibility = ShaderStageFlags.allGraphics();
@@ -161,6 +177,8 @@ public class BindGroupLayoutEntry implements Marshalable {
 
         private TextureBindingLayout textureBindingLayout;
 
+        private StorageTextureBindingLayout storageTextureBindingLayout;
+
         public Builder binding(int binding) {
             this.binding = binding;
             return this;
@@ -205,6 +223,12 @@ public class BindGroupLayoutEntry implements Marshalable {
             return this;
         }
 
+        public Builder storageTextureBindingLayout(StorageTextureBindingLayout storageTextureBindingLayout) {
+            this.storageTextureBindingLayout = storageTextureBindingLayout;
+            this.bindingType = BindingType.STORAGE_TEXTURE;
+            return this;
+        }
+
         public BindGroupLayoutEntry build() {
             switch (bindingType) {
                 case SAMPLER -> {
@@ -217,6 +241,11 @@ public class BindGroupLayoutEntry implements Marshalable {
                         throw new IllegalArgumentException("Texture binding layout is required for texture bindings");
                     }
                 }
+                case STORAGE_TEXTURE -> {
+                    if (storageTextureBindingLayout == null) {
+                        throw new IllegalArgumentException("Storage texture binding layout is required for storage texture bindings");
+                    }
+                }
             }
 
             return new BindGroupLayoutEntry(this);
@@ -7,6 +7,9 @@ import org.wgpu4j.bindings.*;
 
 import java.lang.foreign.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration for creating a compute pipeline.
@@ -17,12 +20,22 @@ public class ComputePipelineDescriptor implements Marshalable {
     private final PipelineLayout pipelineLayout;
     private final ShaderModule computeShader;
     private final String entryPoint;
+    private final List<ConstantEntry> constants;
 
     private ComputePipelineDescriptor(Builder builder) {
         this.label = builder.label;
         this.pipelineLayout = builder.pipelineLayout;
         this.computeShader = builder.computeShader;
         this.entryPoint = builder.entryPoint;
+        this.constants = List.copyOf(builder.constants);
+    }
+
+    private ComputePipelineDescriptor(ComputePipelineDescriptor base, String label, List<ConstantEntry> constants) {
+        this.label = label;
+        this.pipelineLayout = base.pipelineLayout;
+        this.computeShader = base.computeShader;
+        this.entryPoint = base.entryPoint;
+        this.constants = List.copyOf(constants);
     }
 
     public String getLabel() {
@@ -41,6 +54,20 @@ public class ComputePipelineDescriptor implements Marshalable {
         return entryPoint;
     }
 
+    /**
+     * Gets the values of pipeline-overridable constants ({@code override} declarations in WGSL).
+     */
+    public List<ConstantEntry> getConstants() {
+        return constants;
+    }
+
+    /**
+     * Creates a copy of this descriptor with a different label and constants.
+     */
+    public ComputePipelineDescriptor withConstants(String label, List<ConstantEntry> constants) {
+        return new ComputePipelineDescriptor(this, label, constants);
+    }
+
     /**
      * Converts this descriptor to a C struct using jextract layouts.
      *
@@ -85,8 +112,8 @@ public class ComputePipelineDescriptor implements Marshalable {
         WGPUStringView.data(entryPointView, entryPointData);
         WGPUStringView.length(entryPointView, entryPoint.length());
 
-        WGPUProgrammableStageDescriptor.constantCount(computeStage, 0);
-        WGPUProgrammableStageDescriptor.constants(computeStage, MemorySegment.NULL);
+        WGPUProgrammableStageDescriptor.constantCount(computeStage, constants.size());
+        WGPUProgrammableStageDescriptor.constants(computeStage, ConstantEntry.marshalArray(constants, arena));
     }
 
     public static Builder builder() {
@@ -98,6 +125,7 @@ public class ComputePipelineDescriptor implements Marshalable {
         private PipelineLayout pipelineLayout;
         private ShaderModule computeShader;
         private String entryPoint = "main";
+        private final List<ConstantEntry> constants = new ArrayList<>();
 
         /**
          * Sets the debug label for the compute pipeline.
@@ -145,6 +173,44 @@ public class ComputePipelineDescriptor implements Marshalable {
             return this;
         }
 
+        /**
+         * Sets the value of a pipeline-overridable constant.
+         *
+         * @param name  The name or numeric ID of the {@code override} declaration
+         * @param value The value, converted to the constant's type
+         * @return this builder
+         */
+        public Builder constant(String name, double value) {
+            this.constants.add(new ConstantEntry(name, value));
+            return this;
+        }
+
+        /**
+         * Replaces all pipeline-overridable constant values.
+         *
+         * @param constants The values by constant name
+         * @return this builder
+         */
+        public Builder constants(Map<String, Double> constants) {
+            this.constants.clear();
+            for (Map.Entry<String, Double> entry : constants.entrySet()) {
+                this.constants.add(new ConstantEntry(entry.getKey(), entry.getValue()));
+            }
+            return this;
+        }
+
+        /**
+         * Replaces all pipeline-overridable constant values.
+         *
+         * @param constants The constant entries
+         * @return this builder
+         */
+        public Builder constants(List<ConstantEntry> constants) {
+            this.constants.clear();
+            this.constants.addAll(constants);
+            return this;
+        }
+
         public ComputePipelineDescriptor build() {
             if (computeShader == null) {
                 throw new IllegalArgumentException("Compute shader is required");
@@ -5,6 +5,7 @@ import org.wgpu4j.bindings.*;
 
 import java.lang.foreign.*;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * A shader constant entry that maps a name to a value.
@@ -42,7 +43,7 @@ public class ConstantEntry implements Marshalable {
             MemorySegment keyBytes = arena.allocateFrom(key, StandardCharsets.UTF_8);
             MemorySegment keyStringView = WGPUConstantEntry.key(struct);
             WGPUStringView.data(keyStringView, keyBytes);
-            WGPUStringView.length(keyStringView, key.length());
+            WGPUStringView.length(keyStringView, keyBytes.byteSize() - 1);
         } else {
             MemorySegment keyStringView = WGPUConstantEntry.key(struct);
             WGPUStringView.data(keyStringView, MemorySegment.NULL);
@@ -53,4 +54,25 @@ public class ConstantEntry implements Marshalable {
 
         return struct;
     }
+
+    /**
+     * Marshals constants into a contiguous WGPUConstantEntry array.
+     *
+     * @return The array, or {@code MemorySegment.NULL} if there are no constants
+     */
+    static MemorySegment marshalArray(List<ConstantEntry> constants, Arena arena) {
+        if (constants.isEmpty()) {
+            return MemorySegment.NULL;
+        }
+        MemorySegment array = WGPUConstantEntry.allocateArray(constants.size(), arena);
+        for (int i = 0; i < constants.size(); i++) {
+            MemorySegment.copy(constants.get(i).marshal(arena), 0L, WGPUConstantEntry.asSlice(array, i), 0L, WGPUConstantEntry.sizeof());
+        }
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package org.wgpu4j.descriptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.bindings.*;
+import org.wgpu4j.constant.DeviceLostReason;
+import org.wgpu4j.constant.ErrorType;
+import org.wgpu4j.resource.DeviceErrorListener;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes the uncaptured-error and device-lost callbacks of every device to its {@link DeviceErrorListener}.
+ * <p>
+ * One upcall stub per callback type is shared by all devices and lives for the whole process, so a late
+ * callback can never reach freed code. Each device descriptor marshalled with a listener gets a route id,
+ * passed to the native side as {@code userdata1}. The upcalls only copy the message and hand the event to the
+ * route's executor, so native threads never run listener code.
+ * <p>
+ * A route lives as long as the arena the descriptor was marshalled in. {@code Adapter.requestDevice} hands that
+ * arena to the device, or closes it when the request fails, so routes go away with their device.
+ */
+final class DeviceCallbacks {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeviceCallbacks.class);
+
+    /**
+     * Delivers events when no executor is given. A single thread keeps the events of a device in order.
+     */
+    static final ExecutorService DEFAULT_EXECUTOR = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("wgpu4j-device-events-", 0).factory());
+
+    private static final AtomicLong NEXT_ROUTE = new AtomicLong(1);
+    private static final Map<Long, Route> ROUTES = new ConcurrentHashMap<>();
+
+    private static final MemorySegment UNCAPTURED_ERROR_STUB =
+            WGPUUncapturedErrorCallback.allocate(DeviceCallbacks::onUncapturedError, Arena.global());
+    private static final MemorySegment DEVICE_LOST_STUB =
+            WGPUDeviceLostCallback.allocate(DeviceCallbacks::onDeviceLost, Arena.global());
+
+    private static final class Route {
+        final DeviceErrorListener listener;
+        final Executor executor;
+
+        Route(DeviceErrorListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        void dispatch(Runnable event) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        event.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Device error listener failed", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.warn("Dropped device event: executor rejected it", e);
+            }
+        }
+    }
+
+    private DeviceCallbacks() {
+    }
+
+    /**
+     * Fills the callback infos of a WGPUDeviceDescriptor so its device reports to the listener, until the
+     * arena is closed.
+     */
+    static void install(MemorySegment deviceDescriptor, DeviceErrorListener listener, Executor executor, Arena arena) {
+        long id = NEXT_ROUTE.getAndIncrement();
+        ROUTES.put(id, new Route(listener, executor));
+        MemorySegment.NULL.reinterpret(arena, segment -> ROUTES.remove(id));
+        MemorySegment userdata = MemorySegment.ofAddress(id);
+
+        MemorySegment errorInfo = WGPUDeviceDescriptor.uncapturedErrorCallbackInfo(deviceDescriptor);
+        WGPUUncapturedErrorCallbackInfo.nextInChain(errorInfo, MemorySegment.NULL);
+        WGPUUncapturedErrorCallbackInfo.callback(errorInfo, UNCAPTURED_ERROR_STUB);
+        WGPUUncapturedErrorCallbackInfo.userdata1(errorInfo, userdata);
+        WGPUUncapturedErrorCallbackInfo.userdata2(errorInfo, MemorySegment.NULL);
+
+        MemorySegment lostInfo = WGPUDeviceDescriptor.deviceLostCallbackInfo(deviceDescriptor);
+        WGPUDeviceLostCallbackInfo.nextInChain(lostInfo, MemorySegment.NULL);
+        WGPUDeviceLostCallbackInfo.mode(lostInfo, webgpu_h.WGPUCallbackMode_AllowSpontaneous());
+        WGPUDeviceLostCallbackInfo.callback(lostInfo, DEVICE_LOST_STUB);
+        WGPUDeviceLostCallbackInfo.userdata1(lostInfo, userdata);
+        WGPUDeviceLostCallbackInfo.userdata2(lostInfo, MemorySegment.NULL);
+    }
+
+    /**
+     * Gets the number of device descriptors whose events are still routed.
+     */
+    static int getRouteCount() {
+        return ROUTES.size();
+    }
+
+    private static void onUncapturedError(MemorySegment device, int type, MemorySegment message,
+                                          MemorySegment userdata1, MemorySegment userdata2) {
+        // Upcalls must not throw: an exception here would crash the JVM.
+        try {
+            Route route = ROUTES.get(userdata1.address());
+            if (route == null) {
+                return;
+            }
+            ErrorType errorType = ErrorType.fromValue(type);
+            String text = readString(message);
+            route.dispatch(() -> route.listener.onUncapturedError(errorType, text));
+        } catch (Throwable e) {
+            logger.error("Failed to route uncaptured device error", e);
+        }
+    }
+
+    private static void onDeviceLost(MemorySegment device, int reason, MemorySegment message,
+                                     MemorySegment userdata1, MemorySegment userdata2) {
+        try {
+            Route route = ROUTES.remove(userdata1.address());
+            if (route == null) {
+                return;
+            }
+            DeviceLostReason lostReason = DeviceLostReason.fromValue(reason);
+            String text = readString(message);
+            route.dispatch(() -> route.listener.onDeviceLost(lostReason, text));
+        } catch (Throwable e) {
+            logger.error("Failed to route device lost event", e);
+        }
+    }
+
+    private static String readString(MemorySegment stringView) {
+        MemorySegment data = WGPUStringView.data(stringView);
+        long length = WGPUStringView.length(stringView);
+        if (data.equals(MemorySegment.NULL) || length == 0) {
+            return "";
+        }
+        if (length < 0) {
+            // WGPU_STRLEN: the string is null-terminated
+            return data.reinterpret(Long.MAX_VALUE).getString(0, StandardCharsets.UTF_8);
+        }
+        return new String(data.reinterpret(length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+}
@@ -3,11 +3,14 @@ package org.wgpu4j.descriptor;
 import org.wgpu4j.Marshalable;
 import org.wgpu4j.bindings.*;
 import org.wgpu4j.constant.FeatureName;
+import org.wgpu4j.resource.DeviceErrorListener;
 
 import java.lang.foreign.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration for creating a GPU device.
@@ -17,12 +20,17 @@ public class DeviceDescriptor implements Marshalable {
     private final List<FeatureName> requiredFeatures;
     private final QueueDescriptor defaultQueue;
     private final Limits requiredLimits;
+    private final DeviceErrorListener errorListener;
+    private final Executor errorExecutor;
 
-    private DeviceDescriptor(String label, List<FeatureName> requiredFeatures, QueueDescriptor defaultQueue, Limits requiredLimits) {
+    private DeviceDescriptor(String label, List<FeatureName> requiredFeatures, QueueDescriptor defaultQueue, Limits requiredLimits,
+                             DeviceErrorListener errorListener, Executor errorExecutor) {
         this.label = label;
         this.requiredFeatures = new ArrayList<>(requiredFeatures);
         this.defaultQueue = defaultQueue;
         this.requiredLimits = requiredLimits;
+        this.errorListener = errorListener;
+        this.errorExecutor = errorExecutor;
     }
 
     public String getLabel() {
@@ -41,6 +49,14 @@ public class DeviceDescriptor implements Marshalable {
         return requiredLimits;
     }
 
+    public DeviceErrorListener getErrorListener() {
+        return errorListener;
+    }
+
+    public Executor getErrorExecutor() {
+        return errorExecutor;
+    }
+
     /**
      * Converts this descriptor to a C struct using jextract layouts.
      *
@@ -91,6 +107,10 @@ public class DeviceDescriptor implements Marshalable {
         MemorySegment uncapturedErrorCallbackInfo = WGPUDeviceDescriptor.uncapturedErrorCallbackInfo(struct);
         uncapturedErrorCallbackInfo.fill((byte) 0);
 
+        if (errorListener != null) {
+            DeviceCallbacks.install(struct, errorListener, errorExecutor, arena);
+        }
+
         return struct;
     }
 
@@ -103,6 +123,8 @@ public class DeviceDescriptor implements Marshalable {
         private List<FeatureName> requiredFeatures = new ArrayList<>();
         private QueueDescriptor defaultQueue = QueueDescriptor.builder().build();
         private Limits requiredLimits = null;
+        private DeviceErrorListener errorListener = null;
+        private Executor errorExecutor = DeviceCallbacks.DEFAULT_EXECUTOR;
 
         public Builder label(String label) {
             this.label = label;
@@ -130,8 +152,27 @@ public class DeviceDescriptor implements Marshalable {
             return this;
         }
 
+        /**
+         * Reports errors outside of error scopes, and the loss of the device, to a listener. Events are
+         * delivered on a shared wgpu4j thread, never on the native thread that raised them.
+         * <p>
+         * Without a listener wgpu logs these errors and may panic on them.
+         */
+        public Builder errorListener(DeviceErrorListener listener) {
+            return errorListener(listener, DeviceCallbacks.DEFAULT_EXECUTOR);
+        }
+
+        /**
+         * Reports errors outside of error scopes, and the loss of the device, to a listener on the given executor.
+         */
+        public Builder errorListener(DeviceErrorListener listener, Executor executor) {
+            this.errorListener = listener;
+            this.errorExecutor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
         public DeviceDescriptor build() {
-            return new DeviceDescriptor(label, requiredFeatures, defaultQueue, requiredLimits);
+            return new DeviceDescriptor(label, requiredFeatures, defaultQueue, requiredLimits, errorListener, errorExecutor);
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.wgpu4j.descriptor;
 
 import org.wgpu4j.constant.FeatureName;
+import org.wgpu4j.resource.DeviceErrorListener;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -12,10 +13,12 @@ import java.util.Set;
 public class DeviceRequestOptions {
     private final Set<FeatureName> requiredFeatures;
     private final String label;
+    private final DeviceErrorListener errorListener;
 
-    private DeviceRequestOptions(Set<FeatureName> requiredFeatures, String label) {
+    private DeviceRequestOptions(Set<FeatureName> requiredFeatures, String label, DeviceErrorListener errorListener) {
         this.requiredFeatures = Collections.unmodifiableSet(new HashSet<>(requiredFeatures));
         this.label = label;
+        this.errorListener = errorListener;
     }
 
     public Set<FeatureName> getRequiredFeatures() {
@@ -26,6 +29,10 @@ public class DeviceRequestOptions {
         return label;
     }
 
+    public DeviceErrorListener getErrorListener() {
+        return errorListener;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -33,6 +40,7 @@ public class DeviceRequestOptions {
     public static class Builder {
         private final Set<FeatureName> requiredFeatures = new HashSet<>();
         private String label;
+        private DeviceErrorListener errorListener;
 
         public Builder requiredFeature(FeatureName feature) {
             this.requiredFeatures.add(feature);
@@ -49,8 +57,18 @@ public class DeviceRequestOptions {
             return this;
         }
 
+        /**
+         * Reports uncaptured errors and device loss to a listener.
+         *
+         * @see DeviceDescriptor.Builder#errorListener(DeviceErrorListener)
+         */
+        public Builder errorListener(DeviceErrorListener listener) {
+            this.errorListener = listener;
+            return this;
+        }
+
         public DeviceRequestOptions build() {
-            return new DeviceRequestOptions(requiredFeatures, label);
+            return new DeviceRequestOptions(requiredFeatures, label, errorListener);
         }
     }
 }
\ No newline at end of file
@@ -33,6 +33,27 @@ public class ImageCopyTextureLayout implements Marshalable {
         return struct;
     }
 
+    /**
+     * Gets the offset in bytes to the start of the texture data.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the number of bytes per row of the texture data.
+     */
+    public int getBytesPerRow() {
+        return bytesPerRow;
+    }
+
+    /**
+     * Gets the number of rows per image.
+     */
+    public int getRowsPerImage() {
+        return rowsPerImage;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
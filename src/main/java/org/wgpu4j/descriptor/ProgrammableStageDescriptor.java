@@ -62,16 +62,7 @@ public class ProgrammableStageDescriptor implements Marshalable {
         }
 
         WGPUProgrammableStageDescriptor.constantCount(struct, constants.size());
-        if (!constants.isEmpty()) {
-            MemorySegment constantsArray = WGPUConstantEntry.allocateArray(constants.size(), arena);
-            for (int i = 0; i < constants.size(); i++) {
-                MemorySegment constantStruct = WGPUConstantEntry.asSlice(constantsArray, i);
-                MemorySegment.copy(constants.get(i).marshal(arena), 0L, constantStruct, 0L, WGPUConstantEntry.sizeof());
-            }
-            WGPUProgrammableStageDescriptor.constants(struct, constantsArray);
-        } else {
-            WGPUProgrammableStageDescriptor.constants(struct, MemorySegment.NULL);
-        }
+        WGPUProgrammableStageDescriptor.constants(struct, ConstantEntry.marshalArray(constants, arena));
 
         return struct;
     }
@@ -47,6 +47,13 @@ public class QuerySetDescriptor implements Marshalable {
         return struct;
     }
 
+    /**
+     * Gets the debug label for this descriptor.
+     */
+    public String getLabel() {
+        return label;
+    }
+
     /**
      * Gets the query type for this descriptor.
      */
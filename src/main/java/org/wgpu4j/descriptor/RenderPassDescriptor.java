@@ -2,6 +2,7 @@ package org.wgpu4j.descriptor;
 
 import org.wgpu4j.Marshalable;
 import org.wgpu4j.bindings.*;
+import org.wgpu4j.resource.QuerySet;
 
 import java.lang.foreign.*;
 import java.util.ArrayList;
@@ -14,12 +15,15 @@ public class RenderPassDescriptor implements Marshalable {
     private final String label;
     private final List<RenderPassColorAttachment> colorAttachments;
     private final RenderPassDepthStencilAttachment depthStencilAttachment;
+    private final QuerySet occlusionQuerySet;
 
     private RenderPassDescriptor(String label, List<RenderPassColorAttachment> colorAttachments,
-                                 RenderPassDepthStencilAttachment depthStencilAttachment) {
+                                 RenderPassDepthStencilAttachment depthStencilAttachment,
+                                 QuerySet occlusionQuerySet) {
         this.label = label;
         this.colorAttachments = new ArrayList<>(colorAttachments);
         this.depthStencilAttachment = depthStencilAttachment;
+        this.occlusionQuerySet = occlusionQuerySet;
     }
 
     public String getLabel() {
@@ -34,6 +38,10 @@ public class RenderPassDescriptor implements Marshalable {
         return depthStencilAttachment;
     }
 
+    public QuerySet getOcclusionQuerySet() {
+        return occlusionQuerySet;
+    }
+
     /**
      * Converts this descriptor to a C struct using jextract layouts.
      *
@@ -79,7 +87,11 @@ public class RenderPassDescriptor implements Marshalable {
             WGPURenderPassDescriptor.depthStencilAttachment(struct, MemorySegment.NULL);
         }
 
-        WGPURenderPassDescriptor.occlusionQuerySet(struct, MemorySegment.NULL);
+        if (occlusionQuerySet != null) {
+            WGPURenderPassDescriptor.occlusionQuerySet(struct, occlusionQuerySet.getHandle());
+        } else {
+            WGPURenderPassDescriptor.occlusionQuerySet(struct, MemorySegment.NULL);
+        }
         WGPURenderPassDescriptor.timestampWrites(struct, MemorySegment.NULL);
 
         return struct;
@@ -93,6 +105,7 @@ public class RenderPassDescriptor implements Marshalable {
         private String label;
         private List<RenderPassColorAttachment> colorAttachments = new ArrayList<>();
         private RenderPassDepthStencilAttachment depthStencilAttachment;
+        private QuerySet occlusionQuerySet;
 
         /**
          * Sets the debug label for the render pass.
@@ -127,8 +140,17 @@ public class RenderPassDescriptor implements Marshalable {
             return this;
         }
 
+        /**
+         * Sets the query set used by occlusion queries in the render pass.
+         * The query set must have been created with {@code QueryType.OCCLUSION}.
+         */
+        public Builder occlusionQuerySet(QuerySet querySet) {
+            this.occlusionQuerySet = querySet;
+            return this;
+        }
+
         public RenderPassDescriptor build() {
-            return new RenderPassDescriptor(label, colorAttachments, depthStencilAttachment);
+            return new RenderPassDescriptor(label, colorAttachments, depthStencilAttachment, occlusionQuerySet);
         }
     }
 }
\ No newline at end of file
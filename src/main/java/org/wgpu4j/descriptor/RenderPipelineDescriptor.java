@@ -9,6 +9,7 @@ import java.lang.foreign.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration for creating a render pipeline.
@@ -19,8 +20,10 @@ public class RenderPipelineDescriptor implements Marshalable {
     private final PipelineLayout pipelineLayout;
     private final ShaderModule vertexShader;
     private final String vertexEntryPoint;
+    private final List<ConstantEntry> vertexConstants;
     private final ShaderModule fragmentShader;
     private final String fragmentEntryPoint;
+    private final List<ConstantEntry> fragmentConstants;
     private final List<VertexBufferLayout> vertexBuffers;
     private final PrimitiveState primitiveState;
     private final DepthStencilState depthStencilState;
@@ -32,8 +35,10 @@ public class RenderPipelineDescriptor implements Marshalable {
         this.pipelineLayout = builder.pipelineLayout;
         this.vertexShader = builder.vertexShader;
         this.vertexEntryPoint = builder.vertexEntryPoint;
+        this.vertexConstants = List.copyOf(builder.vertexConstants);
         this.fragmentShader = builder.fragmentShader;
         this.fragmentEntryPoint = builder.fragmentEntryPoint;
+        this.fragmentConstants = List.copyOf(builder.fragmentConstants);
         this.vertexBuffers = new ArrayList<>(builder.vertexBuffers);
         this.primitiveState = builder.primitiveState;
         this.depthStencilState = builder.depthStencilState;
@@ -41,6 +46,23 @@ public class RenderPipelineDescriptor implements Marshalable {
         this.colorTargets = new ArrayList<>(builder.colorTargets);
     }
 
+    private RenderPipelineDescriptor(RenderPipelineDescriptor base, String label,
+                                     List<ConstantEntry> vertexConstants, List<ConstantEntry> fragmentConstants) {
+        this.label = label;
+        this.pipelineLayout = base.pipelineLayout;
+        this.vertexShader = base.vertexShader;
+        this.vertexEntryPoint = base.vertexEntryPoint;
+        this.vertexConstants = List.copyOf(vertexConstants);
+        this.fragmentShader = base.fragmentShader;
+        this.fragmentEntryPoint = base.fragmentEntryPoint;
+        this.fragmentConstants = List.copyOf(fragmentConstants);
+        this.vertexBuffers = base.vertexBuffers;
+        this.primitiveState = base.primitiveState;
+        this.depthStencilState = base.depthStencilState;
+        this.multisampleState = base.multisampleState;
+        this.colorTargets = base.colorTargets;
+    }
+
     public String getLabel() {
         return label;
     }
@@ -57,6 +79,13 @@ public class RenderPipelineDescriptor implements Marshalable {
         return vertexEntryPoint;
     }
 
+    /**
+     * Gets the values of pipeline-overridable constants for the vertex stage.
+     */
+    public List<ConstantEntry> getVertexConstants() {
+        return vertexConstants;
+    }
+
     public ShaderModule getFragmentShader() {
         return fragmentShader;
     }
@@ -65,6 +94,21 @@ public class RenderPipelineDescriptor implements Marshalable {
         return fragmentEntryPoint;
     }
 
+    /**
+     * Gets the values of pipeline-overridable constants for the fragment stage.
+     */
+    public List<ConstantEntry> getFragmentConstants() {
+        return fragmentConstants;
+    }
+
+    /**
+     * Creates a copy of this descriptor with a different label and per-stage constants.
+     */
+    public RenderPipelineDescriptor withConstants(String label, List<ConstantEntry> vertexConstants,
+                                                  List<ConstantEntry> fragmentConstants) {
+        return new RenderPipelineDescriptor(this, label, vertexConstants, fragmentConstants);
+    }
+
     public List<VertexBufferLayout> getVertexBuffers() {
         return new ArrayList<>(vertexBuffers);
     }
@@ -151,8 +195,8 @@ public class RenderPipelineDescriptor implements Marshalable {
         WGPUStringView.data(entryPointView, entryPointData);
         WGPUStringView.length(entryPointView, vertexEntryPoint.length());
 
-        WGPUVertexState.constantCount(vertexState, 0);
-        WGPUVertexState.constants(vertexState, MemorySegment.NULL);
+        WGPUVertexState.constantCount(vertexState, vertexConstants.size());
+        WGPUVertexState.constants(vertexState, ConstantEntry.marshalArray(vertexConstants, arena));
 
         WGPUVertexState.bufferCount(vertexState, vertexBuffers.size());
 
@@ -180,8 +224,8 @@ public class RenderPipelineDescriptor implements Marshalable {
         WGPUStringView.data(entryPointView, entryPointData);
         WGPUStringView.length(entryPointView, fragmentEntryPoint.length());
 
-        WGPUFragmentState.constantCount(fragmentState, 0);
-        WGPUFragmentState.constants(fragmentState, MemorySegment.NULL);
+        WGPUFragmentState.constantCount(fragmentState, fragmentConstants.size());
+        WGPUFragmentState.constants(fragmentState, ConstantEntry.marshalArray(fragmentConstants, arena));
 
         if (!colorTargets.isEmpty()) {
             MemorySegment targetArray = WGPUColorTargetState.allocateArray(colorTargets.size(), arena);
@@ -209,8 +253,10 @@ public class RenderPipelineDescriptor implements Marshalable {
         private PipelineLayout pipelineLayout;
         private ShaderModule vertexShader;
         private String vertexEntryPoint = "vs_main";
+        private final List<ConstantEntry> vertexConstants = new ArrayList<>();
         private ShaderModule fragmentShader;
         private String fragmentEntryPoint = "fs_main";
+        private final List<ConstantEntry> fragmentConstants = new ArrayList<>();
         private List<VertexBufferLayout> vertexBuffers = new ArrayList<>();
         private PrimitiveState primitiveState = PrimitiveState.builder().build();
         private DepthStencilState depthStencilState;
@@ -247,6 +293,45 @@ public class RenderPipelineDescriptor implements Marshalable {
             return this;
         }
 
+        /**
+         * Sets the value of a pipeline-overridable constant in the vertex stage.
+         */
+        public Builder vertexConstant(String name, double value) {
+            this.vertexConstants.add(new ConstantEntry(name, value));
+            return this;
+        }
+
+        /**
+         * Replaces all pipeline-overridable constant values of the vertex stage.
+         */
+        public Builder vertexConstants(Map<String, Double> constants) {
+            replace(vertexConstants, constants);
+            return this;
+        }
+
+        /**
+         * Sets the value of a pipeline-overridable constant in the fragment stage.
+         */
+        public Builder fragmentConstant(String name, double value) {
+            this.fragmentConstants.add(new ConstantEntry(name, value));
+            return this;
+        }
+
+        /**
+         * Replaces all pipeline-overridable constant values of the fragment stage.
+         */
+        public Builder fragmentConstants(Map<String, Double> constants) {
+            replace(fragmentConstants, constants);
+            return this;
+        }
+
+        private static void replace(List<ConstantEntry> target, Map<String, Double> constants) {
+            target.clear();
+            for (Map.Entry<String, Double> entry : constants.entrySet()) {
+                target.add(new ConstantEntry(entry.getKey(), entry.getValue()));
+            }
+        }
+
         public Builder vertexBuffer(VertexBufferLayout buffer) {
             this.vertexBuffers.add(buffer);
             return this;
@@ -2,30 +2,134 @@ package org.wgpu4j.descriptor;
 
 import org.wgpu4j.Marshalable;
 import org.wgpu4j.bindings.*;
+import org.wgpu4j.constant.ShaderStageFlags;
 
 import java.lang.foreign.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * Configuration for creating a shader module from WGSL source code.
+ * Configuration for creating a shader module from WGSL source code, a SPIR-V binary or GLSL source code.
+ * <p>
+ * WGSL is the portable choice. SPIR-V skips text parsing, which helps large shader libraries start faster,
+ * and GLSL allows reusing existing shaders; both are accepted by wgpu-native through chained structs.
+ * A GLSL module holds a single entry point named {@code main}, for the stage given to the builder.
  */
 public class ShaderModuleDescriptor implements Marshalable {
+
+    private static final int SPIRV_MAGIC = 0x07230203;
+
+    /**
+     * The language of a shader module's source.
+     */
+    public enum SourceKind {
+        WGSL,
+        SPIRV,
+        GLSL
+    }
+
     private final String label;
+    private final SourceKind sourceKind;
     private final String wgslCode;
+    private final int[] spirv;
+    private final String glslCode;
+    private final ShaderStageFlags glslStage;
+    private final Map<String, String> glslDefines;
 
-    private ShaderModuleDescriptor(String label, String wgslCode) {
-        this.label = label;
-        this.wgslCode = wgslCode;
+    private ShaderModuleDescriptor(Builder builder, SourceKind sourceKind) {
+        this.label = builder.label;
+        this.sourceKind = sourceKind;
+        this.wgslCode = builder.wgslCode;
+        this.spirv = builder.spirv;
+        this.glslCode = builder.glslCode;
+        this.glslStage = builder.glslStage;
+        this.glslDefines = Collections.unmodifiableMap(new LinkedHashMap<>(builder.glslDefines));
     }
 
     public String getLabel() {
         return label;
     }
 
+    public SourceKind getSourceKind() {
+        return sourceKind;
+    }
+
+    /**
+     * Gets the WGSL source, or null if this module is not created from WGSL.
+     */
     public String getWgslCode() {
         return wgslCode;
     }
 
+    /**
+     * Gets a copy of the SPIR-V words, or null if this module is not created from SPIR-V.
+     */
+    public int[] getSpirv() {
+        return spirv == null ? null : spirv.clone();
+    }
+
+    /**
+     * Gets the GLSL source, or null if this module is not created from GLSL.
+     */
+    public String getGlslCode() {
+        return glslCode;
+    }
+
+    /**
+     * Gets the stage of the GLSL entry point, or null if this module is not created from GLSL.
+     */
+    public ShaderStageFlags getGlslStage() {
+        return glslStage;
+    }
+
+    /**
+     * Gets the preprocessor defines passed to the GLSL front end.
+     */
+    public Map<String, String> getGlslDefines() {
+        return glslDefines;
+    }
+
+    /**
+     * Computes a hash that identifies the source of this module, ignoring the label.
+     * For WGSL it is the SHA-256 hash of the UTF-8 encoded source; the other kinds include the kind,
+     * and for GLSL the stage and defines, so different sources never share a hash.
+     *
+     * @return The lowercase hexadecimal SHA-256 hash
+     */
+    public String getSourceHash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        switch (sourceKind) {
+            case WGSL -> digest.update(wgslCode.getBytes(StandardCharsets.UTF_8));
+            case SPIRV -> {
+                digest.update("spirv\0".getBytes(StandardCharsets.UTF_8));
+                ByteBuffer bytes = ByteBuffer.allocate(spirv.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                bytes.asIntBuffer().put(spirv);
+                digest.update(bytes);
+            }
+            case GLSL -> {
+                digest.update(("glsl\0" + glslStage.name() + "\0").getBytes(StandardCharsets.UTF_8));
+                for (Map.Entry<String, String> define : new TreeMap<>(glslDefines).entrySet()) {
+                    digest.update((define.getKey() + "=" + define.getValue() + "\0").getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update(glslCode.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
     /**
      * Converts this descriptor to a C struct using jextract layouts.
      *
@@ -35,6 +139,28 @@ public class ShaderModuleDescriptor implements Marshalable {
     public MemorySegment marshal(Arena arena) {
         MemorySegment descriptor = WGPUShaderModuleDescriptor.allocate(arena);
 
+        MemorySegment source = switch (sourceKind) {
+            case WGSL -> marshalWgsl(arena);
+            case SPIRV -> marshalSpirv(arena);
+            case GLSL -> marshalGlsl(arena);
+        };
+        WGPUShaderModuleDescriptor.nextInChain(descriptor, source);
+
+        if (label != null && !label.isEmpty()) {
+            MemorySegment labelBytes = arena.allocateFrom(label, StandardCharsets.UTF_8);
+            MemorySegment labelStringView = WGPUShaderModuleDescriptor.label(descriptor);
+            WGPUStringView.data(labelStringView, labelBytes);
+            WGPUStringView.length(labelStringView, labelBytes.byteSize() - 1);
+        } else {
+            MemorySegment labelStringView = WGPUShaderModuleDescriptor.label(descriptor);
+            WGPUStringView.data(labelStringView, MemorySegment.NULL);
+            WGPUStringView.length(labelStringView, 0);
+        }
+
+        return descriptor;
+    }
+
+    private MemorySegment marshalWgsl(Arena arena) {
         MemorySegment wgslSource = WGPUShaderSourceWGSL.allocate(arena);
 
         MemorySegment chain = WGPUShaderSourceWGSL.chain(wgslSource);
@@ -44,22 +170,59 @@ public class ShaderModuleDescriptor implements Marshalable {
         MemorySegment codeBytes = arena.allocateFrom(wgslCode, StandardCharsets.UTF_8);
         MemorySegment codeStringView = WGPUShaderSourceWGSL.code(wgslSource);
         WGPUStringView.data(codeStringView, codeBytes);
-        WGPUStringView.length(codeStringView, wgslCode.length());
+        WGPUStringView.length(codeStringView, codeBytes.byteSize() - 1);
 
-        WGPUShaderModuleDescriptor.nextInChain(descriptor, wgslSource);
+        return wgslSource;
+    }
 
-        if (label != null && !label.isEmpty()) {
-            MemorySegment labelBytes = arena.allocateFrom(label, StandardCharsets.UTF_8);
-            MemorySegment labelStringView = WGPUShaderModuleDescriptor.label(descriptor);
-            WGPUStringView.data(labelStringView, labelBytes);
-            WGPUStringView.length(labelStringView, label.length());
+    private MemorySegment marshalSpirv(Arena arena) {
+        MemorySegment spirvSource = WGPUShaderSourceSPIRV.allocate(arena);
+
+        MemorySegment chain = WGPUShaderSourceSPIRV.chain(spirvSource);
+        WGPUChainedStruct.next(chain, MemorySegment.NULL);
+        WGPUChainedStruct.sType(chain, webgpu_h.WGPUSType_ShaderSourceSPIRV());
+
+        WGPUShaderSourceSPIRV.codeSize(spirvSource, spirv.length);
+        WGPUShaderSourceSPIRV.code(spirvSource, arena.allocateFrom(ValueLayout.JAVA_INT, spirv));
+
+        return spirvSource;
+    }
+
+    private MemorySegment marshalGlsl(Arena arena) {
+        MemorySegment glslSource = WGPUShaderSourceGLSL.allocate(arena);
+
+        MemorySegment chain = WGPUShaderSourceGLSL.chain(glslSource);
+        WGPUChainedStruct.next(chain, MemorySegment.NULL);
+        WGPUChainedStruct.sType(chain, wgpu_h.WGPUSType_ShaderSourceGLSL());
+
+        WGPUShaderSourceGLSL.stage(glslSource, glslStage.getValue());
+
+        MemorySegment codeBytes = arena.allocateFrom(glslCode, StandardCharsets.UTF_8);
+        MemorySegment codeStringView = WGPUShaderSourceGLSL.code(glslSource);
+        WGPUStringView.data(codeStringView, codeBytes);
+        WGPUStringView.length(codeStringView, codeBytes.byteSize() - 1);
+
+        WGPUShaderSourceGLSL.defineCount(glslSource, glslDefines.size());
+        if (glslDefines.isEmpty()) {
+            WGPUShaderSourceGLSL.defines(glslSource, MemorySegment.NULL);
         } else {
-            MemorySegment labelStringView = WGPUShaderModuleDescriptor.label(descriptor);
-            WGPUStringView.data(labelStringView, MemorySegment.NULL);
-            WGPUStringView.length(labelStringView, 0);
+            MemorySegment defines = WGPUShaderDefine.allocateArray(glslDefines.size(), arena);
+            int i = 0;
+            for (Map.Entry<String, String> define : glslDefines.entrySet()) {
+                MemorySegment entry = WGPUShaderDefine.asSlice(defines, i++);
+                setStringView(WGPUShaderDefine.name(entry), define.getKey(), arena);
+                setStringView(WGPUShaderDefine.value(entry), define.getValue(), arena);
+            }
+            WGPUShaderSourceGLSL.defines(glslSource, defines);
         }
 
-        return descriptor;
+        return glslSource;
+    }
+
+    private static void setStringView(MemorySegment stringView, String value, Arena arena) {
+        MemorySegment bytes = arena.allocateFrom(value, StandardCharsets.UTF_8);
+        WGPUStringView.data(stringView, bytes);
+        WGPUStringView.length(stringView, bytes.byteSize() - 1);
     }
 
     public static Builder builder() {
@@ -68,7 +231,11 @@ public class ShaderModuleDescriptor implements Marshalable {
 
     public static class Builder {
         private String label = "";
-        private String wgslCode = "";
+        private String wgslCode;
+        private int[] spirv;
+        private String glslCode;
+        private ShaderStageFlags glslStage;
+        private final Map<String, String> glslDefines = new LinkedHashMap<>();
 
         public Builder label(String label) {
             this.label = label;
@@ -80,11 +247,89 @@ public class ShaderModuleDescriptor implements Marshalable {
             return this;
         }
 
+        /**
+         * Sets a SPIR-V binary as the source.
+         *
+         * @param words The SPIR-V words, starting with the magic number
+         * @return this builder
+         */
+        public Builder spirv(int[] words) {
+            this.spirv = words.clone();
+            return this;
+        }
+
+        /**
+         * Sets a SPIR-V binary as the source, as read from a {@code .spv} file in either byte order.
+         *
+         * @param bytes The SPIR-V binary
+         * @return this builder
+         * @throws IllegalArgumentException if the length is not a multiple of 4 or the magic number is missing
+         */
+        public Builder spirv(byte[] bytes) {
+            if (bytes.length < Integer.BYTES || bytes.length % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("SPIR-V binary length must be a positive multiple of 4");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != SPIRV_MAGIC) {
+                buffer.order(ByteOrder.BIG_ENDIAN);
+                if (buffer.getInt(0) != SPIRV_MAGIC) {
+                    throw new IllegalArgumentException("Not a SPIR-V binary");
+                }
+            }
+            int[] words = new int[bytes.length / Integer.BYTES];
+            buffer.asIntBuffer().get(words);
+            this.spirv = words;
+            return this;
+        }
+
+        /**
+         * Sets GLSL source as the source.
+         *
+         * @param glslCode The GLSL source, with its entry point named {@code main}
+         * @param stage    The stage of the entry point
+         * @return this builder
+         */
+        public Builder glslCode(String glslCode, ShaderStageFlags stage) {
+            this.glslCode = glslCode;
+            this.glslStage = stage;
+            return this;
+        }
+
+        /**
+         * Adds a preprocessor define for GLSL source.
+         */
+        public Builder glslDefine(String name, String value) {
+            this.glslDefines.put(name, value);
+            return this;
+        }
+
         public ShaderModuleDescriptor build() {
+            int sources = (wgslCode != null ? 1 : 0) + (spirv != null ? 1 : 0) + (glslCode != null ? 1 : 0);
+            if (sources > 1) {
+                throw new IllegalArgumentException("Only one of WGSL, SPIR-V or GLSL source can be set");
+            }
+            if (!glslDefines.isEmpty() && glslCode == null) {
+                throw new IllegalArgumentException("GLSL defines require GLSL source");
+            }
+            if (spirv != null) {
+                if (spirv.length == 0 || spirv[0] != SPIRV_MAGIC) {
+                    throw new IllegalArgumentException("Not a SPIR-V binary");
+                }
+                return new ShaderModuleDescriptor(this, SourceKind.SPIRV);
+            }
+            if (glslCode != null) {
+                if (glslCode.trim().isEmpty()) {
+                    throw new IllegalArgumentException("GLSL code cannot be empty");
+                }
+                if (glslStage == null) {
+                    throw new IllegalArgumentException("GLSL stage is required");
+                }
+                return new ShaderModuleDescriptor(this, SourceKind.GLSL);
+            }
             if (wgslCode == null || wgslCode.trim().isEmpty()) {
                 throw new IllegalArgumentException("WGSL code cannot be null or empty");
             }
-            return new ShaderModuleDescriptor(label, wgslCode);
+            return new ShaderModuleDescriptor(this, SourceKind.WGSL);
         }
     }
-}
\ No newline at end of file
+}
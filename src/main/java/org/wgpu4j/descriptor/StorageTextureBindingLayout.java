@@ -0,0 +1,86 @@
+package org.wgpu4j.descriptor;
+
+import org.wgpu4j.Marshalable;
+import org.wgpu4j.constant.*;
+import org.wgpu4j.bindings.*;
+
+import java.lang.foreign.*;
+
+/**
+ * Layout configuration for storage texture bindings in a bind group.
+ */
+public class StorageTextureBindingLayout implements Marshalable {
+    private final StorageTextureAccess access;
+    private final TextureFormat format;
+    private final TextureViewDimension viewDimension;
+
+    private StorageTextureBindingLayout(Builder builder) {
+        this.access = builder.access;
+        this.format = builder.format;
+        this.viewDimension = builder.viewDimension;
+    }
+
+    public StorageTextureAccess getAccess() {
+        return access;
+    }
+
+    public TextureFormat getFormat() {
+        return format;
+    }
+
+    public TextureViewDimension getViewDimension() {
+        return viewDimension;
+    }
+
+    /**
+     * Converts this layout to a C struct using jextract layouts.
+     *
+     * @param arena The arena to allocate the struct in
+     * @return MemorySegment representing the WGPUStorageTextureBindingLayout struct
+     */
+    public MemorySegment marshal(Arena arena) {
+        MemorySegment struct = WGPUStorageTextureBindingLayout.allocate(arena);
+
+        WGPUStorageTextureBindingLayout.nextInChain(struct, MemorySegment.NULL);
+
+        WGPUStorageTextureBindingLayout.access(struct, access.getValue());
+
+        WGPUStorageTextureBindingLayout.format(struct, format.getValue());
+
+        WGPUStorageTextureBindingLayout.viewDimension(struct, viewDimension.getValue());
+
+        return struct;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private StorageTextureAccess access = StorageTextureAccess.WRITE_ONLY;
+        private TextureFormat format;
+        private TextureViewDimension viewDimension = TextureViewDimension.TWO_D;
+
+        public Builder access(StorageTextureAccess access) {
+            this.access = access;
+            return this;
+        }
+
+        public Builder format(TextureFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        public Builder viewDimension(TextureViewDimension viewDimension) {
+            this.viewDimension = viewDimension;
+            return this;
+        }
+
+        public StorageTextureBindingLayout build() {
+            if (format == null) {
+                throw new IllegalArgumentException("Format is required for storage texture bindings");
+            }
+            return new StorageTextureBindingLayout(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.wgpu4j.metrics;
+
+import java.util.Map;
+
+/**
+ * Service provider interface for exporting {@link WgpuMetrics} to an external monitoring system.
+ * <p>
+ * wgpu4j has no dependency on any metrics library. To bridge to Micrometer, Prometheus or similar,
+ * implement this interface and either pass it to {@link WgpuMetrics#publish(MetricsSink)} from a
+ * scheduled reporter, or register it in {@code META-INF/services/org.wgpu4j.metrics.MetricsSink}
+ * and call {@link WgpuMetrics#publishToInstalledSinks()}.
+ * <p>
+ * Counter values are cumulative since start (or the last {@link WgpuMetrics#reset()}),
+ * so sinks that need rates should compute deltas themselves.
+ */
+public interface MetricsSink {
+
+    /**
+     * Receives a monotonically increasing counter.
+     *
+     * @param name  Metric name, e.g. {@code wgpu.queue.submits}
+     * @param tags  Dimension tags, possibly empty
+     * @param value Cumulative count
+     */
+    void counter(String name, Map<String, String> tags, long value);
+
+    /**
+     * Receives an instantaneous value.
+     *
+     * @param name  Metric name, e.g. {@code wgpu.resources.live}
+     * @param tags  Dimension tags, possibly empty
+     * @param value Current value
+     */
+    void gauge(String name, Map<String, String> tags, double value);
+
+    /**
+     * Receives a latency distribution.
+     *
+     * @param name     Metric name, e.g. {@code wgpu.buffer.map.latency}
+     * @param tags     Dimension tags, possibly empty
+     * @param snapshot Distribution of recorded values in nanoseconds
+     */
+    void histogram(String name, Map<String, String> tags, LatencyHistogram.Snapshot snapshot);
+}
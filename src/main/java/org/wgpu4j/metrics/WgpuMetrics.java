@@ -0,0 +1,285 @@
+package org.wgpu4j.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide operational metrics for the binding layer.
+ * <p>
+ * All counters are {@link LongAdder}s and all distributions are {@link LatencyHistogram}s, so recording
+ * is lock-free and cheap enough to stay on in production. The binding layer records:
+ * <ul>
+ *   <li>live object counts per {@link org.wgpu4j.WgpuResource} subclass</li>
+ *   <li>bytes uploaded through {@code Queue.writeBuffer} and {@code Queue.writeTexture}</li>
+ *   <li>queue submits and submitted command buffers</li>
+ *   <li>buffer map latency, from {@code Buffer.mapAsync} to the map callback</li>
+ *   <li>pipeline cache hits and misses, reported by pipeline caches built on top of the device</li>
+ * </ul>
+ * Values can be read directly through the getters or exported with a {@link MetricsSink}.
+ */
+public final class WgpuMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(WgpuMetrics.class);
+
+    public static final String RESOURCES_LIVE = "wgpu.resources.live";
+    public static final String RESOURCES_CREATED = "wgpu.resources.created";
+    public static final String QUEUE_WRITE_BUFFER_BYTES = "wgpu.queue.write_buffer.bytes";
+    public static final String QUEUE_WRITE_TEXTURE_BYTES = "wgpu.queue.write_texture.bytes";
+    public static final String QUEUE_SUBMITS = "wgpu.queue.submits";
+    public static final String QUEUE_SUBMITTED_COMMAND_BUFFERS = "wgpu.queue.submitted_command_buffers";
+    public static final String BUFFER_MAP_LATENCY = "wgpu.buffer.map.latency";
+    public static final String PIPELINE_CACHE_HITS = "wgpu.pipeline_cache.hits";
+    public static final String PIPELINE_CACHE_MISSES = "wgpu.pipeline_cache.misses";
+    public static final String PIPELINE_CACHE_HIT_RATIO = "wgpu.pipeline_cache.hit_ratio";
+    public static final String PASS_STATE_CALLS_ELIDED = "wgpu.pass.state_calls_elided";
+
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("wgpu4j.metrics"));
+
+    private static final ConcurrentHashMap<Class<?>, ResourceCounts> resourceCounts = new ConcurrentHashMap<>();
+    private static final LongAdder writeBufferBytes = new LongAdder();
+    private static final LongAdder writeTextureBytes = new LongAdder();
+    private static final LongAdder submits = new LongAdder();
+    private static final LongAdder submittedCommandBuffers = new LongAdder();
+    private static final LatencyHistogram mapLatency = new LatencyHistogram();
+    private static final LongAdder pipelineCacheHits = new LongAdder();
+    private static final LongAdder pipelineCacheMisses = new LongAdder();
+    private static final LongAdder elidedStateCalls = new LongAdder();
+
+    private WgpuMetrics() {
+    }
+
+    private static final class ResourceCounts {
+        final LongAdder created = new LongAdder();
+        final LongAdder released = new LongAdder();
+    }
+
+    /**
+     * Enables or disables metric recording. Recording is enabled by default and can be
+     * disabled at startup with {@code -Dwgpu4j.metrics=false}.
+     * Already recorded values are kept when recording is disabled. Live resource counts are always
+     * tracked, since skipping a creation or release would leave them permanently skewed.
+     */
+    public static void setEnabled(boolean enabled) {
+        WgpuMetrics.enabled = enabled;
+    }
+
+    /**
+     * Returns true if metrics are currently being recorded.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static ResourceCounts countsFor(Class<?> type) {
+        ResourceCounts counts = resourceCounts.get(type);
+        if (counts == null) {
+            counts = resourceCounts.computeIfAbsent(type, t -> new ResourceCounts());
+        }
+        return counts;
+    }
+
+    /**
+     * Records that a resource of the given type was created.
+     * Called by the binding layer; applications should not need to call this.
+     */
+    public static void resourceCreated(Class<?> type) {
+        countsFor(type).created.increment();
+    }
+
+    /**
+     * Records that a resource of the given type was released.
+     * Called by the binding layer; applications should not need to call this.
+     */
+    public static void resourceReleased(Class<?> type) {
+        countsFor(type).released.increment();
+    }
+
+    /**
+     * Records bytes uploaded through {@code Queue.writeBuffer}.
+     */
+    public static void recordBufferWrite(long bytes) {
+        if (enabled) {
+            writeBufferBytes.add(bytes);
+        }
+    }
+
+    /**
+     * Records bytes uploaded through {@code Queue.writeTexture}.
+     */
+    public static void recordTextureWrite(long bytes) {
+        if (enabled) {
+            writeTextureBytes.add(bytes);
+        }
+    }
+
+    /**
+     * Records a queue submission.
+     *
+     * @param commandBufferCount Number of command buffers in the submission
+     */
+    public static void recordSubmit(int commandBufferCount) {
+        if (enabled) {
+            submits.increment();
+            submittedCommandBuffers.add(commandBufferCount);
+        }
+    }
+
+    /**
+     * Records the time between requesting a buffer mapping and the mapping completing.
+     *
+     * @param nanos Elapsed time in nanoseconds
+     */
+    public static void recordMapLatency(long nanos) {
+        if (enabled) {
+            mapLatency.record(nanos);
+        }
+    }
+
+    /**
+     * Records a pipeline cache lookup that found an existing pipeline.
+     */
+    public static void recordPipelineCacheHit() {
+        if (enabled) {
+            pipelineCacheHits.increment();
+        }
+    }
+
+    /**
+     * Records a pipeline cache lookup that had to create a new pipeline.
+     */
+    public static void recordPipelineCacheMiss() {
+        if (enabled) {
+            pipelineCacheMisses.increment();
+        }
+    }
+
+    /**
+     * Records redundant state calls dropped by a pass encoder with state tracking enabled.
+     *
+     * @param count Number of calls elided during the pass
+     */
+    public static void recordElidedStateCalls(long count) {
+        if (enabled && count > 0) {
+            elidedStateCalls.add(count);
+        }
+    }
+
+    /**
+     * Gets the number of live (created but not yet closed) resources of exactly the given type.
+     */
+    public static long getLiveCount(Class<?> type) {
+        ResourceCounts counts = resourceCounts.get(type);
+        return counts == null ? 0 : counts.created.sum() - counts.released.sum();
+    }
+
+    /**
+     * Gets the number of live resources keyed by simple class name.
+     */
+    public static Map<String, Long> getLiveCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        resourceCounts.forEach((type, counts) ->
+                result.merge(type.getSimpleName(), counts.created.sum() - counts.released.sum(), Long::sum));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public static long getBufferBytesWritten() {
+        return writeBufferBytes.sum();
+    }
+
+    public static long getTextureBytesWritten() {
+        return writeTextureBytes.sum();
+    }
+
+    public static long getSubmitCount() {
+        return submits.sum();
+    }
+
+    public static long getSubmittedCommandBufferCount() {
+        return submittedCommandBuffers.sum();
+    }
+
+    public static LatencyHistogram.Snapshot getMapLatency() {
+        return mapLatency.snapshot();
+    }
+
+    public static long getPipelineCacheHits() {
+        return pipelineCacheHits.sum();
+    }
+
+    public static long getPipelineCacheMisses() {
+        return pipelineCacheMisses.sum();
+    }
+
+    public static long getElidedStateCalls() {
+        return elidedStateCalls.sum();
+    }
+
+    /**
+     * Gets the fraction of pipeline cache lookups that were hits, or 0 if there were no lookups.
+     */
+    public static double getPipelineCacheHitRatio() {
+        long hits = pipelineCacheHits.sum();
+        long total = hits + pipelineCacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Writes the current value of every metric to the given sink.
+     *
+     * @param sink The sink to publish to
+     */
+    public static void publish(MetricsSink sink) {
+        resourceCounts.forEach((type, counts) -> {
+            Map<String, String> tags = Map.of("type", type.getSimpleName());
+            long created = counts.created.sum();
+            sink.counter(RESOURCES_CREATED, tags, created);
+            sink.gauge(RESOURCES_LIVE, tags, created - counts.released.sum());
+        });
+
+        sink.counter(QUEUE_WRITE_BUFFER_BYTES, Map.of(), writeBufferBytes.sum());
+        sink.counter(QUEUE_WRITE_TEXTURE_BYTES, Map.of(), writeTextureBytes.sum());
+        sink.counter(QUEUE_SUBMITS, Map.of(), submits.sum());
+        sink.counter(QUEUE_SUBMITTED_COMMAND_BUFFERS, Map.of(), submittedCommandBuffers.sum());
+        sink.histogram(BUFFER_MAP_LATENCY, Map.of(), mapLatency.snapshot());
+        sink.counter(PIPELINE_CACHE_HITS, Map.of(), pipelineCacheHits.sum());
+        sink.counter(PIPELINE_CACHE_MISSES, Map.of(), pipelineCacheMisses.sum());
+        sink.gauge(PIPELINE_CACHE_HIT_RATIO, Map.of(), getPipelineCacheHitRatio());
+        sink.counter(PASS_STATE_CALLS_ELIDED, Map.of(), elidedStateCalls.sum());
+    }
+
+    /**
+     * Publishes to every {@link MetricsSink} registered through {@link ServiceLoader}.
+     * A failing sink is logged and does not prevent publishing to the others.
+     */
+    public static void publishToInstalledSinks() {
+        for (MetricsSink sink : ServiceLoader.load(MetricsSink.class)) {
+            try {
+                publish(sink);
+            } catch (Exception e) {
+                logger.warn("Metrics sink {} failed: {}", sink.getClass().getName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Resets all counters and histograms.
+     * Live resource counts are not affected, since they describe resources that still exist.
+     */
+    public static void reset() {
+        writeBufferBytes.reset();
+        writeTextureBytes.reset();
+        submits.reset();
+        submittedCommandBuffers.reset();
+        mapLatency.reset();
+        pipelineCacheHits.reset();
+        pipelineCacheMisses.reset();
+        elidedStateCalls.reset();
+    }
+}
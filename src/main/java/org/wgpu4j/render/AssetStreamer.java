@@ -0,0 +1,688 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.descriptor.Extent3D;
+import org.wgpu4j.descriptor.ImageCopyTexture;
+import org.wgpu4j.descriptor.ImageCopyTextureLayout;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.Queue;
+import org.wgpu4j.resource.Texture;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads assets in the background and uploads them to the GPU within a per-frame budget.
+ * <pre>{@code
+ * AssetStreamer streamer = AssetStreamer.builder(device)
+ *         .bytesPerFrame(8 << 20)
+ *         .timePerFrame(Duration.ofMillis(2))
+ *         .build();
+ * AssetStreamer.Request terrain = streamer.load(path, AssetStreamer.Priority.HIGH,
+ *         (contents, arena) -> AssetStreamer.Upload.buffer(vertexBuffer, 0, contents));
+ *
+ * // once per frame, on the render thread
+ * streamer.update();
+ * }</pre>
+ * Each request reads its file into native memory and runs its {@link Decoder} on a virtual thread.
+ * Decoded payloads are handed to the render thread through lock-free queues, one per priority. At most
+ * {@code maxInFlight} requests are loading or waiting for upload at any time, which bounds the memory
+ * held by decoded payloads. Waiting requests start in priority order.
+ * <p>
+ * {@link #update()} writes ready payloads through the device queue until the byte or time budget is
+ * spent. Buffers are written in chunks and textures in rows, so a large asset spreads over several
+ * frames. Each call writes at least one chunk, so progress is made even with a tiny budget. Higher
+ * priority payloads are uploaded first, including ahead of a lower priority payload that is only
+ * partly uploaded.
+ * <p>
+ * {@link Request#cancel()} stops a request at any stage. A request cancelled during its upload keeps
+ * the chunks already written. {@link #update()} must be called from a single thread; {@link #load} and
+ * {@link Request#cancel()} may be called from any thread.
+ */
+public class AssetStreamer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetStreamer.class);
+
+    /**
+     * Default number of requests that can be loading or waiting for upload at once.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    /**
+     * Default number of bytes uploaded per {@link #update()}.
+     */
+    public static final long DEFAULT_BYTES_PER_FRAME = 16L << 20;
+
+    /**
+     * Default time spent uploading per {@link #update()}.
+     */
+    public static final Duration DEFAULT_TIME_PER_FRAME = Duration.ofMillis(2);
+
+    /**
+     * Order in which waiting requests start loading and ready payloads are uploaded.
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    /**
+     * Lifecycle of a request. {@code DONE}, {@code CANCELLED} and {@code FAILED} are final.
+     */
+    public enum State {
+        PENDING, LOADING, READY, UPLOADING, DONE, CANCELLED, FAILED;
+
+        public boolean isFinal() {
+            return this == DONE || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    /**
+     * Turns the raw contents of a file into an upload. Runs on a virtual thread.
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        /**
+         * Decodes a file.
+         *
+         * @param contents The file contents, in native memory owned by {@code arena}
+         * @param arena    An arena for decoded data, closed once the upload completes or is cancelled
+         * @return The upload to perform on the render thread
+         */
+        Upload decode(MemorySegment contents, Arena arena) throws Exception;
+    }
+
+    /**
+     * Data waiting to be written to the GPU, in pieces if necessary.
+     */
+    public interface Upload {
+
+        /**
+         * Gets the number of bytes still to be written.
+         */
+        long remaining();
+
+        /**
+         * Writes the next piece of data. Writes at most {@code maxBytes}, unless the smallest piece the
+         * upload can be split into is larger, in which case exactly one piece is written.
+         *
+         * @return The number of bytes written
+         */
+        long write(Queue queue, long maxBytes);
+
+        /**
+         * Creates an upload that writes {@code data} into a buffer, in chunks of a multiple of 4 bytes.
+         *
+         * @param buffer The destination buffer, with {@code COPY_DST} usage
+         * @param offset The byte offset in the buffer, a multiple of 4
+         * @param data   The data, whose size is a multiple of 4
+         */
+        static Upload buffer(Buffer buffer, long offset, MemorySegment data) {
+            Objects.requireNonNull(buffer, "buffer");
+            if (offset % 4 != 0 || data.byteSize() % 4 != 0) {
+                throw new IllegalArgumentException("Buffer uploads need an offset and size that are multiples of 4");
+            }
+            return new BufferUpload(buffer, offset, data);
+        }
+
+        /**
+         * Creates an upload that writes a 2D region of one texture layer, in whole rows.
+         *
+         * @param texture  The destination texture, with {@code COPY_DST} usage
+         * @param mipLevel The mip level to write
+         * @param layer    The array layer to write
+         * @param data     The texel data
+         * @param layout   The layout of {@code data}
+         * @param width    The width of the region in texels
+         * @param height   The height of the region in rows
+         */
+        static Upload texture(Texture texture, int mipLevel, int layer, MemorySegment data,
+                              ImageCopyTextureLayout layout, int width, int height) {
+            Objects.requireNonNull(texture, "texture");
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Width and height must be positive");
+            }
+            if (layout.getBytesPerRow() <= 0) {
+                throw new IllegalArgumentException("Texture uploads need a layout with bytesPerRow set");
+            }
+            if (data.byteSize() < layout.getOffset() + (long) layout.getBytesPerRow() * height) {
+                throw new IllegalArgumentException("Texture data holds " + data.byteSize() + " bytes, fewer than "
+                        + height + " rows of " + layout.getBytesPerRow());
+            }
+            return new TextureUpload(texture, mipLevel, layer, data, layout, width, height);
+        }
+    }
+
+    private static final class BufferUpload implements Upload {
+        private final Buffer buffer;
+        private final long offset;
+        private final MemorySegment data;
+        private long written = 0;
+
+        BufferUpload(Buffer buffer, long offset, MemorySegment data) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.data = data;
+        }
+
+        @Override
+        public long remaining() {
+            return data.byteSize() - written;
+        }
+
+        @Override
+        public long write(Queue queue, long maxBytes) {
+            long size = Math.min(remaining(), Math.max(maxBytes & ~3L, 4));
+            queue.writeBuffer(buffer, offset + written, data.asSlice(written, size));
+            written += size;
+            return size;
+        }
+    }
+
+    private static final class TextureUpload implements Upload {
+        private final Texture texture;
+        private final int mipLevel;
+        private final int layer;
+        private final MemorySegment data;
+        private final ImageCopyTextureLayout layout;
+        private final int width;
+        private final int height;
+        private int rowsWritten = 0;
+
+        TextureUpload(Texture texture, int mipLevel, int layer, MemorySegment data,
+                      ImageCopyTextureLayout layout, int width, int height) {
+            this.texture = texture;
+            this.mipLevel = mipLevel;
+            this.layer = layer;
+            this.data = data;
+            this.layout = layout;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public long remaining() {
+            return (long) (height - rowsWritten) * layout.getBytesPerRow();
+        }
+
+        @Override
+        public long write(Queue queue, long maxBytes) {
+            int bytesPerRow = layout.getBytesPerRow();
+            int rows = (int) Math.min(height - rowsWritten, Math.max(maxBytes / bytesPerRow, 1));
+            long start = layout.getOffset() + (long) rowsWritten * bytesPerRow;
+            queue.writeTexture(
+                    ImageCopyTexture.builder()
+                            .texture(texture)
+                            .mipLevel(mipLevel)
+                            .origin(0, rowsWritten, layer)
+                            .build(),
+                    data.asSlice(start, (long) rows * bytesPerRow),
+                    ImageCopyTextureLayout.builder().bytesPerRow(bytesPerRow).rowsPerImage(rows).build(),
+                    Extent3D.of(width, rows, 1));
+            rowsWritten += rows;
+            return (long) rows * bytesPerRow;
+        }
+    }
+
+    /**
+     * A file being streamed to the GPU.
+     */
+    public final class Request {
+        private final Path path;
+        private final Priority priority;
+        private final Decoder decoder;
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile Thread loader;
+        private Arena arena;
+        private Upload upload;
+
+        private Request(Path path, Priority priority, Decoder decoder) {
+            this.path = path;
+            this.priority = priority;
+            this.decoder = decoder;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public State getState() {
+            return state.get();
+        }
+
+        /**
+         * Gets a future completed once the asset has been written to the queue. It fails with the
+         * decoder's or the queue's exception, and is cancelled when the request is.
+         */
+        public CompletableFuture<Void> getFuture() {
+            return future;
+        }
+
+        /**
+         * Cancels the request unless it has already finished.
+         *
+         * @return true if this call cancelled the request
+         */
+        public boolean cancel() {
+            while (true) {
+                State current = state.get();
+                if (current.isFinal()) {
+                    return false;
+                }
+                if (state.compareAndSet(current, State.CANCELLED)) {
+                    if (current == State.LOADING) {
+                        // A loader that has not published its thread yet sees the state and stops itself.
+                        Thread loading = loader;
+                        if (loading != null) {
+                            loading.interrupt();
+                        }
+                    }
+                    future.completeExceptionally(new CancellationException("Asset request cancelled: " + path));
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            upload = null;
+            if (arena != null) {
+                arena.close();
+                arena = null;
+            }
+        }
+    }
+
+    private final Queue queue;
+    private final int maxInFlight;
+    private final long bytesPerFrame;
+    private final long nanosPerFrame;
+    private final ExecutorService loaders;
+    private final ConcurrentLinkedQueue<Request>[] pending;
+    private final ConcurrentLinkedQueue<Request>[] ready;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger readyCount = new AtomicInteger();
+    private long bytesUploaded = 0;
+    private long lastFrameBytes = 0;
+    private long lastFrameNanos = 0;
+    private volatile boolean closed = false;
+
+    @SuppressWarnings("unchecked")
+    private AssetStreamer(Builder builder) {
+        this.queue = builder.device.getQueue();
+        this.maxInFlight = builder.maxInFlight;
+        this.bytesPerFrame = builder.bytesPerFrame;
+        this.nanosPerFrame = builder.timePerFrame.toNanos();
+        this.loaders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("wgpu4j-asset-", 0).factory());
+
+        int priorities = Priority.values().length;
+        this.pending = new ConcurrentLinkedQueue[priorities];
+        this.ready = new ConcurrentLinkedQueue[priorities];
+        for (int i = 0; i < priorities; i++) {
+            pending[i] = new ConcurrentLinkedQueue<>();
+            ready[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    public static Builder builder(Device device) {
+        return new Builder(device);
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Asset streamer has been closed");
+        }
+    }
+
+    /**
+     * Queues a file for loading with {@link Priority#NORMAL} priority.
+     */
+    public Request load(Path path, Decoder decoder) {
+        return load(path, Priority.NORMAL, decoder);
+    }
+
+    /**
+     * Queues a file for loading.
+     *
+     * @param path     The file to read
+     * @param priority The request's priority
+     * @param decoder  Turns the file contents into an upload
+     * @return A handle to track or cancel the request
+     */
+    public Request load(Path path, Priority priority, Decoder decoder) {
+        checkNotClosed();
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(priority, "priority");
+        Objects.requireNonNull(decoder, "decoder");
+
+        Request request = new Request(path, priority, decoder);
+        pendingCount.incrementAndGet();
+        pending[priority.ordinal()].offer(request);
+        dispatch();
+        return request;
+    }
+
+    /**
+     * Starts waiting requests, highest priority first, while fewer than {@code maxInFlight} are in flight.
+     */
+    private void dispatch() {
+        while (!closed) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Request request = poll(pending);
+            if (request == null) {
+                inFlight.decrementAndGet();
+                // A request queued while this thread held the slot saw no free slot and returned,
+                // so look again rather than leave it waiting.
+                if (pendingCount.get() > 0) {
+                    continue;
+                }
+                return;
+            }
+            pendingCount.decrementAndGet();
+            if (!request.state.compareAndSet(State.PENDING, State.LOADING)) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            try {
+                loaders.execute(() -> load(request));
+            } catch (RuntimeException e) {
+                // The executor rejects work once the streamer is closing.
+                request.state.set(State.CANCELLED);
+                request.future.completeExceptionally(new CancellationException("Asset streamer closed"));
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static Request poll(ConcurrentLinkedQueue<Request>[] queues) {
+        for (ConcurrentLinkedQueue<Request> queue : queues) {
+            Request request = queue.poll();
+            if (request != null) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private void load(Request request) {
+        request.loader = Thread.currentThread();
+        if (request.state.get() != State.LOADING) {
+            // Cancelled before this thread could be interrupted.
+            finish(request);
+            return;
+        }
+        Arena arena = Arena.ofShared();
+        request.arena = arena;
+        try {
+            MemorySegment contents = read(request.path, arena);
+            Upload upload = request.decoder.decode(contents, arena);
+            if (upload == null) {
+                throw new IllegalStateException("Decoder returned no upload for " + request.path);
+            }
+            request.upload = upload;
+            if (request.state.compareAndSet(State.LOADING, State.READY)) {
+                readyCount.incrementAndGet();
+                ready[request.priority.ordinal()].offer(request);
+                if (closed && ready[request.priority.ordinal()].remove(request)) {
+                    // close() has already drained the ready queues.
+                    request.cancel();
+                    request.release();
+                }
+                return;
+            }
+        } catch (Throwable e) {
+            if (closed) {
+                // Interrupted by close().
+                request.cancel();
+            } else if (request.state.compareAndSet(State.LOADING, State.FAILED)) {
+                logger.warn("Failed to load asset {}", request.path, e);
+                request.future.completeExceptionally(e);
+            }
+        }
+        finish(request);
+    }
+
+    private static MemorySegment read(Path path, Arena arena) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment contents = arena.allocate(channel.size(), Long.BYTES);
+            ByteBuffer target = contents.asByteBuffer();
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    throw new IOException("Unexpected end of file: " + path);
+                }
+            }
+            return contents;
+        }
+    }
+
+    /**
+     * Frees the request's memory and its in-flight slot, then starts the next waiting request.
+     */
+    private void finish(Request request) {
+        request.release();
+        inFlight.decrementAndGet();
+        dispatch();
+    }
+
+    /**
+     * Uploads ready payloads within the configured per-frame budget. Call once per frame.
+     *
+     * @return The number of bytes written to the queue
+     */
+    public long update() {
+        return update(bytesPerFrame, nanosPerFrame);
+    }
+
+    /**
+     * Uploads ready payloads until {@code maxBytes} have been written or {@code maxNanos} have passed.
+     *
+     * @return The number of bytes written to the queue
+     */
+    public long update(long maxBytes, long maxNanos) {
+        checkNotClosed();
+        long start = System.nanoTime();
+        long written = 0;
+        while (written < maxBytes) {
+            Request request = peekReady();
+            if (request == null) {
+                break;
+            }
+            if (request.state.get() == State.CANCELLED) {
+                removeReady(request);
+                continue;
+            }
+            request.state.compareAndSet(State.READY, State.UPLOADING);
+
+            try {
+                written += request.upload.write(queue, maxBytes - written);
+            } catch (RuntimeException e) {
+                if (request.state.compareAndSet(State.UPLOADING, State.FAILED)) {
+                    logger.warn("Failed to upload asset {}", request.path, e);
+                    request.future.completeExceptionally(e);
+                }
+                removeReady(request);
+                continue;
+            }
+
+            if (request.upload.remaining() == 0) {
+                if (request.state.compareAndSet(State.UPLOADING, State.DONE)) {
+                    request.future.complete(null);
+                }
+                removeReady(request);
+            }
+            if (System.nanoTime() - start >= maxNanos) {
+                break;
+            }
+        }
+        bytesUploaded += written;
+        lastFrameBytes = written;
+        lastFrameNanos = System.nanoTime() - start;
+        return written;
+    }
+
+    private Request peekReady() {
+        for (ConcurrentLinkedQueue<Request> queue : ready) {
+            Request request = queue.peek();
+            if (request != null) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private void removeReady(Request request) {
+        ready[request.priority.ordinal()].remove(request);
+        readyCount.decrementAndGet();
+        finish(request);
+    }
+
+    /**
+     * Gets the number of requests waiting for an in-flight slot.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Gets the number of requests that are loading or waiting for upload.
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of decoded payloads waiting for upload, including one that is partly uploaded.
+     */
+    public int getReadyCount() {
+        return readyCount.get();
+    }
+
+    /**
+     * Returns true if no request is waiting, loading or uploading.
+     */
+    public boolean isIdle() {
+        return pendingCount.get() == 0 && inFlight.get() == 0;
+    }
+
+    public long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    public long getLastFrameBytes() {
+        return lastFrameBytes;
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Cancels every request, waits briefly for loading threads to stop and releases the queue.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        Request request;
+        while ((request = poll(pending)) != null) {
+            request.cancel();
+        }
+        loaders.shutdownNow();
+        try {
+            if (!loaders.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Asset loading threads did not stop within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Loaders that stop after this point cancel and release their own requests.
+        while ((request = poll(ready)) != null) {
+            request.cancel();
+            request.release();
+        }
+        queue.close();
+    }
+
+    public static class Builder {
+        private final Device device;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private long bytesPerFrame = DEFAULT_BYTES_PER_FRAME;
+        private Duration timePerFrame = DEFAULT_TIME_PER_FRAME;
+
+        private Builder(Device device) {
+            this.device = Objects.requireNonNull(device, "device");
+        }
+
+        /**
+         * Sets how many requests can be loading or waiting for upload at once.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be greater than 0");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the number of bytes {@link #update()} uploads per frame.
+         */
+        public Builder bytesPerFrame(long bytesPerFrame) {
+            if (bytesPerFrame <= 0) {
+                throw new IllegalArgumentException("bytesPerFrame must be greater than 0");
+            }
+            this.bytesPerFrame = bytesPerFrame;
+            return this;
+        }
+
+        /**
+         * Sets the time {@link #update()} spends uploading per frame.
+         */
+        public Builder timePerFrame(Duration timePerFrame) {
+            if (timePerFrame.isNegative() || timePerFrame.isZero()) {
+                throw new IllegalArgumentException("timePerFrame must be positive");
+            }
+            this.timePerFrame = timePerFrame;
+            return this;
+        }
+
+        public AssetStreamer build() {
+            return new AssetStreamer(this);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.descriptor.BindGroupLayoutDescriptor;
+import org.wgpu4j.descriptor.BindGroupLayoutEntry;
+import org.wgpu4j.descriptor.PipelineLayoutDescriptor;
+import org.wgpu4j.descriptor.SamplerBindingLayout;
+import org.wgpu4j.descriptor.StorageTextureBindingLayout;
+import org.wgpu4j.descriptor.TextureBindingLayout;
+import org.wgpu4j.resource.BindGroupLayout;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.PipelineLayout;
+import org.wgpu4j.utils.WgslReflection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates one bind group layout per distinct structure on a device, and one pipeline layout per distinct
+ * list of them.
+ * <pre>{@code
+ * BindGroupLayoutCache layouts = new BindGroupLayoutCache(device);
+ * WgslReflection reflection = WgslReflection.reflect(shaderSource);
+ * PipelineLayout pipelineLayout = layouts.getPipelineLayout(reflection);
+ * BindGroupLayout group0 = layouts.getBindGroupLayout(reflection.getBindGroupLayout(0));
+ * }</pre>
+ * Descriptors are compared by their entries, in any order, ignoring labels. Pipelines whose shaders declare
+ * the same resources therefore share layout objects, and a bind group created for one of them can be bound
+ * with any of the others.
+ * <p>
+ * All methods are thread-safe. Layouts are owned by the cache and closed with it.
+ */
+public class BindGroupLayoutCache implements AutoCloseable {
+
+    private final Device device;
+    private final Map<String, BindGroupLayout> bindGroupLayouts = new ConcurrentHashMap<>();
+    private final Map<String, PipelineLayout> pipelineLayouts = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param device The device that creates the layouts
+     */
+    public BindGroupLayoutCache(Device device) {
+        this.device = Objects.requireNonNull(device, "device");
+    }
+
+    /**
+     * Gets the bind group layout for a descriptor, creating it on first use.
+     *
+     * @param descriptor The layout descriptor
+     * @return The layout, owned by this cache
+     */
+    public BindGroupLayout getBindGroupLayout(BindGroupLayoutDescriptor descriptor) {
+        checkNotClosed();
+        String key = key(descriptor);
+        BindGroupLayout layout = bindGroupLayouts.get(key);
+        if (layout != null) {
+            hits.incrementAndGet();
+            return layout;
+        }
+        misses.incrementAndGet();
+        layout = device.createBindGroupLayout(descriptor);
+        BindGroupLayout existing = bindGroupLayouts.putIfAbsent(key, layout);
+        if (existing != null) {
+            layout.close();
+            return existing;
+        }
+        return layout;
+    }
+
+    /**
+     * Gets the bind group layouts for every group a shader declares.
+     *
+     * @param reflection The shader reflection
+     * @return The layouts, indexed by group
+     */
+    public List<BindGroupLayout> getBindGroupLayouts(WgslReflection reflection) {
+        return getBindGroupLayouts(reflection.getBindGroupLayouts());
+    }
+
+    private List<BindGroupLayout> getBindGroupLayouts(List<BindGroupLayoutDescriptor> descriptors) {
+        List<BindGroupLayout> layouts = new ArrayList<>(descriptors.size());
+        for (BindGroupLayoutDescriptor descriptor : descriptors) {
+            layouts.add(getBindGroupLayout(descriptor));
+        }
+        return layouts;
+    }
+
+    /**
+     * Gets the pipeline layout for a shader, creating it and its bind group layouts on first use.
+     *
+     * @param reflection The shader reflection, merged across stages if they use separate modules
+     * @return The layout, owned by this cache
+     */
+    public PipelineLayout getPipelineLayout(WgslReflection reflection) {
+        return getPipelineLayout(reflection.getBindGroupLayouts());
+    }
+
+    /**
+     * Gets the pipeline layout for a list of bind group layouts, creating it on first use.
+     *
+     * @param descriptors The bind group layout descriptors, indexed by group
+     * @return The layout, owned by this cache
+     */
+    public PipelineLayout getPipelineLayout(List<BindGroupLayoutDescriptor> descriptors) {
+        checkNotClosed();
+        List<BindGroupLayout> layouts = getBindGroupLayouts(descriptors);
+        StringBuilder keyBuilder = new StringBuilder();
+        for (BindGroupLayoutDescriptor descriptor : descriptors) {
+            keyBuilder.append('[').append(key(descriptor)).append(']');
+        }
+        String key = keyBuilder.toString();
+
+        PipelineLayout layout = pipelineLayouts.get(key);
+        if (layout != null) {
+            hits.incrementAndGet();
+            return layout;
+        }
+        misses.incrementAndGet();
+        layout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                .bindGroupLayouts(layouts)
+                .build());
+        PipelineLayout existing = pipelineLayouts.putIfAbsent(key, layout);
+        if (existing != null) {
+            layout.close();
+            return existing;
+        }
+        return layout;
+    }
+
+    /**
+     * Computes the canonical form of a bind group layout. Descriptors with the same key create
+     * interchangeable layouts.
+     *
+     * @param descriptor The layout descriptor
+     * @return A string describing the entries, sorted by binding
+     */
+    public static String key(BindGroupLayoutDescriptor descriptor) {
+        List<BindGroupLayoutEntry> entries = descriptor.getEntries();
+        entries.sort(Comparator.comparingInt(BindGroupLayoutEntry::getBinding));
+        StringBuilder key = new StringBuilder();
+        for (BindGroupLayoutEntry entry : entries) {
+            key.append(entry.getBinding())
+                    .append(':').append(ShaderStageFlags.toBitFlags(entry.getVisibility()))
+                    .append(':');
+            switch (entry.getBindingType()) {
+                case BUFFER -> key.append("buffer:")
+                        .append(entry.getBufferType())
+                        .append(':').append(entry.hasDynamicOffset())
+                        .append(':').append(entry.getMinBindingSize());
+                case SAMPLER -> {
+                    SamplerBindingLayout sampler = entry.getSamplerBindingLayout();
+                    key.append("sampler:").append(sampler.getType());
+                }
+                case TEXTURE -> {
+                    TextureBindingLayout texture = entry.getTextureBindingLayout();
+                    key.append("texture:").append(texture.getSampleType())
+                            .append(':').append(texture.getViewDimension())
+                            .append(':').append(texture.isMultisampled());
+                }
+                case STORAGE_TEXTURE -> {
+                    StorageTextureBindingLayout storage = entry.getStorageTextureBindingLayout();
+                    key.append("storage_texture:").append(storage.getAccess())
+                            .append(':').append(storage.getFormat())
+                            .append(':').append(storage.getViewDimension());
+                }
+            }
+            key.append(';');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Gets the number of distinct bind group layouts created.
+     */
+    public int getBindGroupLayoutCount() {
+        return bindGroupLayouts.size();
+    }
+
+    /**
+     * Gets the number of distinct pipeline layouts created.
+     */
+    public int getPipelineLayoutCount() {
+        return pipelineLayouts.size();
+    }
+
+    /**
+     * Gets the number of requests answered with an existing layout.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests that created a layout.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("BindGroupLayoutCache has been closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (PipelineLayout layout : pipelineLayouts.values()) {
+            layout.close();
+        }
+        pipelineLayouts.clear();
+        for (BindGroupLayout layout : bindGroupLayouts.values()) {
+            layout.close();
+        }
+        bindGroupLayouts.clear();
+    }
+}
@@ -0,0 +1,233 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.descriptor.RenderBundleDescriptor;
+import org.wgpu4j.descriptor.RenderBundleEncoderDescriptor;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.RenderBundle;
+import org.wgpu4j.resource.RenderBundleEncoder;
+import org.wgpu4j.resource.RenderPassEncoder;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caches render bundles for groups of static draws so they are recorded once and replayed every frame.
+ * <p>
+ * Each group is identified by a caller-chosen key. When a group is requested, the cache hashes its
+ * draw list (pipelines, bind groups and buffers by identity, plus draw parameters) and only re-records
+ * the bundle if the content changed, a referenced resource was closed, or the group was marked dirty
+ * with {@link #invalidate(Object)} or {@link #invalidateReferencing(Object)}.
+ * <pre>{@code
+ * BundleCache<String> cache = new BundleCache<>(device, bundleFormat);
+ * // every frame
+ * cache.execute(pass, "terrain", terrainDraws);
+ * cache.execute(pass, "buildings", buildingDraws);
+ * cache.endFrame();
+ * }</pre>
+ * The cache is not thread-safe.
+ *
+ * @param <K> The group key type
+ */
+public class BundleCache<K> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BundleCache.class);
+
+    private static final class Entry {
+        final List<DrawCommand> draws;
+        final int contentHash;
+        final RenderBundle bundle;
+        boolean dirty;
+        boolean usedThisFrame;
+
+        Entry(List<DrawCommand> draws, int contentHash, RenderBundle bundle) {
+            this.draws = draws;
+            this.contentHash = contentHash;
+            this.bundle = bundle;
+        }
+    }
+
+    private final Device device;
+    private final RenderBundleEncoderDescriptor encoderDescriptor;
+    private final Map<K, Entry> entries = new LinkedHashMap<>();
+    private long hitCount = 0;
+    private long recordCount = 0;
+
+    /**
+     * Creates a cache.
+     *
+     * @param device            The device to record bundles on
+     * @param encoderDescriptor Attachment formats of the passes the bundles will be executed in
+     */
+    public BundleCache(Device device, RenderBundleEncoderDescriptor encoderDescriptor) {
+        this.device = Objects.requireNonNull(device, "device");
+        this.encoderDescriptor = Objects.requireNonNull(encoderDescriptor, "encoderDescriptor");
+    }
+
+    /**
+     * Gets the bundle for a group, recording it only if it is missing or out of date.
+     * The bundle is owned by the cache and stays valid until the group is re-recorded or evicted.
+     *
+     * @param key   The group key
+     * @param draws The group's draws in recording order
+     * @return A bundle replaying the draws
+     */
+    public RenderBundle get(K key, List<DrawCommand> draws) {
+        int contentHash = draws.hashCode();
+        Entry entry = entries.get(key);
+
+        if (entry != null && !entry.dirty && entry.contentHash == contentHash
+                && entry.draws.equals(draws) && !referencesClosedResource(entry.draws)) {
+            hitCount++;
+            entry.usedThisFrame = true;
+            return entry.bundle;
+        }
+
+        if (entry != null) {
+            entry.bundle.close();
+        }
+
+        Entry recorded = new Entry(List.copyOf(draws), contentHash, record(key, draws));
+        recorded.usedThisFrame = true;
+        entries.put(key, recorded);
+        recordCount++;
+        return recorded.bundle;
+    }
+
+    /**
+     * Gets the bundle for a group and executes it in the pass.
+     *
+     * @param pass  The render pass to execute in
+     * @param key   The group key
+     * @param draws The group's draws in recording order
+     */
+    public void execute(RenderPassEncoder pass, K key, List<DrawCommand> draws) {
+        pass.executeBundles(get(key, draws));
+    }
+
+    private RenderBundle record(K key, List<DrawCommand> draws) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Recording bundle for group {} with {} draws", key, draws.size());
+        }
+
+        try (RenderBundleEncoder encoder = device.createRenderBundleEncoder(encoderDescriptor)) {
+            DrawCommand previous = null;
+            for (DrawCommand draw : draws) {
+                draw.recordInto(encoder, previous);
+                previous = draw;
+            }
+            return encoder.finish(RenderBundleDescriptor.builder()
+                    .label(String.valueOf(key))
+                    .build());
+        }
+    }
+
+    private static boolean referencesClosedResource(List<DrawCommand> draws) {
+        for (DrawCommand draw : draws) {
+            if (draw.referencesClosedResource()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks a group dirty so it is re-recorded the next time it is requested.
+     */
+    public void invalidate(K key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Marks every group that binds the given pipeline, bind group or buffer dirty.
+     *
+     * @param resource The resource that changed
+     * @return The number of groups marked dirty
+     */
+    public int invalidateReferencing(Object resource) {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.dirty) {
+                continue;
+            }
+            for (DrawCommand draw : entry.draws) {
+                if (draw.references(resource)) {
+                    entry.dirty = true;
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Marks every group dirty.
+     */
+    public void invalidateAll() {
+        for (Entry entry : entries.values()) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Releases the bundles of groups that were not requested since the previous call.
+     * Call once per frame after submitting.
+     */
+    public void endFrame() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (!entry.usedThisFrame) {
+                entry.bundle.close();
+                it.remove();
+            } else {
+                entry.usedThisFrame = false;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached groups.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of requests served from the cache without recording.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of bundles recorded, including re-recordings.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the keys of the cached groups.
+     */
+    public List<K> getKeys() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    @Override
+    public void close() {
+        for (Entry entry : entries.values()) {
+            entry.bundle.close();
+        }
+        entries.clear();
+    }
+}
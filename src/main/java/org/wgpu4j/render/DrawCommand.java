@@ -0,0 +1,413 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.constant.IndexFormat;
+import org.wgpu4j.resource.BindGroup;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.RenderBundleEncoder;
+import org.wgpu4j.resource.RenderPassEncoder;
+import org.wgpu4j.resource.RenderPipeline;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable description of a single draw: the state it needs bound and the draw parameters.
+ * <p>
+ * Draw commands can be recorded into a {@link RenderPassEncoder} or a {@link RenderBundleEncoder}.
+ * They hold no native memory and can be built on any thread.
+ */
+public final class DrawCommand {
+
+    /**
+     * Maximum number of bind groups a draw command can bind.
+     */
+    public static final int MAX_BIND_GROUPS = 4;
+
+    /**
+     * Maximum number of vertex buffers a draw command can bind.
+     */
+    public static final int MAX_VERTEX_BUFFERS = 8;
+
+    private static final int[] NO_OFFSETS = new int[0];
+
+    private final RenderPipeline pipeline;
+    private final BindGroup[] bindGroups;
+    private final int[][] dynamicOffsets;
+    private final Buffer[] vertexBuffers;
+    private final Buffer indexBuffer;
+    private final IndexFormat indexFormat;
+    private final boolean indexed;
+    private final int count;
+    private final int instanceCount;
+    private final int first;
+    private final int baseVertex;
+    private final int firstInstance;
+
+    private DrawCommand(Builder builder) {
+        this.pipeline = builder.pipeline;
+        this.bindGroups = trim(builder.bindGroups, builder.bindGroupCount);
+        this.dynamicOffsets = Arrays.copyOf(builder.dynamicOffsets, bindGroups.length);
+        this.vertexBuffers = trim(builder.vertexBuffers, builder.vertexBufferCount);
+        this.indexBuffer = builder.indexBuffer;
+        this.indexFormat = builder.indexFormat;
+        this.indexed = builder.indexed;
+        this.count = builder.count;
+        this.instanceCount = builder.instanceCount;
+        this.first = builder.first;
+        this.baseVertex = builder.baseVertex;
+        this.firstInstance = builder.firstInstance;
+    }
+
+    private static <T> T[] trim(T[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    public RenderPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Gets the number of bind group slots used, including unset slots below the highest set one.
+     */
+    public int getBindGroupCount() {
+        return bindGroups.length;
+    }
+
+    /**
+     * Gets the bind group at the given index, or null if the slot is not set.
+     */
+    public BindGroup getBindGroup(int index) {
+        return index < bindGroups.length ? bindGroups[index] : null;
+    }
+
+    /**
+     * Gets the dynamic offsets for the bind group at the given index.
+     */
+    public int[] getDynamicOffsets(int index) {
+        int[] offsets = index < dynamicOffsets.length ? dynamicOffsets[index] : null;
+        return offsets != null ? offsets.clone() : NO_OFFSETS;
+    }
+
+    /**
+     * Gets the number of vertex buffer slots used, including unset slots below the highest set one.
+     */
+    public int getVertexBufferCount() {
+        return vertexBuffers.length;
+    }
+
+    /**
+     * Gets the vertex buffer bound to the given slot, or null if the slot is not set.
+     */
+    public Buffer getVertexBuffer(int slot) {
+        return slot < vertexBuffers.length ? vertexBuffers[slot] : null;
+    }
+
+    public Buffer getIndexBuffer() {
+        return indexBuffer;
+    }
+
+    public IndexFormat getIndexFormat() {
+        return indexFormat;
+    }
+
+    /**
+     * Returns true if this draw was built with {@code drawIndexed}.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Gets the index count for indexed draws or the vertex count otherwise.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    /**
+     * Gets the first index for indexed draws or the first vertex otherwise.
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    public int getBaseVertex() {
+        return baseVertex;
+    }
+
+    public int getFirstInstance() {
+        return firstInstance;
+    }
+
+    /**
+     * Records this draw into a render bundle, skipping state already bound by the previous draw.
+     *
+     * @param encoder  The bundle encoder
+     * @param previous The draw recorded immediately before into the same encoder, or null
+     */
+    public void recordInto(RenderBundleEncoder encoder, DrawCommand previous) {
+        if (previous == null || previous.pipeline != pipeline) {
+            encoder.setPipeline(pipeline);
+        }
+        for (int i = 0; i < bindGroups.length; i++) {
+            if (bindGroups[i] != null && (previous == null || !previous.sameBindGroup(i, bindGroups[i], dynamicOffsets[i]))) {
+                encoder.setBindGroup(i, bindGroups[i], dynamicOffsets[i]);
+            }
+        }
+        for (int i = 0; i < vertexBuffers.length; i++) {
+            if (vertexBuffers[i] != null && (previous == null || previous.getVertexBuffer(i) != vertexBuffers[i])) {
+                encoder.setVertexBuffer(i, vertexBuffers[i]);
+            }
+        }
+        if (indexed) {
+            if (previous == null || previous.indexBuffer != indexBuffer || previous.indexFormat != indexFormat) {
+                encoder.setIndexBuffer(indexBuffer, indexFormat);
+            }
+            encoder.drawIndexed(count, instanceCount, first, baseVertex, firstInstance);
+        } else {
+            encoder.draw(count, instanceCount, first, firstInstance);
+        }
+    }
+
+    /**
+     * Records this draw into a render pass, skipping state already bound by the previous draw.
+     *
+     * @param pass     The render pass encoder
+     * @param previous The draw recorded immediately before into the same pass, or null
+     */
+    public void recordInto(RenderPassEncoder pass, DrawCommand previous) {
+        if (previous == null || previous.pipeline != pipeline) {
+            pass.setPipeline(pipeline);
+        }
+        for (int i = 0; i < bindGroups.length; i++) {
+            if (bindGroups[i] != null && (previous == null || !previous.sameBindGroup(i, bindGroups[i], dynamicOffsets[i]))) {
+                pass.setBindGroup(i, bindGroups[i], dynamicOffsets[i]);
+            }
+        }
+        for (int i = 0; i < vertexBuffers.length; i++) {
+            if (vertexBuffers[i] != null && (previous == null || previous.getVertexBuffer(i) != vertexBuffers[i])) {
+                pass.setVertexBuffer(i, vertexBuffers[i]);
+            }
+        }
+        if (indexed) {
+            if (previous == null || previous.indexBuffer != indexBuffer || previous.indexFormat != indexFormat) {
+                pass.setIndexBuffer(indexBuffer, indexFormat);
+            }
+            pass.drawIndexed(count, instanceCount, first, baseVertex, firstInstance);
+        } else {
+            pass.draw(count, instanceCount, first, firstInstance);
+        }
+    }
+
+    private boolean sameBindGroup(int index, BindGroup bindGroup, int[] offsets) {
+        return getBindGroup(index) == bindGroup && Arrays.equals(dynamicOffsets[index], offsets);
+    }
+
+    /**
+     * Two draw commands are equal if they bind the same resource objects and draw with the same parameters.
+     * Resources are compared by identity.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DrawCommand other)) {
+            return false;
+        }
+        return pipeline == other.pipeline
+                && indexBuffer == other.indexBuffer
+                && indexFormat == other.indexFormat
+                && indexed == other.indexed
+                && count == other.count
+                && instanceCount == other.instanceCount
+                && first == other.first
+                && baseVertex == other.baseVertex
+                && firstInstance == other.firstInstance
+                && sameReferences(bindGroups, other.bindGroups)
+                && sameReferences(vertexBuffers, other.vertexBuffers)
+                && Arrays.deepEquals(dynamicOffsets, other.dynamicOffsets);
+    }
+
+    private static boolean sameReferences(Object[] a, Object[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = System.identityHashCode(pipeline);
+        for (BindGroup bindGroup : bindGroups) {
+            hash = 31 * hash + System.identityHashCode(bindGroup);
+        }
+        for (int[] offsets : dynamicOffsets) {
+            hash = 31 * hash + Arrays.hashCode(offsets);
+        }
+        for (Buffer buffer : vertexBuffers) {
+            hash = 31 * hash + System.identityHashCode(buffer);
+        }
+        hash = 31 * hash + System.identityHashCode(indexBuffer);
+        hash = 31 * hash + (indexBuffer != null ? indexFormat.hashCode() : 0);
+        hash = 31 * hash + count;
+        hash = 31 * hash + instanceCount;
+        hash = 31 * hash + first;
+        hash = 31 * hash + baseVertex;
+        hash = 31 * hash + firstInstance;
+        return hash;
+    }
+
+    /**
+     * Returns true if this draw binds the given pipeline, bind group or buffer.
+     */
+    public boolean references(Object resource) {
+        if (resource == null) {
+            return false;
+        }
+        if (pipeline == resource || indexBuffer == resource) {
+            return true;
+        }
+        for (BindGroup bindGroup : bindGroups) {
+            if (bindGroup == resource) {
+                return true;
+            }
+        }
+        for (Buffer buffer : vertexBuffers) {
+            if (buffer == resource) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if any resource this draw binds has been closed.
+     */
+    public boolean referencesClosedResource() {
+        if (pipeline.isClosed() || (indexBuffer != null && indexBuffer.isClosed())) {
+            return true;
+        }
+        for (BindGroup bindGroup : bindGroups) {
+            if (bindGroup != null && bindGroup.isClosed()) {
+                return true;
+            }
+        }
+        for (Buffer buffer : vertexBuffers) {
+            if (buffer != null && buffer.isClosed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DrawCommand[pipeline=%s, indexed=%s, count=%d, instances=%d]",
+                pipeline, isIndexed(), count, instanceCount);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private RenderPipeline pipeline;
+        private final BindGroup[] bindGroups = new BindGroup[MAX_BIND_GROUPS];
+        private final int[][] dynamicOffsets = new int[MAX_BIND_GROUPS][];
+        private int bindGroupCount = 0;
+        private final Buffer[] vertexBuffers = new Buffer[MAX_VERTEX_BUFFERS];
+        private int vertexBufferCount = 0;
+        private Buffer indexBuffer;
+        private IndexFormat indexFormat = IndexFormat.UINT32;
+        private boolean indexed = false;
+        private int count = -1;
+        private int instanceCount = 1;
+        private int first = 0;
+        private int baseVertex = 0;
+        private int firstInstance = 0;
+
+        public Builder pipeline(RenderPipeline pipeline) {
+            this.pipeline = pipeline;
+            return this;
+        }
+
+        public Builder bindGroup(int index, BindGroup bindGroup) {
+            return bindGroup(index, bindGroup, null);
+        }
+
+        public Builder bindGroup(int index, BindGroup bindGroup, int[] dynamicOffsets) {
+            if (index < 0 || index >= MAX_BIND_GROUPS) {
+                throw new IllegalArgumentException("Bind group index out of range: " + index);
+            }
+            this.bindGroups[index] = bindGroup;
+            this.dynamicOffsets[index] = dynamicOffsets != null ? dynamicOffsets.clone() : NO_OFFSETS;
+            this.bindGroupCount = Math.max(bindGroupCount, index + 1);
+            return this;
+        }
+
+        public Builder vertexBuffer(int slot, Buffer buffer) {
+            if (slot < 0 || slot >= MAX_VERTEX_BUFFERS) {
+                throw new IllegalArgumentException("Vertex buffer slot out of range: " + slot);
+            }
+            this.vertexBuffers[slot] = buffer;
+            this.vertexBufferCount = Math.max(vertexBufferCount, slot + 1);
+            return this;
+        }
+
+        public Builder indexBuffer(Buffer buffer, IndexFormat format) {
+            this.indexBuffer = buffer;
+            this.indexFormat = format;
+            return this;
+        }
+
+        /**
+         * Sets a non-indexed draw; requires that no index buffer is set.
+         */
+        public Builder draw(int vertexCount, int instanceCount, int firstVertex, int firstInstance) {
+            this.indexed = false;
+            this.count = vertexCount;
+            this.instanceCount = instanceCount;
+            this.first = firstVertex;
+            this.baseVertex = 0;
+            this.firstInstance = firstInstance;
+            return this;
+        }
+
+        /**
+         * Sets an indexed draw; requires an index buffer.
+         */
+        public Builder drawIndexed(int indexCount, int instanceCount, int firstIndex, int baseVertex, int firstInstance) {
+            this.indexed = true;
+            this.count = indexCount;
+            this.instanceCount = instanceCount;
+            this.first = firstIndex;
+            this.baseVertex = baseVertex;
+            this.firstInstance = firstInstance;
+            return this;
+        }
+
+        public DrawCommand build() {
+            Objects.requireNonNull(pipeline, "pipeline");
+            if (count < 0) {
+                throw new IllegalArgumentException("Draw parameters must be set with draw() or drawIndexed()");
+            }
+            if (indexed && indexBuffer == null) {
+                throw new IllegalArgumentException("drawIndexed() requires an index buffer");
+            }
+            if (!indexed && indexBuffer != null) {
+                throw new IllegalArgumentException("draw() cannot be combined with an index buffer; use drawIndexed()");
+            }
+            return new DrawCommand(this);
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.constant.IndexFormat;
+import org.wgpu4j.resource.BindGroup;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.RenderBundleEncoder;
+import org.wgpu4j.resource.RenderPassEncoder;
+import org.wgpu4j.resource.RenderPipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-frame queue of draws sorted by a packed 64-bit key to minimize state changes.
+ * <p>
+ * Resources are registered once and referred to by small integer ids. Each draw is stored in a
+ * struct-of-arrays payload and paired with a sort key, usually built with
+ * {@link #sortKey(int, int, int, float)} so that draws are grouped by pipeline, then bind group,
+ * then vertex buffer, then ordered by depth. {@link #sort()} is an LSD radix sort over the keys
+ * that allocates nothing once the queue has reached its steady-state capacity, and the emit
+ * methods only bind state that differs from the previous draw.
+ * <pre>{@code
+ * int pipelineId = queue.registerPipeline(pipeline);
+ * int materialId = queue.registerBindGroup(material);
+ * int meshId = queue.registerBuffer(vertices);
+ * int indicesId = queue.registerBuffer(indices);
+ *
+ * // every frame
+ * queue.clear();
+ * int draw = queue.addIndexed(DrawQueue.sortKey(pipelineId, materialId, meshId, depth),
+ *         pipelineId, meshId, indicesId, IndexFormat.UINT16, indexCount, 1, 0, 0, 0);
+ * queue.bindGroup(draw, 1, materialId);
+ * queue.sort();
+ * queue.emit(pass);
+ * }</pre>
+ * Keys are compared as unsigned 64-bit values. The queue is not thread-safe.
+ */
+public class DrawQueue {
+
+    /**
+     * Maximum number of bind group slots a queued draw can bind.
+     */
+    public static final int MAX_BIND_GROUPS = 4;
+
+    /**
+     * Maximum number of vertex buffer slots a queued draw can bind.
+     */
+    public static final int MAX_VERTEX_BUFFERS = DrawCommand.MAX_VERTEX_BUFFERS;
+
+    /**
+     * Marks an unused bind group slot, vertex buffer or index buffer.
+     */
+    public static final int NONE = -1;
+
+    private static final int PIPELINE_SHIFT = 48;
+    private static final int BIND_GROUP_SHIFT = 32;
+    private static final int VERTEX_BUFFER_SHIFT = 20;
+    private static final int DEPTH_BITS = 20;
+    private static final long DEPTH_MAX = (1L << DEPTH_BITS) - 1;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final List<RenderPipeline> pipelines = new ArrayList<>();
+    private final List<BindGroup> bindGroups = new ArrayList<>();
+    private final List<Buffer> buffers = new ArrayList<>();
+    private final Map<Object, Integer> ids = new IdentityHashMap<>();
+
+    private int size = 0;
+    private long[] keys;
+    private int[] order;
+    private long[] scratchKeys;
+    private int[] scratchOrder;
+    private final int[] counts = new int[RADIX];
+
+    private int[] pipelineIds;
+    private int[][] bindGroupIds;
+    private int[][] dynamicOffsets;
+    private int[][] vertexBufferIds;
+    private int[] indexBufferIds;
+    private IndexFormat[] indexFormats;
+    private int[] drawCounts;
+    private int[] instanceCounts;
+    private int[] firsts;
+    private int[] baseVertices;
+    private int[] firstInstances;
+
+    private int vertexBufferSlots = 1;
+    private boolean sorted = false;
+    private long stateChanges = 0;
+    private final Emitter emitter = new Emitter();
+
+    /**
+     * Creates a queue with room for 1024 draws; it grows as needed.
+     */
+    public DrawQueue() {
+        this(1024);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param initialCapacity Number of draws the queue can hold before it grows
+     */
+    public DrawQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be greater than 0");
+        }
+        allocate(initialCapacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = keys == null ? new long[capacity] : Arrays.copyOf(keys, capacity);
+        order = order == null ? new int[capacity] : Arrays.copyOf(order, capacity);
+        scratchKeys = new long[capacity];
+        scratchOrder = new int[capacity];
+
+        pipelineIds = grow(pipelineIds, capacity);
+        if (bindGroupIds == null) {
+            bindGroupIds = new int[MAX_BIND_GROUPS][];
+            dynamicOffsets = new int[MAX_BIND_GROUPS][];
+            vertexBufferIds = new int[MAX_VERTEX_BUFFERS][];
+        }
+        for (int i = 0; i < MAX_BIND_GROUPS; i++) {
+            bindGroupIds[i] = grow(bindGroupIds[i], capacity);
+            dynamicOffsets[i] = grow(dynamicOffsets[i], capacity);
+        }
+        for (int i = 0; i < MAX_VERTEX_BUFFERS; i++) {
+            vertexBufferIds[i] = grow(vertexBufferIds[i], capacity);
+        }
+        indexBufferIds = grow(indexBufferIds, capacity);
+        indexFormats = indexFormats == null ? new IndexFormat[capacity] : Arrays.copyOf(indexFormats, capacity);
+        drawCounts = grow(drawCounts, capacity);
+        instanceCounts = grow(instanceCounts, capacity);
+        firsts = grow(firsts, capacity);
+        baseVertices = grow(baseVertices, capacity);
+        firstInstances = grow(firstInstances, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * Packs a sort key that orders by pipeline, then bind group, then vertex buffer, then depth.
+     *
+     * @param pipelineId     Pipeline id, 16 bits
+     * @param bindGroupId    Bind group id (typically the material), 16 bits
+     * @param vertexBufferId Vertex buffer id, 12 bits
+     * @param depth          Normalized depth in [0, 1], quantized to 20 bits; use {@code 1 - depth} for back-to-front
+     * @return The packed key
+     */
+    public static long sortKey(int pipelineId, int bindGroupId, int vertexBufferId, float depth) {
+        return ((long) (pipelineId & 0xFFFF) << PIPELINE_SHIFT)
+                | ((long) (bindGroupId & 0xFFFF) << BIND_GROUP_SHIFT)
+                | ((long) (vertexBufferId & 0xFFF) << VERTEX_BUFFER_SHIFT)
+                | quantizeDepth(depth);
+    }
+
+    /**
+     * Quantizes a normalized depth to the 20-bit depth field of {@link #sortKey(int, int, int, float)}.
+     */
+    public static long quantizeDepth(float depth) {
+        if (!(depth > 0.0f)) {
+            return 0;
+        }
+        if (depth >= 1.0f) {
+            return DEPTH_MAX;
+        }
+        return (long) (depth * DEPTH_MAX);
+    }
+
+    /**
+     * Registers a pipeline and returns its id. Registering the same pipeline again returns the same id.
+     */
+    public int registerPipeline(RenderPipeline pipeline) {
+        return register(pipeline, pipelines);
+    }
+
+    /**
+     * Registers a bind group and returns its id. Registering the same bind group again returns the same id.
+     */
+    public int registerBindGroup(BindGroup bindGroup) {
+        return register(bindGroup, bindGroups);
+    }
+
+    /**
+     * Registers a vertex or index buffer and returns its id. Registering the same buffer again returns the same id.
+     */
+    public int registerBuffer(Buffer buffer) {
+        return register(buffer, buffers);
+    }
+
+    private <T> int register(T resource, List<T> table) {
+        Integer id = ids.get(resource);
+        if (id == null) {
+            id = table.size();
+            table.add(resource);
+            ids.put(resource, id);
+        }
+        return id;
+    }
+
+    /**
+     * Forgets all registered resources and queued draws.
+     */
+    public void clearResources() {
+        clear();
+        pipelines.clear();
+        bindGroups.clear();
+        buffers.clear();
+        ids.clear();
+    }
+
+    /**
+     * Removes all queued draws. Registered resources are kept.
+     */
+    public void clear() {
+        size = 0;
+        vertexBufferSlots = 1;
+        sorted = false;
+    }
+
+    private int append(long sortKey, int pipelineId, int vertexBufferId, int indexBufferId, IndexFormat indexFormat,
+                       int count, int instanceCount, int first, int baseVertex, int firstInstance) {
+        if (size == keys.length) {
+            allocate(keys.length * 2);
+        }
+        int draw = size++;
+        keys[draw] = sortKey;
+        order[draw] = draw;
+        pipelineIds[draw] = pipelineId;
+        for (int i = 0; i < MAX_BIND_GROUPS; i++) {
+            bindGroupIds[i][draw] = NONE;
+        }
+        vertexBufferIds[0][draw] = vertexBufferId;
+        for (int i = 1; i < vertexBufferSlots; i++) {
+            vertexBufferIds[i][draw] = NONE;
+        }
+        indexBufferIds[draw] = indexBufferId;
+        indexFormats[draw] = indexFormat;
+        drawCounts[draw] = count;
+        instanceCounts[draw] = instanceCount;
+        firsts[draw] = first;
+        baseVertices[draw] = baseVertex;
+        firstInstances[draw] = firstInstance;
+        sorted = false;
+        return draw;
+    }
+
+    /**
+     * Queues a non-indexed draw.
+     *
+     * @return The draw's payload index, used with {@link #bindGroup(int, int, int)}
+     */
+    public int add(long sortKey, int pipelineId, int vertexBufferId,
+                   int vertexCount, int instanceCount, int firstVertex, int firstInstance) {
+        return append(sortKey, pipelineId, vertexBufferId, NONE, null,
+                vertexCount, instanceCount, firstVertex, 0, firstInstance);
+    }
+
+    /**
+     * Queues an indexed draw.
+     *
+     * @return The draw's payload index, used with {@link #bindGroup(int, int, int)}
+     */
+    public int addIndexed(long sortKey, int pipelineId, int vertexBufferId, int indexBufferId, IndexFormat indexFormat,
+                          int indexCount, int instanceCount, int firstIndex, int baseVertex, int firstInstance) {
+        return append(sortKey, pipelineId, vertexBufferId, indexBufferId, indexFormat,
+                indexCount, instanceCount, firstIndex, baseVertex, firstInstance);
+    }
+
+    /**
+     * Sets a bind group for a queued draw.
+     */
+    public void bindGroup(int draw, int groupIndex, int bindGroupId) {
+        bindGroup(draw, groupIndex, bindGroupId, NONE);
+    }
+
+    /**
+     * Sets a bind group with a single dynamic offset for a queued draw.
+     *
+     * @param draw          Payload index returned by {@code add}
+     * @param groupIndex    Bind group slot
+     * @param bindGroupId   Registered bind group id
+     * @param dynamicOffset Dynamic offset, or {@link #NONE} for a bind group without dynamic offsets
+     */
+    public void bindGroup(int draw, int groupIndex, int bindGroupId, int dynamicOffset) {
+        if (draw < 0 || draw >= size) {
+            throw new IndexOutOfBoundsException("Draw index out of range: " + draw);
+        }
+        if (groupIndex < 0 || groupIndex >= MAX_BIND_GROUPS) {
+            throw new IllegalArgumentException("Bind group index out of range: " + groupIndex);
+        }
+        bindGroupIds[groupIndex][draw] = bindGroupId;
+        dynamicOffsets[groupIndex][draw] = dynamicOffset;
+    }
+
+    /**
+     * Sets the vertex buffer of a slot for a queued draw. The buffer passed to {@code add} is bound to slot 0.
+     *
+     * @param draw     Payload index returned by {@code add}
+     * @param slot     Vertex buffer slot
+     * @param bufferId Registered buffer id, or {@link #NONE} to leave the slot unset
+     */
+    public void vertexBuffer(int draw, int slot, int bufferId) {
+        if (draw < 0 || draw >= size) {
+            throw new IndexOutOfBoundsException("Draw index out of range: " + draw);
+        }
+        if (slot < 0 || slot >= MAX_VERTEX_BUFFERS) {
+            throw new IllegalArgumentException("Vertex buffer slot out of range: " + slot);
+        }
+        // Draws queued before a slot came into use have never written it.
+        for (; vertexBufferSlots <= slot; vertexBufferSlots++) {
+            Arrays.fill(vertexBufferIds[vertexBufferSlots], 0, size, NONE);
+        }
+        vertexBufferIds[slot][draw] = bufferId;
+    }
+
+    /**
+     * Gets the number of queued draws.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the queued draws by key with an LSD radix sort, 8 bits per pass.
+     * Passes in which every key has the same byte are skipped. Equal keys keep insertion order.
+     */
+    public void sort() {
+        long[] srcKeys = keys;
+        int[] srcOrder = order;
+        long[] dstKeys = scratchKeys;
+        int[] dstOrder = scratchOrder;
+
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (size == 0 || counts[(int) (srcKeys[0] >>> shift) & (RADIX - 1)] == size) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int count = counts[b];
+                counts[b] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                long key = srcKeys[i];
+                int target = counts[(int) (key >>> shift) & (RADIX - 1)]++;
+                dstKeys[target] = key;
+                dstOrder[target] = srcOrder[i];
+            }
+
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = swapOrder;
+        }
+
+        keys = srcKeys;
+        order = srcOrder;
+        scratchKeys = dstKeys;
+        scratchOrder = dstOrder;
+        sorted = true;
+    }
+
+    /**
+     * Gets the payload index of the draw at the given position in sorted order.
+     */
+    public int getSortedDraw(int position) {
+        checkSorted();
+        return order[position];
+    }
+
+    /**
+     * Gets the key of the draw at the given position in sorted order.
+     */
+    public long getSortedKey(int position) {
+        checkSorted();
+        return keys[position];
+    }
+
+    /**
+     * Gets the number of pipeline, bind group and buffer bindings issued by the last emit.
+     */
+    public long getLastStateChangeCount() {
+        return stateChanges;
+    }
+
+    private void checkSorted() {
+        if (!sorted) {
+            throw new IllegalStateException("Draw queue must be sorted before it is read or emitted");
+        }
+    }
+
+    /**
+     * Records the sorted draws into a render pass.
+     */
+    public void emit(RenderPassEncoder pass) {
+        checkSorted();
+        emitter.reset();
+        for (int position = 0; position < size; position++) {
+            int draw = order[position];
+            if (emitter.pipelineChanged(draw)) {
+                pass.setPipeline(pipelines.get(pipelineIds[draw]));
+            }
+            for (int group = 0; group < MAX_BIND_GROUPS; group++) {
+                if (emitter.bindGroupChanged(draw, group)) {
+                    pass.setBindGroup(group, bindGroups.get(bindGroupIds[group][draw]), emitter.offsetsOf(draw, group));
+                }
+            }
+            for (int slot = 0; slot < vertexBufferSlots; slot++) {
+                if (emitter.vertexBufferChanged(draw, slot)) {
+                    pass.setVertexBuffer(slot, buffers.get(vertexBufferIds[slot][draw]));
+                }
+            }
+            if (indexBufferIds[draw] != NONE) {
+                if (emitter.indexBufferChanged(draw)) {
+                    pass.setIndexBuffer(buffers.get(indexBufferIds[draw]), indexFormats[draw]);
+                }
+                pass.drawIndexed(drawCounts[draw], instanceCounts[draw], firsts[draw], baseVertices[draw], firstInstances[draw]);
+            } else {
+                pass.draw(drawCounts[draw], instanceCounts[draw], firsts[draw], firstInstances[draw]);
+            }
+        }
+        stateChanges = emitter.changes;
+    }
+
+    /**
+     * Records the sorted draws into a render bundle.
+     */
+    public void emit(RenderBundleEncoder encoder) {
+        checkSorted();
+        emitter.reset();
+        for (int position = 0; position < size; position++) {
+            int draw = order[position];
+            if (emitter.pipelineChanged(draw)) {
+                encoder.setPipeline(pipelines.get(pipelineIds[draw]));
+            }
+            for (int group = 0; group < MAX_BIND_GROUPS; group++) {
+                if (emitter.bindGroupChanged(draw, group)) {
+                    encoder.setBindGroup(group, bindGroups.get(bindGroupIds[group][draw]), emitter.offsetsOf(draw, group));
+                }
+            }
+            for (int slot = 0; slot < vertexBufferSlots; slot++) {
+                if (emitter.vertexBufferChanged(draw, slot)) {
+                    encoder.setVertexBuffer(slot, buffers.get(vertexBufferIds[slot][draw]));
+                }
+            }
+            if (indexBufferIds[draw] != NONE) {
+                if (emitter.indexBufferChanged(draw)) {
+                    encoder.setIndexBuffer(buffers.get(indexBufferIds[draw]), indexFormats[draw]);
+                }
+                encoder.drawIndexed(drawCounts[draw], instanceCounts[draw], firsts[draw], baseVertices[draw], firstInstances[draw]);
+            } else {
+                encoder.draw(drawCounts[draw], instanceCounts[draw], firsts[draw], firstInstances[draw]);
+            }
+        }
+        stateChanges = emitter.changes;
+    }
+
+    /**
+     * Tracks the last bound ids while emitting. Reused by every emit, so emitting allocates nothing.
+     */
+    private final class Emitter {
+        int pipeline;
+        final int[] groups = new int[MAX_BIND_GROUPS];
+        final int[] offsets = new int[MAX_BIND_GROUPS];
+        final int[] vertexBuffers = new int[MAX_VERTEX_BUFFERS];
+        int indexBuffer;
+        IndexFormat indexFormat;
+        long changes;
+
+        /**
+         * Holds the dynamic offset passed to setBindGroup. The encoders copy it before they return.
+         */
+        final int[] singleOffset = new int[1];
+
+        void reset() {
+            pipeline = NONE;
+            Arrays.fill(groups, NONE);
+            Arrays.fill(offsets, NONE);
+            Arrays.fill(vertexBuffers, NONE);
+            indexBuffer = NONE;
+            indexFormat = null;
+            changes = 0;
+        }
+
+        int[] offsetsOf(int draw, int group) {
+            int offset = dynamicOffsets[group][draw];
+            if (offset == NONE) {
+                return null;
+            }
+            singleOffset[0] = offset;
+            return singleOffset;
+        }
+
+        boolean pipelineChanged(int draw) {
+            if (pipelineIds[draw] == pipeline) {
+                return false;
+            }
+            pipeline = pipelineIds[draw];
+            changes++;
+            return true;
+        }
+
+        boolean bindGroupChanged(int draw, int group) {
+            int id = bindGroupIds[group][draw];
+            int offset = dynamicOffsets[group][draw];
+            if (id == NONE || (id == groups[group] && offset == offsets[group])) {
+                return false;
+            }
+            groups[group] = id;
+            offsets[group] = offset;
+            changes++;
+            return true;
+        }
+
+        boolean vertexBufferChanged(int draw, int slot) {
+            int id = vertexBufferIds[slot][draw];
+            if (id == NONE || id == vertexBuffers[slot]) {
+                return false;
+            }
+            vertexBuffers[slot] = id;
+            changes++;
+            return true;
+        }
+
+        boolean indexBufferChanged(int draw) {
+            int id = indexBufferIds[draw];
+            if (id == indexBuffer && indexFormats[draw] == indexFormat) {
+                return false;
+            }
+            indexBuffer = id;
+            indexFormat = indexFormats[draw];
+            changes++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.WgpuResource;
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.descriptor.BindGroupDescriptor;
+import org.wgpu4j.descriptor.BindGroupEntry;
+import org.wgpu4j.descriptor.BindGroupLayoutDescriptor;
+import org.wgpu4j.descriptor.BindGroupLayoutEntry;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.ComputePassDescriptor;
+import org.wgpu4j.descriptor.ComputePipelineDescriptor;
+import org.wgpu4j.descriptor.PipelineLayoutDescriptor;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.resource.BindGroup;
+import org.wgpu4j.resource.BindGroupLayout;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.ComputePassEncoder;
+import org.wgpu4j.resource.ComputePipeline;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.PipelineLayout;
+import org.wgpu4j.resource.Queue;
+import org.wgpu4j.resource.RenderPassEncoder;
+import org.wgpu4j.resource.ShaderModule;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Culls instances against the view frustum on the GPU and writes the arguments for a single
+ * {@link RenderPassEncoder#drawIndexedIndirect(Buffer, long)}.
+ * <p>
+ * Instance bounds are bounding spheres ({@code x, y, z, radius}) uploaded once into a storage buffer.
+ * Each frame, {@link #cull(CommandEncoder)} records a compute pass that tests every sphere against
+ * the six frustum planes and stream-compacts the indices of visible instances into
+ * {@link #getVisibleInstanceBuffer()}. Compaction uses one atomic per workgroup, so the order of visible
+ * indices is not stable between frames. The vertex shader looks up its instance through that buffer:
+ * <pre>{@code
+ * @group(0) @binding(0) var<storage, read> visible: array<u32>;
+ *
+ * @vertex
+ * fn vs_main(@builtin(instance_index) slot: u32, ...) -> ... {
+ *     let instance = visible[slot];
+ *     ...
+ * }
+ * }</pre>
+ * The CPU never reads visibility back; it only uploads the frustum planes when the camera moves.
+ */
+public class GpuFrustumCuller implements AutoCloseable {
+
+    /**
+     * Number of instances tested by one workgroup.
+     */
+    public static final int WORKGROUP_SIZE = 64;
+
+    /**
+     * Size of the indexed indirect draw arguments in bytes.
+     */
+    public static final long INDIRECT_ARGS_SIZE = 5 * Integer.BYTES;
+
+    private static final long PARAMS_SIZE = 112;
+    private static final long BOUNDS_STRIDE = 4 * Float.BYTES;
+
+    private static final String SHADER = """
+            struct Params {
+                planes: array<vec4<f32>, 6>,
+                instanceCount: u32,
+                indexCount: u32,
+                firstIndex: u32,
+                baseVertex: i32,
+            }
+
+            struct DrawArgs {
+                indexCount: u32,
+                instanceCount: atomic<u32>,
+                firstIndex: u32,
+                baseVertex: i32,
+                firstInstance: u32,
+            }
+
+            @group(0) @binding(0) var<uniform> params: Params;
+            @group(0) @binding(1) var<storage, read> bounds: array<vec4<f32>>;
+            @group(0) @binding(2) var<storage, read_write> visible: array<u32>;
+            @group(0) @binding(3) var<storage, read_write> args: DrawArgs;
+
+            var<workgroup> localCount: atomic<u32>;
+            var<workgroup> localBase: u32;
+
+            @compute @workgroup_size(1)
+            fn reset() {
+                args.indexCount = params.indexCount;
+                atomicStore(&args.instanceCount, 0u);
+                args.firstIndex = params.firstIndex;
+                args.baseVertex = params.baseVertex;
+                args.firstInstance = 0u;
+            }
+
+            fn isVisible(sphere: vec4<f32>) -> bool {
+                for (var p = 0u; p < 6u; p++) {
+                    let plane = params.planes[p];
+                    if (dot(plane.xyz, sphere.xyz) + plane.w < -sphere.w) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @compute @workgroup_size(64)
+            fn cull(@builtin(global_invocation_id) gid: vec3<u32>, @builtin(local_invocation_index) lid: u32) {
+                let i = gid.x;
+                var keep = false;
+                var localSlot = 0u;
+                if (i < params.instanceCount && isVisible(bounds[i])) {
+                    keep = true;
+                    localSlot = atomicAdd(&localCount, 1u);
+                }
+                workgroupBarrier();
+                if (lid == 0u) {
+                    localBase = atomicAdd(&args.instanceCount, atomicLoad(&localCount));
+                }
+                workgroupBarrier();
+                if (keep) {
+                    visible[localBase + localSlot] = i;
+                }
+            }
+            """;
+
+    private final Device device;
+    private final Queue queue;
+    private final int maxInstances;
+    private final Buffer paramsBuffer;
+    private final Buffer boundsBuffer;
+    private final Buffer visibleBuffer;
+    private final Buffer indirectBuffer;
+    private final ShaderModule shader;
+    private final BindGroupLayout bindGroupLayout;
+    private final PipelineLayout pipelineLayout;
+    private final ComputePipeline resetPipeline;
+    private final ComputePipeline cullPipeline;
+    private final BindGroup bindGroup;
+
+    private final float[] planes = new float[24];
+    private int instanceCount = 0;
+    private int indexCount = 0;
+    private int firstIndex = 0;
+    private int baseVertex = 0;
+    private boolean paramsDirty = true;
+    private boolean closed = false;
+
+    /**
+     * Creates the buffers and pipelines for culling up to {@code maxInstances} instances.
+     *
+     * @param device       The device
+     * @param maxInstances Maximum number of instances
+     */
+    public GpuFrustumCuller(Device device, int maxInstances) {
+        if (maxInstances <= 0) {
+            throw new IllegalArgumentException("maxInstances must be greater than 0");
+        }
+        this.device = device;
+        this.queue = device.getQueue();
+        this.maxInstances = maxInstances;
+
+        try {
+            this.paramsBuffer = device.createBuffer(BufferDescriptor.builder()
+                    .label("culling/params")
+                    .size(PARAMS_SIZE)
+                    .usage(BufferUsage.UNIFORM | BufferUsage.COPY_DST)
+                    .build());
+            this.boundsBuffer = device.createBuffer(BufferDescriptor.builder()
+                    .label("culling/bounds")
+                    .size(maxInstances * BOUNDS_STRIDE)
+                    .usage(BufferUsage.STORAGE | BufferUsage.COPY_DST)
+                    .build());
+            this.visibleBuffer = device.createBuffer(BufferDescriptor.builder()
+                    .label("culling/visible")
+                    .size((long) maxInstances * Integer.BYTES)
+                    .usage(BufferUsage.STORAGE | BufferUsage.VERTEX | BufferUsage.COPY_SRC)
+                    .build());
+            this.indirectBuffer = device.createBuffer(BufferDescriptor.builder()
+                    .label("culling/indirect")
+                    .size(INDIRECT_ARGS_SIZE)
+                    .usage(BufferUsage.STORAGE | BufferUsage.INDIRECT | BufferUsage.COPY_SRC)
+                    .build());
+
+            this.shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                    .label("culling")
+                    .wgslCode(SHADER)
+                    .build());
+            this.bindGroupLayout = device.createBindGroupLayout(BindGroupLayoutDescriptor.builder()
+                    .label("culling")
+                    .entry(bufferEntry(0, BufferBindingType.UNIFORM))
+                    .entry(bufferEntry(1, BufferBindingType.READ_ONLY_STORAGE))
+                    .entry(bufferEntry(2, BufferBindingType.STORAGE))
+                    .entry(bufferEntry(3, BufferBindingType.STORAGE))
+                    .build());
+            this.pipelineLayout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                    .label("culling")
+                    .bindGroupLayout(bindGroupLayout)
+                    .build());
+            this.resetPipeline = createPipeline("reset");
+            this.cullPipeline = createPipeline("cull");
+            this.bindGroup = device.createBindGroup(BindGroupDescriptor.builder()
+                    .label("culling")
+                    .layout(bindGroupLayout)
+                    .entry(BindGroupEntry.builder().binding(0).buffer(paramsBuffer).build())
+                    .entry(BindGroupEntry.builder().binding(1).buffer(boundsBuffer).build())
+                    .entry(BindGroupEntry.builder().binding(2).buffer(visibleBuffer).build())
+                    .entry(BindGroupEntry.builder().binding(3).buffer(indirectBuffer).build())
+                    .build());
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private static BindGroupLayoutEntry bufferEntry(int binding, BufferBindingType type) {
+        return BindGroupLayoutEntry.builder()
+                .binding(binding)
+                .visibility(ShaderStageFlags.COMPUTE)
+                .bufferType(type)
+                .build();
+    }
+
+    private ComputePipeline createPipeline(String entryPoint) {
+        return device.createComputePipeline(ComputePipelineDescriptor.builder()
+                .label("culling/" + entryPoint)
+                .pipelineLayout(pipelineLayout)
+                .computeShader(shader)
+                .entryPoint(entryPoint)
+                .build());
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Frustum culler has been closed");
+        }
+    }
+
+    /**
+     * Uploads instance bounding spheres.
+     *
+     * @param spheres Packed {@code x, y, z, radius} per instance
+     * @param count   Number of instances
+     */
+    public void setInstanceBounds(float[] spheres, int count) {
+        checkNotClosed();
+        if (count < 0 || count > maxInstances) {
+            throw new IllegalArgumentException("Instance count must be between 0 and " + maxInstances + ": " + count);
+        }
+        if (spheres.length < count * 4) {
+            throw new IllegalArgumentException("Expected " + count * 4 + " floats of bounds, got " + spheres.length);
+        }
+        if (count > 0) {
+            ByteBuffer bytes = ByteBuffer.allocate(count * 4 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.asFloatBuffer().put(spheres, 0, count * 4);
+            queue.writeBuffer(boundsBuffer, 0, bytes.array());
+        }
+        instanceCount = count;
+        paramsDirty = true;
+    }
+
+    /**
+     * Sets the index range drawn for every visible instance.
+     *
+     * @param indexCount Number of indices per instance
+     * @param firstIndex First index in the index buffer
+     * @param baseVertex Value added to each index
+     */
+    public void setDrawArguments(int indexCount, int firstIndex, int baseVertex) {
+        this.indexCount = indexCount;
+        this.firstIndex = firstIndex;
+        this.baseVertex = baseVertex;
+        paramsDirty = true;
+    }
+
+    /**
+     * Sets the frustum from a column-major view-projection matrix with WebGPU clip space (z in [0, w]).
+     *
+     * @param viewProjection 16 floats, column-major
+     */
+    public void setViewProjection(float[] viewProjection) {
+        setFrustumPlanes(extractFrustumPlanes(viewProjection));
+    }
+
+    /**
+     * Sets the six frustum planes directly.
+     *
+     * @param planes Six planes as {@code a, b, c, d} with normals pointing inside, so that
+     *               {@code a*x + b*y + c*z + d >= 0} for points inside the frustum
+     */
+    public void setFrustumPlanes(float[] planes) {
+        if (planes.length != 24) {
+            throw new IllegalArgumentException("Expected 24 floats for 6 planes, got " + planes.length);
+        }
+        System.arraycopy(planes, 0, this.planes, 0, 24);
+        paramsDirty = true;
+    }
+
+    /**
+     * Extracts normalized left, right, bottom, top, near and far planes from a column-major
+     * view-projection matrix with WebGPU clip space (z in [0, w]).
+     *
+     * @param m 16 floats, column-major
+     * @return 24 floats, six planes as {@code a, b, c, d}
+     */
+    public static float[] extractFrustumPlanes(float[] m) {
+        if (m.length != 16) {
+            throw new IllegalArgumentException("Expected a 4x4 matrix, got " + m.length + " floats");
+        }
+        float[] planes = new float[24];
+        for (int i = 0; i < 4; i++) {
+            float row0 = m[i * 4];
+            float row1 = m[i * 4 + 1];
+            float row2 = m[i * 4 + 2];
+            float row3 = m[i * 4 + 3];
+            planes[i] = row3 + row0;
+            planes[4 + i] = row3 - row0;
+            planes[8 + i] = row3 + row1;
+            planes[12 + i] = row3 - row1;
+            planes[16 + i] = row2;
+            planes[20 + i] = row3 - row2;
+        }
+        for (int p = 0; p < 6; p++) {
+            int base = p * 4;
+            float length = (float) Math.sqrt(planes[base] * planes[base]
+                    + planes[base + 1] * planes[base + 1]
+                    + planes[base + 2] * planes[base + 2]);
+            if (length > 0.0f) {
+                for (int i = 0; i < 4; i++) {
+                    planes[base + i] /= length;
+                }
+            }
+        }
+        return planes;
+    }
+
+    private void uploadParams() {
+        ByteBuffer bytes = ByteBuffer.allocate((int) PARAMS_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : planes) {
+            bytes.putFloat(value);
+        }
+        bytes.putInt(instanceCount);
+        bytes.putInt(indexCount);
+        bytes.putInt(firstIndex);
+        bytes.putInt(baseVertex);
+        queue.writeBuffer(paramsBuffer, 0, bytes.array());
+        paramsDirty = false;
+    }
+
+    /**
+     * Records the culling compute pass. Parameters changed since the last call are uploaded
+     * through the queue first, so they apply to the command buffer recorded here.
+     *
+     * @param encoder The command encoder, submitted before any draw that reads the results
+     */
+    public void cull(CommandEncoder encoder) {
+        checkNotClosed();
+        if (paramsDirty) {
+            uploadParams();
+        }
+
+        try (ComputePassEncoder pass = encoder.beginComputePass(ComputePassDescriptor.builder()
+                .label("culling")
+                .build())) {
+            pass.setPipeline(resetPipeline);
+            pass.setBindGroup(0, bindGroup);
+            pass.dispatchWorkgroups(1, 1, 1);
+            if (instanceCount > 0) {
+                pass.setPipeline(cullPipeline);
+                pass.dispatchWorkgroups((instanceCount + WORKGROUP_SIZE - 1) / WORKGROUP_SIZE, 1, 1);
+            }
+            pass.end();
+        }
+    }
+
+    /**
+     * Records an indexed indirect draw of the visible instances.
+     * The pipeline, index buffer and a bind group exposing {@link #getVisibleInstanceBuffer()} must already be set.
+     */
+    public void drawVisible(RenderPassEncoder pass) {
+        pass.drawIndexedIndirect(indirectBuffer, 0);
+    }
+
+    /**
+     * Gets the buffer of visible instance indices, one {@code u32} per drawn instance.
+     */
+    public Buffer getVisibleInstanceBuffer() {
+        return visibleBuffer;
+    }
+
+    /**
+     * Gets the buffer holding the indexed indirect draw arguments.
+     */
+    public Buffer getIndirectBuffer() {
+        return indirectBuffer;
+    }
+
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Also called by a failed constructor, when only some of the resources exist.
+        for (WgpuResource resource : new WgpuResource[]{bindGroup, cullPipeline, resetPipeline, pipelineLayout,
+                bindGroupLayout, shader, indirectBuffer, visibleBuffer, boundsBuffer, paramsBuffer}) {
+            if (resource != null) {
+                resource.close();
+            }
+        }
+        queue.close();
+    }
+}
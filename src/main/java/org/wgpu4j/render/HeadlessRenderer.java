@@ -0,0 +1,556 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.WgpuException;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.AdapterRequestOptions;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.Extent3D;
+import org.wgpu4j.descriptor.ImageCopyBuffer;
+import org.wgpu4j.descriptor.ImageCopyTexture;
+import org.wgpu4j.descriptor.ImageCopyTextureLayout;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.resource.Adapter;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.CommandBuffer;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.Instance;
+import org.wgpu4j.resource.Queue;
+import org.wgpu4j.resource.Texture;
+import org.wgpu4j.resource.TextureView;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders frames into offscreen textures and streams their pixels back to the CPU, without a window
+ * or surface.
+ * <p>
+ * The renderer owns a ring of frame slots, each with a render target and a readback buffer. After a
+ * frame is submitted its texture is copied into the slot's buffer and the buffer is mapped
+ * asynchronously; the renderer only waits for a readback when it needs that slot again. With the default
+ * three slots, frame N+2 is recorded and submitted while frame N is still being read back.
+ * <pre>{@code
+ * try (HeadlessRenderer renderer = HeadlessRenderer.builder()
+ *         .size(800, 600)
+ *         .sink(frame -> encodePng(frame.getPixels(), frame.getWidth(), frame.getHeight()))
+ *         .build()) {
+ *     for (Chart chart : charts) {
+ *         renderer.render((encoder, target, index) -> chart.draw(encoder, target));
+ *     }
+ *     renderer.flush();
+ * }
+ * }</pre>
+ * Frames are delivered in submission order, with rows tightly packed ({@code width * bytesPerTexel}
+ * bytes per row, no copy padding). A {@link FrameSink} receives a segment that is only valid for the
+ * duration of the call. Subscribers to {@link #getPublisher()} receive their own copy of every frame on
+ * the publisher's executor; a slow subscriber applies back-pressure by blocking {@link #render}.
+ * <p>
+ * When the builder creates its own device, it falls back to a software adapter if no hardware adapter is
+ * available, so the renderer also runs on CPU-only machines. The renderer is not thread-safe.
+ */
+public class HeadlessRenderer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessRenderer.class);
+
+    /**
+     * Default number of frames that can be in flight at once.
+     */
+    public static final int DEFAULT_FRAMES_IN_FLIGHT = 3;
+
+    private static final int COPY_BYTES_PER_ROW_ALIGNMENT = 256;
+    private static final long READBACK_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Records the commands for one frame.
+     */
+    @FunctionalInterface
+    public interface FrameCallback {
+        /**
+         * Records rendering into the frame's target. The callback must end every pass it begins;
+         * the renderer appends the readback copy and submits the encoder.
+         *
+         * @param encoder    The frame's command encoder
+         * @param target     A view of the frame's render target
+         * @param frameIndex The index of the frame, starting at 0
+         */
+        void record(CommandEncoder encoder, TextureView target, long frameIndex);
+    }
+
+    /**
+     * Receives frames as they finish reading back.
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+        /**
+         * Consumes a frame. The frame's pixels are only valid until this method returns.
+         */
+        void accept(Frame frame);
+    }
+
+    /**
+     * A frame read back from the GPU.
+     */
+    public static final class Frame {
+        private final long index;
+        private final int width;
+        private final int height;
+        private final TextureFormat format;
+        private final MemorySegment pixels;
+
+        Frame(long index, int width, int height, TextureFormat format, MemorySegment pixels) {
+            this.index = index;
+            this.width = width;
+            this.height = height;
+            this.format = format;
+            this.pixels = pixels;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public TextureFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * Gets the pixels, row by row from the top, with {@code width * format.getBytesPerTexel()} bytes per row.
+         */
+        public MemorySegment getPixels() {
+            return pixels;
+        }
+
+        @Override
+        public String toString() {
+            return "Frame{index=" + index + ", " + width + "x" + height + ", format=" + format + "}";
+        }
+    }
+
+    private static final class Slot {
+        final Texture texture;
+        final TextureView view;
+        final Buffer readbackBuffer;
+        CompletableFuture<Void> mapping;
+        long frameIndex;
+
+        Slot(Texture texture, TextureView view, Buffer readbackBuffer) {
+            this.texture = texture;
+            this.view = view;
+            this.readbackBuffer = readbackBuffer;
+        }
+
+        void close() {
+            view.close();
+            texture.close();
+            readbackBuffer.close();
+        }
+    }
+
+    private final Instance instance;
+    private final Adapter ownedAdapter;
+    private final Device device;
+    private final Queue queue;
+    private final boolean ownsDevice;
+    private final int width;
+    private final int height;
+    private final TextureFormat format;
+    private final long paddedBytesPerRow;
+    private final long packedBytesPerRow;
+    private final Slot[] slots;
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment packed;
+    private final FrameSink sink;
+    private final SubmissionPublisher<Frame> publisher;
+    private long submittedFrames = 0;
+    private long deliveredFrames = 0;
+
+    private HeadlessRenderer(Builder builder, Instance instance, Adapter ownedAdapter, Device device, boolean ownsDevice) {
+        this.instance = instance;
+        this.ownedAdapter = ownedAdapter;
+        this.device = device;
+        this.queue = device.getQueue();
+        this.ownsDevice = ownsDevice;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.format = builder.format;
+        this.sink = builder.sink;
+        this.publisher = builder.publisherExecutor != null
+                ? new SubmissionPublisher<>(builder.publisherExecutor, builder.publisherBufferCapacity)
+                : null;
+
+        this.packedBytesPerRow = (long) width * format.getBytesPerTexel();
+        this.paddedBytesPerRow = align(packedBytesPerRow, COPY_BYTES_PER_ROW_ALIGNMENT);
+        this.packed = arena.allocate(packedBytesPerRow * height);
+        this.slots = new Slot[builder.framesInFlight];
+
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                Texture texture = device.createTexture(TextureDescriptor.builder()
+                        .label("headless-target-" + i)
+                        .size(width, height)
+                        .format(format)
+                        .usage(TextureUsage.RENDER_ATTACHMENT | TextureUsage.COPY_SRC)
+                        .build());
+                Buffer readbackBuffer = device.createBuffer(BufferDescriptor.builder()
+                        .label("headless-readback-" + i)
+                        .size(paddedBytesPerRow * height)
+                        .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                        .build());
+                slots[i] = new Slot(texture, texture.createView(), readbackBuffer);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        logger.debug("Created headless renderer {}x{} {} with {} frames in flight", width, height, format, slots.length);
+    }
+
+    private static long align(long value, long alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Records and submits a frame, first delivering the oldest frame if its slot is needed.
+     *
+     * @param callback Records the frame's rendering
+     * @return The index of the submitted frame
+     */
+    public long render(FrameCallback callback) {
+        Objects.requireNonNull(callback, "callback");
+
+        long frameIndex = submittedFrames;
+        Slot slot = slots[(int) (frameIndex % slots.length)];
+        if (slot.mapping != null) {
+            awaitAndDeliver(slot);
+        }
+
+        CommandBuffer commands;
+        try (CommandEncoder encoder = device.createCommandEncoder()) {
+            callback.record(encoder, slot.view, frameIndex);
+            encoder.copyTextureToBuffer(
+                    ImageCopyTexture.builder().texture(slot.texture).build(),
+                    ImageCopyBuffer.builder()
+                            .buffer(slot.readbackBuffer)
+                            .layout(ImageCopyTextureLayout.builder()
+                                    .bytesPerRow((int) paddedBytesPerRow)
+                                    .rowsPerImage(height)
+                                    .build())
+                            .build(),
+                    Extent3D.of(width, height));
+            commands = encoder.finish();
+        }
+        try (commands) {
+            queue.submit(commands);
+        }
+
+        slot.frameIndex = frameIndex;
+        slot.mapping = slot.readbackBuffer.mapAsync(MapMode.READ, 0, paddedBytesPerRow * height);
+        submittedFrames++;
+
+        deliverCompleted();
+        return frameIndex;
+    }
+
+    /**
+     * Delivers frames whose readback already finished, oldest first, without waiting.
+     */
+    private void deliverCompleted() {
+        instance.processEvents();
+        while (deliveredFrames < submittedFrames) {
+            Slot oldest = slots[(int) (deliveredFrames % slots.length)];
+            if (!oldest.mapping.isDone()) {
+                return;
+            }
+            deliver(oldest);
+        }
+    }
+
+    /**
+     * Waits for every submitted frame to be read back and delivered.
+     */
+    public void flush() {
+        while (deliveredFrames < submittedFrames) {
+            awaitAndDeliver(slots[(int) (deliveredFrames % slots.length)]);
+        }
+    }
+
+    private void awaitAndDeliver(Slot slot) {
+        long deadline = System.nanoTime() + READBACK_TIMEOUT_NANOS;
+        while (!slot.mapping.isDone()) {
+            if (System.nanoTime() > deadline) {
+                throw new WgpuException("Timed out reading back frame " + slot.frameIndex);
+            }
+            instance.processEvents();
+            LockSupport.parkNanos(50_000);
+        }
+        deliver(slot);
+    }
+
+    private void deliver(Slot slot) {
+        CompletableFuture<Void> mapping = slot.mapping;
+        slot.mapping = null;
+        deliveredFrames++;
+
+        try {
+            mapping.get();
+        } catch (ExecutionException e) {
+            throw new WgpuException("Failed to read back frame " + slot.frameIndex, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WgpuException("Interrupted while reading back frame " + slot.frameIndex, e);
+        }
+
+        try {
+            MemorySegment mapped = slot.readbackBuffer.getConstMappedRange(0, paddedBytesPerRow * height);
+            if (paddedBytesPerRow == packedBytesPerRow) {
+                MemorySegment.copy(mapped, 0, packed, 0, packed.byteSize());
+            } else {
+                for (int row = 0; row < height; row++) {
+                    MemorySegment.copy(mapped, row * paddedBytesPerRow, packed, row * packedBytesPerRow, packedBytesPerRow);
+                }
+            }
+        } finally {
+            slot.readbackBuffer.unmap();
+        }
+
+        if (sink != null) {
+            sink.accept(new Frame(slot.frameIndex, width, height, format, packed));
+        }
+        if (publisher != null && publisher.hasSubscribers()) {
+            MemorySegment copy = Arena.ofAuto().allocate(packed.byteSize());
+            copy.copyFrom(packed);
+            publisher.submit(new Frame(slot.frameIndex, width, height, format, copy.asReadOnly()));
+        }
+    }
+
+    /**
+     * Gets the publisher that frames are offered to, or {@code null} if the renderer was built without
+     * {@link Builder#publisher(Executor, int)}. Closing the renderer completes all subscriptions.
+     */
+    public Flow.Publisher<Frame> getPublisher() {
+        return publisher;
+    }
+
+    public Device getDevice() {
+        return device;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public TextureFormat getFormat() {
+        return format;
+    }
+
+    public int getFramesInFlight() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of frames submitted so far.
+     */
+    public long getSubmittedFrameCount() {
+        return submittedFrames;
+    }
+
+    /**
+     * Gets the number of frames read back and delivered so far.
+     */
+    public long getDeliveredFrameCount() {
+        return deliveredFrames;
+    }
+
+    /**
+     * Delivers any frames still in flight and releases the renderer's resources, including the device
+     * if the renderer created it.
+     */
+    @Override
+    public void close() {
+        try {
+            if (deliveredFrames < submittedFrames) {
+                flush();
+            }
+        } finally {
+            if (publisher != null) {
+                publisher.close();
+            }
+            for (Slot slot : slots) {
+                if (slot != null) {
+                    slot.close();
+                }
+            }
+            arena.close();
+            queue.close();
+            if (ownsDevice) {
+                device.close();
+                ownedAdapter.close();
+                instance.close();
+            }
+        }
+    }
+
+    public static class Builder {
+        private int width;
+        private int height;
+        private TextureFormat format = TextureFormat.RGBA8_UNORM;
+        private int framesInFlight = DEFAULT_FRAMES_IN_FLIGHT;
+        private Instance instance;
+        private Device device;
+        private boolean forceFallbackAdapter = false;
+        private FrameSink sink;
+        private Executor publisherExecutor;
+        private int publisherBufferCapacity = Flow.defaultBufferSize();
+
+        /**
+         * Sets the size of the rendered frames.
+         */
+        public Builder size(int width, int height) {
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        /**
+         * Sets the format of the render targets. Defaults to {@link TextureFormat#RGBA8_UNORM}.
+         */
+        public Builder format(TextureFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Sets how many frames can be in flight at once. One slot reads every frame back before
+         * rendering the next.
+         */
+        public Builder framesInFlight(int framesInFlight) {
+            this.framesInFlight = framesInFlight;
+            return this;
+        }
+
+        /**
+         * Renders on an existing device instead of creating one. The renderer does not close it.
+         *
+         * @param instance The instance the device was created from, used to process map callbacks
+         * @param device   The device to render on
+         */
+        public Builder device(Instance instance, Device device) {
+            this.instance = instance;
+            this.device = device;
+            return this;
+        }
+
+        /**
+         * Always uses the software fallback adapter when the renderer creates its own device.
+         */
+        public Builder forceFallbackAdapter(boolean force) {
+            this.forceFallbackAdapter = force;
+            return this;
+        }
+
+        /**
+         * Sets the sink that receives each frame synchronously, on the thread calling the renderer.
+         */
+        public Builder sink(FrameSink sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        /**
+         * Enables {@link HeadlessRenderer#getPublisher()} with the given executor and per-subscriber buffer.
+         */
+        public Builder publisher(Executor executor, int bufferCapacity) {
+            this.publisherExecutor = Objects.requireNonNull(executor, "executor");
+            this.publisherBufferCapacity = bufferCapacity;
+            return this;
+        }
+
+        /**
+         * Enables {@link HeadlessRenderer#getPublisher()} on the common pool with the default buffer size.
+         */
+        public Builder publisher() {
+            return publisher(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+        }
+
+        public HeadlessRenderer build() {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Frame size must be positive: " + width + "x" + height);
+            }
+            if (framesInFlight <= 0) {
+                throw new IllegalArgumentException("framesInFlight must be positive: " + framesInFlight);
+            }
+            Objects.requireNonNull(format, "format");
+            if (format.isDepthOrStencil() || format.getBytesPerTexel() <= 0) {
+                throw new IllegalArgumentException("Format cannot be read back as color: " + format);
+            }
+
+            if (device != null) {
+                Objects.requireNonNull(instance, "instance");
+                return new HeadlessRenderer(this, instance, null, device, false);
+            }
+
+            Instance ownedInstance = Instance.create();
+            Adapter adapter = null;
+            try {
+                adapter = requestAdapter(ownedInstance);
+                Device ownedDevice = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+                return new HeadlessRenderer(this, ownedInstance, adapter, ownedDevice, true);
+            } catch (Exception e) {
+                if (adapter != null) {
+                    adapter.close();
+                }
+                ownedInstance.close();
+                if (e instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new WgpuException("Failed to create headless device", e);
+            }
+        }
+
+        private Adapter requestAdapter(Instance instance) throws InterruptedException, TimeoutException, ExecutionException {
+            if (!forceFallbackAdapter) {
+                try {
+                    return instance.requestAdapter().get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    logger.info("No hardware adapter available, falling back to software: {}", e.getCause().getMessage());
+                }
+            }
+            return instance.requestAdapter(AdapterRequestOptions.builder()
+                    .forceFallbackAdapter(true)
+                    .build()).get(5, TimeUnit.SECONDS);
+        }
+    }
+}
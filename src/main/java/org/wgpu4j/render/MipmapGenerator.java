@@ -0,0 +1,405 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.constant.AddressMode;
+import org.wgpu4j.constant.FilterMode;
+import org.wgpu4j.constant.LoadOp;
+import org.wgpu4j.constant.SamplerBindingType;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.constant.StoreOp;
+import org.wgpu4j.constant.TextureDimension;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureSampleType;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.constant.TextureViewDimension;
+import org.wgpu4j.descriptor.BindGroupDescriptor;
+import org.wgpu4j.descriptor.BindGroupEntry;
+import org.wgpu4j.descriptor.BindGroupLayoutDescriptor;
+import org.wgpu4j.descriptor.BindGroupLayoutEntry;
+import org.wgpu4j.descriptor.ColorTargetState;
+import org.wgpu4j.descriptor.PipelineLayoutDescriptor;
+import org.wgpu4j.descriptor.RenderPassColorAttachment;
+import org.wgpu4j.descriptor.RenderPassDescriptor;
+import org.wgpu4j.descriptor.RenderPipelineDescriptor;
+import org.wgpu4j.descriptor.SamplerBindingLayout;
+import org.wgpu4j.descriptor.SamplerDescriptor;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.descriptor.TextureBindingLayout;
+import org.wgpu4j.descriptor.TextureViewDescriptor;
+import org.wgpu4j.metrics.WgpuMetrics;
+import org.wgpu4j.resource.BindGroup;
+import org.wgpu4j.resource.BindGroupLayout;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.PipelineLayout;
+import org.wgpu4j.resource.RenderPassEncoder;
+import org.wgpu4j.resource.RenderPipeline;
+import org.wgpu4j.resource.Sampler;
+import org.wgpu4j.resource.ShaderModule;
+import org.wgpu4j.resource.Texture;
+import org.wgpu4j.resource.TextureView;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fills the mip chain of a texture on the GPU from its base level.
+ * <pre>{@code
+ * queue.writeTexture(baseLevel, pixels, layout, extent);
+ * try (CommandEncoder encoder = device.createCommandEncoder()) {
+ *     mipmaps.generate(encoder, texture);
+ *     queue.submit(encoder.finish());
+ * }
+ * }</pre>
+ * Each level is rendered from the one above it with a full-screen triangle that takes one bilinear sample,
+ * once per array layer, so 2D arrays and cube maps are filtered face by face. Sampling an sRGB texture
+ * decodes to linear and rendering to it encodes again, so sRGB formats are averaged in linear space.
+ * The texture needs {@link TextureUsage#TEXTURE_BINDING} and {@link TextureUsage#RENDER_ATTACHMENT}
+ * usage and a format that is both filterable and renderable, see {@link #isSupported(TextureFormat)}.
+ * <p>
+ * The shader, sampler and layouts are shared, and one pipeline is created per format on first use.
+ * The per-level views and bind groups of the most recently used textures are kept as well, so
+ * regenerating the mips of a dynamic texture every frame records passes without creating objects.
+ * Entries for closed textures are dropped on the next call.
+ */
+public class MipmapGenerator implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_CACHED_TEXTURES = 16;
+
+    private static final Set<TextureFormat> SUPPORTED_FORMATS = EnumSet.of(
+            TextureFormat.R8_UNORM,
+            TextureFormat.RG8_UNORM,
+            TextureFormat.RGBA8_UNORM,
+            TextureFormat.RGBA8_UNORM_SRGB,
+            TextureFormat.BGRA8_UNORM,
+            TextureFormat.BGRA8_UNORM_SRGB,
+            TextureFormat.R16_FLOAT,
+            TextureFormat.RG16_FLOAT,
+            TextureFormat.RGBA16_FLOAT,
+            TextureFormat.RGB10A2_UNORM);
+
+    private static final String SHADER = """
+            struct VertexOutput {
+                @builtin(position) position: vec4<f32>,
+                @location(0) uv: vec2<f32>,
+            }
+
+            @group(0) @binding(0) var source: texture_2d<f32>;
+            @group(0) @binding(1) var sourceSampler: sampler;
+
+            @vertex
+            fn vs_main(@builtin(vertex_index) index: u32) -> VertexOutput {
+                let uv = vec2<f32>(f32((index << 1u) & 2u), f32(index & 2u));
+                var out: VertexOutput;
+                out.position = vec4<f32>(uv.x * 2.0 - 1.0, 1.0 - uv.y * 2.0, 0.0, 1.0);
+                out.uv = uv;
+                return out;
+            }
+
+            @fragment
+            fn fs_main(in: VertexOutput) -> @location(0) vec4<f32> {
+                return textureSample(source, sourceSampler, in.uv);
+            }
+            """;
+
+    /**
+     * Views and bind groups for every (layer, level) pair of one texture.
+     */
+    private static final class Chain {
+        final Texture texture;
+        final TextureView[] targets;
+        final BindGroup[] sources;
+
+        Chain(Texture texture, int slots) {
+            this.texture = texture;
+            this.targets = new TextureView[slots];
+            this.sources = new BindGroup[slots];
+        }
+
+        void close() {
+            for (BindGroup bindGroup : sources) {
+                if (bindGroup != null) {
+                    bindGroup.close();
+                }
+            }
+            for (TextureView view : targets) {
+                if (view != null) {
+                    view.close();
+                }
+            }
+        }
+    }
+
+    private final Device device;
+    private final int maxCachedTextures;
+    private final ShaderModule shader;
+    private final Sampler sampler;
+    private final BindGroupLayout bindGroupLayout;
+    private final PipelineLayout pipelineLayout;
+    private final Map<TextureFormat, RenderPipeline> pipelines = new EnumMap<>(TextureFormat.class);
+    private final Map<Texture, Chain> chains = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed = false;
+
+    /**
+     * Creates a generator that keeps views for up to 16 textures.
+     *
+     * @param device The device that owns the textures
+     */
+    public MipmapGenerator(Device device) {
+        this(device, DEFAULT_MAX_CACHED_TEXTURES);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param device            The device that owns the textures
+     * @param maxCachedTextures Number of textures whose views and bind groups are kept between calls,
+     *                          or 0 to release them after every call
+     */
+    public MipmapGenerator(Device device, int maxCachedTextures) {
+        if (maxCachedTextures < 0) {
+            throw new IllegalArgumentException("maxCachedTextures must not be negative");
+        }
+        this.device = device;
+        this.maxCachedTextures = maxCachedTextures;
+
+        this.shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                .label("mipmaps")
+                .wgslCode(SHADER)
+                .build());
+        this.sampler = device.createSampler(SamplerDescriptor.builder()
+                .label("mipmaps")
+                .addressMode(AddressMode.CLAMP_TO_EDGE)
+                .filterMode(FilterMode.LINEAR)
+                .build());
+        this.bindGroupLayout = device.createBindGroupLayout(BindGroupLayoutDescriptor.builder()
+                .label("mipmaps")
+                .entry(BindGroupLayoutEntry.builder()
+                        .binding(0)
+                        .visibility(ShaderStageFlags.FRAGMENT)
+                        .textureBindingLayout(TextureBindingLayout.builder()
+                                .sampleType(TextureSampleType.FLOAT)
+                                .viewDimension(TextureViewDimension.TWO_D)
+                                .build())
+                        .build())
+                .entry(BindGroupLayoutEntry.builder()
+                        .binding(1)
+                        .visibility(ShaderStageFlags.FRAGMENT)
+                        .samplerBindingLayout(SamplerBindingLayout.builder()
+                                .type(SamplerBindingType.FILTERING)
+                                .build())
+                        .build())
+                .build());
+        this.pipelineLayout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                .label("mipmaps")
+                .bindGroupLayout(bindGroupLayout)
+                .build());
+    }
+
+    /**
+     * Returns true if textures of the given format can be mipmapped by this generator.
+     */
+    public static boolean isSupported(TextureFormat format) {
+        return SUPPORTED_FORMATS.contains(format);
+    }
+
+    /**
+     * Gets the number of mip levels of a full chain down to 1x1.
+     */
+    public static int levelCount(int width, int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(Math.max(width, height), 1));
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Mipmap generator has been closed");
+        }
+    }
+
+    /**
+     * Records render passes that fill mip levels 1 and up of every array layer from level 0.
+     * Does nothing for textures with a single mip level.
+     *
+     * @param encoder The command encoder to record into
+     * @param texture A 2D texture, array or cube map in a supported format
+     */
+    public synchronized void generate(CommandEncoder encoder, Texture texture) {
+        checkNotClosed();
+        if (texture.isClosed()) {
+            throw new IllegalArgumentException("Cannot generate mipmaps for a closed texture");
+        }
+        if (texture.getDimension() != TextureDimension.TWO_D) {
+            throw new IllegalArgumentException("Mipmaps can only be generated for 2D textures, not " + texture.getDimension());
+        }
+        if (texture.getSampleCount() != 1) {
+            throw new IllegalArgumentException("Cannot generate mipmaps for a multisampled texture");
+        }
+        if (!isSupported(texture.getFormat())) {
+            throw new IllegalArgumentException("Format is not filterable and renderable: " + texture.getFormat());
+        }
+        long usage = texture.getUsage();
+        if (!TextureUsage.has(usage, TextureUsage.TEXTURE_BINDING) || !TextureUsage.has(usage, TextureUsage.RENDER_ATTACHMENT)) {
+            throw new IllegalArgumentException("Texture needs TEXTURE_BINDING and RENDER_ATTACHMENT usage");
+        }
+
+        int levels = texture.getMipLevelCount();
+        if (levels <= 1) {
+            return;
+        }
+
+        RenderPipeline pipeline = pipeline(texture.getFormat());
+        Chain chain = chain(texture);
+        int layers = texture.getDepthOrArrayLayers();
+        for (int layer = 0; layer < layers; layer++) {
+            for (int level = 1; level < levels; level++) {
+                int slot = layer * levels + level;
+                try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                        .label("mipmaps")
+                        .colorAttachment(RenderPassColorAttachment.builder()
+                                .view(chain.targets[slot])
+                                .loadOp(LoadOp.CLEAR)
+                                .storeOp(StoreOp.STORE)
+                                .build())
+                        .build())) {
+                    pass.setPipeline(pipeline);
+                    pass.setBindGroup(0, chain.sources[slot]);
+                    pass.draw(3, 1);
+                    pass.end();
+                }
+            }
+        }
+
+        if (maxCachedTextures == 0) {
+            chains.remove(texture);
+            chain.close();
+        }
+    }
+
+    private RenderPipeline pipeline(TextureFormat format) {
+        RenderPipeline pipeline = pipelines.get(format);
+        if (pipeline != null) {
+            WgpuMetrics.recordPipelineCacheHit();
+            return pipeline;
+        }
+        WgpuMetrics.recordPipelineCacheMiss();
+        pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                .label("mipmaps/" + format)
+                .layout(pipelineLayout)
+                .vertexShader(shader)
+                .vertexEntryPoint("vs_main")
+                .fragmentShader(shader)
+                .fragmentEntryPoint("fs_main")
+                .colorTarget(ColorTargetState.builder().format(format).build())
+                .build());
+        pipelines.put(format, pipeline);
+        return pipeline;
+    }
+
+    private Chain chain(Texture texture) {
+        evictClosedTextures();
+        Chain chain = chains.get(texture);
+        if (chain != null) {
+            return chain;
+        }
+
+        int levels = texture.getMipLevelCount();
+        int layers = texture.getDepthOrArrayLayers();
+        chain = new Chain(texture, layers * levels);
+        try {
+            for (int layer = 0; layer < layers; layer++) {
+                for (int level = 1; level < levels; level++) {
+                    int slot = layer * levels + level;
+                    chain.targets[slot] = texture.createView(levelView(texture, layer, level));
+                    // The source view is only referenced by the bind group, which keeps it alive.
+                    try (TextureView source = texture.createView(levelView(texture, layer, level - 1))) {
+                        chain.sources[slot] = device.createBindGroup(BindGroupDescriptor.builder()
+                                .label("mipmaps")
+                                .layout(bindGroupLayout)
+                                .entry(BindGroupEntry.builder().binding(0).textureView(source).build())
+                                .entry(BindGroupEntry.builder().binding(1).sampler(sampler).build())
+                                .build());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            chain.close();
+            throw e;
+        }
+
+        chains.put(texture, chain);
+        while (chains.size() > Math.max(maxCachedTextures, 1)) {
+            Iterator<Chain> eldest = chains.values().iterator();
+            eldest.next().close();
+            eldest.remove();
+        }
+        return chain;
+    }
+
+    private static TextureViewDescriptor levelView(Texture texture, int layer, int level) {
+        return TextureViewDescriptor.builder()
+                .label("mipmaps")
+                .format(texture.getFormat())
+                .dimension(TextureViewDimension.TWO_D)
+                .mipLevelRange(level, 1)
+                .arrayLayerRange(layer, 1)
+                .build();
+    }
+
+    private void evictClosedTextures() {
+        Iterator<Chain> iterator = chains.values().iterator();
+        while (iterator.hasNext()) {
+            Chain chain = iterator.next();
+            if (chain.texture.isClosed()) {
+                chain.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pipelines created so far, one per format used.
+     */
+    public synchronized int getPipelineCount() {
+        return pipelines.size();
+    }
+
+    /**
+     * Gets the number of textures whose views and bind groups are currently kept.
+     */
+    public synchronized int getCachedTextureCount() {
+        return chains.size();
+    }
+
+    /**
+     * Releases the cached views and bind groups of a texture, for example before destroying it.
+     */
+    public synchronized void evict(Texture texture) {
+        Chain chain = chains.remove(texture);
+        if (chain != null) {
+            chain.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Chain chain : chains.values()) {
+            chain.close();
+        }
+        chains.clear();
+        for (RenderPipeline pipeline : pipelines.values()) {
+            pipeline.close();
+        }
+        pipelines.clear();
+        pipelineLayout.close();
+        bindGroupLayout.close();
+        sampler.close();
+        shader.close();
+    }
+}
@@ -0,0 +1,396 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.constant.QueryType;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.QuerySetDescriptor;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.QuerySet;
+import org.wgpu4j.resource.RenderPassEncoder;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs occlusion queries for a set of objects and serves their most recent results without stalling.
+ * <p>
+ * The manager owns a small ring of frame slots. Each slot has an occlusion {@link QuerySet}, a buffer the
+ * query set is resolved into, and a readback buffer that is mapped asynchronously once the frame has been
+ * submitted. Results arrive one or more frames late, so visibility is temporally reused: an object keeps
+ * its last known sample count until a newer one is read back.
+ * <pre>{@code
+ * QuerySet querySet = occlusion.beginFrame();
+ * RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+ *         ...
+ *         .occlusionQuerySet(querySet)
+ *         .build());
+ * for (int id = 0; id < objects; id++) {
+ *     if (occlusion.beginQuery(pass, id)) {
+ *         drawBoundingBox(pass, id);
+ *         occlusion.endQuery(pass);
+ *     }
+ * }
+ * pass.end();
+ * occlusion.resolve(encoder);
+ * queue.submit(encoder.finish());
+ * occlusion.submitted();
+ * }</pre>
+ * Map callbacks are delivered while the instance processes events, so the application must keep calling
+ * {@code Instance.processEvents()} for results to arrive. When every slot is still waiting on the GPU,
+ * {@link #beginFrame()} returns {@code null} and no queries are issued that frame.
+ * <p>
+ * Visibility is conservative: objects that were never queried, or whose result is older than
+ * {@link #setMaxResultAge(int)} frames, are reported visible. The manager is not thread-safe.
+ */
+public class OcclusionQueryManager implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcclusionQueryManager.class);
+
+    /**
+     * Default number of frames whose queries can be in flight at once.
+     */
+    public static final int DEFAULT_FRAMES_IN_FLIGHT = 3;
+
+    private static final long RESULT_SIZE = Long.BYTES;
+    private static final long NO_RESULT = -1;
+
+    private enum SlotState {
+        FREE,
+        RECORDING,
+        RESOLVED,
+        MAPPING
+    }
+
+    private static final class Slot {
+        final QuerySet querySet;
+        final Buffer resolveBuffer;
+        final Buffer readbackBuffer;
+        final int[] objectIds;
+        SlotState state = SlotState.FREE;
+        long frame;
+        int used;
+        CompletableFuture<Void> mapping;
+
+        Slot(QuerySet querySet, Buffer resolveBuffer, Buffer readbackBuffer, int capacity) {
+            this.querySet = querySet;
+            this.resolveBuffer = resolveBuffer;
+            this.readbackBuffer = readbackBuffer;
+            this.objectIds = new int[capacity];
+        }
+    }
+
+    private final Slot[] slots;
+    private final int queriesPerFrame;
+    private long[] samples = new long[0];
+    private long[] resultFrames = new long[0];
+    private Slot current;
+    private int nextSlot = 0;
+    private boolean queryOpen = false;
+    private long frame = 0;
+    private int maxResultAge = 8;
+    private long skippedFrames = 0;
+
+    /**
+     * Creates a manager with {@link #DEFAULT_FRAMES_IN_FLIGHT} frame slots.
+     *
+     * @param device          The device to create query sets and buffers on
+     * @param queriesPerFrame Maximum number of queries issued in one frame
+     */
+    public OcclusionQueryManager(Device device, int queriesPerFrame) {
+        this(device, queriesPerFrame, DEFAULT_FRAMES_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a manager.
+     *
+     * @param device          The device to create query sets and buffers on
+     * @param queriesPerFrame Maximum number of queries issued in one frame
+     * @param framesInFlight  Number of frames whose results can be pending at once
+     */
+    public OcclusionQueryManager(Device device, int queriesPerFrame, int framesInFlight) {
+        Objects.requireNonNull(device, "device");
+        if (queriesPerFrame <= 0) {
+            throw new IllegalArgumentException("queriesPerFrame must be positive: " + queriesPerFrame);
+        }
+        if (framesInFlight <= 0) {
+            throw new IllegalArgumentException("framesInFlight must be positive: " + framesInFlight);
+        }
+
+        this.queriesPerFrame = queriesPerFrame;
+        this.slots = new Slot[framesInFlight];
+        long size = queriesPerFrame * RESULT_SIZE;
+        try {
+            for (int i = 0; i < framesInFlight; i++) {
+                QuerySet querySet = device.createQuerySet(QuerySetDescriptor.builder()
+                        .label("occlusion-queries-" + i)
+                        .type(QueryType.OCCLUSION)
+                        .count(queriesPerFrame)
+                        .build());
+                Buffer resolveBuffer = device.createBuffer(BufferDescriptor.builder()
+                        .label("occlusion-resolve-" + i)
+                        .size(size)
+                        .usage(BufferUsage.QUERY_RESOLVE | BufferUsage.COPY_SRC)
+                        .build());
+                Buffer readbackBuffer = device.createBuffer(BufferDescriptor.builder()
+                        .label("occlusion-readback-" + i)
+                        .size(size)
+                        .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                        .build());
+                slots[i] = new Slot(querySet, resolveBuffer, readbackBuffer, queriesPerFrame);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Collects any results that finished reading back and starts a new frame.
+     *
+     * @return The query set to attach to the frame's render passes with
+     *         {@code RenderPassDescriptor.Builder.occlusionQuerySet}, or {@code null} if every slot is
+     *         still in flight and no queries can be issued this frame
+     */
+    public QuerySet beginFrame() {
+        if (queryOpen) {
+            throw new IllegalStateException("An occlusion query is still open");
+        }
+
+        collect();
+        frame++;
+
+        if (current != null) {
+            logger.debug("Discarding {} occlusion queries from frame {} that were never submitted", current.used, current.frame);
+            current.state = SlotState.FREE;
+            current = null;
+        }
+
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[(nextSlot + i) % slots.length];
+            if (slot.state == SlotState.FREE) {
+                nextSlot = (nextSlot + i + 1) % slots.length;
+                slot.state = SlotState.RECORDING;
+                slot.frame = frame;
+                slot.used = 0;
+                current = slot;
+                return slot.querySet;
+            }
+        }
+
+        skippedFrames++;
+        return null;
+    }
+
+    /**
+     * Begins an occlusion query for an object. Draw the object's proxy geometry and then call
+     * {@link #endQuery(RenderPassEncoder)}. Queries cannot be nested.
+     *
+     * @param pass     A render pass created with the query set returned by {@link #beginFrame()}
+     * @param objectId A non-negative object id; ids index a dense array, so keep them compact
+     * @return false if no query was started because the frame has no slot or its queries are used up
+     */
+    public boolean beginQuery(RenderPassEncoder pass, int objectId) {
+        if (objectId < 0) {
+            throw new IllegalArgumentException("objectId must not be negative: " + objectId);
+        }
+        if (queryOpen) {
+            throw new IllegalStateException("Occlusion queries cannot be nested");
+        }
+        if (current == null || current.state != SlotState.RECORDING || current.used == queriesPerFrame) {
+            return false;
+        }
+
+        pass.beginOcclusionQuery(current.used);
+        current.objectIds[current.used++] = objectId;
+        queryOpen = true;
+        return true;
+    }
+
+    /**
+     * Ends the query started by the last successful {@link #beginQuery(RenderPassEncoder, int)}.
+     */
+    public void endQuery(RenderPassEncoder pass) {
+        if (!queryOpen) {
+            throw new IllegalStateException("No occlusion query is open");
+        }
+        pass.endOcclusionQuery();
+        queryOpen = false;
+    }
+
+    /**
+     * Records the commands that resolve this frame's queries and copy them to the readback buffer.
+     * Call after the render passes have ended, on the encoder that is submitted for the frame.
+     */
+    public void resolve(CommandEncoder encoder) {
+        if (queryOpen) {
+            throw new IllegalStateException("An occlusion query is still open");
+        }
+        if (current == null || current.state != SlotState.RECORDING) {
+            return;
+        }
+
+        if (current.used > 0) {
+            long size = current.used * RESULT_SIZE;
+            encoder.resolveQuerySet(current.querySet, 0, current.used, current.resolveBuffer, 0);
+            encoder.copyBufferToBuffer(current.resolveBuffer, 0, current.readbackBuffer, 0, size);
+        }
+        current.state = SlotState.RESOLVED;
+    }
+
+    /**
+     * Starts reading back this frame's results. Call after submitting the encoder passed to
+     * {@link #resolve(CommandEncoder)}.
+     */
+    public void submitted() {
+        if (current == null || current.state != SlotState.RESOLVED) {
+            return;
+        }
+
+        Slot slot = current;
+        current = null;
+        if (slot.used == 0) {
+            slot.state = SlotState.FREE;
+            return;
+        }
+
+        slot.state = SlotState.MAPPING;
+        slot.mapping = slot.readbackBuffer.mapAsync(MapMode.READ, 0, slot.used * RESULT_SIZE);
+    }
+
+    private void collect() {
+        for (Slot slot : slots) {
+            if (slot.state != SlotState.MAPPING || !slot.mapping.isDone()) {
+                continue;
+            }
+
+            if (slot.mapping.isCompletedExceptionally()) {
+                logger.warn("Failed to read back occlusion queries for frame {}", slot.frame,
+                        slot.mapping.exceptionNow());
+            } else {
+                MemorySegment results = slot.readbackBuffer.getConstMappedRange(0, slot.used * RESULT_SIZE);
+                for (int i = 0; i < slot.used; i++) {
+                    store(slot.objectIds[i], results.getAtIndex(ValueLayout.JAVA_LONG, i), slot.frame);
+                }
+                slot.readbackBuffer.unmap();
+            }
+            slot.mapping = null;
+            slot.state = SlotState.FREE;
+        }
+    }
+
+    private void store(int objectId, long sampleCount, long resultFrame) {
+        if (objectId >= samples.length) {
+            int capacity = Math.max(objectId + 1, samples.length * 2);
+            int oldLength = samples.length;
+            samples = Arrays.copyOf(samples, capacity);
+            resultFrames = Arrays.copyOf(resultFrames, capacity);
+            Arrays.fill(resultFrames, oldLength, capacity, NO_RESULT);
+        }
+        // Slots can complete out of order; never let an older frame overwrite a newer result.
+        if (resultFrame >= resultFrames[objectId]) {
+            samples[objectId] = sampleCount;
+            resultFrames[objectId] = resultFrame;
+        }
+    }
+
+    /**
+     * Gets whether an object passed its last occlusion query. Objects without a result that is at most
+     * {@link #getMaxResultAge()} frames old are treated as visible.
+     */
+    public boolean isVisible(int objectId) {
+        long sampleCount = getSampleCount(objectId);
+        return sampleCount != 0 || frame - resultFrames[objectId] > maxResultAge;
+    }
+
+    /**
+     * Gets the number of samples that passed the object's most recent query that has been read back.
+     *
+     * @return The sample count, or -1 if no result has arrived for the object
+     */
+    public long getSampleCount(int objectId) {
+        if (objectId < 0 || objectId >= resultFrames.length || resultFrames[objectId] == NO_RESULT) {
+            return NO_RESULT;
+        }
+        return samples[objectId];
+    }
+
+    /**
+     * Gets the frame the object's most recent result was queried in, or -1 if there is none.
+     * Frames are numbered from 1 by {@link #beginFrame()}.
+     */
+    public long getResultFrame(int objectId) {
+        if (objectId < 0 || objectId >= resultFrames.length) {
+            return NO_RESULT;
+        }
+        return resultFrames[objectId];
+    }
+
+    /**
+     * Sets how many frames old a result may be before the object is treated as visible again.
+     */
+    public void setMaxResultAge(int frames) {
+        if (frames < 0) {
+            throw new IllegalArgumentException("frames must not be negative: " + frames);
+        }
+        this.maxResultAge = frames;
+    }
+
+    public int getMaxResultAge() {
+        return maxResultAge;
+    }
+
+    /**
+     * Gets the number of the current frame, counting calls to {@link #beginFrame()}.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the number of frames that issued no queries because every slot was still in flight.
+     */
+    public long getSkippedFrameCount() {
+        return skippedFrames;
+    }
+
+    /**
+     * Gets the number of frames whose results are still being read back.
+     */
+    public int getPendingFrameCount() {
+        int count = 0;
+        for (Slot slot : slots) {
+            if (slot != null && slot.state == SlotState.MAPPING) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of queries each frame can issue.
+     */
+    public int getQueriesPerFrame() {
+        return queriesPerFrame;
+    }
+
+    @Override
+    public void close() {
+        for (Slot slot : slots) {
+            if (slot == null) {
+                continue;
+            }
+            slot.querySet.close();
+            slot.resolveBuffer.close();
+            slot.readbackBuffer.close();
+        }
+        current = null;
+    }
+}
@@ -0,0 +1,173 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.WgpuException;
+import org.wgpu4j.descriptor.RenderBundleDescriptor;
+import org.wgpu4j.descriptor.RenderBundleEncoderDescriptor;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.RenderBundle;
+import org.wgpu4j.resource.RenderBundleEncoder;
+import org.wgpu4j.resource.RenderPassEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Records large draw lists in parallel by splitting them into chunks, recording each chunk into
+ * its own {@link RenderBundleEncoder} on a {@link ForkJoinPool} worker, and replaying the resulting
+ * bundles in order with {@link RenderPassEncoder#executeBundles(RenderBundle...)}.
+ * <p>
+ * Threading contract:
+ * <ul>
+ *   <li>{@link Device#createRenderBundleEncoder} may be called from any thread.</li>
+ *   <li>Each {@link RenderBundleEncoder} is confined to the thread that created it; the recorder
+ *       creates, records and finishes every encoder on a single worker.</li>
+ *   <li>Finished {@link RenderBundle}s may be shared across threads.</li>
+ *   <li>{@link RenderPassEncoder}, {@link org.wgpu4j.resource.CommandEncoder} and this recorder's
+ *       {@link #recordInto(RenderPassEncoder, List)} must only be used by one thread at a time.</li>
+ *   <li>Pipelines, bind groups and buffers referenced by draw commands must not be closed while
+ *       recording is in progress.</li>
+ * </ul>
+ * Bundles inherit no state from the pass, so each chunk re-binds the state its first draw needs.
+ * Chunks should be large enough for that to be negligible, which is controlled by
+ * {@code minDrawsPerBundle}.
+ */
+public class ParallelPassRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelPassRecorder.class);
+
+    private final Device device;
+    private final RenderBundleEncoderDescriptor encoderDescriptor;
+    private final ForkJoinPool pool;
+    private final int minDrawsPerBundle;
+
+    /**
+     * Creates a recorder using the common pool and at least 256 draws per bundle.
+     *
+     * @param device            The device to create bundle encoders on
+     * @param encoderDescriptor Attachment formats of the passes the bundles will be executed in
+     */
+    public ParallelPassRecorder(Device device, RenderBundleEncoderDescriptor encoderDescriptor) {
+        this(device, encoderDescriptor, ForkJoinPool.commonPool(), 256);
+    }
+
+    /**
+     * Creates a recorder.
+     *
+     * @param device            The device to create bundle encoders on
+     * @param encoderDescriptor Attachment formats of the passes the bundles will be executed in
+     * @param pool              The pool whose workers record bundles
+     * @param minDrawsPerBundle Minimum number of draws per chunk
+     */
+    public ParallelPassRecorder(Device device, RenderBundleEncoderDescriptor encoderDescriptor,
+                                ForkJoinPool pool, int minDrawsPerBundle) {
+        if (minDrawsPerBundle <= 0) {
+            throw new IllegalArgumentException("minDrawsPerBundle must be greater than 0");
+        }
+        this.device = Objects.requireNonNull(device, "device");
+        this.encoderDescriptor = Objects.requireNonNull(encoderDescriptor, "encoderDescriptor");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.minDrawsPerBundle = minDrawsPerBundle;
+    }
+
+    /**
+     * Computes how many bundles a draw list of the given size is split into.
+     */
+    public int getChunkCount(int drawCount) {
+        if (drawCount == 0) {
+            return 0;
+        }
+        int byCount = (drawCount + minDrawsPerBundle - 1) / minDrawsPerBundle;
+        return Math.max(1, Math.min(byCount, pool.getParallelism()));
+    }
+
+    /**
+     * Records the draws into bundles, one per chunk, in draw order.
+     * The caller owns the returned bundles and must close them once they have been executed.
+     *
+     * @param draws The draws to record
+     * @return Bundles that replay the draws in order
+     */
+    public List<RenderBundle> record(List<DrawCommand> draws) {
+        int chunkCount = getChunkCount(draws.size());
+        if (chunkCount == 0) {
+            return List.of();
+        }
+        if (chunkCount == 1) {
+            return List.of(recordChunk(draws, 0, draws.size(), 0));
+        }
+
+        int chunkSize = (draws.size() + chunkCount - 1) / chunkCount;
+        List<ForkJoinTask<RenderBundle>> tasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int from = chunk * chunkSize;
+            int to = Math.min(draws.size(), from + chunkSize);
+            int index = chunk;
+            tasks.add(pool.submit(() -> recordChunk(draws, from, to, index)));
+        }
+
+        List<RenderBundle> bundles = new ArrayList<>(chunkCount);
+        RuntimeException failure = null;
+        for (ForkJoinTask<RenderBundle> task : tasks) {
+            try {
+                bundles.add(task.join());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            for (RenderBundle bundle : bundles) {
+                bundle.close();
+            }
+            throw failure instanceof WgpuException w ? w : new WgpuException("Failed to record render bundles", failure);
+        }
+
+        return bundles;
+    }
+
+    /**
+     * Records the draws in parallel and executes the resulting bundles in the pass.
+     * Must be called from the thread that owns the pass.
+     *
+     * @param pass  The render pass to execute the bundles in
+     * @param draws The draws to record
+     */
+    public void recordInto(RenderPassEncoder pass, List<DrawCommand> draws) {
+        List<RenderBundle> bundles = record(draws);
+        try {
+            pass.executeBundles(bundles.toArray(new RenderBundle[0]));
+        } finally {
+            for (RenderBundle bundle : bundles) {
+                bundle.close();
+            }
+        }
+    }
+
+    private RenderBundle recordChunk(List<DrawCommand> draws, int from, int to, int index) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Recording bundle {} with draws [{}, {}) on {}", index, from, to, Thread.currentThread().getName());
+        }
+
+        try (RenderBundleEncoder encoder = device.createRenderBundleEncoder(encoderDescriptor)) {
+            DrawCommand previous = null;
+            for (int i = from; i < to; i++) {
+                DrawCommand draw = draws.get(i);
+                draw.recordInto(encoder, previous);
+                previous = draw;
+            }
+            String label = encoderDescriptor.getLabel();
+            return encoder.finish(RenderBundleDescriptor.builder()
+                    .label(label != null && !label.isEmpty() ? label + "#" + index : label)
+                    .build());
+        }
+    }
+}
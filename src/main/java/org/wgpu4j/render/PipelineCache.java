@@ -0,0 +1,444 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.WgpuResource;
+import org.wgpu4j.descriptor.ComputePipelineDescriptor;
+import org.wgpu4j.descriptor.RenderPipelineDescriptor;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.metrics.WgpuMetrics;
+import org.wgpu4j.resource.ComputePipeline;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.PipelineLayout;
+import org.wgpu4j.resource.RenderPipeline;
+import org.wgpu4j.resource.ShaderModule;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Creates pipelines once per distinct descriptor and can compile a recorded set of them ahead of time.
+ * <p>
+ * Creating a pipeline compiles its shaders for the backend, which can take tens of milliseconds and
+ * stalls the frame that first uses a material or kernel. The cache lets an application record every
+ * pipeline it uses during a run into a {@link PipelineManifest} and compile all of them concurrently
+ * at the next start, before the first frame:
+ * <pre>{@code
+ * PipelineCache cache = new PipelineCache(device);
+ * ShaderModule shader = cache.shader(shaderDescriptor);
+ * cache.registerLayout("lit", litLayout);
+ *
+ * PipelineCache.PrewarmReport report = cache.prewarm(PipelineManifest.read(manifestPath), 4);
+ * cache.setRecording(true);
+ * // ...
+ * RenderPipeline pipeline = cache.getRenderPipeline(descriptor);
+ * // ...
+ * cache.getRecordedManifest().write(manifestPath);
+ * }</pre>
+ * Descriptors are identified by content, not identity, so they can be rebuilt freely. To make a descriptor
+ * reproducible in a later run, its shader modules must be created through {@link #shader(ShaderModuleDescriptor)},
+ * which also deduplicates modules by source hash, and its pipeline layout, if any, must be registered under
+ * a stable name with {@link #registerLayout(String, PipelineLayout)}. Pipelines with an automatic layout
+ * need no registration.
+ * <p>
+ * All methods are thread-safe. Pipelines, and the shader modules created by the cache, are owned by the
+ * cache and closed with it; registered layouts are not.
+ */
+public class PipelineCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineCache.class);
+
+    /**
+     * Outcome of {@link #prewarm(PipelineManifest, int)}.
+     */
+    public static final class PrewarmReport {
+        private final int compiled;
+        private final int alreadyCached;
+        private final int skipped;
+        private final int failed;
+        private final long wallNanos;
+        private final long compileNanos;
+
+        PrewarmReport(int compiled, int alreadyCached, int skipped, int failed, long wallNanos, long compileNanos) {
+            this.compiled = compiled;
+            this.alreadyCached = alreadyCached;
+            this.skipped = skipped;
+            this.failed = failed;
+            this.wallNanos = wallNanos;
+            this.compileNanos = compileNanos;
+        }
+
+        /**
+         * Gets the number of pipelines compiled.
+         */
+        public int getCompiled() {
+            return compiled;
+        }
+
+        /**
+         * Gets the number of entries that were already in the cache.
+         */
+        public int getAlreadyCached() {
+            return alreadyCached;
+        }
+
+        /**
+         * Gets the number of entries whose shader source changed or whose layout is no longer registered.
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Gets the number of entries that could not be decoded or compiled.
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Gets the elapsed time of the prewarm step.
+         */
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /**
+         * Gets the summed compile time of all pipelines, which is the stall time moved out of the
+         * frames that would otherwise have created them.
+         */
+        public long getCompileNanos() {
+            return compileNanos;
+        }
+
+        /**
+         * Gets the startup time saved by compiling concurrently rather than one pipeline after another.
+         */
+        public long getParallelSavingNanos() {
+            return Math.max(0, compileNanos - wallNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PrewarmReport[compiled=%d, alreadyCached=%d, skipped=%d, failed=%d, wall=%.1fms, "
+                            + "compile=%.1fms, savedByParallelism=%.1fms]",
+                    compiled, alreadyCached, skipped, failed, wallNanos / 1e6, compileNanos / 1e6,
+                    getParallelSavingNanos() / 1e6);
+        }
+    }
+
+    private final Device device;
+    private final Map<String, ShaderModule> shadersByHash = new ConcurrentHashMap<>();
+    private final Map<ShaderModule, String> shaderHashes = new ConcurrentHashMap<>();
+    private final Map<String, PipelineLayout> layoutsByName = new ConcurrentHashMap<>();
+    private final Map<PipelineLayout, String> layoutNames = new ConcurrentHashMap<>();
+    private final Map<ByteBuffer, WgpuResource> pipelines = new ConcurrentHashMap<>();
+    private final Set<ByteBuffer> recordedKeys = ConcurrentHashMap.newKeySet();
+    private final Queue<byte[]> recorded = new ConcurrentLinkedQueue<>();
+    private final PipelineCodec.Identities identities = new PipelineCodec.Identities() {
+        @Override
+        public String shaderHash(ShaderModule shader) {
+            return shaderHashes.get(shader);
+        }
+
+        @Override
+        public String layoutName(PipelineLayout layout) {
+            return layoutNames.get(layout);
+        }
+    };
+    private final PipelineCodec.Resolver resolver = new PipelineCodec.Resolver() {
+        @Override
+        public ShaderModule shader(String hash) {
+            return shadersByHash.get(hash);
+        }
+
+        @Override
+        public PipelineLayout layout(String name) {
+            return layoutsByName.get(name);
+        }
+    };
+    private volatile boolean recording = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param device The device that creates the pipelines
+     */
+    public PipelineCache(Device device) {
+        this.device = Objects.requireNonNull(device, "device");
+    }
+
+    /**
+     * Gets the shader module for a source, creating it on first use.
+     * Descriptors with the same source share one module, whatever their labels.
+     *
+     * @param descriptor The shader module descriptor
+     * @return The module, owned by this cache
+     */
+    public ShaderModule shader(ShaderModuleDescriptor descriptor) {
+        checkNotClosed();
+        String hash = descriptor.getSourceHash();
+        ShaderModule shader = shadersByHash.get(hash);
+        if (shader != null) {
+            return shader;
+        }
+        shader = device.createShaderModule(descriptor);
+        // Publish the hash first, so a module visible to other threads can always be encoded.
+        shaderHashes.put(shader, hash);
+        ShaderModule existing = shadersByHash.putIfAbsent(hash, shader);
+        if (existing != null) {
+            shaderHashes.remove(shader);
+            shader.close();
+            return existing;
+        }
+        return shader;
+    }
+
+    /**
+     * Registers a pipeline layout under a name that stays the same across runs.
+     *
+     * @param name   The name recorded in manifests
+     * @param layout The layout
+     * @throws IllegalArgumentException if the name is already registered for a different layout
+     */
+    public void registerLayout(String name, PipelineLayout layout) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(layout, "layout");
+        PipelineLayout existing = layoutsByName.putIfAbsent(name, layout);
+        if (existing != null && existing != layout) {
+            throw new IllegalArgumentException("Pipeline layout name '" + name + "' is already registered");
+        }
+        layoutNames.put(layout, name);
+    }
+
+    /**
+     * Gets the render pipeline for a descriptor, creating it on first use.
+     *
+     * @param descriptor The descriptor, whose shaders were created by this cache
+     * @return The pipeline, owned by this cache
+     * @throws IllegalArgumentException if a shader module or layout is unknown to this cache
+     */
+    public RenderPipeline getRenderPipeline(RenderPipelineDescriptor descriptor) {
+        checkNotClosed();
+        byte[] entry = PipelineCodec.encode(descriptor, identities);
+        return (RenderPipeline) get(entry, () -> device.createRenderPipeline(descriptor));
+    }
+
+    /**
+     * Gets the compute pipeline for a descriptor, creating it on first use.
+     *
+     * @param descriptor The descriptor, whose shader was created by this cache
+     * @return The pipeline, owned by this cache
+     * @throws IllegalArgumentException if the shader module or layout is unknown to this cache
+     */
+    public ComputePipeline getComputePipeline(ComputePipelineDescriptor descriptor) {
+        checkNotClosed();
+        byte[] entry = PipelineCodec.encode(descriptor, identities);
+        return (ComputePipeline) get(entry, () -> device.createComputePipeline(descriptor));
+    }
+
+    private WgpuResource get(byte[] entry, Supplier<WgpuResource> create) {
+        ByteBuffer key = ByteBuffer.wrap(entry);
+        if (recording && recordedKeys.add(key)) {
+            recorded.add(entry);
+        }
+
+        WgpuResource pipeline = pipelines.get(key);
+        if (pipeline != null) {
+            WgpuMetrics.recordPipelineCacheHit();
+            return pipeline;
+        }
+        WgpuMetrics.recordPipelineCacheMiss();
+        return putIfAbsent(key, create.get());
+    }
+
+    private WgpuResource putIfAbsent(ByteBuffer key, WgpuResource pipeline) {
+        WgpuResource existing = pipelines.putIfAbsent(key, pipeline);
+        if (existing != null) {
+            pipeline.close();
+            return existing;
+        }
+        if (closed && pipelines.remove(key, pipeline)) {
+            pipeline.close();
+            throw new IllegalStateException("PipelineCache has been closed");
+        }
+        return pipeline;
+    }
+
+    /**
+     * Compiles every pipeline of a manifest that is not cached yet, using up to {@code parallelism} threads,
+     * and waits for them to finish. Shader modules must have been created and layouts registered beforehand;
+     * entries that reference unknown shader sources or layout names are skipped.
+     *
+     * @param manifest    The pipelines to compile
+     * @param parallelism The maximum number of pipelines compiled at the same time
+     * @return A summary of the work done and the time it took
+     */
+    public PrewarmReport prewarm(PipelineManifest manifest, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        checkNotClosed();
+        long start = System.nanoTime();
+        AtomicLong compileNanos = new AtomicLong();
+        List<Callable<Outcome>> tasks = new ArrayList<>(manifest.size());
+        for (byte[] entry : manifest.entries()) {
+            tasks.add(() -> compile(entry, compileNanos));
+        }
+
+        int compiled = 0;
+        int alreadyCached = 0;
+        int skipped = 0;
+        int failed = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, tasks.size())),
+                Thread.ofPlatform().name("wgpu4j-prewarm-", 0).daemon().factory());
+        try {
+            for (Future<Outcome> result : executor.invokeAll(tasks)) {
+                switch (result.get()) {
+                    case COMPILED -> compiled++;
+                    case ALREADY_CACHED -> alreadyCached++;
+                    case SKIPPED -> skipped++;
+                    case FAILED -> failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PrewarmReport report = new PrewarmReport(compiled, alreadyCached, skipped, failed,
+                System.nanoTime() - start, compileNanos.get());
+        logger.info("Pipeline prewarm: {}", report);
+        return report;
+    }
+
+    private enum Outcome {
+        COMPILED, ALREADY_CACHED, SKIPPED, FAILED
+    }
+
+    private Outcome compile(byte[] entry, AtomicLong compileNanos) {
+        ByteBuffer key = ByteBuffer.wrap(entry);
+        if (closed) {
+            return Outcome.SKIPPED;
+        }
+        if (pipelines.containsKey(key)) {
+            return Outcome.ALREADY_CACHED;
+        }
+        try {
+            long start = System.nanoTime();
+            WgpuResource pipeline = switch (PipelineCodec.kind(entry)) {
+                case PipelineCodec.RENDER -> device.createRenderPipeline(PipelineCodec.decodeRender(entry, resolver));
+                case PipelineCodec.COMPUTE -> device.createComputePipeline(PipelineCodec.decodeCompute(entry, resolver));
+                default -> throw new IllegalArgumentException("Unknown pipeline kind " + PipelineCodec.kind(entry));
+            };
+            compileNanos.addAndGet(System.nanoTime() - start);
+            return putIfAbsent(key, pipeline) == pipeline ? Outcome.COMPILED : Outcome.ALREADY_CACHED;
+        } catch (PipelineCodec.UnresolvedException e) {
+            logger.debug("Skipping stale pipeline manifest entry: {}", e.getMessage());
+            return Outcome.SKIPPED;
+        } catch (Exception e) {
+            logger.warn("Failed to prewarm pipeline", e);
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Enables or disables recording. While enabled, every descriptor passed to {@link #getRenderPipeline}
+     * or {@link #getComputePipeline} is added to the recorded manifest once, in first-use order.
+     * Prewarmed pipelines that are never requested are not recorded, so entries for pipelines the
+     * application stopped using drop out of the next manifest.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Returns true if pipeline requests are being recorded.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Gets the pipelines recorded so far.
+     */
+    public PipelineManifest getRecordedManifest() {
+        return new PipelineManifest(new ArrayList<>(recorded));
+    }
+
+    /**
+     * Gets the number of cached pipelines.
+     */
+    public int getPipelineCount() {
+        return pipelines.size();
+    }
+
+    /**
+     * Gets the number of shader modules created by this cache.
+     */
+    public int getShaderCount() {
+        return shadersByHash.size();
+    }
+
+    /**
+     * Computes the hash under which a shader source is recorded in manifests.
+     *
+     * @param source The shader source
+     * @return The lowercase hexadecimal SHA-256 hash of the UTF-8 encoded source
+     */
+    public static String sourceHash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("PipelineCache has been closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (WgpuResource pipeline : pipelines.values()) {
+            pipeline.close();
+        }
+        pipelines.clear();
+        for (ShaderModule shader : shadersByHash.values()) {
+            shader.close();
+        }
+        shadersByHash.clear();
+        shaderHashes.clear();
+        layoutsByName.clear();
+        layoutNames.clear();
+    }
+}
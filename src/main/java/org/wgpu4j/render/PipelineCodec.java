@@ -0,0 +1,359 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.constant.BlendFactor;
+import org.wgpu4j.constant.BlendOperation;
+import org.wgpu4j.constant.CompareFunction;
+import org.wgpu4j.constant.CullMode;
+import org.wgpu4j.constant.FrontFace;
+import org.wgpu4j.constant.IndexFormat;
+import org.wgpu4j.constant.PrimitiveTopology;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.BlendState;
+import org.wgpu4j.descriptor.ColorTargetState;
+import org.wgpu4j.descriptor.ComputePipelineDescriptor;
+import org.wgpu4j.descriptor.ConstantEntry;
+import org.wgpu4j.descriptor.DepthStencilState;
+import org.wgpu4j.descriptor.MultisampleState;
+import org.wgpu4j.descriptor.PrimitiveState;
+import org.wgpu4j.descriptor.RenderPipelineDescriptor;
+import org.wgpu4j.descriptor.VertexAttribute;
+import org.wgpu4j.descriptor.VertexBufferLayout;
+import org.wgpu4j.resource.PipelineLayout;
+import org.wgpu4j.resource.ShaderModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of pipeline descriptors, used both as the {@link PipelineCache} key and as a
+ * {@link PipelineManifest} entry.
+ * <p>
+ * Shader modules are written as the hash of their source and pipeline layouts by the name they were
+ * registered under, so an encoding stays meaningful across runs. Enums are written by name, which
+ * keeps entries readable by later versions that add constants.
+ */
+final class PipelineCodec {
+
+    static final byte RENDER = 0;
+    static final byte COMPUTE = 1;
+
+    /**
+     * Maps live objects to their stable identities when encoding.
+     */
+    interface Identities {
+        /**
+         * @return The source hash, or null if the module is unknown
+         */
+        String shaderHash(ShaderModule shader);
+
+        /**
+         * @return The registered name, or null if the layout is unknown
+         */
+        String layoutName(PipelineLayout layout);
+    }
+
+    /**
+     * Maps stable identities back to live objects when decoding.
+     */
+    interface Resolver {
+        /**
+         * @return The module, or null if no module with this source hash is known
+         */
+        ShaderModule shader(String hash);
+
+        /**
+         * @return The layout, or null if no layout is registered under this name
+         */
+        PipelineLayout layout(String name);
+    }
+
+    /**
+     * Thrown when an entry references a shader module or layout that cannot be resolved.
+     */
+    static final class UnresolvedException extends Exception {
+        UnresolvedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private PipelineCodec() {
+    }
+
+    static byte[] encode(RenderPipelineDescriptor descriptor, Identities identities) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(RENDER);
+            writeString(out, descriptor.getLabel());
+            writeLayout(out, descriptor.getPipelineLayout(), identities);
+
+            writeShader(out, descriptor.getVertexShader(), identities);
+            writeString(out, descriptor.getVertexEntryPoint());
+            writeConstants(out, descriptor.getVertexConstants());
+            out.writeShort(descriptor.getVertexBuffers().size());
+            for (VertexBufferLayout buffer : descriptor.getVertexBuffers()) {
+                out.writeInt(buffer.getStepMode());
+                out.writeLong(buffer.getArrayStride());
+                out.writeShort(buffer.getAttributes().size());
+                for (VertexAttribute attribute : buffer.getAttributes()) {
+                    out.writeInt(attribute.getFormat());
+                    out.writeLong(attribute.getOffset());
+                    out.writeInt(attribute.getShaderLocation());
+                }
+            }
+
+            PrimitiveState primitive = descriptor.getPrimitiveState();
+            writeEnum(out, primitive.getTopology());
+            writeEnum(out, primitive.getStripIndexFormat());
+            writeEnum(out, primitive.getFrontFace());
+            writeEnum(out, primitive.getCullMode());
+            out.writeBoolean(primitive.isUnclippedDepth());
+
+            DepthStencilState depthStencil = descriptor.getDepthStencilState();
+            out.writeBoolean(depthStencil != null);
+            if (depthStencil != null) {
+                writeEnum(out, depthStencil.getFormat());
+                out.writeBoolean(depthStencil.isDepthWriteEnabled());
+                writeEnum(out, depthStencil.getDepthCompare());
+            }
+
+            MultisampleState multisample = descriptor.getMultisampleState();
+            out.writeInt(multisample.getCount());
+            out.writeInt(multisample.getMask());
+            out.writeBoolean(multisample.isAlphaToCoverageEnabled());
+
+            out.writeBoolean(descriptor.getFragmentShader() != null);
+            if (descriptor.getFragmentShader() != null) {
+                writeShader(out, descriptor.getFragmentShader(), identities);
+                writeString(out, descriptor.getFragmentEntryPoint());
+                writeConstants(out, descriptor.getFragmentConstants());
+                out.writeShort(descriptor.getColorTargets().size());
+                for (ColorTargetState target : descriptor.getColorTargets()) {
+                    writeEnum(out, target.getFormat());
+                    out.writeInt(target.getWriteMask());
+                    BlendState blend = target.getBlend();
+                    out.writeBoolean(blend != null);
+                    if (blend != null) {
+                        writeBlendComponent(out, blend.getColor());
+                        writeBlendComponent(out, blend.getAlpha());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encode(ComputePipelineDescriptor descriptor, Identities identities) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(COMPUTE);
+            writeString(out, descriptor.getLabel());
+            writeLayout(out, descriptor.getPipelineLayout(), identities);
+            writeShader(out, descriptor.getComputeShader(), identities);
+            writeString(out, descriptor.getEntryPoint());
+            writeConstants(out, descriptor.getConstants());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Gets the kind of pipeline an encoded entry describes.
+     */
+    static byte kind(byte[] entry) {
+        return entry[0];
+    }
+
+    static RenderPipelineDescriptor decodeRender(byte[] entry, Resolver resolver) throws IOException, UnresolvedException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        if (in.readByte() != RENDER) {
+            throw new IOException("Not a render pipeline entry");
+        }
+        RenderPipelineDescriptor.Builder builder = RenderPipelineDescriptor.builder()
+                .label(readString(in))
+                .layout(readLayout(in, resolver))
+                .vertexShader(readShader(in, resolver))
+                .vertexEntryPoint(readString(in));
+        List<ConstantEntry> vertexConstants = readConstants(in);
+
+        int bufferCount = in.readUnsignedShort();
+        for (int i = 0; i < bufferCount; i++) {
+            VertexBufferLayout.Builder buffer = VertexBufferLayout.builder()
+                    .stepMode(in.readInt())
+                    .arrayStride(in.readLong());
+            int attributeCount = in.readUnsignedShort();
+            for (int a = 0; a < attributeCount; a++) {
+                buffer.attribute(VertexAttribute.builder()
+                        .format(in.readInt())
+                        .offset(in.readLong())
+                        .shaderLocation(in.readInt())
+                        .build());
+            }
+            builder.vertexBuffer(buffer.build());
+        }
+
+        builder.primitiveState(PrimitiveState.builder()
+                .topology(readEnum(in, PrimitiveTopology.class))
+                .stripIndexFormat(readEnum(in, IndexFormat.class))
+                .frontFace(readEnum(in, FrontFace.class))
+                .cullMode(readEnum(in, CullMode.class))
+                .unclippedDepth(in.readBoolean())
+                .build());
+
+        if (in.readBoolean()) {
+            builder.depthStencilState(DepthStencilState.builder()
+                    .format(readEnum(in, TextureFormat.class))
+                    .depthWriteEnabled(in.readBoolean())
+                    .depthCompare(readEnum(in, CompareFunction.class))
+                    .build());
+        }
+
+        builder.multisampleState(MultisampleState.builder()
+                .count(in.readInt())
+                .mask(in.readInt())
+                .alphaToCoverageEnabled(in.readBoolean())
+                .build());
+
+        List<ConstantEntry> fragmentConstants = List.of();
+        if (in.readBoolean()) {
+            builder.fragmentShader(readShader(in, resolver))
+                    .fragmentEntryPoint(readString(in));
+            fragmentConstants = readConstants(in);
+            int targetCount = in.readUnsignedShort();
+            for (int i = 0; i < targetCount; i++) {
+                ColorTargetState.Builder target = ColorTargetState.builder()
+                        .format(readEnum(in, TextureFormat.class))
+                        .writeMask(in.readInt());
+                if (in.readBoolean()) {
+                    target.blend(BlendState.builder()
+                            .color(readBlendComponent(in))
+                            .alpha(readBlendComponent(in))
+                            .build());
+                }
+                builder.colorTarget(target.build());
+            }
+        }
+
+        RenderPipelineDescriptor descriptor = builder.build();
+        return descriptor.withConstants(descriptor.getLabel(), vertexConstants, fragmentConstants);
+    }
+
+    static ComputePipelineDescriptor decodeCompute(byte[] entry, Resolver resolver) throws IOException, UnresolvedException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        if (in.readByte() != COMPUTE) {
+            throw new IOException("Not a compute pipeline entry");
+        }
+        return ComputePipelineDescriptor.builder()
+                .label(readString(in))
+                .pipelineLayout(readLayout(in, resolver))
+                .computeShader(readShader(in, resolver))
+                .entryPoint(readString(in))
+                .constants(readConstants(in))
+                .build();
+    }
+
+    private static void writeShader(DataOutputStream out, ShaderModule shader, Identities identities) throws IOException {
+        String hash = identities.shaderHash(shader);
+        if (hash == null) {
+            throw new IllegalArgumentException("Shader module was not created by this pipeline cache: " + shader);
+        }
+        out.writeUTF(hash);
+    }
+
+    private static ShaderModule readShader(DataInputStream in, Resolver resolver) throws IOException, UnresolvedException {
+        String hash = in.readUTF();
+        ShaderModule shader = resolver.shader(hash);
+        if (shader == null) {
+            throw new UnresolvedException("No shader module with source hash " + hash);
+        }
+        return shader;
+    }
+
+    private static void writeLayout(DataOutputStream out, PipelineLayout layout, Identities identities) throws IOException {
+        if (layout == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        String name = identities.layoutName(layout);
+        if (name == null) {
+            throw new IllegalArgumentException("Pipeline layout is not registered with this pipeline cache");
+        }
+        out.writeBoolean(true);
+        out.writeUTF(name);
+    }
+
+    private static PipelineLayout readLayout(DataInputStream in, Resolver resolver) throws IOException, UnresolvedException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String name = in.readUTF();
+        PipelineLayout layout = resolver.layout(name);
+        if (layout == null) {
+            throw new UnresolvedException("No pipeline layout registered as '" + name + "'");
+        }
+        return layout;
+    }
+
+    private static void writeConstants(DataOutputStream out, List<ConstantEntry> constants) throws IOException {
+        out.writeShort(constants.size());
+        for (ConstantEntry constant : constants) {
+            out.writeUTF(constant.getKey());
+            out.writeDouble(constant.getValue());
+        }
+    }
+
+    private static List<ConstantEntry> readConstants(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        List<ConstantEntry> constants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            constants.add(new ConstantEntry(in.readUTF(), in.readDouble()));
+        }
+        return constants;
+    }
+
+    private static void writeBlendComponent(DataOutputStream out, BlendState.BlendComponent component) throws IOException {
+        writeEnum(out, component.getSrcFactor());
+        writeEnum(out, component.getDstFactor());
+        writeEnum(out, component.getOperation());
+    }
+
+    private static BlendState.BlendComponent readBlendComponent(DataInputStream in) throws IOException {
+        return BlendState.BlendComponent.builder()
+                .srcFactor(readEnum(in, BlendFactor.class))
+                .dstFactor(readEnum(in, BlendFactor.class))
+                .operation(readEnum(in, BlendOperation.class))
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeUTF(value == null ? "" : value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readUTF();
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeUTF(value == null ? "" : value.name());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = in.readUTF();
+        if (name.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown " + type.getSimpleName() + " " + name, e);
+        }
+    }
+}
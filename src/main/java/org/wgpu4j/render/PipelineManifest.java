@@ -0,0 +1,142 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A list of pipeline descriptors recorded by a {@link PipelineCache}, to be compiled ahead of time on
+ * the next start with {@link PipelineCache#prewarm(PipelineManifest, int)}.
+ * <pre>{@code
+ * // startup
+ * PipelineManifest manifest = PipelineManifest.read(manifestPath);
+ * cache.prewarm(manifest, 4);
+ * cache.setRecording(true);
+ * // shutdown
+ * cache.getRecordedManifest().write(manifestPath);
+ * }</pre>
+ * Entries reference shader modules by the SHA-256 hash of their source and pipeline layouts by the name
+ * they were registered under, so an entry whose shader has since changed no longer resolves and is skipped
+ * instead of compiling an outdated pipeline. The file is a small binary format tagged with a version; a
+ * file written by an incompatible version reads as an empty manifest.
+ */
+public final class PipelineManifest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineManifest.class);
+
+    private static final int MAGIC = 0x5747504D; // "WGPM"
+    private static final int VERSION = 1;
+    private static final int MAX_ENTRY_SIZE = 1 << 20;
+
+    private final List<byte[]> entries;
+
+    PipelineManifest(List<byte[]> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Creates a manifest without entries.
+     */
+    public static PipelineManifest empty() {
+        return new PipelineManifest(List.of());
+    }
+
+    /**
+     * Reads a manifest file. A missing file reads as an empty manifest, so the first run needs no special case.
+     *
+     * @param path The manifest file
+     * @return The manifest
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static PipelineManifest read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a pipeline manifest: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                logger.warn("Ignoring pipeline manifest {} with version {}, expected {}", path, version, VERSION);
+                return empty();
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt pipeline manifest: " + path);
+            }
+            List<byte[]> entries = new ArrayList<>(Math.min(count, 4096));
+            for (int i = 0; i < count; i++) {
+                int size = in.readInt();
+                if (size <= 0 || size > MAX_ENTRY_SIZE) {
+                    throw new IOException("Corrupt pipeline manifest: " + path);
+                }
+                entries.add(in.readNBytes(size));
+                if (entries.get(i).length != size) {
+                    throw new IOException("Truncated pipeline manifest: " + path);
+                }
+            }
+            return new PipelineManifest(entries);
+        } catch (NoSuchFileException e) {
+            return empty();
+        }
+    }
+
+    /**
+     * Writes this manifest, replacing the file atomically where the file system supports it.
+     *
+     * @param path The manifest file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (byte[] entry : entries) {
+                    out.writeInt(entry.length);
+                    out.write(entry);
+                }
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Gets the number of pipelines in this manifest.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns true if this manifest has no entries.
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    List<byte[]> entries() {
+        return entries;
+    }
+}
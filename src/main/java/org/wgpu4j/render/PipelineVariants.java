@@ -0,0 +1,178 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.WgpuResource;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.descriptor.ComputePipelineDescriptor;
+import org.wgpu4j.descriptor.ConstantEntry;
+import org.wgpu4j.descriptor.RenderPipelineDescriptor;
+import org.wgpu4j.metrics.WgpuMetrics;
+import org.wgpu4j.resource.ComputePipeline;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.RenderPipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Creates and caches specialized variants of one pipeline, one per combination of
+ * pipeline-overridable constants.
+ * <pre>{@code
+ * // override WORKGROUP_SIZE: u32 = 64;
+ * // override USE_SHADOWS: bool = true;
+ * PipelineVariants<ComputePipeline> variants = PipelineVariants.compute(device, descriptor);
+ * ComputePipeline pipeline = variants.get(Map.of("WORKGROUP_SIZE", 256.0, "USE_SHADOWS", 0.0));
+ * }</pre>
+ * Override values are fixed when the pipeline is created, so the shader compiler sees them as
+ * constants and can drop the branches a feature toggle disables or size loops and shared arrays
+ * for a workgroup size, instead of testing uniforms at run time.
+ * <p>
+ * The requested constants are merged over those of the base descriptor, and variants are keyed by the
+ * merged set regardless of map order, so equal combinations share one pipeline. Variants are created
+ * on first use and kept until {@link #close()}. The cache is safe to use from several threads; two
+ * threads asking for a new combination at the same time create it once.
+ *
+ * @param <P> The pipeline type
+ */
+public class PipelineVariants<P extends WgpuResource> implements AutoCloseable {
+
+    private final SortedMap<String, Double> baseConstants;
+    private final BiFunction<String, List<ConstantEntry>, P> factory;
+    private final String label;
+    private final Map<SortedMap<String, Double>, P> variants = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    private PipelineVariants(String label, List<ConstantEntry> baseConstants,
+                             BiFunction<String, List<ConstantEntry>, P> factory) {
+        this.label = label;
+        this.baseConstants = new TreeMap<>();
+        for (ConstantEntry entry : baseConstants) {
+            this.baseConstants.put(entry.getKey(), entry.getValue());
+        }
+        this.factory = factory;
+    }
+
+    /**
+     * Creates variants of a compute pipeline.
+     *
+     * @param device The device that creates the pipelines
+     * @param base   The descriptor shared by all variants, including default constant values
+     */
+    public static PipelineVariants<ComputePipeline> compute(Device device, ComputePipelineDescriptor base) {
+        return new PipelineVariants<>(base.getLabel(), base.getConstants(),
+                (label, constants) -> device.createComputePipeline(base.withConstants(label, constants)));
+    }
+
+    /**
+     * Creates variants of a render pipeline whose vertex and fragment stages both receive the constants.
+     *
+     * @param device The device that creates the pipelines
+     * @param base   The descriptor shared by all variants
+     */
+    public static PipelineVariants<RenderPipeline> render(Device device, RenderPipelineDescriptor base) {
+        return render(device, base, ShaderStageFlags.allGraphics());
+    }
+
+    /**
+     * Creates variants of a render pipeline.
+     * <p>
+     * A constant must be declared in the shader module of every stage it is passed to, so when the
+     * vertex and fragment shaders come from different modules, pass only the stage that declares them.
+     * The base constants of the selected stages are merged; other stages keep theirs unchanged.
+     *
+     * @param device The device that creates the pipelines
+     * @param base   The descriptor shared by all variants
+     * @param stages The stages that receive the constants, {@code VERTEX} and/or {@code FRAGMENT}
+     */
+    public static PipelineVariants<RenderPipeline> render(Device device, RenderPipelineDescriptor base,
+                                                          EnumSet<ShaderStageFlags> stages) {
+        boolean vertex = stages.contains(ShaderStageFlags.VERTEX);
+        boolean fragment = stages.contains(ShaderStageFlags.FRAGMENT);
+        if (!vertex && !fragment) {
+            throw new IllegalArgumentException("Render pipeline constants need the VERTEX or FRAGMENT stage");
+        }
+        if (fragment && base.getFragmentShader() == null) {
+            throw new IllegalArgumentException("Render pipeline has no fragment stage");
+        }
+
+        List<ConstantEntry> baseConstants = new ArrayList<>();
+        if (vertex) {
+            baseConstants.addAll(base.getVertexConstants());
+        }
+        if (fragment) {
+            baseConstants.addAll(base.getFragmentConstants());
+        }
+        return new PipelineVariants<>(base.getLabel(), baseConstants,
+                (label, constants) -> device.createRenderPipeline(base.withConstants(label,
+                        vertex ? constants : base.getVertexConstants(),
+                        fragment ? constants : base.getFragmentConstants())));
+    }
+
+    /**
+     * Gets the variant for the given constants, creating it on first use.
+     *
+     * @param constants Constant values by name or numeric ID, overriding those of the base descriptor
+     * @return The pipeline, owned by this cache
+     * @throws IllegalStateException if the cache has been closed
+     */
+    public P get(Map<String, Double> constants) {
+        if (closed) {
+            throw new IllegalStateException("PipelineVariants has been closed");
+        }
+        SortedMap<String, Double> key = new TreeMap<>(baseConstants);
+        key.putAll(constants);
+        key = Collections.unmodifiableSortedMap(key);
+
+        P pipeline = variants.get(key);
+        if (pipeline != null) {
+            WgpuMetrics.recordPipelineCacheHit();
+            return pipeline;
+        }
+        return variants.computeIfAbsent(key, this::create);
+    }
+
+    /**
+     * Gets the variant that uses the base descriptor's constants.
+     */
+    public P getDefault() {
+        return get(Map.of());
+    }
+
+    private P create(SortedMap<String, Double> constants) {
+        WgpuMetrics.recordPipelineCacheMiss();
+        List<ConstantEntry> entries = new ArrayList<>(constants.size());
+        for (Map.Entry<String, Double> entry : constants.entrySet()) {
+            entries.add(new ConstantEntry(entry.getKey(), entry.getValue()));
+        }
+        String variantLabel = label == null ? null : label + entries;
+        return factory.apply(variantLabel, entries);
+    }
+
+    /**
+     * Gets the number of variants created so far.
+     */
+    public int getVariantCount() {
+        return variants.size();
+    }
+
+    /**
+     * Closes all variants. Pipelines returned by {@link #get(Map)} must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (P pipeline : variants.values()) {
+            pipeline.close();
+        }
+        variants.clear();
+    }
+}
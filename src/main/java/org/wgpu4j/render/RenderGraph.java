@@ -0,0 +1,975 @@
+package org.wgpu4j.render;
+
+import org.wgpu4j.WgpuException;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.LoadOp;
+import org.wgpu4j.constant.StoreOp;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.ComputePassDescriptor;
+import org.wgpu4j.descriptor.RenderPassColorAttachment;
+import org.wgpu4j.descriptor.RenderPassDepthStencilAttachment;
+import org.wgpu4j.descriptor.RenderPassDescriptor;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.ComputePassEncoder;
+import org.wgpu4j.resource.RenderPassEncoder;
+import org.wgpu4j.resource.Texture;
+import org.wgpu4j.resource.TextureView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A frame graph: passes declare the textures and buffers they read and write, and the graph
+ * schedules, culls and records them.
+ * <p>
+ * Compared to recording passes by hand, the graph:
+ * <ul>
+ *   <li>orders passes topologically from their read/write dependencies</li>
+ *   <li>culls passes whose outputs are never consumed by a pass with side effects or an imported resource</li>
+ *   <li>aliases transient textures and buffers with non-overlapping lifetimes onto the same pooled resource</li>
+ *   <li>derives usage flags of transient resources from how passes access them</li>
+ *   <li>chooses {@link LoadOp}/{@link StoreOp} for attachments: first writes clear, later writes load,
+ *       and contents nobody reads afterwards are discarded</li>
+ * </ul>
+ * A graph is built and executed once per frame; the physical resources live in a
+ * {@link TransientResourcePool} that persists across frames.
+ * <pre>{@code
+ * RenderGraph graph = new RenderGraph(pool);
+ * var backbuffer = graph.importTexture("backbuffer", surfaceTexture);
+ * var hdr = graph.createTexture("hdr", TextureDescriptor.builder()
+ *         .size(width, height).format(TextureFormat.RGBA16_FLOAT).build());
+ *
+ * graph.addRenderPass("scene").writeColor(hdr).execute((pass, res) -> drawScene(pass));
+ * graph.addRenderPass("tonemap").readTexture(hdr).writeColor(backbuffer)
+ *         .execute((pass, res) -> tonemap(pass, res.getTextureView(hdr)));
+ *
+ * graph.execute(encoder);
+ * }</pre>
+ * Graphs are not thread-safe.
+ */
+public class RenderGraph {
+
+    /**
+     * Records commands for a render pass scheduled by the graph.
+     */
+    @FunctionalInterface
+    public interface RenderPassCallback {
+        void record(RenderPassEncoder pass, Resources resources);
+    }
+
+    /**
+     * Records commands for a compute pass scheduled by the graph.
+     */
+    @FunctionalInterface
+    public interface ComputePassCallback {
+        void record(ComputePassEncoder pass, Resources resources);
+    }
+
+    /**
+     * Records commands directly on the command encoder, e.g. copies or query resolves.
+     */
+    @FunctionalInterface
+    public interface EncoderPassCallback {
+        void record(CommandEncoder encoder, Resources resources);
+    }
+
+    /**
+     * A virtual texture declared in the graph.
+     */
+    public static final class TextureHandle {
+        private final ResourceNode node;
+
+        private TextureHandle(ResourceNode node) {
+            this.node = node;
+        }
+
+        public String getName() {
+            return node.name;
+        }
+
+        @Override
+        public String toString() {
+            return "TextureHandle[" + node.name + "]";
+        }
+    }
+
+    /**
+     * A virtual buffer declared in the graph.
+     */
+    public static final class BufferHandle {
+        private final ResourceNode node;
+
+        private BufferHandle(ResourceNode node) {
+            this.node = node;
+        }
+
+        public String getName() {
+            return node.name;
+        }
+
+        @Override
+        public String toString() {
+            return "BufferHandle[" + node.name + "]";
+        }
+    }
+
+    /**
+     * Resolves handles to the physical resources backing them while a pass is being recorded.
+     * Only resources declared by the executing pass can be resolved.
+     */
+    public final class Resources {
+        private PassNode current;
+
+        private Resources() {
+        }
+
+        private ResourceNode checkAccess(ResourceNode node) {
+            if (current == null || !current.accesses(node)) {
+                throw new IllegalStateException("Pass '" + (current == null ? "?" : current.name)
+                        + "' did not declare access to '" + node.name + "'");
+            }
+            return node;
+        }
+
+        public Texture getTexture(TextureHandle handle) {
+            return checkAccess(handle.node).texture;
+        }
+
+        public TextureView getTextureView(TextureHandle handle) {
+            return checkAccess(handle.node).view;
+        }
+
+        public Buffer getBuffer(BufferHandle handle) {
+            return checkAccess(handle.node).buffer;
+        }
+    }
+
+    private enum ResourceKind {
+        TEXTURE,
+        BUFFER
+    }
+
+    private enum PassKind {
+        RENDER,
+        COMPUTE,
+        ENCODER
+    }
+
+    private static final class ResourceNode {
+        final int id;
+        final String name;
+        final ResourceKind kind;
+        final boolean imported;
+        final TextureDescriptor textureDescriptor;
+        final long bufferSize;
+
+        long usage;
+        int firstUse = -1;
+        int lastUse = -1;
+        PhysicalResource physical;
+
+        Texture texture;
+        TextureView view;
+        boolean ownsView;
+        Buffer buffer;
+
+        ResourceNode(int id, String name, ResourceKind kind, boolean imported,
+                     TextureDescriptor textureDescriptor, long bufferSize) {
+            this.id = id;
+            this.name = name;
+            this.kind = kind;
+            this.imported = imported;
+            this.textureDescriptor = textureDescriptor;
+            this.bufferSize = bufferSize;
+        }
+
+        boolean isDepthStencil() {
+            return kind == ResourceKind.TEXTURE && textureFormat() != null && textureFormat().isDepthOrStencil();
+        }
+
+        TextureFormat textureFormat() {
+            if (textureDescriptor != null) {
+                return textureDescriptor.getFormat();
+            }
+            return texture != null ? texture.getFormat() : null;
+        }
+
+        Object aliasKey() {
+            if (kind == ResourceKind.BUFFER) {
+                return bufferSize;
+            }
+            TextureDescriptor d = textureDescriptor;
+            return List.of(d.getWidth(), d.getHeight(), d.getDepthOrArrayLayers(), d.getFormat(),
+                    d.getDimension(), d.getMipLevelCount(), d.getSampleCount());
+        }
+    }
+
+    private static final class PhysicalResource {
+        final Object key;
+        final ResourceNode first;
+        long usage;
+        int lastUse;
+        Texture texture;
+        Buffer buffer;
+
+        PhysicalResource(Object key, ResourceNode first) {
+            this.key = key;
+            this.first = first;
+        }
+    }
+
+    private record Access(ResourceNode resource, boolean write, boolean overwrites, long usage) {
+    }
+
+    private record ColorTarget(ResourceNode resource, double[] clearColor) {
+    }
+
+    private record DepthTarget(ResourceNode resource, Float clearDepth, boolean readOnly) {
+    }
+
+    private static final class PassNode {
+        final int index;
+        final String name;
+        final PassKind kind;
+        final List<Access> accesses = new ArrayList<>();
+        final List<ColorTarget> colorTargets = new ArrayList<>();
+        final Set<PassNode> dependencies = new LinkedHashSet<>();
+        final Set<PassNode> producers = new LinkedHashSet<>();
+        DepthTarget depthTarget;
+        boolean sideEffect;
+        Object callback;
+        boolean culled;
+
+        PassNode(int index, String name, PassKind kind) {
+            this.index = index;
+            this.name = name;
+            this.kind = kind;
+        }
+
+        boolean accesses(ResourceNode node) {
+            for (Access access : accesses) {
+                if (access.resource == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Declares the resources a pass uses.
+     *
+     * @param <B> The concrete builder type
+     */
+    public abstract class PassBuilder<B extends PassBuilder<B>> {
+        final PassNode pass;
+
+        private PassBuilder(PassNode pass) {
+            this.pass = pass;
+        }
+
+        @SuppressWarnings("unchecked")
+        private B self() {
+            return (B) this;
+        }
+
+        B access(ResourceNode resource, boolean write, boolean overwrites, long usage) {
+            checkNotCompiled();
+            pass.accesses.add(new Access(resource, write, overwrites, usage));
+            return self();
+        }
+
+        /**
+         * Declares that the pass samples the texture.
+         */
+        public B readTexture(TextureHandle texture) {
+            return access(texture.node, false, false, TextureUsage.TEXTURE_BINDING);
+        }
+
+        /**
+         * Declares that the pass reads the texture as a storage texture.
+         */
+        public B readStorageTexture(TextureHandle texture) {
+            return access(texture.node, false, false, TextureUsage.STORAGE_BINDING);
+        }
+
+        /**
+         * Declares that the pass writes the texture as a storage texture.
+         * The previous contents are assumed to be preserved where not written.
+         */
+        public B writeStorageTexture(TextureHandle texture) {
+            return access(texture.node, true, false, TextureUsage.STORAGE_BINDING);
+        }
+
+        /**
+         * Declares that the pass copies from the texture.
+         */
+        public B copyFrom(TextureHandle texture) {
+            return access(texture.node, false, false, TextureUsage.COPY_SRC);
+        }
+
+        /**
+         * Declares that the pass copies into the texture.
+         */
+        public B copyTo(TextureHandle texture) {
+            return access(texture.node, true, false, TextureUsage.COPY_DST);
+        }
+
+        /**
+         * Declares that the pass reads the buffer.
+         *
+         * @param buffer The buffer
+         * @param usage  The {@link BufferUsage} the read requires, e.g. {@link BufferUsage#UNIFORM}
+         */
+        public B readBuffer(BufferHandle buffer, long usage) {
+            return access(buffer.node, false, false, usage);
+        }
+
+        /**
+         * Declares that the pass writes the buffer.
+         * The previous contents are assumed to be preserved where not written.
+         *
+         * @param buffer The buffer
+         * @param usage  The {@link BufferUsage} the write requires, e.g. {@link BufferUsage#STORAGE}
+         */
+        public B writeBuffer(BufferHandle buffer, long usage) {
+            return access(buffer.node, true, false, usage);
+        }
+
+        /**
+         * Marks the pass as having effects outside the graph (e.g. readback or query resolve),
+         * so it is never culled.
+         */
+        public B sideEffect() {
+            pass.sideEffect = true;
+            return self();
+        }
+
+        void setCallback(Object callback) {
+            checkNotCompiled();
+            pass.callback = Objects.requireNonNull(callback, "callback");
+        }
+    }
+
+    /**
+     * Declares the resources and attachments of a render pass.
+     */
+    public final class RenderPassBuilder extends PassBuilder<RenderPassBuilder> {
+        private RenderPassBuilder(PassNode pass) {
+            super(pass);
+        }
+
+        /**
+         * Adds a color attachment. The load operation is chosen by the graph: the first write in the
+         * frame clears to transparent black, later writes load the previous contents.
+         */
+        public RenderPassBuilder writeColor(TextureHandle texture) {
+            pass.colorTargets.add(new ColorTarget(texture.node, null));
+            return access(texture.node, true, false, TextureUsage.RENDER_ATTACHMENT);
+        }
+
+        /**
+         * Adds a color attachment that is always cleared to the given color.
+         */
+        public RenderPassBuilder writeColor(TextureHandle texture, double r, double g, double b, double a) {
+            pass.colorTargets.add(new ColorTarget(texture.node, new double[]{r, g, b, a}));
+            return access(texture.node, true, true, TextureUsage.RENDER_ATTACHMENT);
+        }
+
+        /**
+         * Sets the depth-stencil attachment. The first write in the frame clears depth to 1.0.
+         */
+        public RenderPassBuilder writeDepth(TextureHandle texture) {
+            pass.depthTarget = new DepthTarget(texture.node, null, false);
+            return access(texture.node, true, false, TextureUsage.RENDER_ATTACHMENT);
+        }
+
+        /**
+         * Sets the depth-stencil attachment, always cleared to the given depth.
+         */
+        public RenderPassBuilder writeDepth(TextureHandle texture, float clearDepth) {
+            pass.depthTarget = new DepthTarget(texture.node, clearDepth, false);
+            return access(texture.node, true, true, TextureUsage.RENDER_ATTACHMENT);
+        }
+
+        /**
+         * Sets a read-only depth-stencil attachment, e.g. for depth testing without depth writes.
+         */
+        public RenderPassBuilder readDepth(TextureHandle texture) {
+            pass.depthTarget = new DepthTarget(texture.node, null, true);
+            return access(texture.node, false, false, TextureUsage.RENDER_ATTACHMENT);
+        }
+
+        /**
+         * Sets the callback that records the pass and finishes its declaration.
+         */
+        public void execute(RenderPassCallback callback) {
+            setCallback(callback);
+        }
+    }
+
+    /**
+     * Declares the resources of a compute pass.
+     */
+    public final class ComputePassBuilder extends PassBuilder<ComputePassBuilder> {
+        private ComputePassBuilder(PassNode pass) {
+            super(pass);
+        }
+
+        /**
+         * Sets the callback that records the pass and finishes its declaration.
+         */
+        public void execute(ComputePassCallback callback) {
+            setCallback(callback);
+        }
+    }
+
+    /**
+     * Declares the resources of a pass that records directly on the command encoder.
+     */
+    public final class EncoderPassBuilder extends PassBuilder<EncoderPassBuilder> {
+        private EncoderPassBuilder(PassNode pass) {
+            super(pass);
+        }
+
+        /**
+         * Sets the callback that records the pass and finishes its declaration.
+         */
+        public void execute(EncoderPassCallback callback) {
+            setCallback(callback);
+        }
+    }
+
+    private final TransientResourcePool pool;
+    private final List<ResourceNode> resources = new ArrayList<>();
+    private final List<PassNode> passes = new ArrayList<>();
+    private final List<PassNode> schedule = new ArrayList<>();
+    private final List<PhysicalResource> physicalResources = new ArrayList<>();
+    private boolean compiled = false;
+    private boolean executed = false;
+
+    /**
+     * Creates an empty graph.
+     *
+     * @param pool The pool providing physical resources for transient textures and buffers
+     */
+    public RenderGraph(TransientResourcePool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    private void checkNotCompiled() {
+        if (compiled) {
+            throw new IllegalStateException("Render graph has already been compiled");
+        }
+    }
+
+    /**
+     * Declares a transient texture that only exists during this graph's execution.
+     * Usage flags are derived from how passes access it and combined with those in the descriptor.
+     *
+     * @param name       Debug name
+     * @param descriptor Size, format, mip and sample configuration of the texture
+     * @return A handle to the texture
+     */
+    public TextureHandle createTexture(String name, TextureDescriptor descriptor) {
+        checkNotCompiled();
+        ResourceNode node = new ResourceNode(resources.size(), name, ResourceKind.TEXTURE, false, descriptor, 0);
+        node.usage = descriptor.getUsage();
+        resources.add(node);
+        return new TextureHandle(node);
+    }
+
+    /**
+     * Imports an externally owned texture, such as a surface texture.
+     * Writes to imported textures are always stored and passes writing them are never culled.
+     *
+     * @param name    Debug name
+     * @param texture The texture
+     * @return A handle to the texture
+     */
+    public TextureHandle importTexture(String name, Texture texture) {
+        checkNotCompiled();
+        ResourceNode node = new ResourceNode(resources.size(), name, ResourceKind.TEXTURE, true, null, 0);
+        node.texture = Objects.requireNonNull(texture, "texture");
+        resources.add(node);
+        return new TextureHandle(node);
+    }
+
+    /**
+     * Declares a transient buffer that only exists during this graph's execution.
+     *
+     * @param name Debug name
+     * @param size Size in bytes
+     * @return A handle to the buffer
+     */
+    public BufferHandle createBuffer(String name, long size) {
+        checkNotCompiled();
+        if (size <= 0) {
+            throw new IllegalArgumentException("Buffer size must be greater than 0");
+        }
+        ResourceNode node = new ResourceNode(resources.size(), name, ResourceKind.BUFFER, false, null, size);
+        resources.add(node);
+        return new BufferHandle(node);
+    }
+
+    /**
+     * Imports an externally owned buffer.
+     * Passes writing imported buffers are never culled.
+     *
+     * @param name   Debug name
+     * @param buffer The buffer
+     * @return A handle to the buffer
+     */
+    public BufferHandle importBuffer(String name, Buffer buffer) {
+        checkNotCompiled();
+        ResourceNode node = new ResourceNode(resources.size(), name, ResourceKind.BUFFER, true, null, 0);
+        node.buffer = Objects.requireNonNull(buffer, "buffer");
+        resources.add(node);
+        return new BufferHandle(node);
+    }
+
+    /**
+     * Adds a render pass. Passes are declared in submission order; a pass sees the writes of
+     * every pass declared before it.
+     */
+    public RenderPassBuilder addRenderPass(String name) {
+        return new RenderPassBuilder(addPass(name, PassKind.RENDER));
+    }
+
+    /**
+     * Adds a compute pass.
+     */
+    public ComputePassBuilder addComputePass(String name) {
+        return new ComputePassBuilder(addPass(name, PassKind.COMPUTE));
+    }
+
+    /**
+     * Adds a pass that records directly on the command encoder, e.g. for copies.
+     */
+    public EncoderPassBuilder addEncoderPass(String name) {
+        return new EncoderPassBuilder(addPass(name, PassKind.ENCODER));
+    }
+
+    private PassNode addPass(String name, PassKind kind) {
+        checkNotCompiled();
+        PassNode pass = new PassNode(passes.size(), name, kind);
+        passes.add(pass);
+        return pass;
+    }
+
+    /**
+     * Resolves dependencies, culls unused passes, schedules the remaining ones and assigns
+     * physical resources. Called automatically by {@link #execute(CommandEncoder)}.
+     */
+    public void compile() {
+        if (compiled) {
+            return;
+        }
+
+        for (PassNode pass : passes) {
+            if (pass.callback == null) {
+                throw new WgpuException("Render graph pass '" + pass.name + "' has no execute callback");
+            }
+        }
+
+        buildDependencies();
+        cullPasses();
+        schedulePasses();
+        computeLifetimes();
+        assignPhysicalResources();
+        compiled = true;
+    }
+
+    private void buildDependencies() {
+        PassNode[] lastWriter = new PassNode[resources.size()];
+        List<List<PassNode>> readers = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i++) {
+            readers.add(new ArrayList<>());
+        }
+
+        for (PassNode pass : passes) {
+            for (Access access : pass.accesses) {
+                if (!access.write) {
+                    ResourceNode resource = access.resource;
+                    PassNode writer = lastWriter[resource.id];
+                    if (writer == null && !resource.imported) {
+                        throw new WgpuException("Render graph pass '" + pass.name
+                                + "' reads transient resource '" + resource.name + "' before any pass writes it");
+                    }
+                    if (writer != null && writer != pass) {
+                        pass.dependencies.add(writer);
+                        pass.producers.add(writer);
+                    }
+                    readers.get(resource.id).add(pass);
+                }
+            }
+
+            for (Access access : pass.accesses) {
+                if (access.write) {
+                    ResourceNode resource = access.resource;
+                    PassNode writer = lastWriter[resource.id];
+                    if (writer != null && writer != pass) {
+                        pass.dependencies.add(writer);
+                        if (!access.overwrites) {
+                            pass.producers.add(writer);
+                        }
+                    }
+                    for (PassNode reader : readers.get(resource.id)) {
+                        if (reader != pass) {
+                            pass.dependencies.add(reader);
+                        }
+                    }
+                    readers.get(resource.id).clear();
+                    lastWriter[resource.id] = pass;
+                }
+            }
+        }
+    }
+
+    private void cullPasses() {
+        Set<PassNode> needed = new HashSet<>();
+        List<PassNode> worklist = new ArrayList<>();
+
+        for (PassNode pass : passes) {
+            boolean root = pass.sideEffect;
+            for (Access access : pass.accesses) {
+                if (access.write && access.resource.imported) {
+                    root = true;
+                }
+            }
+            if (root && needed.add(pass)) {
+                worklist.add(pass);
+            }
+        }
+
+        while (!worklist.isEmpty()) {
+            PassNode pass = worklist.removeLast();
+            for (PassNode producer : pass.producers) {
+                if (needed.add(producer)) {
+                    worklist.add(producer);
+                }
+            }
+        }
+
+        for (PassNode pass : passes) {
+            pass.culled = !needed.contains(pass);
+        }
+    }
+
+    private void schedulePasses() {
+        int[] remaining = new int[passes.size()];
+        List<List<PassNode>> dependents = new ArrayList<>();
+        for (int i = 0; i < passes.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+
+        for (PassNode pass : passes) {
+            if (pass.culled) {
+                continue;
+            }
+            for (PassNode dependency : pass.dependencies) {
+                if (!dependency.culled) {
+                    remaining[pass.index]++;
+                    dependents.get(dependency.index).add(pass);
+                }
+            }
+        }
+
+        PriorityQueue<PassNode> ready = new PriorityQueue<>((a, b) -> Integer.compare(a.index, b.index));
+        for (PassNode pass : passes) {
+            if (!pass.culled && remaining[pass.index] == 0) {
+                ready.add(pass);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            PassNode pass = ready.poll();
+            schedule.add(pass);
+            for (PassNode dependent : dependents.get(pass.index)) {
+                if (--remaining[dependent.index] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+    }
+
+    private void computeLifetimes() {
+        for (int position = 0; position < schedule.size(); position++) {
+            for (Access access : schedule.get(position).accesses) {
+                ResourceNode resource = access.resource;
+                if (resource.firstUse < 0) {
+                    resource.firstUse = position;
+                }
+                resource.lastUse = position;
+                if (!resource.imported) {
+                    resource.usage |= access.usage;
+                }
+            }
+        }
+    }
+
+    private void assignPhysicalResources() {
+        List<ResourceNode> transients = new ArrayList<>();
+        for (ResourceNode resource : resources) {
+            if (!resource.imported && resource.firstUse >= 0) {
+                transients.add(resource);
+            }
+        }
+        transients.sort((a, b) -> Integer.compare(a.firstUse, b.firstUse));
+
+        for (ResourceNode resource : transients) {
+            Object key = resource.aliasKey();
+            PhysicalResource target = null;
+            for (PhysicalResource candidate : physicalResources) {
+                if (candidate.first.kind == resource.kind && candidate.key.equals(key)
+                        && candidate.lastUse < resource.firstUse) {
+                    target = candidate;
+                    break;
+                }
+            }
+            if (target == null) {
+                target = new PhysicalResource(key, resource);
+                physicalResources.add(target);
+            }
+            target.usage |= resource.usage;
+            target.lastUse = resource.lastUse;
+            resource.physical = target;
+        }
+    }
+
+    /**
+     * Compiles the graph if needed and records every scheduled pass into the encoder.
+     * Physical resources are returned to the pool afterwards; call
+     * {@link TransientResourcePool#endFrame()} once per frame after submitting.
+     *
+     * @param encoder The command encoder to record into
+     */
+    public void execute(CommandEncoder encoder) {
+        if (executed) {
+            throw new IllegalStateException("Render graph has already been executed");
+        }
+        compile();
+        executed = true;
+
+        try {
+            acquirePhysicalResources();
+
+            Resources accessor = new Resources();
+            boolean[] written = new boolean[resources.size()];
+            for (int position = 0; position < schedule.size(); position++) {
+                PassNode pass = schedule.get(position);
+                accessor.current = pass;
+                recordPass(encoder, pass, position, written, accessor);
+                for (Access access : pass.accesses) {
+                    if (access.write) {
+                        written[access.resource.id] = true;
+                    }
+                }
+            }
+        } finally {
+            releasePhysicalResources();
+        }
+    }
+
+    private void acquirePhysicalResources() {
+        for (PhysicalResource physical : physicalResources) {
+            if (physical.first.kind == ResourceKind.TEXTURE) {
+                TextureDescriptor d = physical.first.textureDescriptor;
+                physical.texture = pool.acquireTexture(TextureDescriptor.builder()
+                        .label("rendergraph/" + physical.first.name)
+                        .size(d.getWidth(), d.getHeight(), d.getDepthOrArrayLayers())
+                        .format(d.getFormat())
+                        .dimension(d.getDimension())
+                        .mipLevelCount(d.getMipLevelCount())
+                        .sampleCount(d.getSampleCount())
+                        .usage(physical.usage)
+                        .build());
+            } else {
+                physical.buffer = pool.acquireBuffer("rendergraph/" + physical.first.name,
+                        physical.first.bufferSize, physical.usage);
+            }
+        }
+
+        for (ResourceNode resource : resources) {
+            if (resource.firstUse < 0) {
+                continue;
+            }
+            if (resource.physical != null) {
+                resource.texture = resource.physical.texture;
+                resource.buffer = resource.physical.buffer;
+                if (resource.texture != null) {
+                    resource.view = pool.getDefaultView(resource.texture);
+                }
+            } else if (resource.kind == ResourceKind.TEXTURE) {
+                resource.view = resource.texture.createView();
+                resource.ownsView = true;
+            }
+        }
+    }
+
+    private void releasePhysicalResources() {
+        for (PhysicalResource physical : physicalResources) {
+            if (physical.texture != null) {
+                pool.releaseTexture(physical.texture);
+            }
+            if (physical.buffer != null) {
+                pool.releaseBuffer(physical.buffer);
+            }
+        }
+        for (ResourceNode resource : resources) {
+            if (resource.ownsView && resource.view != null) {
+                resource.view.close();
+            }
+        }
+    }
+
+    private void recordPass(CommandEncoder encoder, PassNode pass, int position, boolean[] written, Resources accessor) {
+        switch (pass.kind) {
+            case RENDER -> {
+                RenderPassDescriptor.Builder descriptor = RenderPassDescriptor.builder().label(pass.name);
+                for (ColorTarget target : pass.colorTargets) {
+                    descriptor.colorAttachment(buildColorAttachment(target, position, written));
+                }
+                if (pass.depthTarget != null) {
+                    descriptor.depthStencilAttachment(buildDepthAttachment(pass.depthTarget, position, written));
+                }
+                try (RenderPassEncoder renderPass = encoder.beginRenderPass(descriptor.build())) {
+                    ((RenderPassCallback) pass.callback).record(renderPass, accessor);
+                    renderPass.end();
+                }
+            }
+            case COMPUTE -> {
+                try (ComputePassEncoder computePass = encoder.beginComputePass(
+                        ComputePassDescriptor.builder().label(pass.name).build())) {
+                    ((ComputePassCallback) pass.callback).record(computePass, accessor);
+                    computePass.end();
+                }
+            }
+            case ENCODER -> ((EncoderPassCallback) pass.callback).record(encoder, accessor);
+        }
+    }
+
+    private LoadOp chooseLoadOp(ResourceNode resource, boolean clears, boolean[] written) {
+        if (clears) {
+            return LoadOp.CLEAR;
+        }
+        return resource.imported || written[resource.id] ? LoadOp.LOAD : LoadOp.CLEAR;
+    }
+
+    private StoreOp chooseStoreOp(ResourceNode resource, int position) {
+        return resource.imported || resource.lastUse > position ? StoreOp.STORE : StoreOp.DISCARD;
+    }
+
+    private RenderPassColorAttachment buildColorAttachment(ColorTarget target, int position, boolean[] written) {
+        ResourceNode resource = target.resource;
+        RenderPassColorAttachment.Builder builder = RenderPassColorAttachment.builder()
+                .view(resource.view)
+                .loadOp(chooseLoadOp(resource, target.clearColor != null, written))
+                .storeOp(chooseStoreOp(resource, position));
+        if (target.clearColor != null) {
+            builder.clearColor(target.clearColor[0], target.clearColor[1], target.clearColor[2], target.clearColor[3]);
+        } else {
+            builder.clearColor(0.0, 0.0, 0.0, 0.0);
+        }
+        return builder.build();
+    }
+
+    private RenderPassDepthStencilAttachment buildDepthAttachment(DepthTarget target, int position, boolean[] written) {
+        ResourceNode resource = target.resource;
+        TextureFormat format = resource.textureFormat();
+        RenderPassDepthStencilAttachment.Builder builder = RenderPassDepthStencilAttachment.builder()
+                .view(resource.view);
+
+        LoadOp loadOp = target.readOnly ? LoadOp.UNDEFINED : chooseLoadOp(resource, target.clearDepth != null, written);
+        StoreOp storeOp = target.readOnly ? StoreOp.UNDEFINED : chooseStoreOp(resource, position);
+
+        if (format != null && format.hasDepthAspect()) {
+            builder.depthLoadOp(loadOp)
+                    .depthStoreOp(storeOp)
+                    .depthReadOnly(target.readOnly)
+                    .depthClearValue(target.clearDepth != null ? target.clearDepth : 1.0f);
+        } else {
+            builder.depthLoadOp(LoadOp.UNDEFINED).depthStoreOp(StoreOp.UNDEFINED);
+        }
+
+        if (format != null && format.hasStencilAspect()) {
+            builder.stencilLoadOp(loadOp)
+                    .stencilStoreOp(storeOp)
+                    .stencilReadOnly(target.readOnly);
+        } else {
+            builder.stencilLoadOp(LoadOp.UNDEFINED).stencilStoreOp(StoreOp.UNDEFINED);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Gets the names of the passes that will be recorded, in execution order.
+     */
+    public List<String> getScheduledPassNames() {
+        compile();
+        List<String> names = new ArrayList<>();
+        for (PassNode pass : schedule) {
+            names.add(pass.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Gets the names of the passes that were culled because nothing consumes their outputs.
+     */
+    public List<String> getCulledPassNames() {
+        compile();
+        List<String> names = new ArrayList<>();
+        for (PassNode pass : passes) {
+            if (pass.culled) {
+                names.add(pass.name);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Gets the number of transient textures and buffers that are used by at least one scheduled pass.
+     */
+    public int getTransientResourceCount() {
+        compile();
+        int count = 0;
+        for (ResourceNode resource : resources) {
+            if (resource.physical != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of physical resources backing the transient ones after aliasing.
+     */
+    public int getPhysicalResourceCount() {
+        compile();
+        return physicalResources.size();
+    }
+
+    /**
+     * Returns true if the two transient textures share the same physical texture.
+     */
+    public boolean isAliased(TextureHandle a, TextureHandle b) {
+        compile();
+        return a.node.physical != null && a.node.physical == b.node.physical;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RenderGraph[passes=%d, resources=%d, compiled=%s]", passes.size(), resources.size(), compiled);
+    }
+}
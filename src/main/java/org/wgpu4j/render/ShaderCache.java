@@ -0,0 +1,289 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.ErrorFilter;
+import org.wgpu4j.descriptor.AdapterInfo;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.resource.Adapter;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.ShaderModule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches shader sources translated to SPIR-V on disk, so a shader library starts from validated binaries
+ * instead of parsing WGSL or GLSL text on every start.
+ * <pre>{@code
+ * ShaderCache shaders = new ShaderCache(cacheDir, adapter, ShaderCache.command("naga", "{input}", "{output}"));
+ * ShaderModule module = shaders.createShaderModule(device, ShaderModuleDescriptor.builder()
+ *         .wgslCode(source)
+ *         .build());
+ * }</pre>
+ * wgpu-native does not expose its shader translator, so text sources are turned into SPIR-V by a
+ * {@link Translator}, typically an offline compiler such as {@code naga} or {@code glslangValidator} run
+ * through {@link #command(String...)}. On a miss the source is translated, the module is created from the
+ * SPIR-V inside a validation error scope, and the binary is written only if the device accepted it. If
+ * translation or validation fails, the module is created from the original source instead, so the cache never
+ * changes whether a shader loads.
+ * <p>
+ * Entries are keyed by {@link ShaderModuleDescriptor#getSourceHash()} and stored under a directory per
+ * adapter, vendor, device and driver, so a driver update starts a fresh cache. SPIR-V sources are passed
+ * through unchanged. Files are replaced atomically, so several processes can share a directory.
+ * Because validation pushes an error scope, {@link #createShaderModule(Device, ShaderModuleDescriptor)} should
+ * not run concurrently with other error scopes on the same device.
+ */
+public class ShaderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShaderCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Translates a WGSL or GLSL shader into SPIR-V.
+     */
+    @FunctionalInterface
+    public interface Translator {
+        /**
+         * @param source The shader source
+         * @return The SPIR-V binary
+         * @throws IOException if the source cannot be translated
+         */
+        byte[] toSpirv(ShaderModuleDescriptor source) throws IOException;
+    }
+
+    private final Path directory;
+    private final Translator translator;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache for the shaders of one adapter.
+     *
+     * @param root       The cache root directory, shared by all adapters
+     * @param adapter    The adapter the shaders will run on
+     * @param translator Converts text sources to SPIR-V
+     */
+    public ShaderCache(Path root, Adapter adapter, Translator translator) {
+        this(root, adapter.getInfo(), translator);
+    }
+
+    /**
+     * Creates a cache for the shaders of one adapter.
+     *
+     * @param root        The cache root directory, shared by all adapters
+     * @param adapterInfo Identifies the adapter the shaders will run on
+     * @param translator  Converts text sources to SPIR-V
+     */
+    public ShaderCache(Path root, AdapterInfo adapterInfo, Translator translator) {
+        this.directory = root.resolve("v" + FORMAT_VERSION).resolve(adapterKey(adapterInfo));
+        this.translator = Objects.requireNonNull(translator, "translator");
+    }
+
+    /**
+     * Creates a translator that runs an external compiler. The arguments {@code {input}} and
+     * {@code {output}} are replaced with a temporary source file and the SPIR-V file to produce.
+     * The source file extension follows the source kind: {@code .wgsl}, or {@code .vert}, {@code .frag}
+     * and {@code .comp} for GLSL, which is what {@code naga} and {@code glslangValidator} use to pick a front end.
+     * GLSL defines are not forwarded; bake them into the source or use a custom translator.
+     *
+     * @param command The command and its arguments
+     * @return The translator
+     */
+    public static Translator command(String... command) {
+        List<String> template = List.of(command);
+        return source -> {
+            Path workDir = Files.createTempDirectory("wgpu4j-shader");
+            try {
+                Path input = workDir.resolve("shader" + extension(source));
+                Path output = workDir.resolve("shader.spv");
+                String code = source.getSourceKind() == ShaderModuleDescriptor.SourceKind.GLSL
+                        ? source.getGlslCode() : source.getWgslCode();
+                Files.writeString(input, code, StandardCharsets.UTF_8);
+
+                List<String> arguments = new ArrayList<>(template.size());
+                for (String argument : template) {
+                    arguments.add(argument.replace("{input}", input.toString()).replace("{output}", output.toString()));
+                }
+                Process process = new ProcessBuilder(arguments)
+                        .redirectErrorStream(true)
+                        .start();
+                String log = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                int exitCode = process.waitFor();
+                if (exitCode != 0 || !Files.exists(output)) {
+                    throw new IOException(template.get(0) + " failed with exit code " + exitCode + ": " + log.strip());
+                }
+                return Files.readAllBytes(output);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while translating shader", e);
+            } finally {
+                try (var files = Files.list(workDir)) {
+                    for (Path file : files.toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+                Files.deleteIfExists(workDir);
+            }
+        };
+    }
+
+    private static String extension(ShaderModuleDescriptor source) {
+        if (source.getSourceKind() != ShaderModuleDescriptor.SourceKind.GLSL) {
+            return ".wgsl";
+        }
+        return switch (source.getGlslStage()) {
+            case VERTEX -> ".vert";
+            case FRAGMENT -> ".frag";
+            case COMPUTE -> ".comp";
+        };
+    }
+
+    /**
+     * Creates a shader module, from cached SPIR-V when available.
+     *
+     * @param device The device to create the module on
+     * @param source The shader source
+     * @return The shader module
+     */
+    public ShaderModule createShaderModule(Device device, ShaderModuleDescriptor source) {
+        if (source.getSourceKind() == ShaderModuleDescriptor.SourceKind.SPIRV) {
+            return device.createShaderModule(source);
+        }
+
+        Path entry = directory.resolve(source.getSourceHash() + ".spv");
+        byte[] cached = read(entry);
+        if (cached != null) {
+            try {
+                ShaderModuleDescriptor binary = spirvDescriptor(source, cached);
+                hits.incrementAndGet();
+                return device.createShaderModule(binary);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Discarding corrupt shader cache entry {}", entry);
+                delete(entry);
+            }
+        }
+        misses.incrementAndGet();
+
+        byte[] spirv;
+        ShaderModuleDescriptor binary;
+        try {
+            spirv = translator.toSpirv(source);
+            binary = spirvDescriptor(source, spirv);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to translate shader '{}' to SPIR-V, using its source: {}", source.getLabel(), e.getMessage());
+            return device.createShaderModule(source);
+        }
+
+        device.pushErrorScope(ErrorFilter.VALIDATION);
+        ShaderModule module = device.createShaderModule(binary);
+        String error;
+        try {
+            error = device.popErrorScope().get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            error = "error scope did not complete: " + e;
+        }
+        if (error != null) {
+            logger.warn("Translated SPIR-V for shader '{}' failed validation, using its source: {}", source.getLabel(), error);
+            module.close();
+            return device.createShaderModule(source);
+        }
+
+        write(entry, spirv);
+        return module;
+    }
+
+    private static ShaderModuleDescriptor spirvDescriptor(ShaderModuleDescriptor source, byte[] spirv) {
+        return ShaderModuleDescriptor.builder()
+                .label(source.getLabel())
+                .spirv(spirv)
+                .build();
+    }
+
+    private static byte[] read(Path entry) {
+        try {
+            return Files.readAllBytes(entry);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed to read shader cache entry {}", entry, e);
+            return null;
+        }
+    }
+
+    private void write(Path entry, byte[] spirv) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, spirv);
+                try {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write shader cache entry {}", entry, e);
+        }
+    }
+
+    private static void delete(Path entry) {
+        try {
+            Files.deleteIfExists(entry);
+        } catch (IOException e) {
+            logger.warn("Failed to delete shader cache entry {}", entry, e);
+        }
+    }
+
+    /**
+     * Gets the directory holding this adapter's entries.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the number of modules created from cached SPIR-V.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of modules whose source had to be translated or used directly.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Computes the directory name for an adapter from its backend, vendor, device and driver.
+     */
+    static String adapterKey(AdapterInfo info) {
+        String identity = info.getBackendType() + "\0" + info.getVendorId() + "\0" + info.getDeviceId() + "\0"
+                + info.getVendor() + "\0" + info.getDevice() + "\0" + info.getArchitecture() + "\0" + info.getDescription();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.WgpuException;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.Extent3D;
+import org.wgpu4j.descriptor.ImageCopyBuffer;
+import org.wgpu4j.descriptor.ImageCopyTexture;
+import org.wgpu4j.descriptor.ImageCopyTextureLayout;
+import org.wgpu4j.descriptor.Limits;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.CommandBuffer;
+import org.wgpu4j.resource.CommandEncoder;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.Instance;
+import org.wgpu4j.resource.Queue;
+import org.wgpu4j.resource.Texture;
+import org.wgpu4j.resource.TextureView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders images larger than the device's maximum texture size by splitting them into tiles.
+ * <p>
+ * Every tile is rendered into a square target of {@link #getTileSize()} pixels. Tiles on the right and
+ * bottom edges overhang the image; the overhang is rendered but never copied. The callback renders each
+ * tile with the projection returned by {@link Tile#adjustProjection(float[])}, which narrows the full-image
+ * projection to the tile's region. Tiles are submitted in row-major order; up to
+ * {@link #getTilesInFlight()} of them are rendered and read back concurrently, and each tile is written
+ * straight into a memory-mapped output file, so heap and native memory use do not grow with the image size.
+ * <pre>{@code
+ * try (TiledImageRenderer tiler = new TiledImageRenderer(instance, device, TextureFormat.RGBA8_UNORM)) {
+ *     tiler.render(Path.of("poster.rgba"), 32768, 32768, (encoder, target, tile) -> {
+ *         float[] projection = tile.adjustProjection(camera.viewProjection());
+ *         scene.draw(encoder, target, projection);
+ *     });
+ * }
+ * }</pre>
+ * The output file holds raw, tightly packed pixels, rows from the top, {@code width * bytesPerTexel} bytes
+ * per row. The renderer is not thread-safe.
+ */
+public class TiledImageRenderer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TiledImageRenderer.class);
+
+    /**
+     * Default number of tiles that can be in flight at once.
+     */
+    public static final int DEFAULT_TILES_IN_FLIGHT = 3;
+
+    /**
+     * Largest tile edge used by default, even if the device allows larger textures.
+     */
+    public static final int DEFAULT_MAX_TILE_SIZE = 4096;
+
+    private static final int COPY_BYTES_PER_ROW_ALIGNMENT = 256;
+    private static final long READBACK_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Records the commands that render one tile.
+     */
+    @FunctionalInterface
+    public interface TileCallback {
+        /**
+         * Records rendering of a tile into its target. The callback must end every pass it begins.
+         *
+         * @param encoder The tile's command encoder
+         * @param target  A view of the tile's render target, {@code tileSize} pixels square
+         * @param tile    The tile's position in the image
+         */
+        void record(CommandEncoder encoder, TextureView target, Tile tile);
+    }
+
+    /**
+     * The region of the image covered by one tile.
+     */
+    public static final class Tile {
+        private final int index;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final int tileSize;
+        private final int imageWidth;
+        private final int imageHeight;
+
+        Tile(int index, int x, int y, int width, int height, int tileSize, int imageWidth, int imageHeight) {
+            this.index = index;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.tileSize = tileSize;
+            this.imageWidth = imageWidth;
+            this.imageHeight = imageHeight;
+        }
+
+        /**
+         * Gets the tile's position in row-major order.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the left edge of the tile in image pixels.
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * Gets the top edge of the tile in image pixels.
+         */
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * Gets the number of image columns the tile covers; less than the tile size on the right edge.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the number of image rows the tile covers; less than the tile size on the bottom edge.
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Gets the edge length of the tile's render target.
+         */
+        public int getTileSize() {
+            return tileSize;
+        }
+
+        public int getImageWidth() {
+            return imageWidth;
+        }
+
+        public int getImageHeight() {
+            return imageHeight;
+        }
+
+        /**
+         * Narrows a projection for the whole image to this tile.
+         * <p>
+         * The result is {@code T * projection}, where {@code T} scales and offsets clip space so that the
+         * tile's region, including any overhang past the image edge, fills the render target.
+         *
+         * @param projection A 4x4 column-major matrix mapping the whole image to clip space
+         * @return A new column-major matrix mapping this tile to clip space
+         */
+        public float[] adjustProjection(float[] projection) {
+            if (projection.length != 16) {
+                throw new IllegalArgumentException("Projection must have 16 elements: " + projection.length);
+            }
+
+            // Tile bounds in the full image's normalized device coordinates (y points up).
+            double left = 2.0 * x / imageWidth - 1.0;
+            double right = 2.0 * (x + tileSize) / imageWidth - 1.0;
+            double top = 1.0 - 2.0 * y / imageHeight;
+            double bottom = 1.0 - 2.0 * (y + tileSize) / imageHeight;
+
+            double scaleX = 2.0 / (right - left);
+            double offsetX = -(right + left) / (right - left);
+            double scaleY = 2.0 / (top - bottom);
+            double offsetY = -(top + bottom) / (top - bottom);
+
+            float[] result = projection.clone();
+            for (int column = 0; column < 4; column++) {
+                int c = column * 4;
+                result[c] = (float) (scaleX * projection[c] + offsetX * projection[c + 3]);
+                result[c + 1] = (float) (scaleY * projection[c + 1] + offsetY * projection[c + 3]);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Tile{index=" + index + ", x=" + x + ", y=" + y + ", " + width + "x" + height + "}";
+        }
+    }
+
+    private static final class Slot {
+        final Texture texture;
+        final TextureView view;
+        final Buffer readbackBuffer;
+        CompletableFuture<Void> mapping;
+        Tile tile;
+
+        Slot(Texture texture, TextureView view, Buffer readbackBuffer) {
+            this.texture = texture;
+            this.view = view;
+            this.readbackBuffer = readbackBuffer;
+        }
+
+        void close() {
+            view.close();
+            texture.close();
+            readbackBuffer.close();
+        }
+    }
+
+    private final Instance instance;
+    private final Device device;
+    private final Queue queue;
+    private final TextureFormat format;
+    private final int tileSize;
+    private final long paddedBytesPerRow;
+    private final Slot[] slots;
+    private long tilesRendered = 0;
+
+    /**
+     * Creates a renderer with the largest tile size the device allows, up to {@link #DEFAULT_MAX_TILE_SIZE}.
+     *
+     * @param instance The instance the device was created from, used to process map callbacks
+     * @param device   The device to render on
+     * @param format   The format of the tile targets and the output pixels
+     */
+    public TiledImageRenderer(Instance instance, Device device, TextureFormat format) {
+        this(instance, device, format, DEFAULT_MAX_TILE_SIZE, DEFAULT_TILES_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a renderer.
+     *
+     * @param instance      The instance the device was created from, used to process map callbacks
+     * @param device        The device to render on
+     * @param format        The format of the tile targets and the output pixels
+     * @param maxTileSize   Upper bound for the tile edge; it is further reduced to fit the device's
+     *                      maximum 2D texture dimension and buffer size
+     * @param tilesInFlight Number of tiles rendered and read back concurrently
+     */
+    public TiledImageRenderer(Instance instance, Device device, TextureFormat format, int maxTileSize, int tilesInFlight) {
+        this.instance = Objects.requireNonNull(instance, "instance");
+        this.device = Objects.requireNonNull(device, "device");
+        this.format = Objects.requireNonNull(format, "format");
+        if (format.isDepthOrStencil() || format.getBytesPerTexel() <= 0) {
+            throw new IllegalArgumentException("Format cannot be read back as color: " + format);
+        }
+        if (maxTileSize <= 0) {
+            throw new IllegalArgumentException("maxTileSize must be positive: " + maxTileSize);
+        }
+        if (tilesInFlight <= 0) {
+            throw new IllegalArgumentException("tilesInFlight must be positive: " + tilesInFlight);
+        }
+
+        this.tileSize = chooseTileSize(device.getLimits(), format, maxTileSize);
+        this.paddedBytesPerRow = align((long) tileSize * format.getBytesPerTexel(), COPY_BYTES_PER_ROW_ALIGNMENT);
+        this.slots = new Slot[tilesInFlight];
+        this.queue = device.getQueue();
+
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                Texture texture = device.createTexture(TextureDescriptor.builder()
+                        .label("tile-target-" + i)
+                        .size(tileSize, tileSize)
+                        .format(format)
+                        .usage(TextureUsage.RENDER_ATTACHMENT | TextureUsage.COPY_SRC)
+                        .build());
+                Buffer readbackBuffer = device.createBuffer(BufferDescriptor.builder()
+                        .label("tile-readback-" + i)
+                        .size(paddedBytesPerRow * tileSize)
+                        .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                        .build());
+                slots[i] = new Slot(texture, texture.createView(), readbackBuffer);
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        logger.debug("Created tiled renderer with {}px {} tiles, {} in flight", tileSize, format, tilesInFlight);
+    }
+
+    private static int chooseTileSize(Limits limits, TextureFormat format, int maxTileSize) {
+        int size = Math.min(maxTileSize, limits.getMaxTextureDimension2D());
+        long maxBufferSize = limits.getMaxBufferSize();
+        while (size > 1 && align((long) size * format.getBytesPerTexel(), COPY_BYTES_PER_ROW_ALIGNMENT) * size > maxBufferSize) {
+            size /= 2;
+        }
+        return size;
+    }
+
+    private static long align(long value, long alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Renders an image tile by tile into a file, replacing any existing content. Returns once every
+     * tile has been written.
+     *
+     * @param output   The file to write raw pixels to
+     * @param width    The image width in pixels
+     * @param height   The image height in pixels
+     * @param callback Records the rendering of each tile
+     * @return The number of tiles rendered
+     */
+    public int render(Path output, int width, int height, TileCallback callback) {
+        Objects.requireNonNull(output, "output");
+        Objects.requireNonNull(callback, "callback");
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image size must be positive: " + width + "x" + height);
+        }
+
+        long imageBytesPerRow = (long) width * format.getBytesPerTexel();
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        int tileCount = columns * rows;
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment image = channel.map(FileChannel.MapMode.READ_WRITE, 0, imageBytesPerRow * height, arena);
+
+            int submitted = 0;
+            int written = 0;
+            try {
+                for (int row = 0; row < rows; row++) {
+                    for (int column = 0; column < columns; column++) {
+                        int x = column * tileSize;
+                        int y = row * tileSize;
+                        Tile tile = new Tile(submitted, x, y, Math.min(tileSize, width - x), Math.min(tileSize, height - y),
+                                tileSize, width, height);
+
+                        Slot slot = slots[submitted % slots.length];
+                        if (slot.mapping != null) {
+                            awaitAndWrite(slot, image, imageBytesPerRow);
+                            written++;
+                        }
+                        submit(slot, tile, callback);
+                        submitted++;
+                    }
+                }
+                while (written < submitted) {
+                    awaitAndWrite(slots[written % slots.length], image, imageBytesPerRow);
+                    written++;
+                }
+            } finally {
+                // Leave no slot mapped or pending if a tile failed part-way through.
+                for (Slot slot : slots) {
+                    if (slot.mapping != null) {
+                        discard(slot);
+                    }
+                }
+            }
+
+            image.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write tiled image to " + output, e);
+        }
+
+        tilesRendered += tileCount;
+        logger.debug("Rendered {}x{} image in {} tiles to {}", width, height, tileCount, output);
+        return tileCount;
+    }
+
+    private void submit(Slot slot, Tile tile, TileCallback callback) {
+        CommandBuffer commands;
+        try (CommandEncoder encoder = device.createCommandEncoder()) {
+            callback.record(encoder, slot.view, tile);
+            encoder.copyTextureToBuffer(
+                    ImageCopyTexture.builder().texture(slot.texture).build(),
+                    ImageCopyBuffer.builder()
+                            .buffer(slot.readbackBuffer)
+                            .layout(ImageCopyTextureLayout.builder()
+                                    .bytesPerRow((int) paddedBytesPerRow)
+                                    .rowsPerImage(tile.getHeight())
+                                    .build())
+                            .build(),
+                    Extent3D.of(tile.getWidth(), tile.getHeight()));
+            commands = encoder.finish();
+        }
+        try (commands) {
+            queue.submit(commands);
+        }
+
+        slot.tile = tile;
+        slot.mapping = slot.readbackBuffer.mapAsync(MapMode.READ, 0, paddedBytesPerRow * tile.getHeight());
+    }
+
+    private void awaitAndWrite(Slot slot, MemorySegment image, long imageBytesPerRow) {
+        await(slot);
+        Tile tile = slot.tile;
+        CompletableFuture<Void> mapping = slot.mapping;
+        slot.mapping = null;
+
+        try {
+            mapping.get();
+        } catch (ExecutionException e) {
+            throw new WgpuException("Failed to read back " + tile, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WgpuException("Interrupted while reading back " + tile, e);
+        }
+
+        try {
+            MemorySegment mapped = slot.readbackBuffer.getConstMappedRange(0, paddedBytesPerRow * tile.getHeight());
+            long tileBytesPerRow = (long) tile.getWidth() * format.getBytesPerTexel();
+            long destination = tile.getY() * imageBytesPerRow + (long) tile.getX() * format.getBytesPerTexel();
+            for (int row = 0; row < tile.getHeight(); row++) {
+                MemorySegment.copy(mapped, row * paddedBytesPerRow, image, destination + row * imageBytesPerRow, tileBytesPerRow);
+            }
+        } finally {
+            slot.readbackBuffer.unmap();
+        }
+    }
+
+    private void await(Slot slot) {
+        long deadline = System.nanoTime() + READBACK_TIMEOUT_NANOS;
+        while (!slot.mapping.isDone()) {
+            if (System.nanoTime() > deadline) {
+                throw new WgpuException("Timed out reading back " + slot.tile);
+            }
+            instance.processEvents();
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    private void discard(Slot slot) {
+        try {
+            await(slot);
+            if (!slot.mapping.isCompletedExceptionally()) {
+                slot.readbackBuffer.unmap();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to discard pending readback of {}", slot.tile, e);
+        } finally {
+            slot.mapping = null;
+        }
+    }
+
+    /**
+     * Gets the edge length of the square tiles.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTilesInFlight() {
+        return slots.length;
+    }
+
+    public TextureFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the total number of tiles rendered by this renderer.
+     */
+    public long getTilesRendered() {
+        return tilesRendered;
+    }
+
+    @Override
+    public void close() {
+        for (Slot slot : slots) {
+            if (slot != null) {
+                slot.close();
+            }
+        }
+        queue.close();
+    }
+}
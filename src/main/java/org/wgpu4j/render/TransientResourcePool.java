@@ -0,0 +1,245 @@
+package org.wgpu4j.render;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.TextureDimension;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.resource.Buffer;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.Texture;
+import org.wgpu4j.resource.TextureView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of textures and buffers that are reused across frames by a {@link RenderGraph}.
+ * <p>
+ * Resources are keyed by their full description (size, format, usage, ...). A resource returned
+ * to the pool is handed out again to the next request with an identical description, and destroyed
+ * once it has been idle for more than {@code maxIdleFrames} calls to {@link #endFrame()}.
+ * <p>
+ * The pool is not thread-safe and is meant to be driven from the thread that records frames.
+ */
+public class TransientResourcePool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransientResourcePool.class);
+
+    private record TextureKey(int width, int height, int depthOrArrayLayers, TextureFormat format,
+                              TextureDimension dimension, int mipLevelCount, int sampleCount, long usage) {
+    }
+
+    private record BufferKey(long size, long usage) {
+    }
+
+    private static final class Entry<T> {
+        final T resource;
+        long lastUsedFrame;
+
+        Entry(T resource, long lastUsedFrame) {
+            this.resource = resource;
+            this.lastUsedFrame = lastUsedFrame;
+        }
+    }
+
+    private final Device device;
+    private final int maxIdleFrames;
+    private final Map<TextureKey, Deque<Entry<Texture>>> freeTextures = new HashMap<>();
+    private final Map<BufferKey, Deque<Entry<Buffer>>> freeBuffers = new HashMap<>();
+    private final Map<Texture, TextureKey> textureKeys = new IdentityHashMap<>();
+    private final Map<Buffer, BufferKey> bufferKeys = new IdentityHashMap<>();
+    private final Map<Texture, TextureView> defaultViews = new IdentityHashMap<>();
+    private long frame = 0;
+
+    /**
+     * Creates a pool that keeps idle resources for up to three frames.
+     *
+     * @param device The device to create resources on
+     */
+    public TransientResourcePool(Device device) {
+        this(device, 3);
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param device        The device to create resources on
+     * @param maxIdleFrames Number of frames an unused resource is kept before it is destroyed
+     */
+    public TransientResourcePool(Device device, int maxIdleFrames) {
+        if (maxIdleFrames < 0) {
+            throw new IllegalArgumentException("maxIdleFrames must not be negative");
+        }
+        this.device = device;
+        this.maxIdleFrames = maxIdleFrames;
+    }
+
+    /**
+     * Acquires a texture matching the descriptor, reusing an idle one if possible.
+     *
+     * @param descriptor The texture description; the label is ignored when reusing
+     * @return A texture owned by the pool, to be returned with {@link #releaseTexture(Texture)}
+     */
+    public Texture acquireTexture(TextureDescriptor descriptor) {
+        TextureKey key = new TextureKey(descriptor.getWidth(), descriptor.getHeight(), descriptor.getDepthOrArrayLayers(),
+                descriptor.getFormat(), descriptor.getDimension(), descriptor.getMipLevelCount(),
+                descriptor.getSampleCount(), descriptor.getUsage());
+
+        Deque<Entry<Texture>> free = freeTextures.get(key);
+        if (free != null && !free.isEmpty()) {
+            return free.pop().resource;
+        }
+
+        Texture texture = device.createTexture(descriptor);
+        textureKeys.put(texture, key);
+        return texture;
+    }
+
+    /**
+     * Returns a texture previously acquired from this pool.
+     */
+    public void releaseTexture(Texture texture) {
+        TextureKey key = textureKeys.get(texture);
+        if (key == null) {
+            throw new IllegalArgumentException("Texture was not acquired from this pool: " + texture);
+        }
+        freeTextures.computeIfAbsent(key, k -> new ArrayDeque<>()).push(new Entry<>(texture, frame));
+    }
+
+    /**
+     * Gets a cached default view of a texture acquired from this pool.
+     */
+    public TextureView getDefaultView(Texture texture) {
+        return defaultViews.computeIfAbsent(texture, Texture::createView);
+    }
+
+    /**
+     * Acquires a buffer with exactly the given size and usage, reusing an idle one if possible.
+     *
+     * @param label Debug label used if a new buffer has to be created
+     * @param size  Size in bytes
+     * @param usage Buffer usage flags
+     * @return A buffer owned by the pool, to be returned with {@link #releaseBuffer(Buffer)}
+     */
+    public Buffer acquireBuffer(String label, long size, long usage) {
+        BufferKey key = new BufferKey(size, usage);
+
+        Deque<Entry<Buffer>> free = freeBuffers.get(key);
+        if (free != null && !free.isEmpty()) {
+            return free.pop().resource;
+        }
+
+        Buffer buffer = device.createBuffer(BufferDescriptor.builder()
+                .label(label)
+                .size(size)
+                .usage(usage)
+                .build());
+        bufferKeys.put(buffer, key);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer previously acquired from this pool.
+     */
+    public void releaseBuffer(Buffer buffer) {
+        BufferKey key = bufferKeys.get(buffer);
+        if (key == null) {
+            throw new IllegalArgumentException("Buffer was not acquired from this pool: " + buffer);
+        }
+        freeBuffers.computeIfAbsent(key, k -> new ArrayDeque<>()).push(new Entry<>(buffer, frame));
+    }
+
+    /**
+     * Advances the frame counter and destroys resources that have been idle for too long.
+     */
+    public void endFrame() {
+        frame++;
+
+        for (Deque<Entry<Texture>> free : freeTextures.values()) {
+            Iterator<Entry<Texture>> it = free.iterator();
+            while (it.hasNext()) {
+                Entry<Texture> entry = it.next();
+                if (frame - entry.lastUsedFrame > maxIdleFrames) {
+                    it.remove();
+                    destroyTexture(entry.resource);
+                }
+            }
+        }
+
+        for (Deque<Entry<Buffer>> free : freeBuffers.values()) {
+            Iterator<Entry<Buffer>> it = free.iterator();
+            while (it.hasNext()) {
+                Entry<Buffer> entry = it.next();
+                if (frame - entry.lastUsedFrame > maxIdleFrames) {
+                    it.remove();
+                    destroyBuffer(entry.resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of textures currently owned by the pool, whether in use or idle.
+     */
+    public int getTextureCount() {
+        return textureKeys.size();
+    }
+
+    /**
+     * Gets the number of buffers currently owned by the pool, whether in use or idle.
+     */
+    public int getBufferCount() {
+        return bufferKeys.size();
+    }
+
+    private void destroyTexture(Texture texture) {
+        textureKeys.remove(texture);
+        TextureView view = defaultViews.remove(texture);
+        if (view != null) {
+            view.close();
+        }
+        texture.destroy();
+        texture.close();
+    }
+
+    private void destroyBuffer(Buffer buffer) {
+        bufferKeys.remove(buffer);
+        buffer.destroy();
+        buffer.close();
+    }
+
+    /**
+     * Destroys every resource owned by the pool, including ones still handed out.
+     */
+    @Override
+    public void close() {
+        List<Texture> textures = new ArrayList<>(textureKeys.keySet());
+        List<Buffer> buffers = new ArrayList<>(bufferKeys.keySet());
+
+        for (Texture texture : textures) {
+            try {
+                destroyTexture(texture);
+            } catch (Exception e) {
+                logger.warn("Failed to destroy pooled texture: {}", e.getMessage(), e);
+            }
+        }
+        for (Buffer buffer : buffers) {
+            try {
+                destroyBuffer(buffer);
+            } catch (Exception e) {
+                logger.warn("Failed to destroy pooled buffer: {}", e.getMessage(), e);
+            }
+        }
+
+        freeTextures.clear();
+        freeBuffers.clear();
+    }
+}
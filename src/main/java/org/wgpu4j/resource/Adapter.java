@@ -3,6 +3,7 @@ package org.wgpu4j.resource;
 import org.wgpu4j.WgpuException;
 import org.wgpu4j.WgpuNative;
 import org.wgpu4j.WgpuResource;
+import org.wgpu4j.descriptor.AdapterInfo;
 import org.wgpu4j.descriptor.DeviceRequestOptions;
 import org.wgpu4j.descriptor.DeviceDescriptor;
 import org.wgpu4j.bindings.*;
@@ -58,6 +59,32 @@ public class Adapter extends WgpuResource {
         return org.wgpu4j.descriptor.Limits.fromNative(limitsStruct);
     }
 
+    /**
+     * Gets the vendor, device and driver of this adapter.
+     *
+     * @return The adapter information
+     */
+    public AdapterInfo getInfo() {
+        checkNotClosed();
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment infoStruct = WGPUAdapterInfo.allocate(arena);
+            WGPUAdapterInfo.nextInChain(infoStruct, MemorySegment.NULL);
+
+            int status = webgpu_h.wgpuAdapterGetInfo(handle, infoStruct);
+
+            if (status != 1) {
+                throw new WgpuException("Failed to get adapter info, status: " + status);
+            }
+
+            try {
+                return AdapterInfo.fromNative(infoStruct);
+            } finally {
+                webgpu_h.wgpuAdapterInfoFreeMembers(infoStruct);
+            }
+        }
+    }
+
     /**
      * Requests a device from this adapter asynchronously using a DeviceDescriptor.
      * This is the core method that handles the mechanics of device creation.
@@ -139,10 +166,13 @@ public class Adapter extends WgpuResource {
      */
     public CompletableFuture<Device> requestDevice(DeviceRequestOptions options) {
 
-        DeviceDescriptor deviceDesc = createDeviceDescriptorWithAdapterLimits(
-                options != null ? options.getLabel() : "Device"
-        );
-        return requestDevice(deviceDesc);
+        DeviceDescriptor.Builder builder = DeviceDescriptor.builder()
+                .label(options != null && options.getLabel() != null ? options.getLabel() : "Device")
+                .requiredLimits(getLimits());
+        if (options != null && options.getErrorListener() != null) {
+            builder.errorListener(options.getErrorListener());
+        }
+        return requestDevice(builder.build());
     }
 
     /**
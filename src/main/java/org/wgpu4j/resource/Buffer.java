@@ -5,6 +5,7 @@ import org.wgpu4j.WgpuResource;
 import org.wgpu4j.bindings.*;
 import org.wgpu4j.constant.BufferMapState;
 import org.wgpu4j.constant.MapAsyncStatus;
+import org.wgpu4j.metrics.WgpuMetrics;
 
 import java.lang.foreign.*;
 import java.util.concurrent.CompletableFuture;
@@ -17,20 +18,49 @@ import java.util.concurrent.CompletableFuture;
  */
 public class Buffer extends WgpuResource {
 
+    private final long size;
+    private final long usage;
+    private GpuMemoryRegistry.Allocation allocation;
+
     /**
      * Creates a Buffer from a native WGPU handle.
      *
      * @param handle The native WGPUBuffer handle
      */
     public Buffer(MemorySegment handle) {
+        this(handle, -1, -1);
+    }
+
+    /**
+     * Creates a Buffer whose size and usage are known from its descriptor,
+     * so the getters do not need to call into native code.
+     */
+    Buffer(MemorySegment handle, long size, long usage) {
         super(handle);
+        this.size = size;
+        this.usage = usage;
+    }
+
+    void setAllocation(GpuMemoryRegistry.Allocation allocation) {
+        this.allocation = allocation;
+    }
+
+    private void releaseAllocation() {
+        if (allocation != null) {
+            allocation.release();
+        }
     }
 
     /**
-     * Gets the size of this buffer in bytes using the native WGPU getter.
+     * Gets the size of this buffer in bytes.
+     * Buffers created through {@link Device#createBuffer} answer from their descriptor;
+     * otherwise the native WGPU getter is used.
      */
     public long getSize() {
         checkNotClosed();
+        if (size >= 0) {
+            return size;
+        }
 
         try {
             return webgpu_h.wgpuBufferGetSize(handle);
@@ -40,10 +70,15 @@ public class Buffer extends WgpuResource {
     }
 
     /**
-     * Gets the usage flags for this buffer using the native WGPU getter.
+     * Gets the usage flags for this buffer.
+     * Buffers created through {@link Device#createBuffer} answer from their descriptor;
+     * otherwise the native WGPU getter is used.
      */
     public long getUsage() {
         checkNotClosed();
+        if (usage >= 0) {
+            return usage;
+        }
 
         try {
             return webgpu_h.wgpuBufferGetUsage(handle);
@@ -169,11 +204,13 @@ public class Buffer extends WgpuResource {
      * This callback will complete the provided CompletableFuture.
      */
     private MemorySegment createMapCallback(Arena arena, CompletableFuture<Void> future) {
+        long mapStartNanos = System.nanoTime();
         return WGPUBufferMapCallback.allocate((status, message, userdata1, userdata2) -> {
             try {
                 MapAsyncStatus mapStatus = MapAsyncStatus.fromValue(status);
 
                 if (mapStatus == MapAsyncStatus.SUCCESS) {
+                    WgpuMetrics.recordMapLatency(System.nanoTime() - mapStartNanos);
                     future.complete(null);
                 } else {
                     String errorMessage = "Buffer mapping failed with status: " + mapStatus;
@@ -205,10 +242,12 @@ public class Buffer extends WgpuResource {
     public void destroy() {
         checkNotClosed();
         webgpu_h.wgpuBufferDestroy(handle);
+        releaseAllocation();
     }
 
     @Override
     protected void releaseNative() {
+        releaseAllocation();
         webgpu_h.wgpuBufferRelease(handle);
     }
 
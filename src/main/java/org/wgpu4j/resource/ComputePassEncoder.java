@@ -1,24 +1,61 @@
 package org.wgpu4j.resource;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wgpu4j.WgpuException;
 import org.wgpu4j.WgpuResource;
 import org.wgpu4j.bindings.webgpu_h;
+import org.wgpu4j.metrics.WgpuMetrics;
 
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.Arena;
+import java.lang.foreign.ValueLayout;
 
 /**
  * Encoder for recording compute commands.
  * <p>
  * Compute pass encoders are used to dispatch compute shader workgroups
  * and manage compute pipeline state and resource bindings.
+ * With {@link #setStateTracking(boolean) state tracking} enabled, calls that would rebind the
+ * current pipeline or an identical bind group are dropped without crossing into native code.
  */
 public class ComputePassEncoder extends WgpuResource {
 
+    private static final Logger logger = LoggerFactory.getLogger(ComputePassEncoder.class);
+
+    private PassStateCache state;
+    private long elidedCallCount;
+
     protected ComputePassEncoder(MemorySegment handle) {
         super(handle);
     }
 
+    /**
+     * Enables or disables redundant-state elimination for the rest of this pass.
+     * Enabling starts from an empty shadow state, so the next call of each kind always reaches native code.
+     *
+     * @param enabled Whether to track state and drop redundant calls
+     */
+    public void setStateTracking(boolean enabled) {
+        if (enabled && state == null) {
+            state = new PassStateCache();
+        } else if (!enabled) {
+            state = null;
+        }
+    }
+
+    public boolean isStateTracking() {
+        return state != null;
+    }
+
+    /**
+     * Gets the number of redundant calls dropped by state tracking in this pass.
+     * Remains available after {@link #end()}.
+     */
+    public long getElidedCallCount() {
+        return state != null ? state.getElidedCount() : elidedCallCount;
+    }
+
     /**
      * Sets the compute pipeline to use for subsequent dispatch operations.
      *
@@ -29,12 +66,19 @@ public class ComputePassEncoder extends WgpuResource {
         if (pipeline.isClosed()) {
             throw new WgpuException("Cannot use closed compute pipeline");
         }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantPipeline(pipeline)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuComputePassEncoderSetPipeline(handle, pipeline.getHandle());
         } catch (Exception e) {
             throw new WgpuException("Failed to set compute pipeline", e);
         }
+        if (state != null) {
+            state.setPipeline(pipeline);
+        }
     }
 
     /**
@@ -44,41 +88,69 @@ public class ComputePassEncoder extends WgpuResource {
      * @param bindGroup  The bind group containing resources
      */
     public void setBindGroup(int groupIndex, BindGroup bindGroup) {
+        setBindGroup(groupIndex, bindGroup, (int[]) null);
+    }
+
+    /**
+     * Sets a bind group with dynamic offsets.
+     *
+     * @param groupIndex     The index of the bind group layout in the pipeline
+     * @param bindGroup      The bind group containing resources
+     * @param dynamicOffsets Array of byte offsets for dynamic buffer bindings
+     */
+    public void setBindGroup(int groupIndex, BindGroup bindGroup, int[] dynamicOffsets) {
         checkNotClosed();
         if (bindGroup.isClosed()) {
             throw new WgpuException("Cannot use closed bind group");
         }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantBindGroup(groupIndex, bindGroup, dynamicOffsets)) {
+            return;
+        }
 
-        try {
-            webgpu_h.wgpuComputePassEncoderSetBindGroup(handle, groupIndex, bindGroup.getHandle(), 0, MemorySegment.NULL);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment offsetsSegment = MemorySegment.NULL;
+            long offsetCount = 0;
+
+            if (dynamicOffsets != null && dynamicOffsets.length > 0) {
+                offsetsSegment = arena.allocate(ValueLayout.JAVA_INT, dynamicOffsets.length);
+                for (int i = 0; i < dynamicOffsets.length; i++) {
+                    offsetsSegment.setAtIndex(ValueLayout.JAVA_INT, i, dynamicOffsets[i]);
+                }
+                offsetCount = dynamicOffsets.length;
+            }
+
+            webgpu_h.wgpuComputePassEncoderSetBindGroup(handle, groupIndex, bindGroup.getHandle(), offsetCount, offsetsSegment);
         } catch (Exception e) {
             throw new WgpuException("Failed to set bind group", e);
         }
+        if (state != null) {
+            state.setBindGroup(groupIndex, bindGroup, dynamicOffsets);
+        }
     }
 
     /**
      * Sets a bind group with dynamic offsets.
+     * Dynamic offsets are 32-bit values in WebGPU; each offset must fit in an unsigned 32-bit integer.
      *
      * @param groupIndex     The index of the bind group layout in the pipeline
      * @param bindGroup      The bind group containing resources
      * @param dynamicOffsets Array of byte offsets for dynamic buffer bindings
      */
     public void setBindGroup(int groupIndex, BindGroup bindGroup, long[] dynamicOffsets) {
-        checkNotClosed();
-        if (bindGroup.isClosed()) {
-            throw new WgpuException("Cannot use closed bind group");
+        if (dynamicOffsets == null) {
+            setBindGroup(groupIndex, bindGroup, (int[]) null);
+            return;
         }
 
-        try {
-            if (dynamicOffsets == null || dynamicOffsets.length == 0) {
-                setBindGroup(groupIndex, bindGroup);
-                return;
+        int[] offsets = new int[dynamicOffsets.length];
+        for (int i = 0; i < dynamicOffsets.length; i++) {
+            if (dynamicOffsets[i] < 0 || dynamicOffsets[i] > 0xFFFFFFFFL) {
+                throw new IllegalArgumentException("Dynamic offset out of range: " + dynamicOffsets[i]);
             }
-
-            webgpu_h.wgpuComputePassEncoderSetBindGroup(handle, groupIndex, bindGroup.getHandle(), 0, MemorySegment.NULL);
-        } catch (Exception e) {
-            throw new WgpuException("Failed to set bind group with dynamic offsets", e);
+            offsets[i] = (int) dynamicOffsets[i];
         }
+        setBindGroup(groupIndex, bindGroup, offsets);
     }
 
     /**
@@ -190,14 +262,24 @@ public class ComputePassEncoder extends WgpuResource {
 
         try {
             webgpu_h.wgpuComputePassEncoderEnd(handle);
-            close();
         } catch (Exception e) {
             throw new WgpuException("Failed to end compute pass", e);
         }
+
+        if (state != null) {
+            elidedCallCount = state.getElidedCount();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Compute pass ended with {} redundant state calls elided", elidedCallCount);
+            }
+            WgpuMetrics.recordElidedStateCalls(elidedCallCount);
+            state = null;
+        }
+        close();
     }
 
     @Override
     protected void releaseNative() {
+        state = null;
         webgpu_h.wgpuComputePassEncoderRelease(handle);
     }
 }
\ No newline at end of file
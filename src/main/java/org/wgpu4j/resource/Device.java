@@ -15,6 +15,7 @@ import org.wgpu4j.descriptor.BindGroupDescriptor;
 import org.wgpu4j.descriptor.SamplerDescriptor;
 import org.wgpu4j.descriptor.PipelineLayoutDescriptor;
 import org.wgpu4j.descriptor.QuerySetDescriptor;
+import org.wgpu4j.descriptor.Limits;
 import org.wgpu4j.constant.ErrorFilter;
 import org.wgpu4j.bindings.*;
 
@@ -33,6 +34,8 @@ public class Device extends WgpuResource {
         WgpuNative.ensureLoaded();
     }
 
+    private final GpuMemoryRegistry memoryRegistry = new GpuMemoryRegistry();
+
     protected Device(MemorySegment handle) {
         super(handle);
     }
@@ -41,6 +44,37 @@ public class Device extends WgpuResource {
         super(handle, arena);
     }
 
+    /**
+     * Gets the registry tracking the GPU memory held by buffers, textures and query sets
+     * created from this device.
+     *
+     * @return The device's memory registry
+     */
+    public GpuMemoryRegistry getMemoryRegistry() {
+        return memoryRegistry;
+    }
+
+    /**
+     * Gets the limits this device was created with.
+     *
+     * @return The device's limits
+     */
+    public Limits getLimits() {
+        checkNotClosed();
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment limitsStruct = WGPULimits.allocate(arena);
+            WGPULimits.nextInChain(limitsStruct, MemorySegment.NULL);
+
+            int status = webgpu_h.wgpuDeviceGetLimits(handle, limitsStruct);
+            if (status != 1) {
+                throw new WgpuException("Failed to get device limits, status: " + status);
+            }
+
+            return Limits.fromNative(limitsStruct);
+        }
+    }
+
     /**
      * Gets the command queue for this device.
      * The queue is used to submit commands for execution.
@@ -82,7 +116,9 @@ public class Device extends WgpuResource {
                 throw new WgpuException("Failed to create texture");
             }
 
-            return new Texture(textureHandle);
+            Texture texture = new Texture(textureHandle);
+            texture.setAllocation(memoryRegistry.registerTexture(descriptor));
+            return texture;
         } catch (Exception e) {
             logger.error("Failed to create texture", e);
             throw new WgpuException("Failed to create texture", e);
@@ -179,7 +215,9 @@ public class Device extends WgpuResource {
                 throw new WgpuException("Failed to create buffer");
             }
 
-            return new Buffer(bufferHandle);
+            Buffer buffer = new Buffer(bufferHandle, descriptor.getSize(), descriptor.getUsage());
+            buffer.setAllocation(memoryRegistry.registerBuffer(descriptor));
+            return buffer;
         } catch (Exception e) {
             throw new WgpuException("Failed to create buffer", e);
         }
@@ -299,7 +337,9 @@ public class Device extends WgpuResource {
                 throw new WgpuException("Failed to create query set");
             }
 
-            return new QuerySet(querySetHandle, descriptor.getType(), descriptor.getCount());
+            QuerySet querySet = new QuerySet(querySetHandle, descriptor.getType(), descriptor.getCount());
+            querySet.setAllocation(memoryRegistry.registerQuerySet(descriptor));
+            return querySet;
         } catch (Exception e) {
             throw new WgpuException("Failed to create query set", e);
         }
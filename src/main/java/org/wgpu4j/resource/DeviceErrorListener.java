@@ -0,0 +1,33 @@
+package org.wgpu4j.resource;
+
+import org.wgpu4j.constant.DeviceLostReason;
+import org.wgpu4j.constant.ErrorType;
+
+/**
+ * Receives the errors of a device that no error scope captured, and the loss of the device.
+ * <p>
+ * Register a listener with {@link org.wgpu4j.descriptor.DeviceDescriptor.Builder#errorListener(DeviceErrorListener)}.
+ * Events are delivered asynchronously, in the order they occurred, on an executor rather than on the
+ * native thread that reported them, so a listener may block or call back into wgpu4j.
+ */
+@FunctionalInterface
+public interface DeviceErrorListener {
+
+    /**
+     * Called for an error that occurred outside any error scope.
+     *
+     * @param type    The error type
+     * @param message The error message from the implementation
+     */
+    void onUncapturedError(ErrorType type, String message);
+
+    /**
+     * Called once when the device is lost, including when it is destroyed normally.
+     * No further events are delivered afterwards.
+     *
+     * @param reason  Why the device was lost
+     * @param message The message from the implementation
+     */
+    default void onDeviceLost(DeviceLostReason reason, String message) {
+    }
+}
@@ -0,0 +1,308 @@
+package org.wgpu4j.resource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.TextureDimension;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.QuerySetDescriptor;
+import org.wgpu4j.descriptor.TextureDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the GPU memory held by the buffers, textures and query sets created from a single {@link Device}.
+ * <p>
+ * Every resource is recorded at creation with a footprint computed from its descriptor, so no native
+ * calls are needed to answer "how much memory does this device hold". Footprints are estimates: drivers
+ * add alignment and padding, and some depth formats have implementation-defined sizes.
+ * <p>
+ * A soft budget can be set with {@link #setSoftBudget(long, BudgetListener)}. The listener fires on the
+ * creating thread each time the total crosses from below the budget to above it, giving caches a chance
+ * to evict before the driver starts paging.
+ */
+public class GpuMemoryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpuMemoryRegistry.class);
+
+    /**
+     * Kind of resource an allocation belongs to.
+     */
+    public enum Kind {
+        BUFFER,
+        TEXTURE,
+        QUERY_SET
+    }
+
+    /**
+     * Callback invoked when the tracked total exceeds the soft budget.
+     */
+    @FunctionalInterface
+    public interface BudgetListener {
+        void onBudgetExceeded(GpuMemoryRegistry registry, long totalBytes, long budgetBytes);
+    }
+
+    /**
+     * A single tracked resource.
+     */
+    public static final class Allocation {
+        private final GpuMemoryRegistry registry;
+        private final Kind kind;
+        private final String label;
+        private final long usage;
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Allocation(GpuMemoryRegistry registry, Kind kind, String label, long usage, long bytes) {
+            this.registry = registry;
+            this.kind = kind;
+            this.label = label != null ? label : "";
+            this.usage = usage;
+            this.bytes = bytes;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Gets the usage flags of the resource, interpreted according to {@link #getKind()}.
+         */
+        public long getUsage() {
+            return usage;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public boolean isReleased() {
+            return released.get();
+        }
+
+        /**
+         * Removes this allocation from the registry. Calling this more than once has no effect.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                registry.remove(this);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Allocation[kind=%s, label=%s, usage=0x%x, bytes=%d]", kind, label, usage, bytes);
+        }
+    }
+
+    private final Set<Allocation> allocations = ConcurrentHashMap.newKeySet();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong bufferBytes = new AtomicLong();
+    private final AtomicLong textureBytes = new AtomicLong();
+    private final AtomicLong querySetBytes = new AtomicLong();
+    private final AtomicBoolean overBudget = new AtomicBoolean(false);
+
+    private volatile long softBudgetBytes = Long.MAX_VALUE;
+    private volatile BudgetListener budgetListener;
+
+    /**
+     * Sets a soft memory budget for this device.
+     *
+     * @param budgetBytes The budget in bytes
+     * @param listener    Invoked each time the tracked total rises above the budget
+     */
+    public void setSoftBudget(long budgetBytes, BudgetListener listener) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.budgetListener = listener;
+        this.softBudgetBytes = budgetBytes;
+        overBudget.set(false);
+        checkBudget(totalBytes.get());
+    }
+
+    /**
+     * Removes the soft budget.
+     */
+    public void clearSoftBudget() {
+        this.softBudgetBytes = Long.MAX_VALUE;
+        this.budgetListener = null;
+        overBudget.set(false);
+    }
+
+    public long getSoftBudget() {
+        return softBudgetBytes;
+    }
+
+    Allocation registerBuffer(BufferDescriptor descriptor) {
+        return register(Kind.BUFFER, descriptor.getLabel(), descriptor.getUsage(), descriptor.getSize());
+    }
+
+    Allocation registerTexture(TextureDescriptor descriptor) {
+        return register(Kind.TEXTURE, descriptor.getLabel(), descriptor.getUsage(), computeTextureBytes(descriptor));
+    }
+
+    Allocation registerQuerySet(QuerySetDescriptor descriptor) {
+        return register(Kind.QUERY_SET, descriptor.getLabel(), 0, (long) descriptor.getCount() * Long.BYTES);
+    }
+
+    private Allocation register(Kind kind, String label, long usage, long bytes) {
+        Allocation allocation = new Allocation(this, kind, label, usage, bytes);
+        allocations.add(allocation);
+        counterFor(kind).addAndGet(bytes);
+        checkBudget(totalBytes.addAndGet(bytes));
+        return allocation;
+    }
+
+    private void remove(Allocation allocation) {
+        allocations.remove(allocation);
+        counterFor(allocation.kind).addAndGet(-allocation.bytes);
+        long total = totalBytes.addAndGet(-allocation.bytes);
+        if (total <= softBudgetBytes) {
+            overBudget.set(false);
+        }
+    }
+
+    private AtomicLong counterFor(Kind kind) {
+        return switch (kind) {
+            case BUFFER -> bufferBytes;
+            case TEXTURE -> textureBytes;
+            case QUERY_SET -> querySetBytes;
+        };
+    }
+
+    private void checkBudget(long total) {
+        long budget = softBudgetBytes;
+        if (total > budget && overBudget.compareAndSet(false, true)) {
+            BudgetListener listener = budgetListener;
+            if (listener != null) {
+                try {
+                    listener.onBudgetExceeded(this, total, budget);
+                } catch (Exception e) {
+                    logger.warn("GPU memory budget listener failed: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the estimated footprint of a texture, including all mip levels, array layers and samples.
+     *
+     * @param descriptor The texture descriptor
+     * @return Estimated size in bytes
+     */
+    public static long computeTextureBytes(TextureDescriptor descriptor) {
+        long bytesPerTexel = descriptor.getFormat().getBytesPerTexel();
+        boolean is3d = descriptor.getDimension() == TextureDimension.THREE_D;
+        long total = 0;
+
+        for (int level = 0; level < descriptor.getMipLevelCount(); level++) {
+            long width = Math.max(1, descriptor.getWidth() >> level);
+            long height = Math.max(1, descriptor.getHeight() >> level);
+            long depth = is3d ? Math.max(1, descriptor.getDepthOrArrayLayers() >> level) : descriptor.getDepthOrArrayLayers();
+            total += width * height * depth * bytesPerTexel;
+        }
+
+        return total * Math.max(1, descriptor.getSampleCount());
+    }
+
+    /**
+     * Gets the total estimated bytes held by all live tracked resources.
+     */
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    public long getBufferBytes() {
+        return bufferBytes.get();
+    }
+
+    public long getTextureBytes() {
+        return textureBytes.get();
+    }
+
+    public long getQuerySetBytes() {
+        return querySetBytes.get();
+    }
+
+    /**
+     * Gets the number of live tracked resources.
+     */
+    public int getAllocationCount() {
+        return allocations.size();
+    }
+
+    /**
+     * Gets the total bytes held by resources whose label starts with the given prefix.
+     *
+     * @param prefix The label prefix, e.g. {@code "shadow/"}
+     * @return Total bytes of matching resources
+     */
+    public long getBytesWithLabelPrefix(String prefix) {
+        long total = 0;
+        for (Allocation allocation : allocations) {
+            if (allocation.label.startsWith(prefix)) {
+                total += allocation.bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Groups live bytes by the part of each label before the first occurrence of the delimiter.
+     * Labels without the delimiter are grouped under the full label.
+     *
+     * @param delimiter The delimiter separating the prefix, e.g. {@code "/"}
+     * @return Bytes per label prefix, sorted by prefix
+     */
+    public Map<String, Long> getBytesByLabelPrefix(String delimiter) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Allocation allocation : allocations) {
+            int end = allocation.label.indexOf(delimiter);
+            String prefix = end >= 0 ? allocation.label.substring(0, end) : allocation.label;
+            result.merge(prefix, allocation.bytes, Long::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total bytes held by resources of the given kind that have the given usage flag set.
+     *
+     * @param kind The resource kind, which determines how the usage flag is interpreted
+     * @param flag A {@link org.wgpu4j.constant.BufferUsage} or {@link org.wgpu4j.constant.TextureUsage} flag
+     * @return Total bytes of matching resources
+     */
+    public long getBytesWithUsage(Kind kind, long flag) {
+        long total = 0;
+        for (Allocation allocation : allocations) {
+            if (allocation.kind == kind && (allocation.usage & flag) != 0) {
+                total += allocation.bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets a snapshot of all live tracked resources.
+     */
+    public List<Allocation> getAllocations() {
+        return Collections.unmodifiableList(new ArrayList<>(allocations));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GpuMemoryRegistry[total=%d, buffers=%d, textures=%d, querySets=%d, allocations=%d]",
+                getTotalBytes(), getBufferBytes(), getTextureBytes(), getQuerySetBytes(), getAllocationCount());
+    }
+}
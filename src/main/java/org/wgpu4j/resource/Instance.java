@@ -52,6 +52,29 @@ public class Instance extends WgpuResource {
         return create(descriptor);
     }
 
+    /**
+     * Creates a new WGPU instance for shipping builds: backend validation layers and debug labels are off.
+     * wgpu still validates every call, so errors are still reported, either to an error scope or to the
+     * device's {@link DeviceErrorListener}.
+     *
+     * @return A new WGPU instance
+     * @throws WgpuException if instance creation fails
+     * @see org.wgpu4j.descriptor.DeviceDescriptor.Builder#errorListener(DeviceErrorListener)
+     */
+    public static Instance createProduction() {
+        InstanceExtras extras = InstanceExtras.builder()
+                .backend(InstanceBackend.PRIMARY)
+                .production()
+                .build();
+
+        InstanceDescriptor descriptor = InstanceDescriptor.builder()
+                .label("wgpu4j Instance")
+                .extras(extras)
+                .build();
+
+        return create(descriptor);
+    }
+
     /**
      * Creates a new WGPU instance with custom settings.
      *
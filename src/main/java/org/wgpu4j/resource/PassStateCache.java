@@ -0,0 +1,137 @@
+package org.wgpu4j.resource;
+
+import org.wgpu4j.constant.IndexFormat;
+
+import java.util.Arrays;
+
+/**
+ * Shadow copy of the state bound in a render or compute pass, used to drop redundant calls
+ * before they reach native code.
+ * <p>
+ * Each {@code isRedundant*} check counts an elided call when it returns true; the matching setter
+ * is called only after the native call succeeded, so a failed call never leaves stale state behind.
+ */
+final class PassStateCache {
+
+    private static final int MAX_BIND_GROUPS = 8;
+    private static final int MAX_VERTEX_BUFFERS = 16;
+    private static final int[] NO_OFFSETS = new int[0];
+
+    private Object pipeline;
+    private final BindGroup[] bindGroups = new BindGroup[MAX_BIND_GROUPS];
+    private final int[][] dynamicOffsets = new int[MAX_BIND_GROUPS][];
+    private final Buffer[] vertexBuffers = new Buffer[MAX_VERTEX_BUFFERS];
+    private final long[] vertexOffsets = new long[MAX_VERTEX_BUFFERS];
+    private final long[] vertexSizes = new long[MAX_VERTEX_BUFFERS];
+    private Buffer indexBuffer;
+    private IndexFormat indexFormat;
+    private long indexOffset;
+    private long indexSize;
+    private boolean hasViewport;
+    private final float[] viewport = new float[6];
+    private boolean hasScissor;
+    private final int[] scissor = new int[4];
+    private long elided;
+
+    long getElidedCount() {
+        return elided;
+    }
+
+    private boolean elide() {
+        elided++;
+        return true;
+    }
+
+    boolean isRedundantPipeline(Object pipeline) {
+        return pipeline != null && this.pipeline == pipeline && elide();
+    }
+
+    void setPipeline(Object pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    boolean isRedundantBindGroup(int index, BindGroup bindGroup, int[] offsets) {
+        return index >= 0 && index < MAX_BIND_GROUPS && bindGroups[index] == bindGroup
+                && Arrays.equals(dynamicOffsets[index], offsets != null ? offsets : NO_OFFSETS) && elide();
+    }
+
+    void setBindGroup(int index, BindGroup bindGroup, int[] offsets) {
+        if (index >= 0 && index < MAX_BIND_GROUPS) {
+            bindGroups[index] = bindGroup;
+            dynamicOffsets[index] = offsets != null ? offsets.clone() : NO_OFFSETS;
+        }
+    }
+
+    boolean isRedundantVertexBuffer(int slot, Buffer buffer, long offset, long size) {
+        return slot >= 0 && slot < MAX_VERTEX_BUFFERS && vertexBuffers[slot] == buffer
+                && vertexOffsets[slot] == offset && vertexSizes[slot] == size && elide();
+    }
+
+    void setVertexBuffer(int slot, Buffer buffer, long offset, long size) {
+        if (slot >= 0 && slot < MAX_VERTEX_BUFFERS) {
+            vertexBuffers[slot] = buffer;
+            vertexOffsets[slot] = offset;
+            vertexSizes[slot] = size;
+        }
+    }
+
+    boolean isRedundantIndexBuffer(Buffer buffer, IndexFormat format, long offset, long size) {
+        return indexBuffer == buffer && indexFormat == format && indexOffset == offset && indexSize == size && elide();
+    }
+
+    void setIndexBuffer(Buffer buffer, IndexFormat format, long offset, long size) {
+        indexBuffer = buffer;
+        indexFormat = format;
+        indexOffset = offset;
+        indexSize = size;
+    }
+
+    boolean isRedundantViewport(float x, float y, float width, float height, float minDepth, float maxDepth) {
+        return hasViewport && viewport[0] == x && viewport[1] == y && viewport[2] == width && viewport[3] == height
+                && viewport[4] == minDepth && viewport[5] == maxDepth && elide();
+    }
+
+    void setViewport(float x, float y, float width, float height, float minDepth, float maxDepth) {
+        hasViewport = true;
+        viewport[0] = x;
+        viewport[1] = y;
+        viewport[2] = width;
+        viewport[3] = height;
+        viewport[4] = minDepth;
+        viewport[5] = maxDepth;
+    }
+
+    boolean isRedundantScissor(int x, int y, int width, int height) {
+        return hasScissor && scissor[0] == x && scissor[1] == y && scissor[2] == width && scissor[3] == height && elide();
+    }
+
+    void setScissor(int x, int y, int width, int height) {
+        hasScissor = true;
+        scissor[0] = x;
+        scissor[1] = y;
+        scissor[2] = width;
+        scissor[3] = height;
+    }
+
+    /**
+     * Forgets the pipeline, bind groups and vertex/index buffers, as happens after executing render bundles.
+     * Viewport and scissor are kept.
+     */
+    void resetBindings() {
+        pipeline = null;
+        Arrays.fill(bindGroups, null);
+        Arrays.fill(dynamicOffsets, null);
+        Arrays.fill(vertexBuffers, null);
+        indexBuffer = null;
+        indexFormat = null;
+    }
+
+    /**
+     * Forgets all state.
+     */
+    void reset() {
+        resetBindings();
+        hasViewport = false;
+        hasScissor = false;
+    }
+}
@@ -20,6 +20,7 @@ public class QuerySet extends WgpuResource {
 
     private final QueryType type;
     private final int count;
+    private GpuMemoryRegistry.Allocation allocation;
 
     protected QuerySet(MemorySegment handle, QueryType type, int count) {
         super(handle);
@@ -27,6 +28,16 @@ public class QuerySet extends WgpuResource {
         this.count = count;
     }
 
+    void setAllocation(GpuMemoryRegistry.Allocation allocation) {
+        this.allocation = allocation;
+    }
+
+    private void releaseAllocation() {
+        if (allocation != null) {
+            allocation.release();
+        }
+    }
+
     /**
      * Gets the type of queries in this set.
      */
@@ -48,10 +59,12 @@ public class QuerySet extends WgpuResource {
     public void destroy() {
         checkNotClosed();
         webgpu_h.wgpuQuerySetDestroy(handle);
+        releaseAllocation();
     }
 
     @Override
     protected void releaseNative() {
+        releaseAllocation();
         try {
             webgpu_h.wgpuQuerySetRelease(handle);
         } catch (Exception e) {
@@ -5,6 +5,7 @@ import org.wgpu4j.WgpuNative;
 import org.wgpu4j.WgpuResource;
 import org.wgpu4j.bindings.*;
 import org.wgpu4j.descriptor.*;
+import org.wgpu4j.metrics.WgpuMetrics;
 
 import java.lang.foreign.*;
 import java.util.List;
@@ -46,6 +47,7 @@ public class Queue extends WgpuResource {
             }
 
             webgpu_h.wgpuQueueSubmit(handle, commandBuffers.size(), commandArray);
+            WgpuMetrics.recordSubmit(commandBuffers.size());
 
         } catch (Exception e) {
             throw new WgpuException("Failed to submit command buffers", e);
@@ -78,6 +80,34 @@ public class Queue extends WgpuResource {
             MemorySegment dataSegment = arena.allocate(data.length);
             MemorySegment.copy(data, 0, dataSegment, ValueLayout.JAVA_BYTE, 0, data.length);
             webgpu_h.wgpuQueueWriteBuffer(handle, buffer.getHandle(), bufferOffset, dataSegment, data.length);
+            WgpuMetrics.recordBufferWrite(data.length);
+        } catch (Exception e) {
+            throw new WgpuException("Failed to write buffer", e);
+        }
+    }
+
+    /**
+     * Writes data to a buffer on the GPU. Native segments are passed to the driver without an
+     * intermediate copy; heap segments are copied into native memory first.
+     *
+     * @param buffer       The buffer to write to
+     * @param bufferOffset The offset in the buffer to start writing at
+     * @param data         The data to write
+     */
+    public void writeBuffer(Buffer buffer, long bufferOffset, MemorySegment data) {
+        checkNotClosed();
+        if (buffer.isClosed()) {
+            throw new WgpuException("Cannot write to closed buffer");
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment dataSegment = data;
+            if (!data.isNative()) {
+                dataSegment = arena.allocate(data.byteSize());
+                dataSegment.copyFrom(data);
+            }
+            webgpu_h.wgpuQueueWriteBuffer(handle, buffer.getHandle(), bufferOffset, dataSegment, data.byteSize());
+            WgpuMetrics.recordBufferWrite(data.byteSize());
         } catch (Exception e) {
             throw new WgpuException("Failed to write buffer", e);
         }
@@ -122,6 +152,56 @@ public class Queue extends WgpuResource {
                     dataLayoutStruct,
                     writeSizeStruct
             );
+            WgpuMetrics.recordTextureWrite(data.length);
+        } catch (Exception e) {
+            throw new WgpuException("Failed to write texture", e);
+        }
+    }
+
+    /**
+     * Writes data to a texture on the GPU. Native segments are passed to the driver without an
+     * intermediate copy; heap segments are copied into native memory first.
+     *
+     * @param destination The texture destination descriptor
+     * @param data        The texture data to write
+     * @param dataLayout  The layout of the data in memory
+     * @param writeSize   The size of the region to write
+     */
+    public void writeTexture(ImageCopyTexture destination, MemorySegment data, ImageCopyTextureLayout dataLayout, Extent3D writeSize) {
+        checkNotClosed();
+        if (destination == null) {
+            throw new WgpuException("Destination cannot be null");
+        }
+        if (data == null || data.byteSize() == 0) {
+            throw new WgpuException("Data cannot be null or empty");
+        }
+        if (dataLayout == null) {
+            throw new WgpuException("Data layout cannot be null");
+        }
+        if (writeSize == null) {
+            throw new WgpuException("Write size cannot be null");
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment destinationStruct = destination.marshal(arena);
+            MemorySegment dataLayoutStruct = dataLayout.marshal(arena);
+            MemorySegment writeSizeStruct = writeSize.marshal(arena);
+
+            MemorySegment dataSegment = data;
+            if (!data.isNative()) {
+                dataSegment = arena.allocate(data.byteSize());
+                dataSegment.copyFrom(data);
+            }
+
+            webgpu_h.wgpuQueueWriteTexture(
+                    handle,
+                    destinationStruct,
+                    dataSegment,
+                    data.byteSize(),
+                    dataLayoutStruct,
+                    writeSizeStruct
+            );
+            WgpuMetrics.recordTextureWrite(data.byteSize());
         } catch (Exception e) {
             throw new WgpuException("Failed to write texture", e);
         }
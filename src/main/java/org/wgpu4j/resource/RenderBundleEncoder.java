@@ -15,6 +15,10 @@ import java.lang.foreign.*;
  * A RenderBundleEncoder records commands similar to a RenderPassEncoder, but the
  * recorded commands are stored in a RenderBundle that can be executed multiple times
  * across different render passes for better performance.
+ * <p>
+ * Threading: an encoder is confined to the thread that created it, and recording from any
+ * other thread throws {@link IllegalStateException}. Separate encoders may record concurrently
+ * on different threads, and the finished {@link RenderBundle} can be executed from any thread.
  */
 public class RenderBundleEncoder extends WgpuResource {
 
@@ -22,8 +26,22 @@ public class RenderBundleEncoder extends WgpuResource {
         WgpuNative.ensureLoaded();
     }
 
+    private final Thread owner;
+
     protected RenderBundleEncoder(MemorySegment handle) {
         super(handle);
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Throws if this encoder is closed or used from a thread other than the one that created it.
+     */
+    private void checkRecording() {
+        checkNotClosed();
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("RenderBundleEncoder created on thread '" + owner.getName()
+                    + "' cannot be used from thread '" + Thread.currentThread().getName() + "'");
+        }
     }
 
     /**
@@ -32,7 +50,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param pipeline The render pipeline to use
      */
     public void setPipeline(RenderPipeline pipeline) {
-        checkNotClosed();
+        checkRecording();
 
         try {
             webgpu_h.wgpuRenderBundleEncoderSetPipeline(handle, pipeline.getHandle());
@@ -49,7 +67,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param dynamicOffsets Optional array of dynamic offsets
      */
     public void setBindGroup(int groupIndex, BindGroup bindGroup, int[] dynamicOffsets) {
-        checkNotClosed();
+        checkRecording();
         if (bindGroup.isClosed()) {
             throw new WgpuException("Cannot bind closed bind group");
         }
@@ -91,7 +109,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param size   The size of the data to bind (or 0 for whole buffer)
      */
     public void setVertexBuffer(int slot, Buffer buffer, long offset, long size) {
-        checkNotClosed();
+        checkRecording();
         if (buffer.isClosed()) {
             throw new WgpuException("Cannot bind closed buffer");
         }
@@ -122,7 +140,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param size   The size of the data to bind (or 0 for whole buffer)
      */
     public void setIndexBuffer(Buffer buffer, IndexFormat format, long offset, long size) {
-        checkNotClosed();
+        checkRecording();
         if (buffer.isClosed()) {
             throw new WgpuException("Cannot bind closed buffer");
         }
@@ -153,7 +171,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param firstInstance First instance to draw
      */
     public void draw(int vertexCount, int instanceCount, int firstVertex, int firstInstance) {
-        checkNotClosed();
+        checkRecording();
 
         try {
             webgpu_h.wgpuRenderBundleEncoderDraw(handle, vertexCount, instanceCount, firstVertex, firstInstance);
@@ -182,7 +200,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param firstInstance First instance to draw
      */
     public void drawIndexed(int indexCount, int instanceCount, int firstIndex, int baseVertex, int firstInstance) {
-        checkNotClosed();
+        checkRecording();
 
         try {
             webgpu_h.wgpuRenderBundleEncoderDrawIndexed(handle, indexCount, instanceCount, firstIndex, baseVertex, firstInstance);
@@ -207,7 +225,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param markerLabel The debug marker label
      */
     public void insertDebugMarker(String markerLabel) {
-        checkNotClosed();
+        checkRecording();
 
         try (Arena arena = Arena.ofConfined()) {
             MemorySegment labelSegment = arena.allocateFrom(markerLabel);
@@ -223,7 +241,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @param groupLabel The debug group label
      */
     public void pushDebugGroup(String groupLabel) {
-        checkNotClosed();
+        checkRecording();
 
         try (Arena arena = Arena.ofConfined()) {
             MemorySegment labelSegment = arena.allocateFrom(groupLabel);
@@ -237,7 +255,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * Pops the top debug group from the debug group stack.
      */
     public void popDebugGroup() {
-        checkNotClosed();
+        checkRecording();
 
         try {
             webgpu_h.wgpuRenderBundleEncoderPopDebugGroup(handle);
@@ -253,7 +271,7 @@ public class RenderBundleEncoder extends WgpuResource {
      * @return The created RenderBundle
      */
     public RenderBundle finish(RenderBundleDescriptor descriptor) {
-        checkNotClosed();
+        checkRecording();
 
         try (Arena arena = Arena.ofConfined()) {
             MemorySegment descriptorStruct = descriptor.marshal(arena);
@@ -1,26 +1,62 @@
 package org.wgpu4j.resource;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wgpu4j.WgpuException;
 import org.wgpu4j.WgpuNative;
 import org.wgpu4j.WgpuResource;
 import org.wgpu4j.constant.IndexFormat;
 import org.wgpu4j.bindings.*;
+import org.wgpu4j.metrics.WgpuMetrics;
 
 import java.lang.foreign.*;
 
 /**
  * Used to record rendering commands within a render pass.
+ * <p>
+ * With {@link #setStateTracking(boolean) state tracking} enabled, the encoder remembers the bound
+ * pipeline, bind groups with their dynamic offsets, vertex and index buffers, viewport and scissor
+ * rectangle, and drops calls that would bind what is already bound without crossing into native code.
  */
 public class RenderPassEncoder extends WgpuResource {
 
+    private static final Logger logger = LoggerFactory.getLogger(RenderPassEncoder.class);
+
     static {
         WgpuNative.ensureLoaded();
     }
 
+    private PassStateCache state;
+
     protected RenderPassEncoder(MemorySegment handle) {
         super(handle);
     }
 
+    /**
+     * Enables or disables redundant-state elimination for the rest of this pass.
+     * Enabling starts from an empty shadow state, so the next call of each kind always reaches native code.
+     *
+     * @param enabled Whether to track state and drop redundant calls
+     */
+    public void setStateTracking(boolean enabled) {
+        if (enabled && state == null) {
+            state = new PassStateCache();
+        } else if (!enabled) {
+            state = null;
+        }
+    }
+
+    public boolean isStateTracking() {
+        return state != null;
+    }
+
+    /**
+     * Gets the number of redundant calls dropped by state tracking in this pass.
+     */
+    public long getElidedCallCount() {
+        return state != null ? state.getElidedCount() : 0;
+    }
+
     /**
      * Sets the render pipeline for this render pass.
      *
@@ -28,12 +64,22 @@ public class RenderPassEncoder extends WgpuResource {
      */
     public void setPipeline(RenderPipeline pipeline) {
         checkNotClosed();
+        if (pipeline.isClosed()) {
+            throw new WgpuException("Cannot use closed render pipeline");
+        }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantPipeline(pipeline)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuRenderPassEncoderSetPipeline(handle, pipeline.getHandle());
         } catch (Exception e) {
             throw new WgpuException("Failed to set render pipeline", e);
         }
+        if (state != null) {
+            state.setPipeline(pipeline);
+        }
     }
 
     /**
@@ -49,12 +95,19 @@ public class RenderPassEncoder extends WgpuResource {
         if (buffer.isClosed()) {
             throw new WgpuException("Cannot bind closed buffer");
         }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantVertexBuffer(slot, buffer, offset, size)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuRenderPassEncoderSetVertexBuffer(handle, slot, buffer.getHandle(), offset, size);
         } catch (Exception e) {
             throw new WgpuException("Failed to set vertex buffer", e);
         }
+        if (state != null) {
+            state.setVertexBuffer(slot, buffer, offset, size);
+        }
     }
 
     /**
@@ -80,12 +133,19 @@ public class RenderPassEncoder extends WgpuResource {
         if (buffer.isClosed()) {
             throw new WgpuException("Cannot bind closed buffer");
         }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantIndexBuffer(buffer, format, offset, size)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuRenderPassEncoderSetIndexBuffer(handle, buffer.getHandle(), format.getValue(), offset, size);
         } catch (Exception e) {
             throw new WgpuException("Failed to set index buffer", e);
         }
+        if (state != null) {
+            state.setIndexBuffer(buffer, format, offset, size);
+        }
     }
 
     /**
@@ -103,17 +163,29 @@ public class RenderPassEncoder extends WgpuResource {
      *
      * @param vertexCount   Number of vertices to draw
      * @param instanceCount Number of instances to draw
+     * @param firstVertex   Offset into the vertex buffer
+     * @param firstInstance First instance to draw
      */
-    public void draw(int vertexCount, int instanceCount) {
+    public void draw(int vertexCount, int instanceCount, int firstVertex, int firstInstance) {
         checkNotClosed();
 
         try {
-            webgpu_h.wgpuRenderPassEncoderDraw(handle, vertexCount, instanceCount, 0, 0);
+            webgpu_h.wgpuRenderPassEncoderDraw(handle, vertexCount, instanceCount, firstVertex, firstInstance);
         } catch (Exception e) {
             throw new WgpuException("Failed to record draw command", e);
         }
     }
 
+    /**
+     * Records a draw command.
+     *
+     * @param vertexCount   Number of vertices to draw
+     * @param instanceCount Number of instances to draw
+     */
+    public void draw(int vertexCount, int instanceCount) {
+        draw(vertexCount, instanceCount, 0, 0);
+    }
+
     /**
      * Records an indexed draw command.
      *
@@ -143,6 +215,46 @@ public class RenderPassEncoder extends WgpuResource {
         drawIndexed(indexCount, instanceCount, 0, 0, 0);
     }
 
+    /**
+     * Records a draw command whose parameters are read from a buffer on the GPU.
+     * The buffer holds four 32-bit values: vertexCount, instanceCount, firstVertex, firstInstance.
+     *
+     * @param indirectBuffer Buffer with {@link org.wgpu4j.constant.BufferUsage#INDIRECT} usage
+     * @param indirectOffset Byte offset of the arguments, a multiple of 4
+     */
+    public void drawIndirect(Buffer indirectBuffer, long indirectOffset) {
+        checkNotClosed();
+        if (indirectBuffer.isClosed()) {
+            throw new WgpuException("Cannot use closed buffer for indirect draw");
+        }
+
+        try {
+            webgpu_h.wgpuRenderPassEncoderDrawIndirect(handle, indirectBuffer.getHandle(), indirectOffset);
+        } catch (Exception e) {
+            throw new WgpuException("Failed to record indirect draw command", e);
+        }
+    }
+
+    /**
+     * Records an indexed draw command whose parameters are read from a buffer on the GPU.
+     * The buffer holds five 32-bit values: indexCount, instanceCount, firstIndex, baseVertex, firstInstance.
+     *
+     * @param indirectBuffer Buffer with {@link org.wgpu4j.constant.BufferUsage#INDIRECT} usage
+     * @param indirectOffset Byte offset of the arguments, a multiple of 4
+     */
+    public void drawIndexedIndirect(Buffer indirectBuffer, long indirectOffset) {
+        checkNotClosed();
+        if (indirectBuffer.isClosed()) {
+            throw new WgpuException("Cannot use closed buffer for indirect draw");
+        }
+
+        try {
+            webgpu_h.wgpuRenderPassEncoderDrawIndexedIndirect(handle, indirectBuffer.getHandle(), indirectOffset);
+        } catch (Exception e) {
+            throw new WgpuException("Failed to record indexed indirect draw command", e);
+        }
+    }
+
     /**
      * Sets the viewport for rendering.
      * The viewport defines the area of the framebuffer that will be rendered to.
@@ -156,12 +268,19 @@ public class RenderPassEncoder extends WgpuResource {
      */
     public void setViewport(float x, float y, float width, float height, float minDepth, float maxDepth) {
         checkNotClosed();
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantViewport(x, y, width, height, minDepth, maxDepth)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuRenderPassEncoderSetViewport(handle, x, y, width, height, minDepth, maxDepth);
         } catch (Exception e) {
             throw new WgpuException("Failed to set viewport", e);
         }
+        if (state != null) {
+            state.setViewport(x, y, width, height, minDepth, maxDepth);
+        }
     }
 
     /**
@@ -175,12 +294,19 @@ public class RenderPassEncoder extends WgpuResource {
      */
     public void setScissorRect(int x, int y, int width, int height) {
         checkNotClosed();
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantScissor(x, y, width, height)) {
+            return;
+        }
 
         try {
             webgpu_h.wgpuRenderPassEncoderSetScissorRect(handle, x, y, width, height);
         } catch (Exception e) {
             throw new WgpuException("Failed to set scissor rectangle", e);
         }
+        if (state != null) {
+            state.setScissor(x, y, width, height);
+        }
     }
 
     /**
@@ -260,6 +386,11 @@ public class RenderPassEncoder extends WgpuResource {
             webgpu_h.wgpuRenderPassEncoderExecuteBundles(handle, renderBundles.length, bundleArray);
         } catch (Exception e) {
             throw new WgpuException("Failed to execute render bundles", e);
+        } finally {
+            // Executing bundles resets the pipeline, bind groups and vertex/index buffers
+            if (state != null) {
+                state.resetBindings();
+            }
         }
     }
 
@@ -275,6 +406,10 @@ public class RenderPassEncoder extends WgpuResource {
         if (bindGroup.isClosed()) {
             throw new WgpuException("Cannot bind closed bind group");
         }
+        PassStateCache state = this.state;
+        if (state != null && state.isRedundantBindGroup(groupIndex, bindGroup, dynamicOffsets)) {
+            return;
+        }
 
         try (Arena arena = Arena.ofConfined()) {
             MemorySegment offsetsSegment = MemorySegment.NULL;
@@ -292,6 +427,9 @@ public class RenderPassEncoder extends WgpuResource {
         } catch (Exception e) {
             throw new WgpuException("Failed to set bind group", e);
         }
+        if (state != null) {
+            state.setBindGroup(groupIndex, bindGroup, dynamicOffsets);
+        }
     }
 
     /**
@@ -315,10 +453,22 @@ public class RenderPassEncoder extends WgpuResource {
         } catch (Exception e) {
             throw new WgpuException("Failed to end render pass", e);
         }
+
+        if (state != null) {
+            long elided = state.getElidedCount();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Render pass ended with {} redundant state calls elided", elided);
+            }
+            WgpuMetrics.recordElidedStateCalls(elided);
+            state.reset();
+        }
     }
 
     @Override
     protected void releaseNative() {
+        if (state != null) {
+            state.reset();
+        }
         try {
             webgpu_h.wgpuRenderPassEncoderRelease(handle);
         } catch (Exception e) {
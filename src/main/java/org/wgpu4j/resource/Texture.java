@@ -19,10 +19,31 @@ public class Texture extends WgpuResource {
         WgpuNative.ensureLoaded();
     }
 
+    private GpuMemoryRegistry.Allocation allocation;
+
     protected Texture(MemorySegment handle) {
         super(handle);
     }
 
+    void setAllocation(GpuMemoryRegistry.Allocation allocation) {
+        this.allocation = allocation;
+    }
+
+    private void releaseAllocation() {
+        if (allocation != null) {
+            allocation.release();
+        }
+    }
+
+    /**
+     * Gets the estimated GPU memory footprint of this texture in bytes, including all mip levels,
+     * array layers and samples. Returns -1 if the texture was not created through a {@link Device},
+     * e.g. a surface texture.
+     */
+    public long getByteSize() {
+        return allocation != null ? allocation.getBytes() : -1;
+    }
+
     /**
      * Gets the width of this texture using the native WGPU getter.
      */
@@ -183,6 +204,7 @@ public class Texture extends WgpuResource {
 
         try {
             webgpu_h.wgpuTextureDestroy(handle);
+            releaseAllocation();
         } catch (Exception e) {
             throw new WgpuException("Failed to destroy texture", e);
         }
@@ -190,6 +212,7 @@ public class Texture extends WgpuResource {
 
     @Override
     protected void releaseNative() {
+        releaseAllocation();
         try {
             webgpu_h.wgpuTextureRelease(handle);
         } catch (Exception e) {
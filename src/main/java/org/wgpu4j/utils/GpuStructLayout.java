@@ -0,0 +1,604 @@
+package org.wgpu4j.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps a Java record to a WGSL host-shareable struct, so uniform and storage data can be written straight
+ * into a {@link MemorySegment} with the offsets and padding the shader expects.
+ * <pre>{@code
+ * record Light(@GpuStructLayout.Type("vec3<f32>") float[] position, float intensity,
+ *              @GpuStructLayout.Type("vec3<f32>") float[] color, int flags) {}
+ *
+ * GpuStructLayout<Light> lights = GpuStructLayout.of(Light.class);
+ * String wgsl = lights.toWgsl();        // struct Light { position: vec3<f32>, intensity: f32, ... }
+ * MemorySegment data = arena.allocate(lights.getStride() * count, lights.getAlignment());
+ * lights.write(data, 0, lightArray);
+ * queue.writeBuffer(lightBuffer, 0, data);
+ * }</pre>
+ * Components map to WGSL types as follows:
+ * <ul>
+ *   <li>{@code float} is {@code f32}, {@code int} is {@code i32} or {@code u32}, and {@code boolean} is
+ *       {@code u32} holding 0 or 1, since {@code bool} is not host-shareable</li>
+ *   <li>{@code float[]} and {@code int[]} need a {@link Type} annotation naming a vector, matrix or fixed-size
+ *       array of them, such as {@code vec3<f32>}, {@code mat4x4<f32>} or {@code array<vec4<f32>, 8>}. The Java
+ *       array holds the components packed, matrices in column-major order; padding is inserted on write</li>
+ *   <li>a nested record is a nested struct, and an array of records needs a {@link Type} such as
+ *       {@code array<Light, 8>} where the element name is the record's simple name</li>
+ * </ul>
+ * Offsets, sizes and alignments follow the WGSL memory layout rules, which are the same for the uniform and
+ * storage address spaces; the uniform address space additionally requires array strides and nested struct
+ * alignments to be multiples of 16, which is checked by the shader compiler rather than here.
+ * <p>
+ * Each layout compiles its writer once, as a tree of method handles over {@link VarHandle}s and bulk copies,
+ * so writing a record involves no reflection or boxing. Layouts are cached per record class.
+ */
+public final class GpuStructLayout<R extends Record> {
+
+    /**
+     * Gives the WGSL type of a record component whose Java type does not determine it.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.RECORD_COMPONENT)
+    public @interface Type {
+        /**
+         * The WGSL type, such as {@code u32}, {@code vec3<f32>}, {@code mat4x4<f32>} or {@code array<Light, 4>}.
+         */
+        String value();
+    }
+
+    private static final ClassValue<GpuStructLayout<?>> CACHE = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected GpuStructLayout<?> computeValue(Class<?> type) {
+            return new GpuStructLayout(type.asSubclass(Record.class));
+        }
+    };
+
+    private static final MethodType WRITER_TYPE =
+            MethodType.methodType(void.class, MemorySegment.class, long.class, Object.class);
+    private static final Pattern VECTOR = Pattern.compile("vec([234])<(f32|i32|u32)>");
+    private static final Pattern VECTOR_SHORTHAND = Pattern.compile("vec([234])([fiu])");
+    private static final Pattern MATRIX = Pattern.compile("mat([234])x([234])(?:<f32>|f)");
+    private static final Pattern ARRAY = Pattern.compile("array<(.+),(\\d+)u?>");
+
+    private static final MethodHandle ADD_OFFSET;
+    private static final MethodHandle BOOLEAN_TO_INT;
+    private static final MethodHandle WRITE_FLOATS;
+    private static final MethodHandle WRITE_INTS;
+    private static final MethodHandle WRITE_RECORDS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ADD_OFFSET = lookup.findStatic(GpuStructLayout.class, "addOffset",
+                    MethodType.methodType(long.class, long.class, long.class));
+            BOOLEAN_TO_INT = lookup.findStatic(GpuStructLayout.class, "booleanToInt",
+                    MethodType.methodType(int.class, boolean.class));
+            WRITE_FLOATS = lookup.findStatic(GpuStructLayout.class, "writeFloats", MethodType.methodType(void.class,
+                    int.class, int.class, long.class, MemorySegment.class, long.class, float[].class));
+            WRITE_INTS = lookup.findStatic(GpuStructLayout.class, "writeInts", MethodType.methodType(void.class,
+                    int.class, int.class, long.class, MemorySegment.class, long.class, int[].class));
+            WRITE_RECORDS = lookup.findStatic(GpuStructLayout.class, "writeRecords", MethodType.methodType(void.class,
+                    MethodHandle.class, int.class, long.class, MemorySegment.class, long.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * A WGSL type with its size and alignment.
+     */
+    private static final class WgslType {
+        final String name;
+        final long size;
+        final long alignment;
+        /** Scalar type of vectors, matrices and arrays of them, or null for structs. */
+        final String scalar;
+        /** Number of scalars in each contiguous group, such as the rows of a matrix column. */
+        final int groupSize;
+        /** Byte distance between groups. */
+        final long groupStride;
+        /** Number of groups. */
+        final int groupCount;
+        final MemoryLayout layout;
+
+        WgslType(String name, long size, long alignment, String scalar, int groupSize, long groupStride,
+                 int groupCount, MemoryLayout layout) {
+            this.name = name;
+            this.size = size;
+            this.alignment = alignment;
+            this.scalar = scalar;
+            this.groupSize = groupSize;
+            this.groupStride = groupStride;
+            this.groupCount = groupCount;
+            this.layout = layout;
+        }
+
+        long stride() {
+            return roundUp(size, alignment);
+        }
+    }
+
+    private final Class<R> type;
+    private final StructLayout layout;
+    private final Map<String, Long> offsets;
+    private final List<String> members;
+    private final List<GpuStructLayout<?>> nested;
+    private final MethodHandle writer;
+
+    private GpuStructLayout(Class<R> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+        this.type = type;
+
+        Map<String, Long> offsets = new LinkedHashMap<>();
+        List<String> members = new ArrayList<>();
+        Set<GpuStructLayout<?>> nested = new LinkedHashSet<>();
+        List<MemoryLayout> memberLayouts = new ArrayList<>();
+        List<MethodHandle> leaves = new ArrayList<>();
+        long offset = 0;
+        long alignment = 1;
+
+        for (RecordComponent component : type.getRecordComponents()) {
+            String name = component.getName();
+            if (!name.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+                throw new IllegalArgumentException("Component '" + name + "' of " + type.getName() + " is not a WGSL identifier");
+            }
+            MethodHandle getter = getter(component);
+            Class<?> javaType = component.getType();
+            Type annotation = component.getAnnotation(Type.class);
+            String declared = annotation == null ? null : annotation.value().replaceAll("\\s+", "");
+
+            WgslType wgsl;
+            MethodHandle leaf;
+            if (javaType.isRecord()) {
+                if (declared != null) {
+                    throw new IllegalArgumentException(describe(component) + ": nested records take their type from the record");
+                }
+                GpuStructLayout<?> struct = of(javaType.asSubclass(Record.class));
+                nested.add(struct);
+                wgsl = struct.asType();
+                leaf = struct.writer;
+            } else if (javaType.isArray() && javaType.getComponentType().isRecord()) {
+                GpuStructLayout<?> struct = of(javaType.getComponentType().asSubclass(Record.class));
+                nested.add(struct);
+                wgsl = recordArray(struct, declared, component);
+                leaf = MethodHandles.insertArguments(WRITE_RECORDS, 0, struct.writer, wgsl.groupCount, struct.getStride());
+            } else {
+                wgsl = primitive(javaType, declared, component);
+                leaf = primitiveWriter(javaType, wgsl);
+            }
+
+            long aligned = roundUp(offset, wgsl.alignment);
+            if (aligned > offset) {
+                memberLayouts.add(MemoryLayout.paddingLayout(aligned - offset));
+                offset = aligned;
+            }
+            memberLayouts.add(wgsl.layout.withName(name));
+            offsets.put(name, offset);
+            members.add(name + ": " + wgsl.name);
+
+            // Shift the leaf to the member offset and feed it the component value.
+            leaf = MethodHandles.filterArguments(leaf, 1, MethodHandles.insertArguments(ADD_OFFSET, 1, offset));
+            leaf = MethodHandles.filterArguments(leaf, 2, getter.asType(getter.type().changeReturnType(leaf.type().parameterType(2))));
+            leaves.add(leaf.asType(WRITER_TYPE));
+
+            offset += wgsl.size;
+            alignment = Math.max(alignment, wgsl.alignment);
+        }
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException(type.getName() + " has no components");
+        }
+
+        long size = roundUp(offset, alignment);
+        if (size > offset) {
+            memberLayouts.add(MemoryLayout.paddingLayout(size - offset));
+        }
+        this.layout = MemoryLayout.structLayout(memberLayouts.toArray(MemoryLayout[]::new))
+                .withByteAlignment(alignment)
+                .withName(type.getSimpleName());
+        this.offsets = Collections.unmodifiableMap(offsets);
+        this.members = List.copyOf(members);
+        this.nested = List.copyOf(nested);
+
+        MethodHandle writer = MethodHandles.empty(WRITER_TYPE);
+        for (int i = leaves.size() - 1; i >= 0; i--) {
+            writer = MethodHandles.foldArguments(writer, leaves.get(i));
+        }
+        this.writer = writer;
+    }
+
+    /**
+     * Gets the layout of a record class, deriving it on first use.
+     *
+     * @param type The record class
+     * @return The layout
+     * @throws IllegalArgumentException if a component has no WGSL host-shareable equivalent
+     */
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> GpuStructLayout<R> of(Class<R> type) {
+        return (GpuStructLayout<R>) CACHE.get(type);
+    }
+
+    private static MethodHandle getter(RecordComponent component) {
+        Method accessor = component.getAccessor();
+        try {
+            accessor.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflect(accessor);
+            return getter.asType(getter.type().changeParameterType(0, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access " + describe(component), e);
+        }
+    }
+
+    private static String describe(RecordComponent component) {
+        return component.getDeclaringRecord().getName() + "." + component.getName();
+    }
+
+    private WgslType asType() {
+        return new WgslType(getWgslName(), layout.byteSize(), layout.byteAlignment(), null, 0, 0, 0, layout);
+    }
+
+    private static WgslType recordArray(GpuStructLayout<?> element, String declared, RecordComponent component) {
+        Matcher array = declared == null ? null : ARRAY.matcher(declared);
+        if (array == null || !array.matches() || !array.group(1).equals(element.getWgslName())) {
+            throw new IllegalArgumentException(describe(component) + " needs @Type(\"array<"
+                    + element.getWgslName() + ", N>\")");
+        }
+        int count = Integer.parseInt(array.group(2));
+        if (count < 1) {
+            throw new IllegalArgumentException(describe(component) + ": array length must be positive");
+        }
+        long stride = element.getStride();
+        return new WgslType("array<" + element.getWgslName() + ", " + count + ">", stride * count,
+                element.getAlignment(), null, 0, stride, count,
+                MemoryLayout.sequenceLayout(count, element.layout));
+    }
+
+    private static WgslType primitive(Class<?> javaType, String declared, RecordComponent component) {
+        String scalar;
+        if (javaType == float.class || javaType == float[].class) {
+            scalar = "f32";
+        } else if (javaType == int.class || javaType == int[].class || javaType == boolean.class) {
+            scalar = javaType == boolean.class ? "u32" : "i32";
+        } else {
+            throw new IllegalArgumentException(describe(component) + " has unsupported type " + javaType.getName());
+        }
+
+        if (!javaType.isArray()) {
+            String name = declared == null ? scalar : declared;
+            boolean compatible = name.equals(scalar) || (javaType == int.class && name.equals("u32"));
+            if (!compatible) {
+                throw new IllegalArgumentException(describe(component) + " cannot be declared as " + name);
+            }
+            return scalar(name);
+        }
+
+        if (declared == null) {
+            throw new IllegalArgumentException(describe(component) + " needs a @Type such as vec4<" + scalar + ">");
+        }
+        WgslType wgsl = parse(declared, describe(component));
+        boolean compatible = wgsl.scalar.equals(scalar) || (scalar.equals("i32") && wgsl.scalar.equals("u32"));
+        if (!compatible) {
+            throw new IllegalArgumentException(describe(component) + " holds " + scalar + " but is declared as " + declared);
+        }
+        return wgsl;
+    }
+
+    private static WgslType scalar(String scalar) {
+        ValueLayout layout = scalar.equals("f32") ? ValueLayout.JAVA_FLOAT : ValueLayout.JAVA_INT;
+        return new WgslType(scalar, 4, 4, scalar, 1, 4, 1, layout);
+    }
+
+    private static WgslType vector(int components, String scalar) {
+        long size = 4L * components;
+        long alignment = components == 2 ? 8 : 16;
+        ValueLayout element = scalar.equals("f32") ? ValueLayout.JAVA_FLOAT : ValueLayout.JAVA_INT;
+        MemoryLayout layout = MemoryLayout.sequenceLayout(components, element).withByteAlignment(alignment);
+        return new WgslType("vec" + components + "<" + scalar + ">", size, alignment, scalar,
+                components, size, 1, layout);
+    }
+
+    private static WgslType parse(String declared, String owner) {
+        if (declared.equals("f32") || declared.equals("i32") || declared.equals("u32")) {
+            return scalar(declared);
+        }
+        Matcher vector = VECTOR.matcher(declared);
+        if (vector.matches()) {
+            return vector(Integer.parseInt(vector.group(1)), vector.group(2));
+        }
+        Matcher shorthand = VECTOR_SHORTHAND.matcher(declared);
+        if (shorthand.matches()) {
+            return vector(Integer.parseInt(shorthand.group(1)), shorthand.group(2) + "32");
+        }
+        Matcher matrix = MATRIX.matcher(declared);
+        if (matrix.matches()) {
+            int columns = Integer.parseInt(matrix.group(1));
+            int rows = Integer.parseInt(matrix.group(2));
+            WgslType column = vector(rows, "f32");
+            long columnStride = column.stride();
+            return new WgslType("mat" + columns + "x" + rows + "<f32>", columns * columnStride, column.alignment,
+                    "f32", rows, columnStride, columns, MemoryLayout.sequenceLayout(columns, padded(column)));
+        }
+        Matcher array = ARRAY.matcher(declared);
+        if (array.matches()) {
+            WgslType element = parse(array.group(1), owner);
+            int count = Integer.parseInt(array.group(2));
+            if (count < 1) {
+                throw new IllegalArgumentException(owner + ": array length must be positive");
+            }
+            long stride = element.stride();
+            // A scalar or vector element is one group, placed at the array stride. Matrix and array elements
+            // are several groups that fill the element exactly, so their groups stay evenly spaced.
+            long groupStride = element.groupCount == 1 ? stride : element.groupStride;
+            return new WgslType("array<" + element.name + ", " + count + ">", count * stride, element.alignment,
+                    element.scalar, element.groupSize, groupStride, element.groupCount * count,
+                    MemoryLayout.sequenceLayout(count, padded(element)));
+        }
+        throw new IllegalArgumentException(owner + " has unsupported WGSL type " + declared);
+    }
+
+    private static MemoryLayout padded(WgslType type) {
+        long stride = type.stride();
+        if (stride == type.size) {
+            return type.layout;
+        }
+        return MemoryLayout.structLayout(type.layout, MemoryLayout.paddingLayout(stride - type.size))
+                .withByteAlignment(type.alignment);
+    }
+
+    private static MethodHandle primitiveWriter(Class<?> javaType, WgslType wgsl) {
+        if (javaType == float.class) {
+            return setter(ValueLayout.JAVA_FLOAT_UNALIGNED);
+        }
+        if (javaType == int.class) {
+            return setter(ValueLayout.JAVA_INT_UNALIGNED);
+        }
+        if (javaType == boolean.class) {
+            return MethodHandles.filterArguments(setter(ValueLayout.JAVA_INT_UNALIGNED), 2, BOOLEAN_TO_INT);
+        }
+        MethodHandle bulk = javaType == float[].class ? WRITE_FLOATS : WRITE_INTS;
+        return MethodHandles.insertArguments(bulk, 0, wgsl.groupCount, wgsl.groupSize, wgsl.groupStride);
+    }
+
+    /**
+     * Gets a {@code (MemorySegment, long, value)} setter. Unaligned layouts are used because the segment
+     * may be a heap segment over a {@code byte[]}, whose alignment is one byte.
+     */
+    private static MethodHandle setter(ValueLayout layout) {
+        return layout.varHandle().toMethodHandle(VarHandle.AccessMode.SET);
+    }
+
+    private static long addOffset(long base, long offset) {
+        return base + offset;
+    }
+
+    private static int booleanToInt(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static void writeFloats(int groups, int groupSize, long groupStride,
+                                    MemorySegment segment, long offset, float[] values) {
+        if (values.length != groups * groupSize) {
+            throw new IllegalArgumentException("Expected " + groups * groupSize + " floats but got " + values.length);
+        }
+        if (groupSize * 4L == groupStride) {
+            MemorySegment.copy(values, 0, segment, ValueLayout.JAVA_FLOAT_UNALIGNED, offset, values.length);
+            return;
+        }
+        for (int group = 0; group < groups; group++) {
+            MemorySegment.copy(values, group * groupSize, segment, ValueLayout.JAVA_FLOAT_UNALIGNED,
+                    offset + group * groupStride, groupSize);
+        }
+    }
+
+    private static void writeInts(int groups, int groupSize, long groupStride,
+                                  MemorySegment segment, long offset, int[] values) {
+        if (values.length != groups * groupSize) {
+            throw new IllegalArgumentException("Expected " + groups * groupSize + " ints but got " + values.length);
+        }
+        if (groupSize * 4L == groupStride) {
+            MemorySegment.copy(values, 0, segment, ValueLayout.JAVA_INT_UNALIGNED, offset, values.length);
+            return;
+        }
+        for (int group = 0; group < groups; group++) {
+            MemorySegment.copy(values, group * groupSize, segment, ValueLayout.JAVA_INT_UNALIGNED,
+                    offset + group * groupStride, groupSize);
+        }
+    }
+
+    private static void writeRecords(MethodHandle element, int count, long stride,
+                                     MemorySegment segment, long offset, Object[] values) throws Throwable {
+        if (values.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " elements but got " + values.length);
+        }
+        for (int i = 0; i < count; i++) {
+            element.invokeExact(segment, offset + i * stride, values[i]);
+        }
+    }
+
+    /**
+     * Gets the record class.
+     */
+    public Class<R> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the struct name used in WGSL, which is the record's simple name.
+     */
+    public String getWgslName() {
+        return type.getSimpleName();
+    }
+
+    /**
+     * Gets the memory layout, with one named member per component and explicit padding.
+     */
+    public StructLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Gets the size of the struct in bytes, including trailing padding.
+     */
+    public long getSize() {
+        return layout.byteSize();
+    }
+
+    /**
+     * Gets the alignment of the struct in bytes.
+     */
+    public long getAlignment() {
+        return layout.byteAlignment();
+    }
+
+    /**
+     * Gets the distance between consecutive elements of an array of this struct, which equals its size.
+     */
+    public long getStride() {
+        return layout.byteSize();
+    }
+
+    /**
+     * Gets the byte offset of a component.
+     *
+     * @throws IllegalArgumentException if the record has no such component
+     */
+    public long getOffset(String component) {
+        Long offset = offsets.get(component);
+        if (offset == null) {
+            throw new IllegalArgumentException(type.getName() + " has no component '" + component + "'");
+        }
+        return offset;
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param segment The destination
+     * @param offset  The byte offset of the struct in the destination
+     * @param value   The record
+     */
+    public void write(MemorySegment segment, long offset, R value) {
+        Objects.requireNonNull(value, "value");
+        try {
+            writer.invokeExact(segment, offset, (Object) value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to write " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Writes records as an array, {@link #getStride()} bytes apart.
+     *
+     * @param segment The destination
+     * @param offset  The byte offset of the first element in the destination
+     * @param values  The records
+     */
+    public void write(MemorySegment segment, long offset, List<? extends R> values) {
+        long stride = getStride();
+        for (int i = 0; i < values.size(); i++) {
+            write(segment, offset + i * stride, values.get(i));
+        }
+    }
+
+    /**
+     * Writes records as an array, {@link #getStride()} bytes apart.
+     *
+     * @param segment The destination
+     * @param offset  The byte offset of the first element in the destination
+     * @param values  The records
+     */
+    @SafeVarargs
+    public final void write(MemorySegment segment, long offset, R... values) {
+        write(segment, offset, List.of(values));
+    }
+
+    /**
+     * Allocates a segment holding the given records as an array.
+     *
+     * @param arena  The arena to allocate from
+     * @param values The records
+     * @return The segment, {@code values.size() * getStride()} bytes long
+     */
+    public MemorySegment allocate(Arena arena, List<? extends R> values) {
+        MemorySegment segment = arena.allocate(getStride() * values.size(), getAlignment());
+        write(segment, 0, values);
+        return segment;
+    }
+
+    /**
+     * Allocates a segment holding one record.
+     *
+     * @param arena The arena to allocate from
+     * @param value The record
+     * @return The segment, {@link #getSize()} bytes long
+     */
+    public MemorySegment allocate(Arena arena, R value) {
+        MemorySegment segment = arena.allocate(layout);
+        write(segment, 0, value);
+        return segment;
+    }
+
+    /**
+     * Generates the WGSL declaration of this struct, preceded by the structs it contains.
+     */
+    public String toWgsl() {
+        StringBuilder out = new StringBuilder();
+        appendWgsl(out, new LinkedHashSet<>());
+        return out.toString();
+    }
+
+    private void appendWgsl(StringBuilder out, Set<GpuStructLayout<?>> written) {
+        if (!written.add(this)) {
+            return;
+        }
+        for (GpuStructLayout<?> struct : nested) {
+            struct.appendWgsl(out, written);
+        }
+        if (!out.isEmpty()) {
+            out.append('\n');
+        }
+        out.append("struct ").append(getWgslName()).append(" {\n");
+        for (String member : members) {
+            out.append("    ").append(member).append(",\n");
+        }
+        out.append("}\n");
+    }
+
+    private static long roundUp(long value, long alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    @Override
+    public String toString() {
+        return "GpuStructLayout[" + layout + "]";
+    }
+}
@@ -0,0 +1,123 @@
+package org.wgpu4j.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Kernels that pack contiguous float data into compact GPU component encodings and convert pixels
+ * between the layouts used by image libraries and GPU texture formats.
+ * <p>
+ * Every packing kernel reads {@code count} floats starting at {@code from} and writes {@code count}
+ * packed components, little-endian and back to back, starting at byte {@code offset} of {@code dst}.
+ * Normalized encodings clamp to their range and round half away from zero; NaN packs to zero.
+ * Destination segments must be native or backed by a {@code byte[]}, as the Vector API requires.
+ * <p>
+ * {@link #get()} returns kernels built on {@code jdk.incubator.vector} when that module is in the boot
+ * layer (run with {@code --add-modules jdk.incubator.vector}) and scalar kernels otherwise. Setting the
+ * system property {@code wgpu4j.vector} to {@code false} forces the scalar kernels.
+ */
+interface PackingKernels {
+
+    /**
+     * Gets the fastest kernels available in this JVM.
+     */
+    static PackingKernels get() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Gets the scalar kernels, which are always available.
+     */
+    static PackingKernels scalar() {
+        return ScalarPackingKernels.INSTANCE;
+    }
+
+    /**
+     * Returns true if these kernels use the Vector API.
+     */
+    boolean isVectorized();
+
+    /**
+     * Packs floats as IEEE 754 half floats, rounding to nearest even.
+     */
+    void float16(float[] src, int from, int count, MemorySegment dst, long offset);
+
+    /**
+     * Packs floats in [0, 1] as unsigned normalized bytes.
+     */
+    void unorm8(float[] src, int from, int count, MemorySegment dst, long offset);
+
+    /**
+     * Packs floats in [-1, 1] as signed normalized bytes.
+     */
+    void snorm8(float[] src, int from, int count, MemorySegment dst, long offset);
+
+    /**
+     * Packs floats in [0, 1] as unsigned normalized shorts.
+     */
+    void unorm16(float[] src, int from, int count, MemorySegment dst, long offset);
+
+    /**
+     * Packs floats in [-1, 1] as signed normalized shorts.
+     */
+    void snorm16(float[] src, int from, int count, MemorySegment dst, long offset);
+
+    /**
+     * Converts packed ARGB ints into R, G, B, A bytes, optionally multiplying the color channels by alpha
+     * with rounding.
+     */
+    void argbToRgba8(int[] src, int from, int pixels, boolean premultiply, MemorySegment dst, long dstOffset);
+
+    /**
+     * Converts pixels stored as little-endian 32-bit ARGB words (that is, B, G, R, A bytes) into
+     * R, G, B, A bytes, optionally multiplying the color channels by alpha with rounding. Heap sources
+     * must be backed by a {@code byte[]}.
+     */
+    void argbToRgba8(MemorySegment src, long srcOffset, int pixels, boolean premultiply, MemorySegment dst, long dstOffset);
+
+    /**
+     * Expands B, G, R byte triples into R, G, B, A bytes with opaque alpha.
+     */
+    void bgrToRgba8(MemorySegment src, long srcOffset, int pixels, MemorySegment dst, long dstOffset);
+
+    /**
+     * Multiplies the color channels of RGBA float pixels by their alpha, in place.
+     */
+    void premultiplyRgba(float[] rgba, int from, int pixels);
+
+    /**
+     * Encodes the color channels of linear RGBA float pixels with the sRGB transfer function, in place.
+     * Colors are clamped to [0, 1]; alpha is left unchanged.
+     */
+    void encodeSrgbRgba(float[] rgba, int from, int pixels);
+
+    final class Holder {
+        private static final Logger logger = LoggerFactory.getLogger(PackingKernels.class);
+
+        static final PackingKernels DEFAULT = select();
+
+        private Holder() {
+        }
+
+        private static PackingKernels select() {
+            if (!Boolean.parseBoolean(System.getProperty("wgpu4j.vector", "true"))) {
+                return ScalarPackingKernels.INSTANCE;
+            }
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                logger.debug("jdk.incubator.vector is not available, using scalar packing kernels");
+                return ScalarPackingKernels.INSTANCE;
+            }
+            try {
+                // Loaded reflectively so this interface never links against the incubator module.
+                return (PackingKernels) Class.forName("org.wgpu4j.utils.VectorPackingKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("Failed to initialize vector packing kernels, using scalar kernels", e);
+                return ScalarPackingKernels.INSTANCE;
+            }
+        }
+    }
+}
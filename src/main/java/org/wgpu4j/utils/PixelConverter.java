@@ -0,0 +1,269 @@
+package org.wgpu4j.utils;
+
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.ImageCopyTextureLayout;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Converts image data from the layouts Java image libraries produce into {@link TextureFormat#RGBA8_UNORM}
+ * and {@link TextureFormat#RGBA16_FLOAT} texels, writing each row straight into a native segment at the
+ * row pitch of an {@link ImageCopyTextureLayout} so the result can be handed to
+ * {@link org.wgpu4j.resource.Queue#writeTexture(org.wgpu4j.descriptor.ImageCopyTexture, MemorySegment,
+ * ImageCopyTextureLayout, org.wgpu4j.descriptor.Extent3D)} or copied from a staging buffer without an
+ * intermediate array.
+ * <pre>{@code
+ * ImageCopyTextureLayout layout = PixelConverter.layout(TextureFormat.RGBA8_UNORM, width, height);
+ * MemorySegment texels = PixelConverter.allocate(arena, layout, height);
+ * PixelConverter.argbToRgba8(image.getRGB(0, 0, width, height, null, 0, width), width, height, true, texels, layout);
+ * queue.writeTexture(destination, texels, layout, extent);
+ * }</pre>
+ * Sources are tightly packed, row-major and top-down; destinations must be native segments or wrap a
+ * {@code byte[]}. Swizzles, premultiplication, sRGB encoding and half-float packing use Vector API
+ * kernels when {@code jdk.incubator.vector} is available and scalar loops otherwise.
+ */
+public final class PixelConverter {
+
+    private static final int COPY_BYTES_PER_ROW_ALIGNMENT = 256;
+
+    private static final float[] SRGB_TO_LINEAR = new float[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            SRGB_TO_LINEAR[i] = ScalarPackingKernels.decodeSrgb(i / 255f);
+        }
+    }
+
+    private PixelConverter() {
+    }
+
+    /**
+     * Returns true if the conversions run on Vector API kernels in this JVM.
+     */
+    public static boolean isVectorized() {
+        return PackingKernels.get().isVectorized();
+    }
+
+    /**
+     * Gets the number of bytes in one tightly packed row of the given format.
+     */
+    public static int bytesPerRow(TextureFormat format, int width) {
+        if (format.getBytesPerTexel() == 0) {
+            throw new IllegalArgumentException("Format has no texel size: " + format);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive");
+        }
+        return Math.multiplyExact(width, format.getBytesPerTexel());
+    }
+
+    /**
+     * Gets the number of bytes in one row padded to the 256-byte alignment buffer-to-texture copies require.
+     */
+    public static int alignedBytesPerRow(TextureFormat format, int width) {
+        int packed = bytesPerRow(format, width);
+        return (packed + COPY_BYTES_PER_ROW_ALIGNMENT - 1) / COPY_BYTES_PER_ROW_ALIGNMENT * COPY_BYTES_PER_ROW_ALIGNMENT;
+    }
+
+    /**
+     * Creates a tightly packed layout, suitable for {@code Queue.writeTexture}.
+     */
+    public static ImageCopyTextureLayout layout(TextureFormat format, int width, int height) {
+        return ImageCopyTextureLayout.builder()
+                .bytesPerRow(bytesPerRow(format, width))
+                .rowsPerImage(height)
+                .build();
+    }
+
+    /**
+     * Creates a layout with 256-byte aligned rows, suitable for copying from a staging buffer.
+     */
+    public static ImageCopyTextureLayout alignedLayout(TextureFormat format, int width, int height) {
+        return ImageCopyTextureLayout.builder()
+                .bytesPerRow(alignedBytesPerRow(format, width))
+                .rowsPerImage(height)
+                .build();
+    }
+
+    /**
+     * Allocates a native segment large enough to hold {@code height} rows in the given layout.
+     */
+    public static MemorySegment allocate(Arena arena, ImageCopyTextureLayout layout, int height) {
+        if (height <= 0) {
+            throw new IllegalArgumentException("Height must be positive");
+        }
+        return arena.allocate(layout.getOffset() + (long) layout.getBytesPerRow() * height, Integer.BYTES);
+    }
+
+    /**
+     * Converts packed ARGB ints, as returned by {@code BufferedImage.getRGB}, into RGBA8 texels.
+     *
+     * @param premultiply Whether to multiply the color channels by alpha
+     */
+    public static void argbToRgba8(int[] argb, int width, int height, boolean premultiply,
+                                   MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(argb.length, width, height, 1);
+        checkDestination(dst, layout, width * 4L, height);
+
+        PackingKernels kernels = PackingKernels.get();
+        for (int y = 0; y < height; y++) {
+            kernels.argbToRgba8(argb, y * width, width, premultiply, dst, rowOffset(layout, y));
+        }
+    }
+
+    /**
+     * Converts B, G, R, A bytes, the order most native windowing and capture APIs use, into RGBA8 texels.
+     *
+     * @param premultiply Whether to multiply the color channels by alpha
+     */
+    public static void bgraToRgba8(byte[] bgra, int width, int height, boolean premultiply,
+                                   MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(bgra.length, width, height, 4);
+        checkDestination(dst, layout, width * 4L, height);
+
+        // Little-endian B, G, R, A bytes are exactly ARGB words.
+        MemorySegment src = MemorySegment.ofArray(bgra);
+        PackingKernels kernels = PackingKernels.get();
+        for (int y = 0; y < height; y++) {
+            kernels.argbToRgba8(src, (long) y * width * 4, width, premultiply, dst, rowOffset(layout, y));
+        }
+    }
+
+    /**
+     * Converts B, G, R byte triples, as stored by {@code TYPE_3BYTE_BGR} images, into opaque RGBA8 texels.
+     */
+    public static void bgrToRgba8(byte[] bgr, int width, int height, MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(bgr.length, width, height, 3);
+        checkDestination(dst, layout, width * 4L, height);
+
+        MemorySegment src = MemorySegment.ofArray(bgr);
+        PackingKernels kernels = PackingKernels.get();
+        for (int y = 0; y < height; y++) {
+            kernels.bgrToRgba8(src, (long) y * width * 3, width, dst, rowOffset(layout, y));
+        }
+    }
+
+    /**
+     * Converts linear RGBA floats into RGBA16_FLOAT texels.
+     *
+     * @param premultiply Whether to multiply the color channels by alpha
+     */
+    public static void rgbaFloatToRgba16Float(float[] rgba, int width, int height, boolean premultiply,
+                                              MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(rgba.length, width, height, 4);
+        checkDestination(dst, layout, width * 8L, height);
+
+        PackingKernels kernels = PackingKernels.get();
+        float[] row = premultiply ? new float[width * 4] : null;
+        for (int y = 0; y < height; y++) {
+            int from = y * width * 4;
+            if (premultiply) {
+                System.arraycopy(rgba, from, row, 0, row.length);
+                kernels.premultiplyRgba(row, 0, width);
+                kernels.float16(row, 0, row.length, dst, rowOffset(layout, y));
+            } else {
+                kernels.float16(rgba, from, width * 4, dst, rowOffset(layout, y));
+            }
+        }
+    }
+
+    /**
+     * Converts linear RGBA floats into RGBA8 texels. Premultiplication happens in linear space, before
+     * the optional sRGB encoding used for {@link TextureFormat#RGBA8_UNORM_SRGB} textures.
+     *
+     * @param premultiply Whether to multiply the color channels by alpha
+     * @param srgbEncode  Whether to encode the color channels with the sRGB transfer function
+     */
+    public static void rgbaFloatToRgba8(float[] rgba, int width, int height, boolean premultiply, boolean srgbEncode,
+                                        MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(rgba.length, width, height, 4);
+        checkDestination(dst, layout, width * 4L, height);
+
+        PackingKernels kernels = PackingKernels.get();
+        boolean transform = premultiply || srgbEncode;
+        float[] row = transform ? new float[width * 4] : null;
+        for (int y = 0; y < height; y++) {
+            int from = y * width * 4;
+            if (transform) {
+                System.arraycopy(rgba, from, row, 0, row.length);
+                if (premultiply) {
+                    kernels.premultiplyRgba(row, 0, width);
+                }
+                if (srgbEncode) {
+                    kernels.encodeSrgbRgba(row, 0, width);
+                }
+                kernels.unorm8(row, 0, row.length, dst, rowOffset(layout, y));
+            } else {
+                kernels.unorm8(rgba, from, width * 4, dst, rowOffset(layout, y));
+            }
+        }
+    }
+
+    /**
+     * Decodes sRGB-encoded RGBA bytes into linear RGBA16_FLOAT texels. Alpha is treated as linear.
+     */
+    public static void srgb8ToRgba16Float(byte[] rgba, int width, int height,
+                                          MemorySegment dst, ImageCopyTextureLayout layout) {
+        checkSource(rgba.length, width, height, 4);
+        checkDestination(dst, layout, width * 8L, height);
+
+        PackingKernels kernels = PackingKernels.get();
+        float[] row = new float[width * 4];
+        for (int y = 0; y < height; y++) {
+            int from = y * width * 4;
+            for (int i = 0; i < row.length; i += 4) {
+                row[i] = SRGB_TO_LINEAR[rgba[from + i] & 0xff];
+                row[i + 1] = SRGB_TO_LINEAR[rgba[from + i + 1] & 0xff];
+                row[i + 2] = SRGB_TO_LINEAR[rgba[from + i + 2] & 0xff];
+                row[i + 3] = (rgba[from + i + 3] & 0xff) / 255f;
+            }
+            kernels.float16(row, 0, row.length, dst, rowOffset(layout, y));
+        }
+    }
+
+    /**
+     * Encodes a linear value with the sRGB transfer function, clamping to [0, 1].
+     */
+    public static float linearToSrgb(float linear) {
+        return ScalarPackingKernels.encodeSrgb(linear);
+    }
+
+    /**
+     * Decodes an sRGB-encoded value to linear, clamping to [0, 1].
+     */
+    public static float srgbToLinear(float encoded) {
+        return ScalarPackingKernels.decodeSrgb(encoded);
+    }
+
+    private static long rowOffset(ImageCopyTextureLayout layout, int y) {
+        return layout.getOffset() + (long) y * layout.getBytesPerRow();
+    }
+
+    private static void checkSource(int length, int width, int height, int elementsPerPixel) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be positive");
+        }
+        long required = (long) width * height * elementsPerPixel;
+        if (length < required) {
+            throw new IllegalArgumentException("Source holds " + length + " elements, " + required + " required");
+        }
+    }
+
+    private static void checkDestination(MemorySegment dst, ImageCopyTextureLayout layout, long rowBytes, int height) {
+        if (layout.getBytesPerRow() < rowBytes) {
+            throw new IllegalArgumentException("Layout bytesPerRow " + layout.getBytesPerRow()
+                    + " is smaller than a row of " + rowBytes + " bytes");
+        }
+        long required = layout.getOffset() + (long) (height - 1) * layout.getBytesPerRow() + rowBytes;
+        if (dst.byteSize() < required) {
+            throw new IllegalArgumentException("Destination holds " + dst.byteSize() + " bytes, " + required + " required");
+        }
+        if (dst.isReadOnly()) {
+            throw new IllegalArgumentException("Destination is read-only");
+        }
+        if (!dst.isNative() && !(dst.heapBase().orElse(null) instanceof byte[])) {
+            throw new IllegalArgumentException("Destination must be a native or byte[] segment");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.wgpu4j.utils;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Portable packing kernels, also used for the tails the vector kernels leave over.
+ */
+final class ScalarPackingKernels implements PackingKernels {
+
+    static final ScalarPackingKernels INSTANCE = new ScalarPackingKernels();
+
+    private ScalarPackingKernels() {
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public void float16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        for (int i = 0; i < count; i++) {
+            dst.set(ValueLayout.JAVA_SHORT_UNALIGNED, offset + i * 2L, Float.floatToFloat16(src[from + i]));
+        }
+    }
+
+    @Override
+    public void unorm8(float[] src, int from, int count, MemorySegment dst, long offset) {
+        for (int i = 0; i < count; i++) {
+            dst.set(ValueLayout.JAVA_BYTE, offset + i, (byte) unorm(src[from + i], 255f));
+        }
+    }
+
+    @Override
+    public void snorm8(float[] src, int from, int count, MemorySegment dst, long offset) {
+        for (int i = 0; i < count; i++) {
+            dst.set(ValueLayout.JAVA_BYTE, offset + i, (byte) snorm(src[from + i], 127f));
+        }
+    }
+
+    @Override
+    public void unorm16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        for (int i = 0; i < count; i++) {
+            dst.set(ValueLayout.JAVA_SHORT_UNALIGNED, offset + i * 2L, (short) unorm(src[from + i], 65535f));
+        }
+    }
+
+    @Override
+    public void snorm16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        for (int i = 0; i < count; i++) {
+            dst.set(ValueLayout.JAVA_SHORT_UNALIGNED, offset + i * 2L, (short) snorm(src[from + i], 32767f));
+        }
+    }
+
+    @Override
+    public void argbToRgba8(int[] src, int from, int pixels, boolean premultiply, MemorySegment dst, long dstOffset) {
+        for (int i = 0; i < pixels; i++) {
+            int argb = src[from + i];
+            dst.set(ValueLayout.JAVA_INT_UNALIGNED, dstOffset + i * 4L, premultiply ? premultipliedAbgr(argb) : abgr(argb));
+        }
+    }
+
+    @Override
+    public void argbToRgba8(MemorySegment src, long srcOffset, int pixels, boolean premultiply, MemorySegment dst, long dstOffset) {
+        for (int i = 0; i < pixels; i++) {
+            int argb = src.get(ValueLayout.JAVA_INT_UNALIGNED, srcOffset + i * 4L);
+            dst.set(ValueLayout.JAVA_INT_UNALIGNED, dstOffset + i * 4L, premultiply ? premultipliedAbgr(argb) : abgr(argb));
+        }
+    }
+
+    static int abgr(int argb) {
+        return (argb & 0xff00ff00) | ((argb >>> 16) & 0xff) | ((argb & 0xff) << 16);
+    }
+
+    static int premultipliedAbgr(int argb) {
+        int a = argb >>> 24;
+        int r = multiplyUnorm8((argb >>> 16) & 0xff, a);
+        int g = multiplyUnorm8((argb >>> 8) & 0xff, a);
+        int b = multiplyUnorm8(argb & 0xff, a);
+        return (a << 24) | (b << 16) | (g << 8) | r;
+    }
+
+    /**
+     * Computes {@code round(x * y / 255)} for 8-bit values without a division.
+     */
+    static int multiplyUnorm8(int x, int y) {
+        int t = x * y + 128;
+        return (t + (t >>> 8)) >>> 8;
+    }
+
+    @Override
+    public void bgrToRgba8(MemorySegment src, long srcOffset, int pixels, MemorySegment dst, long dstOffset) {
+        for (int i = 0; i < pixels; i++) {
+            long in = srcOffset + i * 3L;
+            long out = dstOffset + i * 4L;
+            dst.set(ValueLayout.JAVA_BYTE, out, src.get(ValueLayout.JAVA_BYTE, in + 2));
+            dst.set(ValueLayout.JAVA_BYTE, out + 1, src.get(ValueLayout.JAVA_BYTE, in + 1));
+            dst.set(ValueLayout.JAVA_BYTE, out + 2, src.get(ValueLayout.JAVA_BYTE, in));
+            dst.set(ValueLayout.JAVA_BYTE, out + 3, (byte) 0xff);
+        }
+    }
+
+    @Override
+    public void premultiplyRgba(float[] rgba, int from, int pixels) {
+        for (int i = 0; i < pixels; i++) {
+            int p = from + i * 4;
+            float alpha = rgba[p + 3];
+            rgba[p] *= alpha;
+            rgba[p + 1] *= alpha;
+            rgba[p + 2] *= alpha;
+        }
+    }
+
+    @Override
+    public void encodeSrgbRgba(float[] rgba, int from, int pixels) {
+        for (int i = 0; i < pixels; i++) {
+            int p = from + i * 4;
+            rgba[p] = encodeSrgb(rgba[p]);
+            rgba[p + 1] = encodeSrgb(rgba[p + 1]);
+            rgba[p + 2] = encodeSrgb(rgba[p + 2]);
+        }
+    }
+
+    static float encodeSrgb(float linear) {
+        float x = Math.min(Math.max(linear, 0f), 1f);
+        return x <= 0.0031308f ? x * 12.92f : (float) (1.055 * Math.pow(x, 1.0 / 2.4) - 0.055);
+    }
+
+    static float decodeSrgb(float encoded) {
+        float x = Math.min(Math.max(encoded, 0f), 1f);
+        return x <= 0.04045f ? x / 12.92f : (float) Math.pow((x + 0.055) / 1.055, 2.4);
+    }
+
+    static int unorm(float value, float scale) {
+        return (int) (Math.min(Math.max(value, 0f), 1f) * scale + 0.5f);
+    }
+
+    static int snorm(float value, float scale) {
+        float scaled = Math.min(Math.max(value, -1f), 1f) * scale;
+        return (int) (scaled + (scaled < 0f ? -0.5f : 0.5f));
+    }
+}
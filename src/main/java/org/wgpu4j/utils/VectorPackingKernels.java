@@ -0,0 +1,233 @@
+package org.wgpu4j.utils;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+/**
+ * Packing kernels built on the Vector API. Only loaded through {@link PackingKernels#get()} when
+ * {@code jdk.incubator.vector} is present.
+ * <p>
+ * Each kernel converts one full float vector per step and narrows it into the low lanes of a byte or
+ * short vector of the same shape. That vector is stored whole, so a step is only taken while the whole
+ * store stays inside the caller's range; the remainder is packed by {@link ScalarPackingKernels}, whose
+ * arithmetic the vector steps reproduce exactly. The one exception is the sRGB curve, whose vector
+ * {@code POW} may differ from {@link Math#pow} in the last bit of a float.
+ */
+final class VectorPackingKernels implements PackingKernels {
+
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> B = VectorSpecies.of(byte.class, F.vectorShape());
+    private static final VectorSpecies<Short> S = VectorSpecies.of(short.class, F.vectorShape());
+    private static final VectorSpecies<Integer> I = VectorSpecies.of(int.class, F.vectorShape());
+
+    // BGR triples to RGBA quads: output byte 4p + c reads input byte 3p + (2 - c); alpha lanes are overwritten.
+    private static final VectorShuffle<Byte> BGR_TO_RGBA = VectorShuffle.fromOp(B, lane -> {
+        int pixel = lane / 4;
+        int channel = lane % 4;
+        return channel == 3 ? 0 : pixel * 3 + 2 - channel;
+    });
+    private static final VectorMask<Byte> BYTE_ALPHA_LANES = VectorMask.fromLong(B, 0x8888888888888888L);
+
+    // Lane j of an RGBA float vector reads the alpha of its own pixel.
+    private static final VectorShuffle<Float> PIXEL_ALPHA = VectorShuffle.fromOp(F, lane -> (lane & ~3) + 3);
+    private static final VectorMask<Float> FLOAT_ALPHA_LANES = VectorMask.fromLong(F, 0x8888888888888888L);
+    private static final boolean WHOLE_PIXELS = F.length() % 4 == 0;
+
+    private static final ScalarPackingKernels TAIL = ScalarPackingKernels.INSTANCE;
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public void float16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        int i = 0;
+        long end = offset + count * 2L;
+        for (; i + F.length() <= count && offset + i * 2L + S.vectorByteSize() <= end; i += F.length()) {
+            IntVector half = toHalf(FloatVector.fromArray(F, src, from + i));
+            half.convertShape(VectorOperators.I2S, S, 0)
+                    .intoMemorySegment(dst, offset + i * 2L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.float16(src, from + i, count - i, dst, offset + i * 2L);
+    }
+
+    /**
+     * Converts floats to half-float bit patterns with round-to-nearest-even, treating the normal,
+     * subnormal and overflow/NaN ranges branch-free.
+     */
+    private static IntVector toHalf(FloatVector value) {
+        IntVector bits = value.reinterpretAsInts();
+        IntVector sign = bits.lanewise(VectorOperators.LSHR, 16).and(0x8000);
+        IntVector abs = bits.and(0x7fffffff);
+
+        // Rebias the exponent from 127 to 15 and round the 13 dropped mantissa bits to nearest even.
+        IntVector mantissaOdd = abs.lanewise(VectorOperators.LSHR, 13).and(1);
+        IntVector normal = abs.add(((15 - 127) << 23) + 0xfff).add(mantissaOdd).lanewise(VectorOperators.LSHR, 13);
+
+        // Below 2^-14 the result is subnormal: adding 0.5f lets the FPU align and round the mantissa.
+        IntVector subnormal = abs.reinterpretAsFloats().add(0.5f).reinterpretAsInts().sub(0x3f000000);
+
+        VectorMask<Integer> isNaN = abs.compare(VectorOperators.GT, 0x7f800000);
+        IntVector special = IntVector.broadcast(abs.species(), 0x7c00).blend(0x7e00, isNaN);
+
+        return normal
+                .blend(subnormal, abs.compare(VectorOperators.LT, 113 << 23))
+                .blend(special, abs.compare(VectorOperators.GE, (127 + 16) << 23))
+                .or(sign);
+    }
+
+    @Override
+    public void unorm8(float[] src, int from, int count, MemorySegment dst, long offset) {
+        int i = 0;
+        long end = offset + count;
+        for (; i + F.length() <= count && offset + i + B.vectorByteSize() <= end; i += F.length()) {
+            FloatVector v = FloatVector.fromArray(F, src, from + i);
+            unorm(v, 255f)
+                    .convertShape(VectorOperators.F2B, B, 0)
+                    .intoMemorySegment(dst, offset + i, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.unorm8(src, from + i, count - i, dst, offset + i);
+    }
+
+    @Override
+    public void snorm8(float[] src, int from, int count, MemorySegment dst, long offset) {
+        int i = 0;
+        long end = offset + count;
+        for (; i + F.length() <= count && offset + i + B.vectorByteSize() <= end; i += F.length()) {
+            FloatVector v = FloatVector.fromArray(F, src, from + i);
+            snorm(v, 127f)
+                    .convertShape(VectorOperators.F2B, B, 0)
+                    .intoMemorySegment(dst, offset + i, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.snorm8(src, from + i, count - i, dst, offset + i);
+    }
+
+    @Override
+    public void unorm16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        int i = 0;
+        long end = offset + count * 2L;
+        for (; i + F.length() <= count && offset + i * 2L + S.vectorByteSize() <= end; i += F.length()) {
+            FloatVector v = FloatVector.fromArray(F, src, from + i);
+            unorm(v, 65535f)
+                    .convertShape(VectorOperators.F2S, S, 0)
+                    .intoMemorySegment(dst, offset + i * 2L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.unorm16(src, from + i, count - i, dst, offset + i * 2L);
+    }
+
+    @Override
+    public void snorm16(float[] src, int from, int count, MemorySegment dst, long offset) {
+        int i = 0;
+        long end = offset + count * 2L;
+        for (; i + F.length() <= count && offset + i * 2L + S.vectorByteSize() <= end; i += F.length()) {
+            FloatVector v = FloatVector.fromArray(F, src, from + i);
+            snorm(v, 32767f)
+                    .convertShape(VectorOperators.F2S, S, 0)
+                    .intoMemorySegment(dst, offset + i * 2L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.snorm16(src, from + i, count - i, dst, offset + i * 2L);
+    }
+
+    @Override
+    public void argbToRgba8(int[] src, int from, int pixels, boolean premultiply, MemorySegment dst, long dstOffset) {
+        int i = 0;
+        for (; i + I.length() <= pixels; i += I.length()) {
+            rgba(IntVector.fromArray(I, src, from + i), premultiply)
+                    .intoMemorySegment(dst, dstOffset + i * 4L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.argbToRgba8(src, from + i, pixels - i, premultiply, dst, dstOffset + i * 4L);
+    }
+
+    @Override
+    public void argbToRgba8(MemorySegment src, long srcOffset, int pixels, boolean premultiply, MemorySegment dst, long dstOffset) {
+        int i = 0;
+        for (; i + I.length() <= pixels; i += I.length()) {
+            rgba(IntVector.fromMemorySegment(I, src, srcOffset + i * 4L, ByteOrder.LITTLE_ENDIAN), premultiply)
+                    .intoMemorySegment(dst, dstOffset + i * 4L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.argbToRgba8(src, srcOffset + i * 4L, pixels - i, premultiply, dst, dstOffset + i * 4L);
+    }
+
+    private static IntVector rgba(IntVector argb, boolean premultiply) {
+        IntVector red = argb.lanewise(VectorOperators.LSHR, 16).and(0xff);
+        IntVector blue = argb.and(0xff);
+        if (!premultiply) {
+            return argb.and(0xff00ff00).or(red).or(blue.lanewise(VectorOperators.LSHL, 16));
+        }
+        IntVector alpha = argb.lanewise(VectorOperators.LSHR, 24);
+        IntVector green = argb.lanewise(VectorOperators.LSHR, 8).and(0xff);
+        return alpha.lanewise(VectorOperators.LSHL, 24)
+                .or(multiplyUnorm8(blue, alpha).lanewise(VectorOperators.LSHL, 16))
+                .or(multiplyUnorm8(green, alpha).lanewise(VectorOperators.LSHL, 8))
+                .or(multiplyUnorm8(red, alpha));
+    }
+
+    private static IntVector multiplyUnorm8(IntVector x, IntVector y) {
+        IntVector t = x.mul(y).add(128);
+        return t.add(t.lanewise(VectorOperators.LSHR, 8)).lanewise(VectorOperators.LSHR, 8);
+    }
+
+    @Override
+    public void bgrToRgba8(MemorySegment src, long srcOffset, int pixels, MemorySegment dst, long dstOffset) {
+        int step = B.length() / 4;
+        int i = 0;
+        // Each step reads a full byte vector but only consumes 3 bytes per output pixel.
+        for (; i + step <= pixels && srcOffset + i * 3L + B.length() <= src.byteSize(); i += step) {
+            ByteVector.fromMemorySegment(B, src, srcOffset + i * 3L, ByteOrder.LITTLE_ENDIAN)
+                    .rearrange(BGR_TO_RGBA)
+                    .blend((byte) 0xff, BYTE_ALPHA_LANES)
+                    .intoMemorySegment(dst, dstOffset + i * 4L, ByteOrder.LITTLE_ENDIAN);
+        }
+        TAIL.bgrToRgba8(src, srcOffset + i * 3L, pixels - i, dst, dstOffset + i * 4L);
+    }
+
+    @Override
+    public void premultiplyRgba(float[] rgba, int from, int pixels) {
+        int i = 0;
+        if (WHOLE_PIXELS) {
+            int step = F.length() / 4;
+            for (; i + step <= pixels; i += step) {
+                FloatVector v = FloatVector.fromArray(F, rgba, from + i * 4);
+                v.mul(v.rearrange(PIXEL_ALPHA)).blend(v, FLOAT_ALPHA_LANES).intoArray(rgba, from + i * 4);
+            }
+        }
+        TAIL.premultiplyRgba(rgba, from + i * 4, pixels - i);
+    }
+
+    @Override
+    public void encodeSrgbRgba(float[] rgba, int from, int pixels) {
+        int i = 0;
+        if (WHOLE_PIXELS) {
+            int step = F.length() / 4;
+            for (; i + step <= pixels; i += step) {
+                FloatVector v = FloatVector.fromArray(F, rgba, from + i * 4);
+                FloatVector x = v.max(0f).min(1f);
+                FloatVector linear = x.mul(12.92f);
+                FloatVector curve = x.lanewise(VectorOperators.POW, 1f / 2.4f).mul(1.055f).sub(0.055f);
+                curve.blend(linear, x.compare(VectorOperators.LE, 0.0031308f))
+                        .blend(v, FLOAT_ALPHA_LANES)
+                        .intoArray(rgba, from + i * 4);
+            }
+        }
+        TAIL.encodeSrgbRgba(rgba, from + i * 4, pixels - i);
+    }
+
+    private static FloatVector unorm(FloatVector v, float scale) {
+        return v.max(0f).min(1f).mul(scale).add(0.5f);
+    }
+
+    private static FloatVector snorm(FloatVector v, float scale) {
+        FloatVector scaled = v.max(-1f).min(1f).mul(scale);
+        FloatVector half = FloatVector.broadcast(F, 0.5f).blend(-0.5f, scaled.compare(VectorOperators.LT, 0f));
+        return scaled.add(half);
+    }
+}
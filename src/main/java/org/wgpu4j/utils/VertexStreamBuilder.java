@@ -0,0 +1,364 @@
+package org.wgpu4j.utils;
+
+import org.wgpu4j.constant.VertexFormat;
+import org.wgpu4j.descriptor.VertexAttribute;
+import org.wgpu4j.descriptor.VertexBufferLayout;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds an interleaved vertex buffer from separate per-attribute arrays, converting each attribute
+ * into the {@link VertexFormat} its {@link VertexBufferLayout} declares.
+ * <pre>{@code
+ * MemorySegment vertices = new VertexStreamBuilder(layout, vertexCount)
+ *         .attribute(0, positions)        // FLOAT32X3
+ *         .attribute(1, normals, 3)       // SNORM8X4, w = 0
+ *         .attribute(2, uvs)              // FLOAT16X2
+ *         .attribute(3, colors)           // UNORM8X4
+ *         .build(arena);
+ * queue.writeBuffer(vertexBuffer, 0, vertices);
+ * }</pre>
+ * Float, half-float and normalized formats take {@code float[]} sources; they are converted in blocks by
+ * Vector API kernels when {@code jdk.incubator.vector} is available and by scalar loops otherwise.
+ * Integer formats take {@code int[]} sources and are narrowed without conversion. A source may have
+ * fewer components per vertex than its format, in which case the missing components are zero. Bytes of
+ * the vertex stride not covered by any attribute are zero as well.
+ */
+public class VertexStreamBuilder {
+
+    private static final int BLOCK_VERTICES = 1024;
+
+    private enum Encoding {
+        FLOAT32(4), FLOAT16(2), UNORM8(1), SNORM8(1), UNORM16(2), SNORM16(2),
+        UINT8(1), SINT8(1), UINT16(2), SINT16(2), UINT32(4), SINT32(4);
+
+        final int componentBytes;
+
+        Encoding(int componentBytes) {
+            this.componentBytes = componentBytes;
+        }
+
+        boolean isInteger() {
+            return ordinal() >= UINT8.ordinal();
+        }
+    }
+
+    private static final class Source {
+        final VertexAttribute attribute;
+        final Encoding encoding;
+        final int formatComponents;
+        final int sourceComponents;
+        final float[] floats;
+        final int[] ints;
+
+        Source(VertexAttribute attribute, Encoding encoding, int formatComponents, int sourceComponents,
+               float[] floats, int[] ints) {
+            this.attribute = attribute;
+            this.encoding = encoding;
+            this.formatComponents = formatComponents;
+            this.sourceComponents = sourceComponents;
+            this.floats = floats;
+            this.ints = ints;
+        }
+    }
+
+    private final VertexBufferLayout layout;
+    private final int vertexCount;
+    private final long stride;
+    private final Source[] sources;
+    private PackingKernels kernels = PackingKernels.get();
+
+    /**
+     * Creates a builder.
+     *
+     * @param layout      The layout of the vertex buffer to produce
+     * @param vertexCount The number of vertices
+     */
+    public VertexStreamBuilder(VertexBufferLayout layout, int vertexCount) {
+        this.layout = Objects.requireNonNull(layout, "layout");
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("vertexCount must not be negative: " + vertexCount);
+        }
+        if (layout.getArrayStride() <= 0) {
+            throw new IllegalArgumentException("Layout must have a positive array stride");
+        }
+        this.vertexCount = vertexCount;
+        this.stride = layout.getArrayStride();
+        this.sources = new Source[layout.getAttributes().size()];
+    }
+
+    /**
+     * Sets the source of a float, half-float or normalized attribute with as many components per vertex
+     * as its format.
+     */
+    public VertexStreamBuilder attribute(int shaderLocation, float[] source) {
+        return attribute(shaderLocation, source, componentCount(find(shaderLocation).getFormat()));
+    }
+
+    /**
+     * Sets the source of a float, half-float or normalized attribute.
+     *
+     * @param shaderLocation   The attribute's shader location in the layout
+     * @param source           Components for every vertex, {@code sourceComponents} per vertex
+     * @param sourceComponents Components per vertex in the source, at most the format's component count
+     */
+    public VertexStreamBuilder attribute(int shaderLocation, float[] source, int sourceComponents) {
+        int index = indexOf(shaderLocation);
+        VertexAttribute attribute = layout.getAttributes().get(index);
+        Encoding encoding = encodingOf(attribute.getFormat());
+        if (encoding.isInteger()) {
+            throw new IllegalArgumentException("Attribute at location " + shaderLocation + " has an integer format; use int[] data");
+        }
+        sources[index] = source(attribute, encoding, sourceComponents, source.length, source, null);
+        return this;
+    }
+
+    /**
+     * Sets the source of an integer attribute with as many components per vertex as its format.
+     */
+    public VertexStreamBuilder attribute(int shaderLocation, int[] source) {
+        return attribute(shaderLocation, source, componentCount(find(shaderLocation).getFormat()));
+    }
+
+    /**
+     * Sets the source of an integer attribute. Values are truncated to the component width.
+     *
+     * @param shaderLocation   The attribute's shader location in the layout
+     * @param source           Components for every vertex, {@code sourceComponents} per vertex
+     * @param sourceComponents Components per vertex in the source, at most the format's component count
+     */
+    public VertexStreamBuilder attribute(int shaderLocation, int[] source, int sourceComponents) {
+        int index = indexOf(shaderLocation);
+        VertexAttribute attribute = layout.getAttributes().get(index);
+        Encoding encoding = encodingOf(attribute.getFormat());
+        if (!encoding.isInteger()) {
+            throw new IllegalArgumentException("Attribute at location " + shaderLocation + " has a float format; use float[] data");
+        }
+        sources[index] = source(attribute, encoding, sourceComponents, source.length, null, source);
+        return this;
+    }
+
+    private Source source(VertexAttribute attribute, Encoding encoding, int sourceComponents, int length,
+                          float[] floats, int[] ints) {
+        int formatComponents = componentCount(attribute.getFormat());
+        if (sourceComponents <= 0 || sourceComponents > formatComponents) {
+            throw new IllegalArgumentException("sourceComponents must be between 1 and " + formatComponents + ": " + sourceComponents);
+        }
+        if ((long) vertexCount * sourceComponents > length) {
+            throw new IllegalArgumentException("Source for location " + attribute.getShaderLocation() + " has " + length
+                    + " components, expected " + (long) vertexCount * sourceComponents);
+        }
+        if (attribute.getOffset() + (long) formatComponents * encoding.componentBytes > stride) {
+            throw new IllegalArgumentException("Attribute at location " + attribute.getShaderLocation() + " exceeds the array stride");
+        }
+        return new Source(attribute, encoding, formatComponents, sourceComponents, floats, ints);
+    }
+
+    /**
+     * Forces the scalar kernels even when the Vector API is available.
+     */
+    public VertexStreamBuilder forceScalar(boolean scalar) {
+        this.kernels = scalar ? PackingKernels.scalar() : PackingKernels.get();
+        return this;
+    }
+
+    /**
+     * Returns true if float attributes are converted with the Vector API.
+     */
+    public boolean isVectorized() {
+        return kernels.isVectorized();
+    }
+
+    /**
+     * Returns true if the Vector API kernels are available in this JVM.
+     */
+    public static boolean isVectorApiAvailable() {
+        return PackingKernels.get().isVectorized();
+    }
+
+    /**
+     * Gets the size of the interleaved stream in bytes.
+     */
+    public long getByteSize() {
+        return vertexCount * stride;
+    }
+
+    /**
+     * Allocates a segment in the arena and writes the interleaved stream into it.
+     */
+    public MemorySegment build(Arena arena) {
+        MemorySegment segment = arena.allocate(getByteSize(), Float.BYTES);
+        writeTo(segment, 0);
+        return segment;
+    }
+
+    /**
+     * Writes the interleaved stream into a segment.
+     *
+     * @param dst    The destination segment
+     * @param offset The byte offset of the first vertex in the segment
+     */
+    public void writeTo(MemorySegment dst, long offset) {
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] == null) {
+                throw new IllegalStateException("No source for attribute at location "
+                        + layout.getAttributes().get(i).getShaderLocation());
+            }
+        }
+
+        MemorySegment target = dst.asSlice(offset, getByteSize());
+        target.fill((byte) 0);
+
+        MemorySegment block = null;
+        for (Source source : sources) {
+            if (source.encoding.isInteger()) {
+                writeIntegers(source, target);
+            } else {
+                if (block == null) {
+                    block = MemorySegment.ofArray(new byte[BLOCK_VERTICES * 4 * Float.BYTES]);
+                }
+                writeFloats(source, target, block);
+            }
+        }
+    }
+
+    private void writeFloats(Source source, MemorySegment target, MemorySegment block) {
+        int components = source.sourceComponents;
+        int elementBytes = components * source.encoding.componentBytes;
+        long attributeOffset = source.attribute.getOffset();
+
+        for (int first = 0; first < vertexCount; first += BLOCK_VERTICES) {
+            int count = Math.min(BLOCK_VERTICES, vertexCount - first);
+            int from = first * components;
+            int length = count * components;
+
+            switch (source.encoding) {
+                case FLOAT32 -> MemorySegment.copy(source.floats, from, block, ValueLayout.JAVA_FLOAT_UNALIGNED, 0, length);
+                case FLOAT16 -> kernels.float16(source.floats, from, length, block, 0);
+                case UNORM8 -> kernels.unorm8(source.floats, from, length, block, 0);
+                case SNORM8 -> kernels.snorm8(source.floats, from, length, block, 0);
+                case UNORM16 -> kernels.unorm16(source.floats, from, length, block, 0);
+                case SNORM16 -> kernels.snorm16(source.floats, from, length, block, 0);
+                default -> throw new IllegalStateException("Not a float encoding: " + source.encoding);
+            }
+
+            scatter(block, elementBytes, count, target, first * stride + attributeOffset);
+        }
+    }
+
+    /**
+     * Copies {@code count} packed elements of {@code elementBytes} bytes each to consecutive vertices.
+     */
+    private void scatter(MemorySegment block, int elementBytes, int count, MemorySegment target, long base) {
+        switch (elementBytes) {
+            case 1 -> {
+                for (int v = 0; v < count; v++) {
+                    target.set(ValueLayout.JAVA_BYTE, base + v * stride, block.get(ValueLayout.JAVA_BYTE, v));
+                }
+            }
+            case 2 -> {
+                for (int v = 0; v < count; v++) {
+                    target.set(ValueLayout.JAVA_SHORT_UNALIGNED, base + v * stride, block.get(ValueLayout.JAVA_SHORT_UNALIGNED, v * 2L));
+                }
+            }
+            case 4 -> {
+                for (int v = 0; v < count; v++) {
+                    target.set(ValueLayout.JAVA_INT_UNALIGNED, base + v * stride, block.get(ValueLayout.JAVA_INT_UNALIGNED, v * 4L));
+                }
+            }
+            case 8 -> {
+                for (int v = 0; v < count; v++) {
+                    target.set(ValueLayout.JAVA_LONG_UNALIGNED, base + v * stride, block.get(ValueLayout.JAVA_LONG_UNALIGNED, v * 8L));
+                }
+            }
+            case 12 -> {
+                for (int v = 0; v < count; v++) {
+                    long at = base + v * stride;
+                    target.set(ValueLayout.JAVA_LONG_UNALIGNED, at, block.get(ValueLayout.JAVA_LONG_UNALIGNED, v * 12L));
+                    target.set(ValueLayout.JAVA_INT_UNALIGNED, at + 8, block.get(ValueLayout.JAVA_INT_UNALIGNED, v * 12L + 8));
+                }
+            }
+            case 16 -> {
+                for (int v = 0; v < count; v++) {
+                    long at = base + v * stride;
+                    target.set(ValueLayout.JAVA_LONG_UNALIGNED, at, block.get(ValueLayout.JAVA_LONG_UNALIGNED, v * 16L));
+                    target.set(ValueLayout.JAVA_LONG_UNALIGNED, at + 8, block.get(ValueLayout.JAVA_LONG_UNALIGNED, v * 16L + 8));
+                }
+            }
+            default -> {
+                for (int v = 0; v < count; v++) {
+                    MemorySegment.copy(block, (long) v * elementBytes, target, base + v * stride, elementBytes);
+                }
+            }
+        }
+    }
+
+    private void writeIntegers(Source source, MemorySegment target) {
+        int components = source.sourceComponents;
+        int componentBytes = source.encoding.componentBytes;
+        long attributeOffset = source.attribute.getOffset();
+
+        for (int v = 0; v < vertexCount; v++) {
+            long at = v * stride + attributeOffset;
+            for (int c = 0; c < components; c++) {
+                int value = source.ints[v * components + c];
+                long componentAt = at + (long) c * componentBytes;
+                switch (componentBytes) {
+                    case 1 -> target.set(ValueLayout.JAVA_BYTE, componentAt, (byte) value);
+                    case 2 -> target.set(ValueLayout.JAVA_SHORT_UNALIGNED, componentAt, (short) value);
+                    default -> target.set(ValueLayout.JAVA_INT_UNALIGNED, componentAt, value);
+                }
+            }
+        }
+    }
+
+    private VertexAttribute find(int shaderLocation) {
+        return layout.getAttributes().get(indexOf(shaderLocation));
+    }
+
+    private int indexOf(int shaderLocation) {
+        List<VertexAttribute> attributes = layout.getAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).getShaderLocation() == shaderLocation) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Layout has no attribute at location " + shaderLocation);
+    }
+
+    private static int componentCount(int format) {
+        return VertexFormat.getSizeInBytes(format) / encodingOf(format).componentBytes;
+    }
+
+    private static Encoding encodingOf(int format) {
+        if (format == VertexFormat.FLOAT32 || format == VertexFormat.FLOAT32X2
+                || format == VertexFormat.FLOAT32X3 || format == VertexFormat.FLOAT32X4) return Encoding.FLOAT32;
+        if (format == VertexFormat.FLOAT16 || format == VertexFormat.FLOAT16X2 || format == VertexFormat.FLOAT16X4)
+            return Encoding.FLOAT16;
+        if (format == VertexFormat.UNORM8 || format == VertexFormat.UNORM8X2 || format == VertexFormat.UNORM8X4)
+            return Encoding.UNORM8;
+        if (format == VertexFormat.SNORM8 || format == VertexFormat.SNORM8X2 || format == VertexFormat.SNORM8X4)
+            return Encoding.SNORM8;
+        if (format == VertexFormat.UNORM16 || format == VertexFormat.UNORM16X2 || format == VertexFormat.UNORM16X4)
+            return Encoding.UNORM16;
+        if (format == VertexFormat.SNORM16 || format == VertexFormat.SNORM16X2 || format == VertexFormat.SNORM16X4)
+            return Encoding.SNORM16;
+        if (format == VertexFormat.UINT8 || format == VertexFormat.UINT8X2 || format == VertexFormat.UINT8X4)
+            return Encoding.UINT8;
+        if (format == VertexFormat.SINT8 || format == VertexFormat.SINT8X2 || format == VertexFormat.SINT8X4)
+            return Encoding.SINT8;
+        if (format == VertexFormat.UINT16 || format == VertexFormat.UINT16X2 || format == VertexFormat.UINT16X4)
+            return Encoding.UINT16;
+        if (format == VertexFormat.SINT16 || format == VertexFormat.SINT16X2 || format == VertexFormat.SINT16X4)
+            return Encoding.SINT16;
+        if (format == VertexFormat.UINT32 || format == VertexFormat.UINT32X2
+                || format == VertexFormat.UINT32X3 || format == VertexFormat.UINT32X4) return Encoding.UINT32;
+        if (format == VertexFormat.SINT32 || format == VertexFormat.SINT32X2
+                || format == VertexFormat.SINT32X3 || format == VertexFormat.SINT32X4) return Encoding.SINT32;
+        throw new IllegalArgumentException("Unsupported vertex format: " + format);
+    }
+}
@@ -0,0 +1,562 @@
+package org.wgpu4j.utils;
+
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assembles WGSL shaders from several files with C-style directives and caches every resolved variant.
+ * <pre>{@code
+ * WgslPreprocessor shaders = new WgslPreprocessor(WgslPreprocessor.SourceLoader.classpath("shaders"));
+ * WgslPreprocessor.Variant lit = shaders.preprocess("pbr/lit.wgsl", Map.of("SHADOWS", "", "MAX_LIGHTS", "8"));
+ * ShaderModule module = device.createShaderModule(lit.toDescriptor("lit"));
+ * }</pre>
+ * Directives start a line with {@code #}:
+ * <ul>
+ *   <li>{@code #include "path"} inserts a file at this point, every time it is included</li>
+ *   <li>{@code #import module::name} or {@code #import "path"} inserts {@code module/name.wgsl} once per variant,
+ *       however many files import it</li>
+ *   <li>{@code #define NAME [value]} and {@code #undef NAME}; names with a value are replaced as whole words
+ *       in the code that follows, but not in comments</li>
+ *   <li>{@code #ifdef NAME}, {@code #ifndef NAME}, {@code #else} and {@code #endif}</li>
+ * </ul>
+ * Quoted paths starting with {@code ./} or {@code ../} are relative to the including file; all other paths
+ * are relative to the loader's root.
+ * <p>
+ * When the result has at least one entry point, functions that no entry point can reach are removed, so
+ * a shared library of helpers costs nothing in the variants that do not use it.
+ * <p>
+ * Variants are cached by entry file and defines. Files are loaded once and kept; after editing a file,
+ * call {@link #invalidate(String)} to drop it and every variant built from it. All methods are thread-safe.
+ */
+public final class WgslPreprocessor {
+
+    /**
+     * Loads shader files by path.
+     */
+    @FunctionalInterface
+    public interface SourceLoader {
+        /**
+         * @param path A normalized path using {@code /} separators
+         * @return The file contents
+         * @throws IOException if the file does not exist or cannot be read
+         */
+        String load(String path) throws IOException;
+
+        /**
+         * Loads files from a directory.
+         */
+        static SourceLoader directory(Path root) {
+            return path -> Files.readString(root.resolve(path), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Loads files from class path resources under a root package directory, such as {@code "shaders"}.
+         */
+        static SourceLoader classpath(String root) {
+            ClassLoader classLoader = WgslPreprocessor.class.getClassLoader();
+            String prefix = root.isEmpty() || root.endsWith("/") ? root : root + "/";
+            return path -> {
+                try (InputStream in = classLoader.getResourceAsStream(prefix + path)) {
+                    if (in == null) {
+                        throw new NoSuchFileException(prefix + path);
+                    }
+                    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            };
+        }
+
+        /**
+         * Serves files from memory, for generated sources and tests.
+         */
+        static SourceLoader of(Map<String, String> files) {
+            Map<String, String> copy = Map.copyOf(files);
+            return path -> {
+                String source = copy.get(path);
+                if (source == null) {
+                    throw new NoSuchFileException(path);
+                }
+                return source;
+            };
+        }
+    }
+
+    /**
+     * A fully resolved shader.
+     */
+    public static final class Variant {
+        private final String path;
+        private final Map<String, String> defines;
+        private final String code;
+        private final Map<String, String> dependencies;
+        private final String hash;
+
+        Variant(String path, Map<String, String> defines, String code, Map<String, String> dependencies) {
+            this.path = path;
+            this.defines = defines;
+            this.code = code;
+            this.dependencies = Collections.unmodifiableMap(dependencies);
+
+            StringBuilder identity = new StringBuilder(path).append('\0');
+            for (Map.Entry<String, String> define : new TreeMap<>(defines).entrySet()) {
+                identity.append(define.getKey()).append('=').append(define.getValue()).append('\0');
+            }
+            for (Map.Entry<String, String> dependency : new TreeMap<>(dependencies).entrySet()) {
+                identity.append(dependency.getKey()).append(':').append(dependency.getValue()).append('\0');
+            }
+            this.hash = sha256(identity.toString());
+        }
+
+        /**
+         * Gets the path of the entry file.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the defines the variant was requested with.
+         */
+        public Map<String, String> getDefines() {
+            return defines;
+        }
+
+        /**
+         * Gets the resolved WGSL source.
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * Gets the files the variant was built from, with the SHA-256 hash of their contents.
+         */
+        public Map<String, String> getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * Gets a hash of the entry file, defines and the contents of every file the variant was built from.
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        /**
+         * Creates a shader module descriptor for this variant.
+         */
+        public ShaderModuleDescriptor toDescriptor(String label) {
+            return ShaderModuleDescriptor.builder()
+                    .label(label)
+                    .wgslCode(code)
+                    .build();
+        }
+    }
+
+    private static final class SourceFile {
+        final String[] lines;
+        final String hash;
+
+        SourceFile(String source) {
+            this.lines = source.split("\r?\n", -1);
+            this.hash = sha256(source);
+        }
+    }
+
+    private static final class Context {
+        final Map<String, String> defines;
+        final Set<String> imported = new HashSet<>();
+        final Deque<String> stack = new ArrayDeque<>();
+        final Map<String, String> dependencies = new LinkedHashMap<>();
+        final StringBuilder out = new StringBuilder();
+
+        Context(Map<String, String> defines) {
+            this.defines = new HashMap<>(defines);
+        }
+    }
+
+    private final SourceLoader loader;
+    private final boolean stripUnusedFunctions;
+    private final Map<String, SourceFile> files = new ConcurrentHashMap<>();
+    private final Map<String, Variant> variants = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a preprocessor that strips unused functions.
+     *
+     * @param loader Loads shader files
+     */
+    public WgslPreprocessor(SourceLoader loader) {
+        this(loader, true);
+    }
+
+    /**
+     * Creates a preprocessor.
+     *
+     * @param loader               Loads shader files
+     * @param stripUnusedFunctions Whether to remove functions no entry point can reach
+     */
+    public WgslPreprocessor(SourceLoader loader, boolean stripUnusedFunctions) {
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.stripUnusedFunctions = stripUnusedFunctions;
+    }
+
+    /**
+     * Resolves a shader without defines.
+     */
+    public Variant preprocess(String path) {
+        return preprocess(path, Map.of());
+    }
+
+    /**
+     * Resolves a shader, or returns the cached variant for the same file and defines.
+     *
+     * @param path    The entry file
+     * @param defines Names to define before processing, with their values; an empty value only defines the name
+     * @return The variant
+     * @throws IllegalArgumentException if a directive is malformed or an include is circular
+     * @throws UncheckedIOException     if a file cannot be loaded
+     */
+    public Variant preprocess(String path, Map<String, String> defines) {
+        String normalized = normalize(path);
+        Map<String, String> sortedDefines = Collections.unmodifiableMap(new TreeMap<>(defines));
+        String key = variantKey(normalized, sortedDefines);
+
+        Variant variant = variants.get(key);
+        if (variant != null) {
+            hits.incrementAndGet();
+            return variant;
+        }
+        misses.incrementAndGet();
+
+        Context context = new Context(sortedDefines);
+        process(normalized, context);
+        String code = context.out.toString();
+        if (stripUnusedFunctions) {
+            code = stripUnusedFunctions(code);
+        }
+        variant = new Variant(normalized, sortedDefines, code, context.dependencies);
+        Variant existing = variants.putIfAbsent(key, variant);
+        return existing != null ? existing : variant;
+    }
+
+    private static String variantKey(String path, Map<String, String> sortedDefines) {
+        StringBuilder key = new StringBuilder(path);
+        for (Map.Entry<String, String> define : sortedDefines.entrySet()) {
+            key.append('\0').append(define.getKey()).append('=').append(define.getValue());
+        }
+        return key.toString();
+    }
+
+    private void process(String path, Context context) {
+        if (context.stack.contains(path)) {
+            throw new IllegalArgumentException("Circular include of " + path + " from " + context.stack.peek());
+        }
+        SourceFile file = load(path);
+        context.dependencies.putIfAbsent(path, file.hash);
+        context.stack.push(path);
+
+        // Each entry is {active, branch taken, seen #else}; the file's code is emitted while every entry is active.
+        Deque<boolean[]> conditions = new ArrayDeque<>();
+        boolean active = true;
+        int[] commentDepth = {0};
+        for (int i = 0; i < file.lines.length; i++) {
+            String line = file.lines[i];
+            String trimmed = line.strip();
+            if (!trimmed.startsWith("#")) {
+                if (active) {
+                    context.out.append(substitute(line, context.defines, commentDepth)).append('\n');
+                }
+                continue;
+            }
+
+            String location = path + ":" + (i + 1);
+            String[] parts = trimmed.substring(1).strip().split("\\s+", 2);
+            String directive = parts[0];
+            String argument = parts.length > 1 ? parts[1].strip() : "";
+            switch (directive) {
+                case "ifdef", "ifndef" -> {
+                    boolean defined = context.defines.containsKey(requireName(argument, location));
+                    boolean taken = directive.equals("ifdef") == defined;
+                    conditions.push(new boolean[]{active, taken, false});
+                    active = active && taken;
+                }
+                case "else" -> {
+                    boolean[] condition = conditions.peek();
+                    if (condition == null) {
+                        throw new IllegalArgumentException(location + ": #else without #ifdef");
+                    }
+                    if (condition[2]) {
+                        throw new IllegalArgumentException(location + ": second #else for the same #ifdef");
+                    }
+                    condition[2] = true;
+                    active = condition[0] && !condition[1];
+                    condition[1] = true;
+                }
+                case "endif" -> {
+                    boolean[] condition = conditions.poll();
+                    if (condition == null) {
+                        throw new IllegalArgumentException(location + ": #endif without #ifdef");
+                    }
+                    active = condition[0];
+                }
+                default -> {
+                    if (active) {
+                        directive(directive, argument, path, location, context);
+                    }
+                }
+            }
+        }
+        if (!conditions.isEmpty()) {
+            throw new IllegalArgumentException(path + ": missing #endif");
+        }
+        context.stack.pop();
+    }
+
+    private void directive(String directive, String argument, String path, String location, Context context) {
+        switch (directive) {
+            case "define" -> {
+                String[] parts = argument.split("\\s+", 2);
+                context.defines.put(requireName(parts[0], location), parts.length > 1 ? parts[1].strip() : "");
+            }
+            case "undef" -> context.defines.remove(requireName(argument, location));
+            case "include" -> process(resolve(path, quoted(argument, location), location), context);
+            case "import" -> {
+                String target = argument.startsWith("\"")
+                        ? resolve(path, quoted(argument, location), location)
+                        : normalize(requireModule(argument, location).replace("::", "/") + ".wgsl");
+                if (context.imported.add(target)) {
+                    process(target, context);
+                }
+            }
+            default -> throw new IllegalArgumentException(location + ": unknown directive #" + directive);
+        }
+    }
+
+    private SourceFile load(String path) {
+        SourceFile file = files.get(path);
+        if (file != null) {
+            return file;
+        }
+        try {
+            file = new SourceFile(loader.load(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load shader " + path, e);
+        }
+        SourceFile existing = files.putIfAbsent(path, file);
+        return existing != null ? existing : file;
+    }
+
+    private static String requireName(String name, String location) {
+        if (!WgslSyntax.isIdentifier(name)) {
+            throw new IllegalArgumentException(location + ": expected a name but found '" + name + "'");
+        }
+        return name;
+    }
+
+    private static String requireModule(String module, String location) {
+        for (String part : module.split("::", -1)) {
+            requireName(part, location);
+        }
+        return module;
+    }
+
+    private static String quoted(String argument, String location) {
+        if (argument.length() < 2 || !argument.startsWith("\"") || !argument.endsWith("\"")) {
+            throw new IllegalArgumentException(location + ": expected a quoted path but found '" + argument + "'");
+        }
+        return argument.substring(1, argument.length() - 1);
+    }
+
+    private static String resolve(String from, String target, String location) {
+        if (target.startsWith("./") || target.startsWith("../")) {
+            int slash = from.lastIndexOf('/');
+            target = (slash < 0 ? "" : from.substring(0, slash + 1)) + target;
+        }
+        String normalized = normalize(target);
+        if (normalized.startsWith("../")) {
+            throw new IllegalArgumentException(location + ": path escapes the shader root: " + target);
+        }
+        return normalized;
+    }
+
+    private static String normalize(String path) {
+        Deque<String> parts = new ArrayDeque<>();
+        for (String part : path.replace('\\', '/').split("/")) {
+            if (part.isEmpty() || part.equals(".")) {
+                continue;
+            }
+            if (part.equals("..") && !parts.isEmpty() && !parts.peekLast().equals("..")) {
+                parts.removeLast();
+            } else {
+                parts.addLast(part);
+            }
+        }
+        return String.join("/", parts);
+    }
+
+    /**
+     * Replaces defines in a line of code, outside of comments.
+     *
+     * @param commentDepth The nesting depth of block comments open at the start of the line, updated to the
+     *                     depth at its end
+     */
+    private static String substitute(String line, Map<String, String> defines, int[] commentDepth) {
+        if (defines.isEmpty() && commentDepth[0] == 0 && !line.contains("/*")) {
+            return line;
+        }
+        StringBuilder result = null;
+        int copied = 0;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            // Block comments nest, as in WgslSyntax.items.
+            if (line.startsWith("/*", i)) {
+                commentDepth[0]++;
+                i += 2;
+                continue;
+            }
+            if (commentDepth[0] > 0) {
+                if (line.startsWith("*/", i)) {
+                    commentDepth[0]--;
+                    i += 2;
+                } else {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && i + 1 < line.length() && line.charAt(i + 1) == '/') {
+                break;
+            }
+            if (!WgslSyntax.isIdentifierStart(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < line.length() && WgslSyntax.isIdentifierPart(line.charAt(i))) {
+                i++;
+            }
+            String value = defines.get(line.substring(start, i));
+            if (value != null && !value.isEmpty()) {
+                if (result == null) {
+                    result = new StringBuilder(line.length() + 16);
+                }
+                result.append(line, copied, start).append(value);
+                copied = i;
+            }
+        }
+        if (result == null) {
+            return line;
+        }
+        return result.append(line, copied, line.length()).toString();
+    }
+
+    /**
+     * Removes functions that cannot be reached from an entry point. Sources without entry points,
+     * such as helper libraries, are returned unchanged.
+     *
+     * @param wgsl WGSL source
+     * @return The source without unreachable functions
+     */
+    public static String stripUnusedFunctions(String wgsl) {
+        List<WgslSyntax.Item> items = WgslSyntax.items(wgsl);
+        List<WgslSyntax.Item> roots = new ArrayList<>();
+        for (WgslSyntax.Item item : items) {
+            if (item.stage != null) {
+                roots.add(item);
+            }
+        }
+        if (roots.isEmpty()) {
+            return wgsl;
+        }
+        for (WgslSyntax.Item item : items) {
+            if (item.function == null) {
+                roots.add(item);
+            }
+        }
+        Set<WgslSyntax.Item> reachable = WgslSyntax.reachable(items, roots);
+
+        StringBuilder out = new StringBuilder(wgsl.length());
+        int position = 0;
+        for (WgslSyntax.Item item : items) {
+            if (item.function != null && !reachable.contains(item)) {
+                out.append(wgsl, position, item.start);
+                position = item.end;
+            }
+        }
+        return out.append(wgsl, position, wgsl.length()).toString();
+    }
+
+    /**
+     * Drops a file and every cached variant built from it, so the next request reloads it.
+     *
+     * @param path The file path
+     */
+    public void invalidate(String path) {
+        String normalized = normalize(path);
+        files.remove(normalized);
+        variants.values().removeIf(variant -> variant.dependencies.containsKey(normalized));
+    }
+
+    /**
+     * Drops all loaded files and cached variants.
+     */
+    public void invalidateAll() {
+        files.clear();
+        variants.clear();
+    }
+
+    /**
+     * Gets the number of cached variants.
+     */
+    public int getVariantCount() {
+        return variants.size();
+    }
+
+    /**
+     * Gets the number of requests served from the variant cache.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of requests that had to be preprocessed.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
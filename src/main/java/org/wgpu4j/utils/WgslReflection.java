@@ -0,0 +1,451 @@
+package org.wgpu4j.utils;
+
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.SamplerBindingType;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.constant.StorageTextureAccess;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureSampleType;
+import org.wgpu4j.constant.TextureViewDimension;
+import org.wgpu4j.descriptor.BindGroupLayoutDescriptor;
+import org.wgpu4j.descriptor.BindGroupLayoutEntry;
+import org.wgpu4j.descriptor.SamplerBindingLayout;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.descriptor.StorageTextureBindingLayout;
+import org.wgpu4j.descriptor.TextureBindingLayout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the resources a WGSL shader binds, so bind group layouts can be derived from the shader instead of
+ * being written by hand.
+ * <pre>{@code
+ * WgslReflection reflection = WgslReflection.reflect(source);
+ * List<BindGroupLayoutDescriptor> layouts = reflection.getBindGroupLayouts();
+ * }</pre>
+ * Every module-scope {@code var} with {@code @group} and {@code @binding} attributes becomes a {@link Resource}.
+ * Its visibility is the set of stages whose entry points use it, directly or through the functions they call;
+ * a resource no entry point uses is visible to every stage the module has an entry point for, except that
+ * writable storage buffers and textures are never visible to the vertex stage.
+ * <p>
+ * The derived layouts are canonical: entries are sorted by binding and take their parameters from the
+ * declaration alone, following the defaults WebGPU uses for automatic layouts. Float textures are filterable,
+ * samplers are filtering, and buffers have no dynamic offset and no minimum binding size. Bindings that need
+ * something else must be declared by hand. {@code texture_external} is not supported.
+ * <p>
+ * Vertex and fragment shaders in separate modules can be combined with {@link #merge(WgslReflection...)}.
+ */
+public final class WgslReflection {
+
+    private static final Pattern VARIABLE = Pattern.compile(
+            "^\\s*(.*?)\\bvar\\b\\s*(?:<([^>]*)>)?\\s*([A-Za-z_]\\w*)\\s*:\\s*(.*?)\\s*;\\s*$", Pattern.DOTALL);
+    private static final Pattern GROUP = Pattern.compile("@\\s*group\\s*\\(\\s*([^)]*?)\\s*\\)");
+    private static final Pattern BINDING = Pattern.compile("@\\s*binding\\s*\\(\\s*([^)]*?)\\s*\\)");
+
+    /**
+     * A resource bound by a shader.
+     */
+    public static final class Resource {
+        private final int group;
+        private final int binding;
+        private final String name;
+        private final String declaration;
+        private final EnumSet<ShaderStageFlags> visibility;
+        private final BindGroupLayoutEntry entry;
+
+        private Resource(int group, int binding, String name, String declaration,
+                         EnumSet<ShaderStageFlags> visibility, BindGroupLayoutEntry entry) {
+            this.group = group;
+            this.binding = binding;
+            this.name = name;
+            this.declaration = declaration;
+            this.visibility = visibility;
+            this.entry = entry;
+        }
+
+        public int getGroup() {
+            return group;
+        }
+
+        public int getBinding() {
+            return binding;
+        }
+
+        /**
+         * Gets the variable name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the address space and type, such as {@code var<storage,read_write>: array<f32>}, without whitespace.
+         */
+        public String getDeclaration() {
+            return declaration;
+        }
+
+        public EnumSet<ShaderStageFlags> getVisibility() {
+            return EnumSet.copyOf(visibility);
+        }
+
+        /**
+         * Gets the layout entry for this resource.
+         */
+        public BindGroupLayoutEntry getEntry() {
+            return entry;
+        }
+
+        private Resource withVisibility(EnumSet<ShaderStageFlags> stages) {
+            return new Resource(group, binding, name, declaration, stages, WgslReflection.withVisibility(entry, stages));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("@group(%d) @binding(%d) %s %s %s", group, binding, name, declaration, visibility);
+        }
+    }
+
+    private final Map<ShaderStageFlags, List<String>> entryPoints;
+    private final List<Resource> resources;
+
+    private WgslReflection(Map<ShaderStageFlags, List<String>> entryPoints, List<Resource> resources) {
+        entryPoints.replaceAll((stage, names) -> Collections.unmodifiableList(names));
+        this.entryPoints = Collections.unmodifiableMap(entryPoints);
+        this.resources = Collections.unmodifiableList(resources);
+    }
+
+    /**
+     * Reflects a WGSL shader module descriptor.
+     *
+     * @throws IllegalArgumentException if the descriptor is not WGSL or declares an unsupported resource
+     */
+    public static WgslReflection reflect(ShaderModuleDescriptor descriptor) {
+        if (descriptor.getSourceKind() != ShaderModuleDescriptor.SourceKind.WGSL) {
+            throw new IllegalArgumentException("Only WGSL shaders can be reflected, got " + descriptor.getSourceKind());
+        }
+        return reflect(descriptor.getWgslCode());
+    }
+
+    /**
+     * Reflects WGSL source.
+     *
+     * @param wgsl The shader source, after preprocessing
+     * @return The reflection
+     * @throws IllegalArgumentException if a resource declaration is malformed or unsupported
+     */
+    public static WgslReflection reflect(String wgsl) {
+        List<WgslSyntax.Item> items = WgslSyntax.items(wgsl);
+
+        Map<ShaderStageFlags, List<String>> entryPoints = new EnumMap<>(ShaderStageFlags.class);
+        EnumSet<ShaderStageFlags> moduleStages = EnumSet.noneOf(ShaderStageFlags.class);
+        Map<ShaderStageFlags, Set<String>> usedByStage = new EnumMap<>(ShaderStageFlags.class);
+        for (WgslSyntax.Item item : items) {
+            if (item.stage != null && item.function != null) {
+                entryPoints.computeIfAbsent(item.stage, stage -> new ArrayList<>()).add(item.function);
+                moduleStages.add(item.stage);
+                Set<String> used = usedByStage.computeIfAbsent(item.stage, stage -> new HashSet<>());
+                for (WgslSyntax.Item reached : WgslSyntax.reachable(items, List.of(item))) {
+                    used.addAll(reached.identifiers);
+                }
+            }
+        }
+
+        Map<Long, Resource> resources = new TreeMap<>();
+        for (WgslSyntax.Item item : items) {
+            if (item.function != null) {
+                continue;
+            }
+            Matcher variable = VARIABLE.matcher(item.code);
+            if (!variable.matches()) {
+                continue;
+            }
+            String attributes = variable.group(1);
+            Matcher group = GROUP.matcher(attributes);
+            Matcher binding = BINDING.matcher(attributes);
+            boolean hasGroup = group.find();
+            boolean hasBinding = binding.find();
+            if (!hasGroup && !hasBinding) {
+                continue;
+            }
+            String name = variable.group(3);
+            if (!hasGroup || !hasBinding) {
+                throw new IllegalArgumentException("Resource '" + name + "' needs both @group and @binding");
+            }
+
+            int groupIndex = index(group.group(1), name);
+            int bindingIndex = index(binding.group(1), name);
+            String addressSpace = variable.group(2) == null ? "" : variable.group(2).replaceAll("\\s+", "");
+            String type = variable.group(4).replaceAll("\\s+", "");
+
+            EnumSet<ShaderStageFlags> visibility = EnumSet.noneOf(ShaderStageFlags.class);
+            for (Map.Entry<ShaderStageFlags, Set<String>> used : usedByStage.entrySet()) {
+                if (used.getValue().contains(name)) {
+                    visibility.add(used.getKey());
+                }
+            }
+            boolean unused = visibility.isEmpty();
+            if (unused) {
+                visibility.addAll(moduleStages);
+            }
+
+            BindGroupLayoutEntry entry = entry(bindingIndex, visibility, addressSpace, type, name);
+            if (unused && isWritable(entry) && visibility.remove(ShaderStageFlags.VERTEX)) {
+                entry = withVisibility(entry, visibility);
+            }
+            String declaration = (addressSpace.isEmpty() ? "var" : "var<" + addressSpace + ">") + ": " + type;
+            Resource resource = new Resource(groupIndex, bindingIndex, name, declaration, visibility, entry);
+            Resource existing = resources.put(key(groupIndex, bindingIndex), resource);
+            if (existing != null) {
+                throw new IllegalArgumentException(String.format("Resources '%s' and '%s' both use @group(%d) @binding(%d)",
+                        existing.name, name, groupIndex, bindingIndex));
+            }
+        }
+        return new WgslReflection(entryPoints, new ArrayList<>(resources.values()));
+    }
+
+    /**
+     * Combines the reflections of modules used together in one pipeline, such as a vertex and a fragment module.
+     * Resources declared by several modules are visible to the stages of all of them.
+     *
+     * @throws IllegalArgumentException if modules declare different resources at the same group and binding
+     */
+    public static WgslReflection merge(WgslReflection... modules) {
+        Map<ShaderStageFlags, List<String>> entryPoints = new EnumMap<>(ShaderStageFlags.class);
+        Map<Long, Resource> resources = new TreeMap<>();
+        for (WgslReflection module : modules) {
+            // Modules often share names such as "main", so entry points are only unique per stage.
+            module.entryPoints.forEach((stage, names) -> {
+                List<String> merged = entryPoints.computeIfAbsent(stage, s -> new ArrayList<>());
+                for (String name : names) {
+                    if (!merged.contains(name)) {
+                        merged.add(name);
+                    }
+                }
+            });
+            for (Resource resource : module.resources) {
+                resources.merge(key(resource.group, resource.binding), resource, (a, b) -> {
+                    if (!a.declaration.equals(b.declaration)) {
+                        throw new IllegalArgumentException(String.format(
+                                "@group(%d) @binding(%d) is declared as '%s' and as '%s'",
+                                a.group, a.binding, a.declaration, b.declaration));
+                    }
+                    EnumSet<ShaderStageFlags> visibility = EnumSet.copyOf(a.visibility);
+                    visibility.addAll(b.visibility);
+                    if (isWritable(a.entry)) {
+                        // The vertex stage cannot write to storage, so a module that does not use the
+                        // resource must not make it visible there.
+                        visibility.remove(ShaderStageFlags.VERTEX);
+                    }
+                    return a.withVisibility(visibility);
+                });
+            }
+        }
+        return new WgslReflection(entryPoints, new ArrayList<>(resources.values()));
+    }
+
+    /**
+     * Gets the names of the entry points of each stage, in declaration order.
+     */
+    public Map<ShaderStageFlags, List<String>> getEntryPoints() {
+        return entryPoints;
+    }
+
+    /**
+     * Gets the bound resources, sorted by group and binding.
+     */
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    /**
+     * Gets the number of bind groups, which is one more than the highest group index used.
+     */
+    public int getGroupCount() {
+        return resources.isEmpty() ? 0 : resources.get(resources.size() - 1).group + 1;
+    }
+
+    /**
+     * Gets the canonical layout of one bind group. Groups with no resources have an empty layout.
+     *
+     * @param group The group index
+     * @return The layout descriptor
+     */
+    public BindGroupLayoutDescriptor getBindGroupLayout(int group) {
+        BindGroupLayoutDescriptor.Builder builder = BindGroupLayoutDescriptor.builder();
+        for (Resource resource : resources) {
+            if (resource.group == group) {
+                builder.entry(resource.entry);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the canonical layouts of groups 0 up to {@link #getGroupCount()}.
+     */
+    public List<BindGroupLayoutDescriptor> getBindGroupLayouts() {
+        List<BindGroupLayoutDescriptor> layouts = new ArrayList<>();
+        for (int group = 0; group < getGroupCount(); group++) {
+            layouts.add(getBindGroupLayout(group));
+        }
+        return layouts;
+    }
+
+    private static long key(int group, int binding) {
+        return ((long) group << 32) | (binding & 0xffffffffL);
+    }
+
+    private static int index(String value, String name) {
+        String digits = value.endsWith("u") || value.endsWith("i") ? value.substring(0, value.length() - 1) : value;
+        try {
+            int index = Integer.parseInt(digits);
+            if (index >= 0) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Resource '" + name + "' must use an integer literal for @group and @binding, got '" + value + "'");
+    }
+
+    private static BindGroupLayoutEntry entry(int binding, EnumSet<ShaderStageFlags> visibility,
+                                              String addressSpace, String type, String name) {
+        BindGroupLayoutEntry.Builder entry = BindGroupLayoutEntry.builder()
+                .binding(binding)
+                .visibility(visibility);
+
+        if (!addressSpace.isEmpty()) {
+            return switch (addressSpace) {
+                case "uniform" -> entry.bufferType(BufferBindingType.UNIFORM).build();
+                case "storage", "storage,read" -> entry.bufferType(BufferBindingType.READ_ONLY_STORAGE).build();
+                case "storage,read_write" -> entry.bufferType(BufferBindingType.STORAGE).build();
+                default -> throw new IllegalArgumentException("Resource '" + name + "' has unsupported address space '" + addressSpace + "'");
+            };
+        }
+
+        if (type.equals("sampler")) {
+            return entry.samplerBindingLayout(SamplerBindingLayout.builder()
+                    .type(SamplerBindingType.FILTERING)
+                    .build()).build();
+        }
+        if (type.equals("sampler_comparison")) {
+            return entry.samplerBindingLayout(SamplerBindingLayout.builder()
+                    .type(SamplerBindingType.COMPARISON)
+                    .build()).build();
+        }
+
+        int open = type.indexOf('<');
+        String base = open < 0 ? type : type.substring(0, open);
+        String[] arguments = open < 0 || !type.endsWith(">")
+                ? new String[0] : type.substring(open + 1, type.length() - 1).split(",");
+
+        if (base.startsWith("texture_storage_") && arguments.length == 2) {
+            return entry.storageTextureBindingLayout(StorageTextureBindingLayout.builder()
+                    .viewDimension(dimension(base.substring("texture_storage_".length()), name))
+                    .format(format(arguments[0], name))
+                    .access(switch (arguments[1]) {
+                        case "read" -> StorageTextureAccess.READ_ONLY;
+                        case "write" -> StorageTextureAccess.WRITE_ONLY;
+                        case "read_write" -> StorageTextureAccess.READ_WRITE;
+                        default -> throw new IllegalArgumentException("Resource '" + name + "' has unknown access '" + arguments[1] + "'");
+                    })
+                    .build()).build();
+        }
+        if (base.equals("texture_depth_multisampled_2d")) {
+            return entry.textureBindingLayout(TextureBindingLayout.builder()
+                    .sampleType(TextureSampleType.DEPTH)
+                    .viewDimension(TextureViewDimension.TWO_D)
+                    .multisampled(true)
+                    .build()).build();
+        }
+        if (base.startsWith("texture_depth_")) {
+            return entry.textureBindingLayout(TextureBindingLayout.builder()
+                    .sampleType(TextureSampleType.DEPTH)
+                    .viewDimension(dimension(base.substring("texture_depth_".length()), name))
+                    .build()).build();
+        }
+        if (base.equals("texture_multisampled_2d") && arguments.length == 1) {
+            TextureSampleType sampleType = sampleType(arguments[0], name);
+            return entry.textureBindingLayout(TextureBindingLayout.builder()
+                    // Multisampled float textures cannot be filtered
+                    .sampleType(sampleType == TextureSampleType.FLOAT ? TextureSampleType.UNFILTERABLE_FLOAT : sampleType)
+                    .viewDimension(TextureViewDimension.TWO_D)
+                    .multisampled(true)
+                    .build()).build();
+        }
+        if (base.startsWith("texture_") && !base.equals("texture_external") && arguments.length == 1) {
+            return entry.textureBindingLayout(TextureBindingLayout.builder()
+                    .sampleType(sampleType(arguments[0], name))
+                    .viewDimension(dimension(base.substring("texture_".length()), name))
+                    .build()).build();
+        }
+        throw new IllegalArgumentException("Resource '" + name + "' has unsupported type '" + type + "'");
+    }
+
+    private static TextureViewDimension dimension(String suffix, String name) {
+        return switch (suffix) {
+            case "1d" -> TextureViewDimension.ONE_D;
+            case "2d" -> TextureViewDimension.TWO_D;
+            case "2d_array" -> TextureViewDimension.TWO_D_ARRAY;
+            case "3d" -> TextureViewDimension.THREE_D;
+            case "cube" -> TextureViewDimension.CUBE;
+            case "cube_array" -> TextureViewDimension.CUBE_ARRAY;
+            default -> throw new IllegalArgumentException("Resource '" + name + "' has unknown texture dimension '" + suffix + "'");
+        };
+    }
+
+    private static TextureSampleType sampleType(String scalar, String name) {
+        return switch (scalar) {
+            case "f32" -> TextureSampleType.FLOAT;
+            case "i32" -> TextureSampleType.SINT;
+            case "u32" -> TextureSampleType.UINT;
+            default -> throw new IllegalArgumentException("Resource '" + name + "' has unknown sample type '" + scalar + "'");
+        };
+    }
+
+    private static TextureFormat format(String texelFormat, String name) {
+        for (TextureFormat format : TextureFormat.values()) {
+            if (format.name().replace("_", "").equalsIgnoreCase(texelFormat)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Resource '" + name + "' has unknown texel format '" + texelFormat + "'");
+    }
+
+    /**
+     * Whether a binding is writable storage, which WebGPU does not allow in the vertex stage.
+     */
+    private static boolean isWritable(BindGroupLayoutEntry entry) {
+        return switch (entry.getBindingType()) {
+            case BUFFER -> entry.getBufferType() == BufferBindingType.STORAGE;
+            case STORAGE_TEXTURE -> entry.getStorageTextureBindingLayout().getAccess() != StorageTextureAccess.READ_ONLY;
+            default -> false;
+        };
+    }
+
+    private static BindGroupLayoutEntry withVisibility(BindGroupLayoutEntry entry, EnumSet<ShaderStageFlags> visibility) {
+        BindGroupLayoutEntry.Builder builder = BindGroupLayoutEntry.builder()
+                .binding(entry.getBinding())
+                .visibility(visibility);
+        return switch (entry.getBindingType()) {
+            case BUFFER -> builder.bufferType(entry.getBufferType())
+                    .hasDynamicOffset(entry.hasDynamicOffset())
+                    .minBindingSize(entry.getMinBindingSize())
+                    .build();
+            case SAMPLER -> builder.samplerBindingLayout(entry.getSamplerBindingLayout()).build();
+            case TEXTURE -> builder.textureBindingLayout(entry.getTextureBindingLayout()).build();
+            case STORAGE_TEXTURE -> builder.storageTextureBindingLayout(entry.getStorageTextureBindingLayout()).build();
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package org.wgpu4j.utils;
+
+import org.wgpu4j.constant.ShaderStageFlags;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits WGSL into top-level declarations. This is a scanner, not a parser: it tracks comments and bracket
+ * depth, which is enough to find functions, entry points and the identifiers each declaration refers to.
+ */
+final class WgslSyntax {
+
+    /**
+     * A top-level declaration, from the end of the previous one up to its closing brace or semicolon.
+     */
+    static final class Item {
+        int start;
+        int end;
+        /** The function name, or null if the declaration is not a function. */
+        String function;
+        /** The entry point stage, or null if the declaration is not an entry point. */
+        ShaderStageFlags stage;
+        /** The declaration with comments replaced by spaces. */
+        final StringBuilder code = new StringBuilder();
+        final Set<String> identifiers = new LinkedHashSet<>();
+    }
+
+    private WgslSyntax() {
+    }
+
+    static List<Item> items(String wgsl) {
+        List<Item> items = new ArrayList<>();
+        Item item = new Item();
+        boolean sawAttributeAt = false;
+        String previousIdentifier = null;
+        int depth = 0;
+        int i = 0;
+        int n = wgsl.length();
+        while (i < n) {
+            char c = wgsl.charAt(i);
+            if (c == '/' && i + 1 < n && wgsl.charAt(i + 1) == '/') {
+                while (i < n && wgsl.charAt(i) != '\n') {
+                    i++;
+                }
+                item.code.append(' ');
+                continue;
+            }
+            if (c == '/' && i + 1 < n && wgsl.charAt(i + 1) == '*') {
+                int nesting = 1;
+                i += 2;
+                while (i < n && nesting > 0) {
+                    if (wgsl.startsWith("/*", i)) {
+                        nesting++;
+                        i += 2;
+                    } else if (wgsl.startsWith("*/", i)) {
+                        nesting--;
+                        i += 2;
+                    } else {
+                        i++;
+                    }
+                }
+                item.code.append(' ');
+                continue;
+            }
+            if (isIdentifierStart(c)) {
+                int start = i;
+                while (i < n && isIdentifierPart(wgsl.charAt(i))) {
+                    i++;
+                }
+                String identifier = wgsl.substring(start, i);
+                item.code.append(identifier);
+                ShaderStageFlags stage = sawAttributeAt && depth == 0 ? stage(identifier) : null;
+                if (depth == 0 && item.function == null && "fn".equals(previousIdentifier)) {
+                    item.function = identifier;
+                } else if (stage != null) {
+                    item.stage = stage;
+                } else {
+                    item.identifiers.add(identifier);
+                }
+                previousIdentifier = identifier;
+                sawAttributeAt = false;
+                continue;
+            }
+            item.code.append(c);
+            sawAttributeAt = c == '@';
+            if (c == '{' || c == '(' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ')' || c == ']') {
+                depth--;
+                if (c == '}' && depth == 0) {
+                    item = close(items, item, i + 1);
+                }
+            } else if (c == ';' && depth == 0) {
+                item = close(items, item, i + 1);
+            }
+            i++;
+        }
+        return items;
+    }
+
+    private static Item close(List<Item> items, Item item, int end) {
+        item.end = end;
+        items.add(item);
+        Item next = new Item();
+        next.start = end;
+        return next;
+    }
+
+    private static ShaderStageFlags stage(String attribute) {
+        return switch (attribute) {
+            case "vertex" -> ShaderStageFlags.VERTEX;
+            case "fragment" -> ShaderStageFlags.FRAGMENT;
+            case "compute" -> ShaderStageFlags.COMPUTE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Finds the declarations reachable from the roots by following references to functions.
+     */
+    static Set<Item> reachable(List<Item> items, Collection<Item> roots) {
+        Map<String, Item> functions = new HashMap<>();
+        for (Item item : items) {
+            if (item.function != null) {
+                functions.put(item.function, item);
+            }
+        }
+
+        Set<Item> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Item> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            Item item = pending.poll();
+            if (!reachable.add(item)) {
+                continue;
+            }
+            for (String identifier : item.identifiers) {
+                Item callee = functions.get(identifier);
+                if (callee != null && !reachable.contains(callee)) {
+                    pending.add(callee);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    static boolean isIdentifier(String name) {
+        if (name.isEmpty() || !isIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!isIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
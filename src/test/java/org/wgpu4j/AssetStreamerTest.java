@@ -0,0 +1,193 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.render.AssetStreamer;
+import org.wgpu4j.resource.*;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for background asset loading with budgeted uploads.
+ */
+class AssetStreamerTest {
+
+    private static final int ASSET_SIZE = 4096;
+    private static final int ASSET_COUNT = 6;
+    private static final long BYTES_PER_FRAME = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testUploadsStayWithinBudget() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             Buffer target = device.createBuffer(BufferDescriptor.builder()
+                     .size((long) ASSET_SIZE * ASSET_COUNT)
+                     .usage(BufferUsage.COPY_DST | BufferUsage.COPY_SRC)
+                     .build());
+             Buffer readback = device.createBuffer(BufferDescriptor.builder()
+                     .size((long) ASSET_SIZE * ASSET_COUNT)
+                     .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                     .build());
+             AssetStreamer streamer = AssetStreamer.builder(device)
+                     .maxInFlight(2)
+                     .bytesPerFrame(BYTES_PER_FRAME)
+                     .timePerFrame(Duration.ofSeconds(1))
+                     .build()) {
+
+            // Hold every decoder until all requests are queued, so the in-flight limit is observable.
+            CountDownLatch queued = new CountDownLatch(1);
+            List<AssetStreamer.Request> requests = new ArrayList<>();
+            for (int i = 0; i < ASSET_COUNT; i++) {
+                long offset = (long) i * ASSET_SIZE;
+                AssetStreamer.Priority priority = i == ASSET_COUNT - 1 ? AssetStreamer.Priority.HIGH : AssetStreamer.Priority.NORMAL;
+                requests.add(streamer.load(writeAsset(i), priority, (contents, arena) -> {
+                    queued.await();
+                    return AssetStreamer.Upload.buffer(target, offset, contents);
+                }));
+            }
+            assertEquals(2, streamer.getInFlightCount());
+            assertEquals(ASSET_COUNT - 2, streamer.getPendingCount());
+
+            AssetStreamer.Request cancelled = requests.get(3);
+            assertTrue(cancelled.cancel());
+            queued.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!streamer.isIdle() && System.nanoTime() < deadline) {
+                assertTrue(streamer.update() <= BYTES_PER_FRAME);
+                Thread.sleep(1);
+            }
+            assertTrue(streamer.isIdle());
+            assertEquals((long) (ASSET_COUNT - 1) * ASSET_SIZE, streamer.getBytesUploaded());
+            assertEquals(AssetStreamer.State.CANCELLED, cancelled.getState());
+            assertTrue(cancelled.getFuture().isCancelled() || cancelled.getFuture().isCompletedExceptionally());
+
+            try (CommandEncoder encoder = device.createCommandEncoder()) {
+                encoder.copyBufferToBuffer(target, 0, readback, 0, readback.getSize());
+                try (CommandBuffer commands = encoder.finish()) {
+                    device.getQueue().submit(commands);
+                }
+            }
+            CompletableFuture<Void> mapped = readback.mapAsync(MapMode.READ, 0, readback.getSize());
+            while (!mapped.isDone() && System.nanoTime() < deadline) {
+                instance.processEvents();
+                Thread.sleep(1);
+            }
+            mapped.get(1, TimeUnit.SECONDS);
+
+            MemorySegment contents = readback.getConstMappedRange(0, readback.getSize());
+            for (int i = 0; i < ASSET_COUNT; i++) {
+                requests.get(i).getFuture().handle((result, error) -> null).get(1, TimeUnit.SECONDS);
+                byte expected = i == 3 ? 0 : (byte) (i + 1);
+                assertEquals(expected, contents.get(ValueLayout.JAVA_BYTE, (long) i * ASSET_SIZE));
+                assertEquals(expected, contents.get(ValueLayout.JAVA_BYTE, (long) (i + 1) * ASSET_SIZE - 1));
+            }
+            readback.unmap();
+        }
+    }
+
+    @Test
+    void testDecoderFailureCompletesFuture() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             AssetStreamer streamer = AssetStreamer.builder(device).build()) {
+
+            AssetStreamer.Request missing = streamer.load(tempDir.resolve("missing.bin"),
+                    (contents, arena) -> fail("Decoder must not run for a missing file"));
+            AssetStreamer.Request broken = streamer.load(writeAsset(0), (contents, arena) -> {
+                throw new IllegalStateException("corrupt asset");
+            });
+
+            assertThrows(ExecutionException.class, () -> missing.getFuture().get(5, TimeUnit.SECONDS));
+            ExecutionException error = assertThrows(ExecutionException.class, () -> broken.getFuture().get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            assertEquals(AssetStreamer.State.FAILED, missing.getState());
+            assertEquals(AssetStreamer.State.FAILED, broken.getState());
+        }
+    }
+
+    @Test
+    void testConcurrentLoadsAllComplete() throws Exception {
+        int threads = 4;
+        int loadsPerThread = 50;
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             Buffer target = device.createBuffer(BufferDescriptor.builder()
+                     .size(ASSET_SIZE)
+                     .usage(BufferUsage.COPY_DST)
+                     .build());
+             AssetStreamer streamer = AssetStreamer.builder(device)
+                     .maxInFlight(1)
+                     .build()) {
+
+            Path asset = writeAsset(0);
+            List<AssetStreamer.Request> requests = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService loaders = Executors.newFixedThreadPool(threads);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> submitted = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    submitted.add(loaders.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < loadsPerThread; i++) {
+                            requests.add(streamer.load(asset,
+                                    (contents, arena) -> AssetStreamer.Upload.buffer(target, 0, contents)));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (!submitted.stream().allMatch(Future::isDone) || !streamer.isIdle()) {
+                    assertTrue(System.nanoTime() < deadline, "Requests were left waiting");
+                    streamer.update();
+                    Thread.sleep(1);
+                }
+                for (Future<?> result : submitted) {
+                    result.get();
+                }
+            } finally {
+                loaders.shutdown();
+            }
+
+            assertEquals(threads * loadsPerThread, requests.size());
+            for (AssetStreamer.Request request : requests) {
+                request.getFuture().get(1, TimeUnit.SECONDS);
+                assertEquals(AssetStreamer.State.DONE, request.getState());
+            }
+        }
+    }
+
+    private Path writeAsset(int index) throws Exception {
+        byte[] contents = new byte[ASSET_SIZE];
+        Arrays.fill(contents, (byte) (index + 1));
+        return Files.write(tempDir.resolve("asset-" + index + ".bin"), contents);
+    }
+}
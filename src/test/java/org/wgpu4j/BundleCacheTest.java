@@ -0,0 +1,74 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.BundleCache;
+import org.wgpu4j.render.DrawCommand;
+import org.wgpu4j.resource.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for render bundle caching and invalidation.
+ */
+class BundleCacheTest {
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(f32(i), 0.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 0.0, 0.0, 1.0);
+            }
+            """;
+
+    @Test
+    void testReuseAndInvalidation() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build());
+             BundleCache<String> cache = new BundleCache<>(device, RenderBundleEncoderDescriptor.builder()
+                     .colorFormat(TextureFormat.RGBA8_UNORM)
+                     .build())) {
+
+            List<DrawCommand> statics = List.of(
+                    DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, 0).build(),
+                    DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, 1).build());
+
+            RenderBundle first = cache.get("static", statics);
+            assertSame(first, cache.get("static", List.of(
+                    DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, 0).build(),
+                    DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, 1).build())));
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getRecordCount());
+
+            RenderBundle changed = cache.get("static", List.of(statics.get(0)));
+            assertNotSame(first, changed);
+            assertTrue(first.isClosed());
+
+            assertEquals(1, cache.invalidateReferencing(pipeline));
+            assertNotSame(changed, cache.get("static", List.of(statics.get(0))));
+            assertEquals(3, cache.getRecordCount());
+
+            cache.endFrame();
+            assertEquals(1, cache.size());
+            cache.endFrame();
+            assertEquals(0, cache.size());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.ErrorType;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.DeviceDescriptor;
+import org.wgpu4j.resource.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for routing uncaptured device errors to a listener.
+ */
+class DeviceErrorListenerTest {
+
+    @Test
+    void testProductionInstanceReportsUncapturedErrors() throws Exception {
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicReference<ErrorType> type = new AtomicReference<>();
+        AtomicReference<String> message = new AtomicReference<>();
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        try (Instance instance = Instance.createProduction();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice(DeviceDescriptor.builder()
+                     .label("Error listener device")
+                     .errorListener((errorType, errorMessage) -> {
+                         type.set(errorType);
+                         message.set(errorMessage);
+                         thread.set(Thread.currentThread());
+                         reported.countDown();
+                     })
+                     .build()).get(5, TimeUnit.SECONDS)) {
+
+            // MAP_READ may only be combined with COPY_DST
+            try (Buffer invalid = device.createBuffer(BufferDescriptor.builder()
+                    .size(64)
+                    .usage(BufferUsage.MAP_READ | BufferUsage.STORAGE)
+                    .build())) {
+                assertTrue(reported.await(5, TimeUnit.SECONDS), "the listener receives the error");
+            }
+
+            assertEquals(ErrorType.VALIDATION, type.get());
+            assertFalse(message.get().isEmpty());
+            assertTrue(thread.get().getName().startsWith("wgpu4j-device-events-"), thread.get().getName());
+        }
+    }
+
+    @Test
+    void testListenerRunsOnGivenExecutor() throws Exception {
+        CountDownLatch reported = new CountDownLatch(1);
+        Executor executor = command -> Thread.ofPlatform().name("custom-error-thread").start(command);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice(DeviceDescriptor.builder()
+                     .errorListener((errorType, errorMessage) -> {
+                         threadName.set(Thread.currentThread().getName());
+                         reported.countDown();
+                     }, executor)
+                     .build()).get(5, TimeUnit.SECONDS);
+             Buffer invalid = device.createBuffer(BufferDescriptor.builder()
+                     .size(64)
+                     .usage(BufferUsage.MAP_READ | BufferUsage.STORAGE)
+                     .build())) {
+
+            assertTrue(reported.await(5, TimeUnit.SECONDS));
+            assertEquals("custom-error-thread", threadName.get());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.IndexFormat;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.DrawCommand;
+import org.wgpu4j.resource.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for building draw commands.
+ */
+class DrawCommandTest {
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(f32(i), 0.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 0.0, 0.0, 1.0);
+            }
+            """;
+
+    @Test
+    void testDrawMethodMustMatchIndexBuffer() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build());
+             Buffer indices = device.createBuffer(BufferDescriptor.builder()
+                     .size(12)
+                     .usage(BufferUsage.INDEX)
+                     .build())) {
+
+            DrawCommand indexed = DrawCommand.builder()
+                    .pipeline(pipeline)
+                    .indexBuffer(indices, IndexFormat.UINT32)
+                    .drawIndexed(3, 1, 0, 5, 0)
+                    .build();
+            assertTrue(indexed.isIndexed());
+            assertEquals(5, indexed.getBaseVertex());
+            assertFalse(DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, 0).build().isIndexed());
+
+            assertThrows(IllegalArgumentException.class, () -> DrawCommand.builder()
+                    .pipeline(pipeline)
+                    .drawIndexed(3, 1, 0, 5, 0)
+                    .build());
+            assertThrows(IllegalArgumentException.class, () -> DrawCommand.builder()
+                    .pipeline(pipeline)
+                    .indexBuffer(indices, IndexFormat.UINT32)
+                    .draw(3, 1, 0, 0)
+                    .build());
+        }
+    }
+}
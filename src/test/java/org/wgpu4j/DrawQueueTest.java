@@ -0,0 +1,77 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.render.DrawQueue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for draw queue key packing and radix sorting.
+ */
+class DrawQueueTest {
+
+    @Test
+    void testSortMatchesUnsignedOrder() {
+        DrawQueue queue = new DrawQueue(16);
+        Random random = new Random(42);
+        long[] expected = new long[10_000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextLong();
+            queue.add(expected[i], 0, DrawQueue.NONE, 3, 1, 0, i);
+        }
+
+        queue.sort();
+
+        Long[] boxed = Arrays.stream(expected).boxed().toArray(Long[]::new);
+        Arrays.sort(boxed, Long::compareUnsigned);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(boxed[i], queue.getSortedKey(i));
+            assertEquals(boxed[i], expected[queue.getSortedDraw(i)]);
+        }
+    }
+
+    @Test
+    void testSortIsStableAndGroupsByPipelineFirst() {
+        DrawQueue queue = new DrawQueue();
+        int farDraw = queue.add(DrawQueue.sortKey(0, 5, 0, 0.9f), 0, DrawQueue.NONE, 3, 1, 0, 0);
+        int otherPipeline = queue.add(DrawQueue.sortKey(1, 0, 0, 0.0f), 1, DrawQueue.NONE, 3, 1, 0, 0);
+        int nearDraw = queue.add(DrawQueue.sortKey(0, 5, 0, 0.1f), 0, DrawQueue.NONE, 3, 1, 0, 0);
+        int firstTie = queue.add(DrawQueue.sortKey(0, 2, 0, 0.5f), 0, DrawQueue.NONE, 3, 1, 0, 0);
+        int secondTie = queue.add(DrawQueue.sortKey(0, 2, 0, 0.5f), 0, DrawQueue.NONE, 3, 1, 0, 0);
+
+        queue.sort();
+
+        assertEquals(firstTie, queue.getSortedDraw(0));
+        assertEquals(secondTie, queue.getSortedDraw(1));
+        assertEquals(nearDraw, queue.getSortedDraw(2));
+        assertEquals(farDraw, queue.getSortedDraw(3));
+        assertEquals(otherPipeline, queue.getSortedDraw(4));
+    }
+
+    @Test
+    void testDepthQuantizationClamps() {
+        assertEquals(0, DrawQueue.quantizeDepth(-1.0f));
+        assertEquals(0, DrawQueue.quantizeDepth(Float.NaN));
+        assertEquals((1 << 20) - 1, DrawQueue.quantizeDepth(2.0f));
+        assertTrue(DrawQueue.quantizeDepth(0.25f) < DrawQueue.quantizeDepth(0.5f));
+    }
+
+    @Test
+    void testReadingUnsortedQueueFails() {
+        DrawQueue queue = new DrawQueue();
+        queue.add(1L, 0, DrawQueue.NONE, 3, 1, 0, 0);
+        assertThrows(IllegalStateException.class, () -> queue.getSortedDraw(0));
+    }
+
+    @Test
+    void testVertexBufferSlotsAreChecked() {
+        DrawQueue queue = new DrawQueue();
+        int draw = queue.add(1L, 0, 0, 3, 1, 0, 0);
+        queue.vertexBuffer(draw, DrawQueue.MAX_VERTEX_BUFFERS - 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> queue.vertexBuffer(draw, DrawQueue.MAX_VERTEX_BUFFERS, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.vertexBuffer(draw + 1, 0, 1));
+    }
+}
@@ -0,0 +1,90 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.render.GpuFrustumCuller;
+import org.wgpu4j.resource.*;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GPU frustum culling and indirect argument generation.
+ */
+class GpuFrustumCullerTest {
+
+    private static final float[] IDENTITY = {
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0,
+            0, 0, 0, 1
+    };
+
+    @Test
+    void testPlaneExtraction() {
+        float[] planes = GpuFrustumCuller.extractFrustumPlanes(IDENTITY);
+        assertArrayEquals(new float[]{1, 0, 0, 1}, slice(planes, 0), 1e-6f);
+        assertArrayEquals(new float[]{-1, 0, 0, 1}, slice(planes, 1), 1e-6f);
+        assertArrayEquals(new float[]{0, 0, 1, 0}, slice(planes, 4), 1e-6f);
+        assertArrayEquals(new float[]{0, 0, -1, 1}, slice(planes, 5), 1e-6f);
+    }
+
+    private static float[] slice(float[] planes, int plane) {
+        float[] result = new float[4];
+        System.arraycopy(planes, plane * 4, result, 0, 4);
+        return result;
+    }
+
+    @Test
+    void testCullWritesIndirectArguments() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             GpuFrustumCuller culler = new GpuFrustumCuller(device, 256);
+             Buffer readback = device.createBuffer(BufferDescriptor.builder()
+                     .size(GpuFrustumCuller.INDIRECT_ARGS_SIZE)
+                     .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                     .build())) {
+
+            float[] spheres = new float[200 * 4];
+            for (int i = 0; i < 200; i++) {
+                boolean inside = i % 3 == 0;
+                spheres[i * 4] = inside ? 0.0f : 5.0f;
+                spheres[i * 4 + 2] = 0.5f;
+                spheres[i * 4 + 3] = 0.1f;
+            }
+            culler.setInstanceBounds(spheres, 200);
+            culler.setDrawArguments(36, 6, 2);
+            culler.setViewProjection(IDENTITY);
+
+            try (CommandEncoder encoder = device.createCommandEncoder()) {
+                culler.cull(encoder);
+                encoder.copyBufferToBuffer(culler.getIndirectBuffer(), 0, readback, 0, GpuFrustumCuller.INDIRECT_ARGS_SIZE);
+                try (CommandBuffer commands = encoder.finish()) {
+                    device.getQueue().submit(commands);
+                }
+            }
+
+            CompletableFuture<Void> mapped = readback.mapAsync(MapMode.READ, 0, GpuFrustumCuller.INDIRECT_ARGS_SIZE);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!mapped.isDone() && System.nanoTime() < deadline) {
+                instance.processEvents();
+                Thread.sleep(1);
+            }
+            mapped.get(1, TimeUnit.SECONDS);
+
+            MemorySegment args = readback.getConstMappedRange(0, GpuFrustumCuller.INDIRECT_ARGS_SIZE);
+            assertEquals(36, args.getAtIndex(ValueLayout.JAVA_INT, 0));
+            assertEquals(67, args.getAtIndex(ValueLayout.JAVA_INT, 1));
+            assertEquals(6, args.getAtIndex(ValueLayout.JAVA_INT, 2));
+            assertEquals(2, args.getAtIndex(ValueLayout.JAVA_INT, 3));
+            readback.unmap();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.resource.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for per-device GPU memory accounting.
+ */
+class GpuMemoryRegistryTest {
+
+    @Test
+    void testBufferAndTextureAccounting() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS)) {
+
+            GpuMemoryRegistry registry = device.getMemoryRegistry();
+            AtomicLong budgetTotal = new AtomicLong();
+            registry.setSoftBudget(64 * 1024, (r, total, budget) -> budgetTotal.set(total));
+
+            try (Buffer buffer = device.createBuffer(BufferDescriptor.builder()
+                    .label("mesh/vertices")
+                    .size(4096)
+                    .usage(BufferUsage.VERTEX | BufferUsage.COPY_DST)
+                    .build())) {
+
+                assertEquals(4096, buffer.getSize());
+                assertEquals(4096, registry.getBufferBytes());
+
+                try (Texture texture = device.createTexture(TextureDescriptor.builder()
+                        .label("shadow/cascade0")
+                        .size(256, 256)
+                        .format(TextureFormat.RGBA8_UNORM)
+                        .mipLevelCount(9)
+                        .usage(TextureUsage.TEXTURE_BINDING)
+                        .build())) {
+
+                    long expected = 0;
+                    for (int level = 0; level < 9; level++) {
+                        long side = Math.max(1, 256 >> level);
+                        expected += side * side * 4;
+                    }
+                    assertEquals(expected, texture.getByteSize());
+                    assertEquals(expected, registry.getBytesWithLabelPrefix("shadow/"));
+                    assertEquals(4096, registry.getBytesByLabelPrefix("/").get("mesh"));
+                    assertEquals(4096, registry.getBytesWithUsage(GpuMemoryRegistry.Kind.BUFFER, BufferUsage.VERTEX));
+                    assertEquals(4096 + expected, budgetTotal.get());
+                }
+
+                assertEquals(0, registry.getTextureBytes());
+            }
+
+            assertEquals(0, registry.getTotalBytes());
+        }
+    }
+}
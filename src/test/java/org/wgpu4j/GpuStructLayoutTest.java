@@ -0,0 +1,148 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.utils.GpuStructLayout;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for mapping records to WGSL struct layouts.
+ */
+class GpuStructLayoutTest {
+
+    record Light(@GpuStructLayout.Type("vec3<f32>") float[] position, float intensity,
+                 @GpuStructLayout.Type("vec3<f32>") float[] color, int flags) {
+    }
+
+    record Camera(@GpuStructLayout.Type("mat4x4<f32>") float[] viewProjection,
+                  @GpuStructLayout.Type("mat3x3<f32>") float[] normalMatrix,
+                  @GpuStructLayout.Type("vec2<f32>") float[] jitter,
+                  boolean enabled) {
+    }
+
+    record Scene(Camera camera,
+                 @GpuStructLayout.Type("array<Light, 2>") Light[] lights,
+                 @GpuStructLayout.Type("u32") int lightCount,
+                 @GpuStructLayout.Type("array<vec3<f32>, 2>") float[] ambient) {
+    }
+
+    record Unannotated(float[] values) {
+    }
+
+    private static float floatAt(MemorySegment segment, long offset) {
+        return segment.get(ValueLayout.JAVA_FLOAT_UNALIGNED, offset);
+    }
+
+    private static int intAt(MemorySegment segment, long offset) {
+        return segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+    }
+
+    private static float[] sequence(int count, float start) {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = start + i;
+        }
+        return values;
+    }
+
+    @Test
+    void testOffsetsFollowWgslRules() {
+        GpuStructLayout<Light> light = GpuStructLayout.of(Light.class);
+        assertSame(light, GpuStructLayout.of(Light.class));
+        assertEquals(0, light.getOffset("position"));
+        assertEquals(12, light.getOffset("intensity"), "a scalar fills the padding after a vec3");
+        assertEquals(16, light.getOffset("color"));
+        assertEquals(28, light.getOffset("flags"));
+        assertEquals(32, light.getSize());
+        assertEquals(16, light.getAlignment());
+        assertEquals(12, light.getLayout().byteOffset(MemoryLayout.PathElement.groupElement("intensity")));
+
+        GpuStructLayout<Camera> camera = GpuStructLayout.of(Camera.class);
+        assertEquals(64, camera.getOffset("normalMatrix"));
+        assertEquals(112, camera.getOffset("jitter"), "mat3x3 columns are padded to 16 bytes");
+        assertEquals(120, camera.getOffset("enabled"));
+        assertEquals(128, camera.getSize());
+
+        GpuStructLayout<Scene> scene = GpuStructLayout.of(Scene.class);
+        assertEquals(128, scene.getOffset("lights"));
+        assertEquals(192, scene.getOffset("lightCount"));
+        assertEquals(208, scene.getOffset("ambient"));
+        assertEquals(240, scene.getSize());
+        assertEquals(scene.getSize(), scene.getLayout().byteSize());
+    }
+
+    @Test
+    void testWgslText() {
+        String wgsl = GpuStructLayout.of(Scene.class).toWgsl();
+        assertTrue(wgsl.indexOf("struct Camera") < wgsl.indexOf("struct Scene"), wgsl);
+        assertTrue(wgsl.indexOf("struct Light") < wgsl.indexOf("struct Scene"), wgsl);
+        assertTrue(wgsl.contains("    normalMatrix: mat3x3<f32>,\n"), wgsl);
+        assertTrue(wgsl.contains("    enabled: u32,\n"), wgsl);
+        assertTrue(wgsl.contains("    lights: array<Light, 2>,\n"), wgsl);
+        assertTrue(wgsl.contains("    ambient: array<vec3<f32>, 2>,\n"), wgsl);
+        assertEquals(1, wgsl.split("struct Light", -1).length - 1);
+    }
+
+    @Test
+    void testWrite() {
+        GpuStructLayout<Scene> layout = GpuStructLayout.of(Scene.class);
+        Light first = new Light(new float[]{1, 2, 3}, 4, new float[]{5, 6, 7}, 8);
+        Light second = new Light(new float[]{11, 12, 13}, 14, new float[]{15, 16, 17}, 18);
+        Scene scene = new Scene(
+                new Camera(sequence(16, 100), sequence(9, 200), new float[]{0.5f, -0.5f}, true),
+                new Light[]{first, second}, 2, new float[]{0.1f, 0.2f, 0.3f, 0.4f, 0.5f, 0.6f});
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate(layout.getSize() + 16);
+            segment.fill((byte) 0x7f);
+            layout.write(segment, 16, scene);
+            MemorySegment struct = segment.asSlice(16);
+
+            assertEquals(115, floatAt(struct, 60));
+            // mat3x3: column 1 starts at byte 16 of the matrix, after one float of padding
+            assertEquals(200, floatAt(struct, 64));
+            assertEquals(203, floatAt(struct, 64 + 16));
+            assertEquals(208, floatAt(struct, 64 + 40));
+            assertEquals(0x7f7f7f7f, intAt(struct, 64 + 12), "padding is left untouched");
+            assertEquals(-0.5f, floatAt(struct, 116));
+            assertEquals(1, intAt(struct, 120));
+
+            assertEquals(3, floatAt(struct, 128 + 8));
+            assertEquals(4, floatAt(struct, 128 + 12));
+            assertEquals(8, intAt(struct, 128 + 28));
+            assertEquals(11, floatAt(struct, 160));
+            assertEquals(17, floatAt(struct, 160 + 24));
+            assertEquals(2, intAt(struct, 192));
+            assertEquals(0.4f, floatAt(struct, 208 + 16));
+            assertEquals(0.6f, floatAt(struct, 208 + 24));
+        }
+
+        GpuStructLayout<Light> lights = GpuStructLayout.of(Light.class);
+        byte[] bytes = new byte[(int) lights.getStride() * 2];
+        lights.write(MemorySegment.ofArray(bytes), 0, first, second);
+        assertEquals(14, floatAt(MemorySegment.ofArray(bytes), 32 + 12));
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment allocated = lights.allocate(arena, List.of(first, second));
+            assertEquals(64, allocated.byteSize());
+            assertEquals(18, intAt(allocated, 60));
+        }
+    }
+
+    @Test
+    void testInvalidRecords() {
+        assertThrows(IllegalArgumentException.class, () -> GpuStructLayout.of(Unannotated.class));
+
+        GpuStructLayout<Light> light = GpuStructLayout.of(Light.class);
+        Light shortColor = new Light(new float[]{1, 2, 3}, 4, new float[]{5, 6}, 8);
+        try (Arena arena = Arena.ofConfined()) {
+            assertThrows(IllegalArgumentException.class, () -> light.allocate(arena, shortColor));
+        }
+    }
+}
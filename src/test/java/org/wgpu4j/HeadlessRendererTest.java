@@ -0,0 +1,114 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.descriptor.RenderPassColorAttachment;
+import org.wgpu4j.descriptor.RenderPassDescriptor;
+import org.wgpu4j.render.HeadlessRenderer;
+import org.wgpu4j.resource.RenderPassEncoder;
+
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for offscreen rendering with pipelined readback.
+ */
+class HeadlessRendererTest {
+
+    // 100 RGBA8 texels per row need padding to 512 bytes, so every frame exercises the row repacking.
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 3;
+    private static final int FRAMES = 5;
+
+    private static final HeadlessRenderer.FrameCallback CLEAR_BY_INDEX = (encoder, target, frameIndex) -> {
+        try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                .colorAttachment(RenderPassColorAttachment.builder()
+                        .view(target)
+                        .clearColor(frameIndex * 50 / 255.0, 0.0, 1.0, 1.0)
+                        .build())
+                .build())) {
+            pass.end();
+        }
+    };
+
+    @Test
+    void testFramesArriveInOrderAndTightlyPacked() {
+        List<Long> indices = new ArrayList<>();
+        List<Integer> reds = new ArrayList<>();
+
+        try (HeadlessRenderer renderer = HeadlessRenderer.builder()
+                .size(WIDTH, HEIGHT)
+                .sink(frame -> {
+                    assertEquals((long) WIDTH * HEIGHT * 4, frame.getPixels().byteSize());
+                    long last = frame.getPixels().byteSize() - 4;
+                    assertEquals(frame.getPixels().get(ValueLayout.JAVA_BYTE, 0),
+                            frame.getPixels().get(ValueLayout.JAVA_BYTE, last));
+                    assertEquals((byte) 255, frame.getPixels().get(ValueLayout.JAVA_BYTE, last + 2));
+                    indices.add(frame.getIndex());
+                    reds.add(Byte.toUnsignedInt(frame.getPixels().get(ValueLayout.JAVA_BYTE, 0)));
+                })
+                .build()) {
+
+            for (int i = 0; i < FRAMES; i++) {
+                assertEquals(i, renderer.render(CLEAR_BY_INDEX));
+                assertTrue(renderer.getSubmittedFrameCount() - renderer.getDeliveredFrameCount()
+                        <= renderer.getFramesInFlight());
+            }
+            renderer.flush();
+            assertEquals(FRAMES, renderer.getDeliveredFrameCount());
+        }
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), indices);
+        assertEquals(List.of(0, 50, 100, 150, 200), reds);
+    }
+
+    @Test
+    void testPublisherReceivesCopies() throws Exception {
+        List<HeadlessRenderer.Frame> received = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        try (HeadlessRenderer renderer = HeadlessRenderer.builder()
+                .size(WIDTH, HEIGHT)
+                .framesInFlight(2)
+                .publisher()
+                .build()) {
+
+            renderer.getPublisher().subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(HeadlessRenderer.Frame item) {
+                    received.add(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+
+            for (int i = 0; i < FRAMES; i++) {
+                renderer.render(CLEAR_BY_INDEX);
+            }
+        }
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(FRAMES, received.size());
+        for (int i = 0; i < FRAMES; i++) {
+            assertEquals(i * 50, Byte.toUnsignedInt(received.get(i).getPixels().get(ValueLayout.JAVA_BYTE, 0)));
+        }
+    }
+}
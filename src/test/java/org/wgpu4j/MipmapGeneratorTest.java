@@ -0,0 +1,166 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.MipmapGenerator;
+import org.wgpu4j.resource.*;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for generating mip chains on the GPU.
+ */
+class MipmapGeneratorTest {
+
+    private static final int SIZE = 16;
+    private static final int LEVELS = 5;
+    private static final int LAYERS = 2;
+
+    @Test
+    void testLevelCount() {
+        assertEquals(1, MipmapGenerator.levelCount(1, 1));
+        assertEquals(5, MipmapGenerator.levelCount(16, 16));
+        assertEquals(11, MipmapGenerator.levelCount(1024, 3));
+        assertTrue(MipmapGenerator.isSupported(TextureFormat.RGBA8_UNORM_SRGB));
+        assertFalse(MipmapGenerator.isSupported(TextureFormat.RGBA8_UINT));
+        assertFalse(MipmapGenerator.isSupported(TextureFormat.DEPTH32_FLOAT));
+    }
+
+    @Test
+    void testGenerateArrayLayersAndSrgb() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             MipmapGenerator mipmaps = new MipmapGenerator(device);
+             Texture linear = createTexture(device, TextureFormat.RGBA8_UNORM);
+             Texture srgb = createTexture(device, TextureFormat.RGBA8_UNORM_SRGB);
+             Buffer readback = device.createBuffer(BufferDescriptor.builder()
+                     .size(2L * LAYERS * 256)
+                     .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                     .build())) {
+
+            upload(device, linear);
+            upload(device, srgb);
+
+            // The second round reuses the cached pipelines, views and bind groups.
+            for (int round = 0; round < 2; round++) {
+                try (CommandEncoder encoder = device.createCommandEncoder()) {
+                    mipmaps.generate(encoder, linear);
+                    mipmaps.generate(encoder, srgb);
+                    copySmallestLevel(encoder, linear, readback, 0);
+                    copySmallestLevel(encoder, srgb, readback, LAYERS * 256L);
+                    try (CommandBuffer commands = encoder.finish()) {
+                        device.getQueue().submit(commands);
+                    }
+                }
+            }
+            assertEquals(2, mipmaps.getPipelineCount());
+            assertEquals(2, mipmaps.getCachedTextureCount());
+
+            CompletableFuture<Void> mapped = readback.mapAsync(MapMode.READ, 0, readback.getSize());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!mapped.isDone() && System.nanoTime() < deadline) {
+                instance.processEvents();
+                Thread.sleep(1);
+            }
+            mapped.get(1, TimeUnit.SECONDS);
+
+            MemorySegment texels = readback.getConstMappedRange(0, readback.getSize());
+            // Layer 0 is a black and white checkerboard, which averages to mid grey.
+            assertEquals(128, channel(texels, 0, 0), 2);
+            assertEquals(255, channel(texels, 0, 3));
+            // Layer 1 is solid green and stays green.
+            assertEquals(0, channel(texels, 256, 0));
+            assertEquals(255, channel(texels, 256, 1));
+            // Averaged in linear space, the sRGB checkerboard encodes 0.5 as 188 rather than 128.
+            assertEquals(188, channel(texels, 512, 0), 2);
+            assertEquals(255, channel(texels, 768, 1));
+            readback.unmap();
+
+            mipmaps.evict(linear);
+            assertEquals(1, mipmaps.getCachedTextureCount());
+        }
+    }
+
+    @Test
+    void testRejectsUnsupportedTextures() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             MipmapGenerator mipmaps = new MipmapGenerator(device);
+             Texture integer = device.createTexture(TextureDescriptor.builder()
+                     .size(SIZE, SIZE)
+                     .format(TextureFormat.RGBA8_UINT)
+                     .mipLevelCount(LEVELS)
+                     .usage(TextureUsage.TEXTURE_BINDING | TextureUsage.RENDER_ATTACHMENT)
+                     .build());
+             Texture sampledOnly = device.createTexture(TextureDescriptor.builder()
+                     .size(SIZE, SIZE)
+                     .format(TextureFormat.RGBA8_UNORM)
+                     .mipLevelCount(LEVELS)
+                     .usage(TextureUsage.TEXTURE_BINDING)
+                     .build());
+             CommandEncoder encoder = device.createCommandEncoder()) {
+
+            assertThrows(IllegalArgumentException.class, () -> mipmaps.generate(encoder, integer));
+            assertThrows(IllegalArgumentException.class, () -> mipmaps.generate(encoder, sampledOnly));
+            assertEquals(0, mipmaps.getPipelineCount());
+        }
+    }
+
+    private static Texture createTexture(Device device, TextureFormat format) {
+        return device.createTexture(TextureDescriptor.builder()
+                .label("mipmap-test")
+                .size(SIZE, SIZE, LAYERS)
+                .format(format)
+                .mipLevelCount(LEVELS)
+                .usage(TextureUsage.TEXTURE_BINDING | TextureUsage.RENDER_ATTACHMENT
+                        | TextureUsage.COPY_DST | TextureUsage.COPY_SRC)
+                .build());
+    }
+
+    private static void upload(Device device, Texture texture) {
+        byte[] pixels = new byte[SIZE * SIZE * 4 * LAYERS];
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int checker = (x + y) % 2 == 0 ? 255 : 0;
+                int first = (y * SIZE + x) * 4;
+                int second = SIZE * SIZE * 4 + first;
+                pixels[first] = (byte) checker;
+                pixels[first + 1] = (byte) checker;
+                pixels[first + 2] = (byte) checker;
+                pixels[first + 3] = (byte) 255;
+                pixels[second + 1] = (byte) 255;
+                pixels[second + 3] = (byte) 255;
+            }
+        }
+        device.getQueue().writeTexture(
+                ImageCopyTexture.builder().texture(texture).build(),
+                pixels,
+                ImageCopyTextureLayout.builder().bytesPerRow(SIZE * 4).rowsPerImage(SIZE).build(),
+                Extent3D.of(SIZE, SIZE, LAYERS));
+    }
+
+    private static void copySmallestLevel(CommandEncoder encoder, Texture texture, Buffer readback, long offset) {
+        encoder.copyTextureToBuffer(
+                ImageCopyTexture.builder().texture(texture).mipLevel(LEVELS - 1).build(),
+                ImageCopyBuffer.builder()
+                        .buffer(readback)
+                        .layout(ImageCopyTextureLayout.builder().offset(offset).bytesPerRow(256).rowsPerImage(1).build())
+                        .build(),
+                Extent3D.of(1, 1, LAYERS));
+    }
+
+    private static int channel(MemorySegment texels, long offset, int channel) {
+        return texels.get(ValueLayout.JAVA_BYTE, offset + channel) & 0xff;
+    }
+}
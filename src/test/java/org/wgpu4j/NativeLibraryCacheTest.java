@@ -0,0 +1,130 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content-addressed native library extraction cache.
+ */
+class NativeLibraryCacheTest {
+
+    private static final String LIBRARY = "/native/linux-x86_64/libwgpu_native.so";
+
+    @TempDir
+    Path root;
+
+    private final Map<String, byte[]> resources = new HashMap<>();
+    private final AtomicInteger libraryReads = new AtomicInteger();
+
+    private NativeLibraryCache cache(boolean verify) {
+        return new NativeLibraryCache(root, path -> {
+            byte[] content = resources.get(path);
+            if (content == null) {
+                return null;
+            }
+            if (path.equals(LIBRARY)) {
+                libraryReads.incrementAndGet();
+            }
+            return new ByteArrayInputStream(content);
+        }, verify);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private void addLibrary(byte[] content, boolean withHash) throws Exception {
+        resources.put(LIBRARY, content);
+        if (withHash) {
+            resources.put(LIBRARY + ".sha256", (sha256(content) + "  libwgpu_native.so\n").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void testExtractsOnceAndReuses() throws Exception {
+        byte[] content = "library v1".getBytes(StandardCharsets.UTF_8);
+        addLibrary(content, true);
+
+        Path first = cache(true).resolve("linux-x86_64", "libwgpu_native.so");
+        assertEquals(root.resolve("linux-x86_64").resolve(sha256(content)).resolve("libwgpu_native.so"), first);
+        assertArrayEquals(content, Files.readAllBytes(first));
+        assertEquals(1, libraryReads.get());
+
+        Path second = cache(true).resolve("linux-x86_64", "libwgpu_native.so");
+        assertEquals(first, second);
+        assertEquals(1, libraryReads.get(), "a valid cached file is not extracted again");
+
+        try (var files = Files.list(root.resolve("linux-x86_64"))) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith(".extract-")));
+        }
+
+        byte[] updated = "library v2".getBytes(StandardCharsets.UTF_8);
+        addLibrary(updated, true);
+        Path third = cache(true).resolve("linux-x86_64", "libwgpu_native.so");
+        assertNotEquals(first, third, "a new library version gets its own directory");
+        assertArrayEquals(updated, Files.readAllBytes(third));
+    }
+
+    @Test
+    void testReplacesCorruptCacheAndRejectsBadResources() throws Exception {
+        byte[] content = "library".getBytes(StandardCharsets.UTF_8);
+        addLibrary(content, false);
+
+        Path extracted = cache(true).resolve("linux-x86_64", "libwgpu_native.so");
+        Files.writeString(extracted, "truncated");
+        assertEquals(extracted, cache(true).resolve("linux-x86_64", "libwgpu_native.so"));
+        assertArrayEquals(content, Files.readAllBytes(extracted));
+
+        resources.put(LIBRARY + ".sha256", (sha256("other".getBytes()) + "\n").getBytes(StandardCharsets.US_ASCII));
+        assertThrows(NativeLibraryCache.IntegrityException.class, () -> cache(true).resolve("linux-x86_64", "libwgpu_native.so"));
+
+        resources.put(LIBRARY + ".sha256", "not a hash".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(NativeLibraryCache.IntegrityException.class, () -> cache(true).resolve("linux-x86_64", "libwgpu_native.so"));
+
+        assertNull(cache(true).resolve("windows-x86_64-msvc", "wgpu_native.dll"));
+    }
+
+    @Test
+    void testConcurrentStartsExtractOnce() throws Exception {
+        byte[] content = new byte[4 << 20];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        addLibrary(content, true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Path>> starts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                starts.add(() -> cache(false).resolve("linux-x86_64", "libwgpu_native.so"));
+            }
+            List<Path> paths = new ArrayList<>();
+            for (Future<Path> result : executor.invokeAll(starts)) {
+                paths.add(result.get());
+            }
+            assertEquals(1, paths.stream().distinct().count());
+            assertEquals(1, libraryReads.get(), "only the first start extracts");
+            assertArrayEquals(content, Files.readAllBytes(paths.get(0)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
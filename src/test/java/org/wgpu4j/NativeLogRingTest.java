@@ -0,0 +1,122 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap ring behind the asynchronous log callback.
+ */
+class NativeLogRingTest {
+
+    private static boolean offer(NativeLogRing ring, Arena arena, int level, String message) {
+        MemorySegment bytes = arena.allocateFrom(message, StandardCharsets.UTF_8);
+        long length = message.getBytes(StandardCharsets.UTF_8).length;
+        return ring.offer(level, bytes, length);
+    }
+
+    @Test
+    void testDrainsInOrderAcrossWrapAround() {
+        List<String> received = new ArrayList<>();
+        try (Arena arena = Arena.ofConfined();
+             NativeLogRing ring = new NativeLogRing(1024, WgpuLogging.WGPU_LOG_LEVEL_TRACE,
+                     (level, message) -> received.add(level + ":" + message))) {
+
+            for (int round = 0; round < 50; round++) {
+                assertTrue(offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_DEBUG, "round " + round + " first"));
+                assertTrue(offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_WARN, "round " + round + " second é"));
+                assertEquals(2, ring.drain());
+            }
+            assertEquals(100, received.size());
+            assertEquals("4:round 0 first", received.get(0));
+            assertEquals("2:round 49 second é", received.get(99));
+            assertEquals(0, ring.getDroppedMessageCount());
+        }
+    }
+
+    @Test
+    void testFiltersLevelsAndCountsDrops() {
+        List<String> received = new ArrayList<>();
+        try (Arena arena = Arena.ofConfined();
+             NativeLogRing ring = new NativeLogRing(1024, WgpuLogging.WGPU_LOG_LEVEL_INFO,
+                     (level, message) -> received.add(message))) {
+
+            assertTrue(ring.accepts(WgpuLogging.WGPU_LOG_LEVEL_ERROR));
+            assertTrue(ring.accepts(WgpuLogging.WGPU_LOG_LEVEL_INFO));
+            assertFalse(ring.accepts(WgpuLogging.WGPU_LOG_LEVEL_TRACE));
+
+            String message = "x".repeat(120);
+            int stored = 0;
+            while (offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_INFO, message)) {
+                stored++;
+            }
+            assertEquals(1024 / 128, stored);
+            offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_INFO, message);
+            assertEquals(2, ring.getDroppedMessageCount());
+            assertEquals(240, ring.getDroppedByteCount());
+
+            assertEquals(stored, ring.drain());
+            assertTrue(offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_INFO, "after drain"));
+            assertEquals(1, ring.drain());
+            assertEquals("after drain", received.get(received.size() - 1));
+
+            String longMessage = "y".repeat(1000);
+            assertTrue(offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_INFO, longMessage));
+            ring.drain();
+            assertEquals(1024 / 4 - 8, received.get(received.size() - 1).length(), "truncated to a quarter of the ring");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new NativeLogRing(3000, 5, (level, message) -> {
+        }));
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        ConcurrentHashMap<Integer, AtomicInteger> lastSeen = new ConcurrentHashMap<>();
+        List<String> outOfOrder = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger received = new AtomicInteger();
+
+        NativeLogRing ring = new NativeLogRing(4096, WgpuLogging.WGPU_LOG_LEVEL_TRACE, (level, message) -> {
+            int separator = message.indexOf(':');
+            int producer = Integer.parseInt(message.substring(0, separator));
+            int sequence = Integer.parseInt(message.substring(separator + 1));
+            AtomicInteger last = lastSeen.computeIfAbsent(producer, p -> new AtomicInteger(-1));
+            if (sequence <= last.get()) {
+                outOfOrder.add(message);
+            }
+            last.set(sequence);
+            received.incrementAndGet();
+        });
+        ring.start();
+
+        CountDownLatch done = new CountDownLatch(producers);
+        try (Arena arena = Arena.ofShared()) {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        offer(ring, arena, WgpuLogging.WGPU_LOG_LEVEL_TRACE, producer + ":" + i);
+                    }
+                    done.countDown();
+                });
+            }
+            done.await();
+            ring.close();
+        }
+
+        assertEquals(List.of(), outOfOrder);
+        assertEquals((long) producers * perProducer, received.get() + ring.getDroppedMessageCount());
+    }
+}
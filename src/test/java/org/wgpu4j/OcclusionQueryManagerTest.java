@@ -0,0 +1,110 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.OcclusionQueryManager;
+import org.wgpu4j.resource.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for asynchronous occlusion query readback.
+ */
+class OcclusionQueryManagerTest {
+
+    // Vertices 0-2 cover the whole target; vertices 3-5 collapse to a point and produce no samples.
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                if (i >= 3u) {
+                    return vec4<f32>(0.0, 0.0, 0.0, 1.0);
+                }
+                let uv = vec2<f32>(f32((i << 1u) & 2u), f32(i & 2u));
+                return vec4<f32>(uv * 2.0 - 1.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 1.0, 1.0, 1.0);
+            }
+            """;
+
+    @Test
+    void testUnknownObjectsAreVisible() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             OcclusionQueryManager occlusion = new OcclusionQueryManager(device, 4)) {
+
+            assertTrue(occlusion.isVisible(42));
+            assertEquals(-1, occlusion.getSampleCount(42));
+            assertThrows(IllegalArgumentException.class, () -> new OcclusionQueryManager(device, 0));
+        }
+    }
+
+    @Test
+    void testResultsArriveWithoutBlocking() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .label("occlusion-test")
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .label("occlusion-test")
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build());
+             Texture target = device.createTexture(TextureDescriptor.builder()
+                     .label("occlusion-target")
+                     .size(64, 64)
+                     .format(TextureFormat.RGBA8_UNORM)
+                     .usage(TextureUsage.RENDER_ATTACHMENT)
+                     .build());
+             TextureView targetView = target.createView();
+             OcclusionQueryManager occlusion = new OcclusionQueryManager(device, 2)) {
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (occlusion.getResultFrame(1) < 0 && System.nanoTime() < deadline) {
+                QuerySet querySet = occlusion.beginFrame();
+                try (CommandEncoder encoder = device.createCommandEncoder()) {
+                    try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                            .colorAttachment(RenderPassColorAttachment.builder()
+                                    .view(targetView)
+                                    .clearBlack()
+                                    .build())
+                            .occlusionQuerySet(querySet)
+                            .build())) {
+                        pass.setPipeline(pipeline);
+                        for (int id = 0; id < 2; id++) {
+                            if (occlusion.beginQuery(pass, id)) {
+                                pass.draw(3, 1, id * 3, 0);
+                                occlusion.endQuery(pass);
+                            }
+                        }
+                        pass.end();
+                    }
+                    occlusion.resolve(encoder);
+                    try (CommandBuffer commands = encoder.finish()) {
+                        device.getQueue().submit(commands);
+                    }
+                }
+                occlusion.submitted();
+                instance.processEvents();
+                Thread.sleep(1);
+            }
+
+            assertTrue(occlusion.getResultFrame(1) > 0, "no occlusion results arrived");
+            assertTrue(occlusion.getSampleCount(0) > 0);
+            assertEquals(0, occlusion.getSampleCount(1));
+            assertTrue(occlusion.isVisible(0));
+            assertFalse(occlusion.isVisible(1));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.DrawCommand;
+import org.wgpu4j.render.ParallelPassRecorder;
+import org.wgpu4j.resource.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parallel render bundle recording and the bundle encoder threading contract.
+ */
+class ParallelPassRecorderTest {
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(f32(i), 0.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 0.0, 0.0, 1.0);
+            }
+            """;
+
+    private static RenderBundleEncoderDescriptor bundleFormat() {
+        return RenderBundleEncoderDescriptor.builder()
+                .label("test")
+                .colorFormat(TextureFormat.RGBA8_UNORM)
+                .build();
+    }
+
+    @Test
+    void testRecordSplitsIntoChunks() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build())) {
+
+            List<DrawCommand> draws = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                draws.add(DrawCommand.builder().pipeline(pipeline).draw(3, 1, 0, i).build());
+            }
+
+            ParallelPassRecorder recorder = new ParallelPassRecorder(device, bundleFormat(), pool, 100);
+            assertEquals(4, recorder.getChunkCount(draws.size()));
+            assertEquals(1, recorder.getChunkCount(50));
+            assertEquals(0, recorder.getChunkCount(0));
+
+            List<RenderBundle> bundles = recorder.record(draws);
+            try {
+                assertEquals(4, bundles.size());
+            } finally {
+                bundles.forEach(RenderBundle::close);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBundleEncoderIsThreadConfined() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             RenderBundleEncoder encoder = device.createRenderBundleEncoder(bundleFormat())) {
+
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.runAsync(() -> encoder.draw(3, 1)).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+
+            encoder.draw(3, 1);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.resource.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for redundant-state elimination in pass encoders.
+ */
+class PassStateTrackingTest {
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(f32(i), 0.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 0.0, 0.0, 1.0);
+            }
+            """;
+
+    private static final String COMPUTE_SHADER = """
+            @group(0) @binding(0) var<uniform> params: vec4<f32>;
+
+            @compute @workgroup_size(1)
+            fn main() {
+                _ = params;
+            }
+            """;
+
+    @Test
+    void testRedundantRenderStateIsElided() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build());
+             Texture target = device.createTexture(TextureDescriptor.builder()
+                     .size(64, 64)
+                     .format(TextureFormat.RGBA8_UNORM)
+                     .usage(TextureUsage.RENDER_ATTACHMENT)
+                     .build());
+             TextureView view = target.createView();
+             CommandEncoder encoder = device.createCommandEncoder()) {
+
+            try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                    .colorAttachment(RenderPassColorAttachment.builder().view(view).build())
+                    .build())) {
+                pass.setStateTracking(true);
+
+                for (int i = 0; i < 10; i++) {
+                    pass.setPipeline(pipeline);
+                    pass.setViewport(0, 0, 64, 64, 0, 1);
+                    pass.setScissorRect(0, 0, 64, 64);
+                    pass.draw(3, 1);
+                }
+                assertEquals(27, pass.getElidedCallCount());
+
+                pass.setScissorRect(0, 0, 32, 32);
+                assertEquals(27, pass.getElidedCallCount());
+
+                pass.end();
+            }
+        }
+    }
+
+    @Test
+    void testRedundantComputeStateIsElided() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(COMPUTE_SHADER)
+                     .build());
+             BindGroupLayout bindGroupLayout = device.createBindGroupLayout(BindGroupLayoutDescriptor.builder()
+                     .entry(BindGroupLayoutEntry.builder()
+                             .binding(0)
+                             .visibility(ShaderStageFlags.COMPUTE)
+                             .bufferType(BufferBindingType.UNIFORM)
+                             .hasDynamicOffset(true)
+                             .minBindingSize(16)
+                             .build())
+                     .build());
+             PipelineLayout pipelineLayout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                     .bindGroupLayout(bindGroupLayout)
+                     .build());
+             ComputePipeline pipeline = device.createComputePipeline(ComputePipelineDescriptor.builder()
+                     .pipelineLayout(pipelineLayout)
+                     .computeShader(shader)
+                     .entryPoint("main")
+                     .build());
+             Buffer uniforms = device.createBuffer(BufferDescriptor.builder()
+                     .size(512)
+                     .usage(BufferUsage.UNIFORM)
+                     .build());
+             CommandEncoder encoder = device.createCommandEncoder()) {
+
+            BindGroupDescriptor bindGroupDescriptor = BindGroupDescriptor.builder()
+                    .layout(bindGroupLayout)
+                    .entry(BindGroupEntry.builder().binding(0).buffer(uniforms, 0, 16).build())
+                    .build();
+            BindGroup bindGroup = device.createBindGroup(bindGroupDescriptor);
+            BindGroup closedBindGroup = device.createBindGroup(bindGroupDescriptor);
+            try (ComputePassEncoder pass = encoder.beginComputePass(ComputePassDescriptor.builder().build())) {
+                pass.setStateTracking(true);
+
+                pass.setPipeline(pipeline);
+                pass.setPipeline(pipeline);
+                assertEquals(1, pass.getElidedCallCount());
+
+                pass.setBindGroup(0, bindGroup, new int[]{0});
+                pass.setBindGroup(0, bindGroup, new int[]{0});
+                assertEquals(2, pass.getElidedCallCount(), "matching dynamic offsets are elided");
+
+                pass.setBindGroup(0, bindGroup, new int[]{256});
+                assertEquals(2, pass.getElidedCallCount(), "different dynamic offsets reach native code");
+                pass.setBindGroup(0, bindGroup, new int[]{256});
+                assertEquals(3, pass.getElidedCallCount());
+
+                // A closed argument is rejected even when it matches the tracked state.
+                pass.setBindGroup(0, closedBindGroup, new int[]{0});
+                closedBindGroup.close();
+                assertThrows(WgpuException.class, () -> pass.setBindGroup(0, closedBindGroup, new int[]{0}));
+                assertEquals(3, pass.getElidedCallCount());
+
+                pass.setBindGroup(0, bindGroup, new int[]{0});
+                pass.dispatchWorkgroups(1, 1, 1);
+                pass.end();
+            } finally {
+                bindGroup.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.CompareFunction;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.VertexFormat;
+import org.wgpu4j.constant.VertexStepMode;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.PipelineCache;
+import org.wgpu4j.render.PipelineManifest;
+import org.wgpu4j.resource.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for recording pipelines into a manifest and compiling them ahead of time.
+ */
+class PipelineCacheTest {
+
+    private static final String RENDER_SHADER = """
+            @vertex
+            fn vs_main(@location(0) position: vec2<f32>) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(position, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 0.5, 0.0, 1.0);
+            }
+            """;
+
+    private static final String COMPUTE_SHADER = """
+            override SCALE: f32 = 1.0;
+
+            @group(0) @binding(0) var<storage, read_write> data: array<f32>;
+
+            @compute @workgroup_size(64)
+            fn main(@builtin(global_invocation_id) id: vec3<u32>) {
+                data[id.x] = data[id.x] * SCALE;
+            }
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordAndPrewarm() throws Exception {
+        Path manifestPath = tempDir.resolve("pipelines.bin");
+        assertTrue(PipelineManifest.read(manifestPath).isEmpty());
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             BindGroupLayout bindGroupLayout = device.createBindGroupLayout(BindGroupLayoutDescriptor.builder()
+                     .entry(BindGroupLayoutEntry.builder()
+                             .binding(0)
+                             .visibility(ShaderStageFlags.COMPUTE)
+                             .bufferType(BufferBindingType.STORAGE)
+                             .build())
+                     .build());
+             PipelineLayout computeLayout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                     .bindGroupLayout(bindGroupLayout)
+                     .build())) {
+
+            // First run: use three pipelines and record them.
+            try (PipelineCache cache = new PipelineCache(device)) {
+                cache.setRecording(true);
+                cache.registerLayout("compute", computeLayout);
+
+                RenderPipeline opaque = cache.getRenderPipeline(renderDescriptor(cache, false));
+                assertSame(opaque, cache.getRenderPipeline(renderDescriptor(cache, false)));
+                cache.getRenderPipeline(renderDescriptor(cache, true));
+                cache.getComputePipeline(computeDescriptor(cache, computeLayout, 2.0));
+
+                assertEquals(2, cache.getShaderCount());
+                assertEquals(3, cache.getPipelineCount());
+                PipelineManifest recorded = cache.getRecordedManifest();
+                assertEquals(3, recorded.size());
+                recorded.write(manifestPath);
+            }
+            assertTrue(Files.size(manifestPath) > 0);
+
+            // Second run: compile everything before the first request.
+            try (PipelineCache cache = new PipelineCache(device)) {
+                cache.registerLayout("compute", computeLayout);
+                cache.shader(ShaderModuleDescriptor.builder().wgslCode(RENDER_SHADER).build());
+                cache.shader(ShaderModuleDescriptor.builder().wgslCode(COMPUTE_SHADER).build());
+
+                PipelineCache.PrewarmReport report = cache.prewarm(PipelineManifest.read(manifestPath), 2);
+                assertEquals(3, report.getCompiled());
+                assertEquals(0, report.getSkipped());
+                assertEquals(0, report.getFailed());
+                assertTrue(report.getCompileNanos() > 0);
+                assertEquals(3, cache.getPipelineCount());
+
+                cache.getRenderPipeline(renderDescriptor(cache, true));
+                cache.getComputePipeline(computeDescriptor(cache, computeLayout, 2.0));
+                assertEquals(3, cache.getPipelineCount());
+
+                // Prewarming again finds everything cached.
+                assertEquals(3, cache.prewarm(PipelineManifest.read(manifestPath), 2).getAlreadyCached());
+            }
+
+            // A changed shader source no longer matches the recorded hash.
+            try (PipelineCache cache = new PipelineCache(device)) {
+                cache.registerLayout("compute", computeLayout);
+                cache.shader(ShaderModuleDescriptor.builder().wgslCode(RENDER_SHADER).build());
+                cache.shader(ShaderModuleDescriptor.builder().wgslCode(COMPUTE_SHADER.replace("1.0", "3.0")).build());
+
+                PipelineCache.PrewarmReport report = cache.prewarm(PipelineManifest.read(manifestPath), 4);
+                assertEquals(2, report.getCompiled());
+                assertEquals(1, report.getSkipped());
+            }
+        }
+    }
+
+    @Test
+    void testRejectsUnknownShaders() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule foreign = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(COMPUTE_SHADER)
+                     .build());
+             PipelineCache cache = new PipelineCache(device)) {
+
+            assertThrows(IllegalArgumentException.class, () -> cache.getComputePipeline(ComputePipelineDescriptor.builder()
+                    .computeShader(foreign)
+                    .build()));
+
+            ShaderModule first = cache.shader(ShaderModuleDescriptor.builder().label("a").wgslCode(COMPUTE_SHADER).build());
+            assertSame(first, cache.shader(ShaderModuleDescriptor.builder().label("b").wgslCode(COMPUTE_SHADER).build()));
+        }
+    }
+
+    private static RenderPipelineDescriptor renderDescriptor(PipelineCache cache, boolean depth) {
+        RenderPipelineDescriptor.Builder builder = RenderPipelineDescriptor.builder()
+                .label(depth ? "depth" : "opaque")
+                .vertexShader(cache.shader(ShaderModuleDescriptor.builder().wgslCode(RENDER_SHADER).build()))
+                .fragmentShader(cache.shader(ShaderModuleDescriptor.builder().wgslCode(RENDER_SHADER).build()))
+                .vertexBuffer(VertexBufferLayout.builder()
+                        .stepMode(VertexStepMode.VERTEX)
+                        .arrayStride(8)
+                        .attribute(VertexAttribute.builder()
+                                .format(VertexFormat.FLOAT32X2)
+                                .shaderLocation(0)
+                                .build())
+                        .build())
+                .colorTarget(ColorTargetState.builder()
+                        .format(TextureFormat.RGBA8_UNORM)
+                        .blend(BlendState.alphaBlending())
+                        .build());
+        if (depth) {
+            builder.depthStencilState(DepthStencilState.builder()
+                    .format(TextureFormat.DEPTH32_FLOAT)
+                    .depthWriteEnabled(true)
+                    .depthCompare(CompareFunction.LESS)
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private static ComputePipelineDescriptor computeDescriptor(PipelineCache cache, PipelineLayout layout, double scale) {
+        return ComputePipelineDescriptor.builder()
+                .label("scale")
+                .pipelineLayout(layout)
+                .computeShader(cache.shader(ShaderModuleDescriptor.builder().wgslCode(COMPUTE_SHADER).build()))
+                .constant("SCALE", scale)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.MapMode;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.PipelineVariants;
+import org.wgpu4j.resource.*;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for specializing pipelines with override constants.
+ */
+class PipelineVariantsTest {
+
+    private static final String SHADER = """
+            override WORKGROUP_SIZE: u32 = 64u;
+            override SCALE: f32 = 1.0;
+            override NEGATE: bool = false;
+
+            @group(0) @binding(0) var<storage, read_write> data: array<f32>;
+
+            @compute @workgroup_size(WORKGROUP_SIZE)
+            fn main(@builtin(global_invocation_id) id: vec3<u32>) {
+                if (id.x >= arrayLength(&data)) {
+                    return;
+                }
+                var value = f32(WORKGROUP_SIZE) * SCALE;
+                if (NEGATE) {
+                    value = -value;
+                }
+                data[id.x] = value;
+            }
+            """;
+
+    private static final int COUNT = 256;
+
+    @Test
+    void testVariantsAreSpecializedAndCached() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .label("variants")
+                     .wgslCode(SHADER)
+                     .build());
+             BindGroupLayout bindGroupLayout = device.createBindGroupLayout(BindGroupLayoutDescriptor.builder()
+                     .entry(BindGroupLayoutEntry.builder()
+                             .binding(0)
+                             .visibility(ShaderStageFlags.COMPUTE)
+                             .bufferType(BufferBindingType.STORAGE)
+                             .build())
+                     .build());
+             PipelineLayout pipelineLayout = device.createPipelineLayout(PipelineLayoutDescriptor.builder()
+                     .bindGroupLayout(bindGroupLayout)
+                     .build());
+             Buffer storage = device.createBuffer(BufferDescriptor.builder()
+                     .size(3L * COUNT * Float.BYTES)
+                     .usage(BufferUsage.STORAGE | BufferUsage.COPY_SRC)
+                     .build());
+             Buffer readback = device.createBuffer(BufferDescriptor.builder()
+                     .size(storage.getSize())
+                     .usage(BufferUsage.MAP_READ | BufferUsage.COPY_DST)
+                     .build());
+             PipelineVariants<ComputePipeline> variants = PipelineVariants.compute(device,
+                     ComputePipelineDescriptor.builder()
+                             .label("variants")
+                             .pipelineLayout(pipelineLayout)
+                             .computeShader(shader)
+                             .entryPoint("main")
+                             .constant("SCALE", 0.5)
+                             .build())) {
+
+            ComputePipeline defaults = variants.getDefault();
+            ComputePipeline wide = variants.get(Map.of("WORKGROUP_SIZE", 128.0, "NEGATE", 1.0));
+            // The same combination in a different order, with the base value spelled out, is the same variant.
+            assertSame(wide, variants.get(Map.of("NEGATE", 1.0, "SCALE", 0.5, "WORKGROUP_SIZE", 128.0)));
+            ComputePipeline scaled = variants.get(Map.of("SCALE", 2.0));
+            assertNotSame(defaults, scaled);
+            assertEquals(3, variants.getVariantCount());
+
+            try (CommandEncoder encoder = device.createCommandEncoder()) {
+                dispatch(device, encoder, defaults, bindGroupLayout, storage, 0, 64);
+                dispatch(device, encoder, wide, bindGroupLayout, storage, 1, 128);
+                dispatch(device, encoder, scaled, bindGroupLayout, storage, 2, 64);
+                encoder.copyBufferToBuffer(storage, 0, readback, 0, storage.getSize());
+                try (CommandBuffer commands = encoder.finish()) {
+                    device.getQueue().submit(commands);
+                }
+            }
+
+            CompletableFuture<Void> mapped = readback.mapAsync(MapMode.READ, 0, readback.getSize());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!mapped.isDone() && System.nanoTime() < deadline) {
+                instance.processEvents();
+                Thread.sleep(1);
+            }
+            mapped.get(1, TimeUnit.SECONDS);
+
+            MemorySegment values = readback.getConstMappedRange(0, readback.getSize());
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(32f, values.getAtIndex(ValueLayout.JAVA_FLOAT, i));
+                assertEquals(-64f, values.getAtIndex(ValueLayout.JAVA_FLOAT, COUNT + i));
+                assertEquals(128f, values.getAtIndex(ValueLayout.JAVA_FLOAT, 2L * COUNT + i));
+            }
+            readback.unmap();
+
+            variants.close();
+            assertTrue(defaults.isClosed());
+            assertThrows(IllegalStateException.class, variants::getDefault);
+        }
+    }
+
+    private static void dispatch(Device device, CommandEncoder encoder, ComputePipeline pipeline,
+                                 BindGroupLayout layout, Buffer storage, int slice, int workgroupSize) {
+        long size = (long) COUNT * Float.BYTES;
+        try (BindGroup bindGroup = device.createBindGroup(BindGroupDescriptor.builder()
+                .layout(layout)
+                .entry(BindGroupEntry.builder()
+                        .binding(0)
+                        .buffer(storage, slice * size, size)
+                        .build())
+                .build());
+             ComputePassEncoder pass = encoder.beginComputePass(ComputePassDescriptor.builder().build())) {
+            pass.setPipeline(pipeline);
+            pass.setBindGroup(0, bindGroup);
+            pass.dispatchWorkgroups(COUNT / workgroupSize, 1, 1);
+            pass.end();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.TextureDescriptor;
+import org.wgpu4j.render.RenderGraph;
+import org.wgpu4j.render.TransientResourcePool;
+import org.wgpu4j.resource.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for render graph scheduling, culling and transient aliasing.
+ */
+class RenderGraphTest {
+
+    private static TextureDescriptor colorTarget(int size) {
+        return TextureDescriptor.builder()
+                .size(size, size)
+                .format(TextureFormat.RGBA8_UNORM)
+                .usage(0)
+                .build();
+    }
+
+    @Test
+    void testCullingAndAliasing() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             TransientResourcePool pool = new TransientResourcePool(device);
+             Texture output = device.createTexture(TextureDescriptor.builder()
+                     .size(64, 64)
+                     .format(TextureFormat.RGBA8_UNORM)
+                     .usage(TextureUsage.RENDER_ATTACHMENT | TextureUsage.COPY_SRC)
+                     .build())) {
+
+            RenderGraph graph = new RenderGraph(pool);
+            var backbuffer = graph.importTexture("backbuffer", output);
+            var a = graph.createTexture("a", colorTarget(64));
+            var b = graph.createTexture("b", colorTarget(64));
+            var c = graph.createTexture("c", colorTarget(64));
+            var unused = graph.createTexture("unused", colorTarget(64));
+
+            List<String> recorded = new ArrayList<>();
+            graph.addRenderPass("debug").writeColor(unused).execute((pass, res) -> recorded.add("debug"));
+            graph.addRenderPass("first").writeColor(a).execute((pass, res) -> recorded.add("first"));
+            graph.addRenderPass("second").readTexture(a).writeColor(b).execute((pass, res) -> {
+                assertNotNull(res.getTextureView(a));
+                recorded.add("second");
+            });
+            graph.addRenderPass("third").readTexture(b).writeColor(c).execute((pass, res) -> recorded.add("third"));
+            graph.addRenderPass("present").readTexture(c).writeColor(backbuffer, 0, 0, 0, 1)
+                    .execute((pass, res) -> recorded.add("present"));
+
+            assertEquals(List.of("first", "second", "third", "present"), graph.getScheduledPassNames());
+            assertEquals(List.of("debug"), graph.getCulledPassNames());
+            assertEquals(3, graph.getTransientResourceCount());
+            assertEquals(2, graph.getPhysicalResourceCount());
+            assertTrue(graph.isAliased(a, c));
+            assertFalse(graph.isAliased(a, b));
+
+            try (CommandEncoder encoder = device.createCommandEncoder()) {
+                graph.execute(encoder);
+                try (CommandBuffer commands = encoder.finish()) {
+                    device.getQueue().submit(commands);
+                }
+            }
+            pool.endFrame();
+
+            assertEquals(List.of("first", "second", "third", "present"), recorded);
+            assertEquals(2, pool.getTextureCount());
+        }
+    }
+
+    @Test
+    void testReadBeforeWriteIsRejected() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             TransientResourcePool pool = new TransientResourcePool(device)) {
+
+            RenderGraph graph = new RenderGraph(pool);
+            var texture = graph.createTexture("never-written", colorTarget(16));
+            graph.addComputePass("reader").readTexture(texture).sideEffect().execute((pass, res) -> {
+            });
+
+            assertThrows(WgpuException.class, graph::compile);
+        }
+    }
+}
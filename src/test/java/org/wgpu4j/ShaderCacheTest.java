@@ -0,0 +1,138 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.descriptor.ShaderModuleDescriptor;
+import org.wgpu4j.render.ShaderCache;
+import org.wgpu4j.resource.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SPIR-V and GLSL shader sources and the on-disk SPIR-V cache.
+ */
+class ShaderCacheTest {
+
+    private static final String WGSL = """
+            @compute @workgroup_size(1)
+            fn main() {
+            }
+            """;
+
+    // The same empty compute shader, assembled by hand.
+    private static final int[] SPIRV = {
+            0x07230203, 0x00010000, 0, 5, 0,
+            0x00020011, 1,                                // OpCapability Shader
+            0x0003000E, 0, 1,                             // OpMemoryModel Logical GLSL450
+            0x0005000F, 5, 3, 0x6E69616D, 0,              // OpEntryPoint GLCompute %3 "main"
+            0x00060010, 3, 17, 1, 1, 1,                   // OpExecutionMode %3 LocalSize 1 1 1
+            0x00020013, 1,                                // %1 = OpTypeVoid
+            0x00030021, 2, 1,                             // %2 = OpTypeFunction %1
+            0x00050036, 1, 3, 0, 2,                       // %3 = OpFunction %1 None %2
+            0x000200F8, 4,                                // %4 = OpLabel
+            0x000100FD,                                   // OpReturn
+            0x00010038                                    // OpFunctionEnd
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSourceKinds() {
+        ByteBuffer bigEndian = ByteBuffer.allocate(SPIRV.length * 4).order(ByteOrder.BIG_ENDIAN);
+        bigEndian.asIntBuffer().put(SPIRV);
+        ShaderModuleDescriptor spirv = ShaderModuleDescriptor.builder().spirv(bigEndian.array()).build();
+        assertEquals(ShaderModuleDescriptor.SourceKind.SPIRV, spirv.getSourceKind());
+        assertArrayEquals(SPIRV, spirv.getSpirv());
+        assertEquals(spirv.getSourceHash(), ShaderModuleDescriptor.builder().spirv(SPIRV).build().getSourceHash());
+
+        ShaderModuleDescriptor vertex = ShaderModuleDescriptor.builder()
+                .glslCode("void main() {}", ShaderStageFlags.VERTEX)
+                .build();
+        ShaderModuleDescriptor fragment = ShaderModuleDescriptor.builder()
+                .glslCode("void main() {}", ShaderStageFlags.FRAGMENT)
+                .build();
+        assertNotEquals(vertex.getSourceHash(), fragment.getSourceHash());
+
+        ShaderModuleDescriptor wgsl = ShaderModuleDescriptor.builder().label("a").wgslCode(WGSL).build();
+        assertEquals(wgsl.getSourceHash(), ShaderModuleDescriptor.builder().label("b").wgslCode(WGSL).build().getSourceHash());
+
+        assertThrows(IllegalArgumentException.class, () -> ShaderModuleDescriptor.builder().spirv(new byte[6]));
+        assertThrows(IllegalArgumentException.class, () -> ShaderModuleDescriptor.builder().spirv(new byte[8]));
+        assertThrows(IllegalArgumentException.class, () -> ShaderModuleDescriptor.builder()
+                .wgslCode(WGSL)
+                .spirv(SPIRV)
+                .build());
+        assertThrows(IllegalArgumentException.class, () -> ShaderModuleDescriptor.builder()
+                .glslCode("void main() {}", null)
+                .build());
+    }
+
+    @Test
+    void testCachesValidatedSpirv() throws Exception {
+        AtomicInteger translations = new AtomicInteger();
+        ShaderCache.Translator translator = source -> {
+            translations.incrementAndGet();
+            ByteBuffer bytes = ByteBuffer.allocate(SPIRV.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.asIntBuffer().put(SPIRV);
+            return bytes.array();
+        };
+        ShaderModuleDescriptor source = ShaderModuleDescriptor.builder().label("empty").wgslCode(WGSL).build();
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS)) {
+
+            ShaderCache first = new ShaderCache(tempDir, adapter, translator);
+            try (ShaderModule module = first.createShaderModule(device, source)) {
+                assertFalse(module.isClosed());
+            }
+            assertEquals(1, first.getMissCount());
+            assertTrue(Files.exists(first.getDirectory().resolve(source.getSourceHash() + ".spv")));
+
+            // A new cache for the same adapter starts from the stored binary.
+            ShaderCache second = new ShaderCache(tempDir, adapter, translator);
+            try (ShaderModule module = second.createShaderModule(device, source)) {
+                assertFalse(module.isClosed());
+            }
+            assertEquals(1, second.getHitCount());
+            assertEquals(1, translations.get());
+        }
+    }
+
+    @Test
+    void testFallsBackToSource() throws Exception {
+        ShaderModuleDescriptor source = ShaderModuleDescriptor.builder().label("empty").wgslCode(WGSL).build();
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS)) {
+
+            ShaderCache failing = new ShaderCache(tempDir, adapter, s -> {
+                throw new java.io.IOException("no compiler");
+            });
+            try (ShaderModule module = failing.createShaderModule(device, source)) {
+                assertFalse(module.isClosed());
+            }
+
+            // A binary with a valid header but no module body fails validation and is not stored.
+            ShaderCache invalid = new ShaderCache(tempDir, adapter, s -> {
+                ByteBuffer bytes = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+                bytes.putInt(0x07230203).putInt(0x00010000).putInt(0).putInt(1).putInt(0);
+                return bytes.array();
+            });
+            try (ShaderModule module = invalid.createShaderModule(device, source)) {
+                assertFalse(module.isClosed());
+            }
+            assertFalse(Files.exists(invalid.getDirectory().resolve(source.getSourceHash() + ".spv")));
+        }
+    }
+}
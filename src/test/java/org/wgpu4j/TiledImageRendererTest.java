@@ -0,0 +1,108 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.RenderPassColorAttachment;
+import org.wgpu4j.descriptor.RenderPassDescriptor;
+import org.wgpu4j.render.TiledImageRenderer;
+import org.wgpu4j.resource.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for rendering images in tiles into a memory-mapped file.
+ */
+class TiledImageRendererTest {
+
+    private static final int WIDTH = 150;
+    private static final int HEIGHT = 100;
+    private static final int TILE_SIZE = 64;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTilesAreWrittenToTheirRegions() throws Exception {
+        Path output = tempDir.resolve("image.rgba");
+        List<TiledImageRenderer.Tile> tiles = new ArrayList<>();
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             TiledImageRenderer renderer = new TiledImageRenderer(instance, device, TextureFormat.RGBA8_UNORM, TILE_SIZE, 2)) {
+
+            assertEquals(TILE_SIZE, renderer.getTileSize());
+
+            int tileCount = renderer.render(output, WIDTH, HEIGHT, (encoder, target, tile) -> {
+                tiles.add(tile);
+                try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                        .colorAttachment(RenderPassColorAttachment.builder()
+                                .view(target)
+                                .clearColor(tile.getIndex() * 40 / 255.0, 0.0, 0.0, 1.0)
+                                .build())
+                        .build())) {
+                    pass.end();
+                }
+            });
+            assertEquals(6, tileCount);
+        }
+
+        byte[] pixels = Files.readAllBytes(output);
+        assertEquals(WIDTH * HEIGHT * 4, pixels.length);
+        assertEquals(0, red(pixels, 0, 0));
+        assertEquals(40, red(pixels, 64, 0));
+        assertEquals(80, red(pixels, 149, 63));
+        assertEquals(120, red(pixels, 0, 64));
+        assertEquals(200, red(pixels, 149, 99));
+
+        TiledImageRenderer.Tile corner = tiles.get(5);
+        assertEquals(128, corner.getX());
+        assertEquals(22, corner.getWidth());
+        assertEquals(36, corner.getHeight());
+    }
+
+    @Test
+    void testProjectionMapsTileToClipSpace() throws Exception {
+        List<TiledImageRenderer.Tile> tiles = new ArrayList<>();
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             TiledImageRenderer renderer = new TiledImageRenderer(instance, device, TextureFormat.RGBA8_UNORM, TILE_SIZE, 1)) {
+            renderer.render(tempDir.resolve("projection.rgba"), WIDTH, HEIGHT, (encoder, target, tile) -> {
+                tiles.add(tile);
+                try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                        .colorAttachment(RenderPassColorAttachment.builder().view(target).clearBlack().build())
+                        .build())) {
+                    pass.end();
+                }
+            });
+        }
+
+        float[] identity = {1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1};
+        TiledImageRenderer.Tile tile = tiles.get(4);
+        float[] projection = tile.adjustProjection(identity);
+
+        // The tile's top-left image corner must land on clip-space (-1, 1).
+        float ndcX = 2.0f * tile.getX() / WIDTH - 1.0f;
+        float ndcY = 1.0f - 2.0f * tile.getY() / HEIGHT;
+        assertEquals(-1.0f, projection[0] * ndcX + projection[12], 1e-5f);
+        assertEquals(1.0f, projection[5] * ndcY + projection[13], 1e-5f);
+
+        // And the corner one tile further right and down on (1, -1).
+        float farX = 2.0f * (tile.getX() + TILE_SIZE) / WIDTH - 1.0f;
+        float farY = 1.0f - 2.0f * (tile.getY() + TILE_SIZE) / HEIGHT;
+        assertEquals(1.0f, projection[0] * farX + projection[12], 1e-5f);
+        assertEquals(-1.0f, projection[5] * farY + projection[13], 1e-5f);
+    }
+
+    private static int red(byte[] pixels, int x, int y) {
+        return Byte.toUnsignedInt(pixels[(y * WIDTH + x) * 4]);
+    }
+}
@@ -0,0 +1,146 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.VertexFormat;
+import org.wgpu4j.descriptor.VertexAttribute;
+import org.wgpu4j.descriptor.VertexBufferLayout;
+import org.wgpu4j.utils.VertexStreamBuilder;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for interleaving and quantizing vertex attributes.
+ */
+class VertexStreamBuilderTest {
+
+    // Spans several conversion blocks and leaves a tail that is not a multiple of any vector length.
+    private static final int VERTICES = 3001;
+
+    private static final VertexBufferLayout MESH_LAYOUT = VertexBufferLayout.builder()
+            .arrayStride(24)
+            .attribute(attribute(0, VertexFormat.FLOAT32X3, 0))
+            .attribute(attribute(1, VertexFormat.SNORM8X4, 12))
+            .attribute(attribute(2, VertexFormat.FLOAT16X2, 16))
+            .attribute(attribute(3, VertexFormat.UNORM8X4, 20))
+            .build();
+
+    private static VertexAttribute attribute(int location, int format, long offset) {
+        return VertexAttribute.builder().shaderLocation(location).format(format).offset(offset).build();
+    }
+
+    private static float[] random(Random random, int length, float min, float max) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = min + random.nextFloat() * (max - min);
+        }
+        return values;
+    }
+
+    private static VertexStreamBuilder mesh(Random random) {
+        return new VertexStreamBuilder(MESH_LAYOUT, VERTICES)
+                .attribute(0, random(random, VERTICES * 3, -100f, 100f))
+                .attribute(1, random(random, VERTICES * 3, -1.2f, 1.2f), 3)
+                .attribute(2, random(random, VERTICES * 2, -4f, 4f))
+                .attribute(3, random(random, VERTICES * 4, -0.1f, 1.1f));
+    }
+
+    @Test
+    void testInterleavesAndQuantizes() {
+        try (Arena arena = Arena.ofConfined()) {
+            float[] position = {1.5f, -2f, 3.25f};
+            float[] normal = {0f, -1f, 0.5f};
+            float[] uv = {0.5f, 2f};
+            float[] color = {1f, 0f, 0.5f, 2f};
+
+            MemorySegment vertices = new VertexStreamBuilder(MESH_LAYOUT, 1)
+                    .attribute(0, position)
+                    .attribute(1, normal, 3)
+                    .attribute(2, uv)
+                    .attribute(3, color)
+                    .build(arena);
+
+            assertEquals(24, vertices.byteSize());
+            assertEquals(1.5f, vertices.get(ValueLayout.JAVA_FLOAT, 0));
+            assertEquals(3.25f, vertices.get(ValueLayout.JAVA_FLOAT, 8));
+            assertEquals(0, vertices.get(ValueLayout.JAVA_BYTE, 12));
+            assertEquals(-127, vertices.get(ValueLayout.JAVA_BYTE, 13));
+            assertEquals(64, vertices.get(ValueLayout.JAVA_BYTE, 14));
+            assertEquals(0, vertices.get(ValueLayout.JAVA_BYTE, 15), "missing component must be zero");
+            assertEquals(Float.floatToFloat16(0.5f), vertices.get(ValueLayout.JAVA_SHORT, 16));
+            assertEquals(Float.floatToFloat16(2f), vertices.get(ValueLayout.JAVA_SHORT, 18));
+            assertEquals((byte) 255, vertices.get(ValueLayout.JAVA_BYTE, 20));
+            assertEquals(0, vertices.get(ValueLayout.JAVA_BYTE, 21));
+            assertEquals((byte) 128, vertices.get(ValueLayout.JAVA_BYTE, 22));
+            assertEquals((byte) 255, vertices.get(ValueLayout.JAVA_BYTE, 23), "values above 1 must clamp");
+        }
+    }
+
+    @Test
+    void testVectorAndScalarKernelsProduceIdenticalBytes() {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment vectorized = mesh(new Random(7)).build(arena);
+            MemorySegment scalar = mesh(new Random(7)).forceScalar(true).build(arena);
+            assertEquals(-1, vectorized.mismatch(scalar));
+        }
+    }
+
+    @Test
+    void testHalfFloatEdgeCases() {
+        float[] values = {0f, -0f, 1f, -1f, 65504f, 65519f, 65520f, 1e6f, -1e6f,
+                Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, 6.1035156e-5f, 6.0e-5f, 5.96e-8f, 2.9e-8f,
+                1e-10f, 1.0009766f, 1.00048828125f, 1.00146484375f, 0.333333f, 3.14159265f, -2.71828f};
+        VertexBufferLayout layout = VertexBufferLayout.builder()
+                .arrayStride(2)
+                .attribute(attribute(0, VertexFormat.FLOAT16, 0))
+                .build();
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment packed = new VertexStreamBuilder(layout, values.length).attribute(0, values).build(arena);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(Float.floatToFloat16(values[i]), packed.getAtIndex(ValueLayout.JAVA_SHORT, i),
+                        "half of " + values[i]);
+            }
+
+            float[] nan = new float[64];
+            java.util.Arrays.fill(nan, Float.NaN);
+            MemorySegment nanPacked = new VertexStreamBuilder(layout, nan.length).attribute(0, nan).build(arena);
+            for (int i = 0; i < nan.length; i++) {
+                assertTrue(Float.isNaN(Float.float16ToFloat(nanPacked.getAtIndex(ValueLayout.JAVA_SHORT, i))));
+            }
+        }
+    }
+
+    @Test
+    void testIntegerAttributesAndValidation() {
+        VertexBufferLayout layout = VertexBufferLayout.builder()
+                .arrayStride(12)
+                .attribute(attribute(0, VertexFormat.UINT8X4, 0))
+                .attribute(attribute(1, VertexFormat.SINT16X2, 4))
+                .attribute(attribute(2, VertexFormat.UINT32, 8))
+                .build();
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment vertices = new VertexStreamBuilder(layout, 2)
+                    .attribute(0, new int[]{1, 2, 3, 4, 250, 251, 252, 253})
+                    .attribute(1, new int[]{-5, 7, 300, -300})
+                    .attribute(2, new int[]{42, 0xdeadbeef})
+                    .build(arena);
+
+            assertEquals((byte) 253, vertices.get(ValueLayout.JAVA_BYTE, 15));
+            assertEquals(-5, vertices.get(ValueLayout.JAVA_SHORT, 4));
+            assertEquals(-300, vertices.get(ValueLayout.JAVA_SHORT, 18));
+            assertEquals(0xdeadbeef, vertices.get(ValueLayout.JAVA_INT, 20));
+        }
+
+        VertexStreamBuilder builder = new VertexStreamBuilder(layout, 2);
+        assertThrows(IllegalArgumentException.class, () -> builder.attribute(0, new float[8]));
+        assertThrows(IllegalArgumentException.class, () -> builder.attribute(0, new int[7]));
+        assertThrows(IllegalArgumentException.class, () -> builder.attribute(5, new int[8]));
+        assertThrows(IllegalStateException.class, () -> builder.build(Arena.ofAuto()));
+    }
+}
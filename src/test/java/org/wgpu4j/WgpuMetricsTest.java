@@ -0,0 +1,90 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.metrics.LatencyHistogram;
+import org.wgpu4j.metrics.MetricsSink;
+import org.wgpu4j.metrics.WgpuMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the metrics registry and latency histogram.
+ */
+class WgpuMetricsTest {
+
+    @Test
+    void testHistogramPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000_000, snapshot.getMax());
+
+        long p50 = snapshot.getValueAtPercentile(50);
+        long p99 = snapshot.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 5_000_000) <= 5_000_000 * 0.125, "p50 out of range: " + p50);
+        assertTrue(Math.abs(p99 - 9_900_000) <= 9_900_000 * 0.125, "p99 out of range: " + p99);
+        assertEquals(10_000_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testHistogramConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 100_000).parallel().forEach(i -> histogram.record(i));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(99_999, snapshot.getMax());
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertEquals(0.0, snapshot.getMean());
+    }
+
+    @Test
+    void testPublishToSink() {
+        WgpuMetrics.reset();
+        WgpuMetrics.recordBufferWrite(256);
+        WgpuMetrics.recordTextureWrite(1024);
+        WgpuMetrics.recordSubmit(3);
+        WgpuMetrics.recordPipelineCacheHit();
+        WgpuMetrics.recordPipelineCacheHit();
+        WgpuMetrics.recordPipelineCacheHit();
+        WgpuMetrics.recordPipelineCacheMiss();
+
+        Map<String, Double> published = new HashMap<>();
+        WgpuMetrics.publish(new MetricsSink() {
+            @Override
+            public void counter(String name, Map<String, String> tags, long value) {
+                published.put(name, (double) value);
+            }
+
+            @Override
+            public void gauge(String name, Map<String, String> tags, double value) {
+                published.put(name, value);
+            }
+
+            @Override
+            public void histogram(String name, Map<String, String> tags, LatencyHistogram.Snapshot snapshot) {
+                published.put(name, (double) snapshot.getCount());
+            }
+        });
+
+        assertEquals(256.0, published.get(WgpuMetrics.QUEUE_WRITE_BUFFER_BYTES));
+        assertEquals(1024.0, published.get(WgpuMetrics.QUEUE_WRITE_TEXTURE_BYTES));
+        assertEquals(1.0, published.get(WgpuMetrics.QUEUE_SUBMITS));
+        assertEquals(3.0, published.get(WgpuMetrics.QUEUE_SUBMITTED_COMMAND_BUFFERS));
+        assertEquals(0.75, published.get(WgpuMetrics.PIPELINE_CACHE_HIT_RATIO));
+    }
+}
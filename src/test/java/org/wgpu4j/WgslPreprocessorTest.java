@@ -0,0 +1,145 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.utils.WgslPreprocessor;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for assembling WGSL from several files.
+ */
+class WgslPreprocessorTest {
+
+    private static final Map<String, String> FILES = Map.of(
+            "common/math.wgsl", """
+                    fn square(x: f32) -> f32 {
+                        return x * x;
+                    }
+
+                    fn cube(x: f32) -> f32 {
+                        return x * square(x);
+                    }
+
+                    fn unused_helper() -> f32 {
+                        return 1.0;
+                    }
+                    """,
+            "common/bindings.wgsl", """
+                    #import common::math
+                    @group(0) @binding(0) var<storage, read_write> data: array<f32>;
+                    """,
+            "compute/scale.wgsl", """
+                    #import common::math
+                    #include "../common/bindings.wgsl"
+
+                    @compute @workgroup_size(WORKGROUP_SIZE)
+                    fn main(@builtin(global_invocation_id) id: vec3<u32>) {
+                    #ifdef CUBE
+                        data[id.x] = cube(data[id.x]);
+                    #else
+                        data[id.x] = square(data[id.x]);
+                    #endif
+                    }
+                    """,
+            "cycle/a.wgsl", "#include \"cycle/b.wgsl\"\n",
+            "cycle/b.wgsl", "#include \"./a.wgsl\"\n",
+            "broken.wgsl", "#ifdef A\nfn f() {}\n",
+            "double-else.wgsl", "#ifdef A\nfn f() {}\n#else\nfn g() {}\n#else\nfn h() {}\n#endif\n",
+            "comments.wgsl", """
+                    /* SIZE is the
+                       /* nested */ workgroup SIZE */ const size = SIZE; // SIZE
+                    """);
+
+    @Test
+    void testImportsDefinesAndStripping() {
+        WgslPreprocessor preprocessor = new WgslPreprocessor(WgslPreprocessor.SourceLoader.of(FILES));
+
+        String code = preprocessor.preprocess("compute/scale.wgsl", Map.of("WORKGROUP_SIZE", "64")).getCode();
+        assertTrue(code.contains("@workgroup_size(64)"), code);
+        assertTrue(code.contains("data[id.x] = square(data[id.x]);"), code);
+        assertFalse(code.contains("cube"), "unreachable function should be stripped:\n" + code);
+        assertFalse(code.contains("unused_helper"), code);
+        assertFalse(code.contains("#"), code);
+        assertEquals(1, code.split("fn square", -1).length - 1, "imports are inserted once");
+
+        String cubed = preprocessor.preprocess("compute/scale.wgsl", Map.of("WORKGROUP_SIZE", "64", "CUBE", "")).getCode();
+        assertTrue(cubed.contains("fn cube"), cubed);
+        assertTrue(cubed.contains("fn square"), "functions called by reachable functions are kept:\n" + cubed);
+        assertFalse(cubed.contains("unused_helper"), cubed);
+    }
+
+    @Test
+    void testLibrariesAreNotStripped() {
+        WgslPreprocessor preprocessor = new WgslPreprocessor(WgslPreprocessor.SourceLoader.of(FILES));
+        assertTrue(preprocessor.preprocess("common/math.wgsl").getCode().contains("unused_helper"));
+
+        String source = """
+                struct Params { scale: f32 }
+                /* fn commented() {} */
+                fn helper() -> f32 { return 2.0; }
+                fn orphan() {}
+                @fragment fn fs() -> @location(0) vec4<f32> { return vec4<f32>(helper()); }
+                """;
+        String stripped = WgslPreprocessor.stripUnusedFunctions(source);
+        assertTrue(stripped.contains("struct Params"));
+        assertTrue(stripped.contains("fn helper"));
+        assertTrue(stripped.contains("@fragment fn fs"));
+        assertFalse(stripped.contains("orphan"));
+    }
+
+    @Test
+    void testVariantCache() {
+        Map<String, String> files = new HashMap<>(FILES);
+        AtomicInteger loads = new AtomicInteger();
+        WgslPreprocessor preprocessor = new WgslPreprocessor(path -> {
+            loads.incrementAndGet();
+            return WgslPreprocessor.SourceLoader.of(files).load(path);
+        });
+
+        Map<String, String> defines = Map.of("WORKGROUP_SIZE", "64");
+        WgslPreprocessor.Variant first = preprocessor.preprocess("compute/scale.wgsl", defines);
+        int loadsAfterFirst = loads.get();
+        assertEquals(3, loadsAfterFirst);
+        assertEquals(3, first.getDependencies().size());
+
+        assertSame(first, preprocessor.preprocess("compute/scale.wgsl", new HashMap<>(defines)));
+        WgslPreprocessor.Variant cubed = preprocessor.preprocess("compute/scale.wgsl", Map.of("WORKGROUP_SIZE", "64", "CUBE", ""));
+        assertNotEquals(first.getHash(), cubed.getHash());
+        assertEquals(loadsAfterFirst, loads.get(), "files are loaded once");
+        assertEquals(2, preprocessor.getVariantCount());
+        assertEquals(1, preprocessor.getHitCount());
+        assertEquals(2, preprocessor.getMissCount());
+
+        files.put("common/math.wgsl", FILES.get("common/math.wgsl").replace("x * x", "x * x * 1.0"));
+        preprocessor.invalidate("common/math.wgsl");
+        assertEquals(0, preprocessor.getVariantCount());
+        WgslPreprocessor.Variant reloaded = preprocessor.preprocess("compute/scale.wgsl", defines);
+        assertNotSame(first, reloaded);
+        assertNotEquals(first.getHash(), reloaded.getHash());
+        assertTrue(reloaded.getCode().contains("x * x * 1.0"));
+    }
+
+    @Test
+    void testErrors() {
+        WgslPreprocessor preprocessor = new WgslPreprocessor(WgslPreprocessor.SourceLoader.of(FILES));
+        assertThrows(IllegalArgumentException.class, () -> preprocessor.preprocess("cycle/a.wgsl"));
+        assertThrows(IllegalArgumentException.class, () -> preprocessor.preprocess("broken.wgsl"));
+        assertThrows(IllegalArgumentException.class, () -> preprocessor.preprocess("double-else.wgsl"));
+        assertThrows(UncheckedIOException.class, () -> preprocessor.preprocess("missing.wgsl"));
+    }
+
+    @Test
+    void testDefinesAreNotReplacedInComments() {
+        WgslPreprocessor preprocessor = new WgslPreprocessor(WgslPreprocessor.SourceLoader.of(FILES), false);
+        String code = preprocessor.preprocess("comments.wgsl", Map.of("SIZE", "64")).getCode();
+        assertEquals("""
+                /* SIZE is the
+                   /* nested */ workgroup SIZE */ const size = 64; // SIZE
+                """, code.strip() + "\n");
+    }
+}
@@ -0,0 +1,214 @@
+package org.wgpu4j;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.constant.BufferBindingType;
+import org.wgpu4j.constant.SamplerBindingType;
+import org.wgpu4j.constant.ShaderStageFlags;
+import org.wgpu4j.constant.StorageTextureAccess;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureSampleType;
+import org.wgpu4j.constant.TextureViewDimension;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.BindGroupLayoutCache;
+import org.wgpu4j.resource.*;
+import org.wgpu4j.utils.WgslReflection;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for deriving bind group layouts from WGSL.
+ */
+class WgslReflectionTest {
+
+    private static final String RENDER_SHADER = """
+            struct Camera { view_proj: mat4x4<f32> }
+
+            @group(0) @binding(0) var<uniform> camera: Camera;
+            @group(1) @binding(1) var color_sampler: sampler;
+            @group(1) @binding(0) var color: texture_2d<f32>;
+            @group(1) @binding(2) var shadow: texture_depth_2d;
+            @group(1) @binding(3) var shadow_sampler: sampler_comparison;
+            // @group(2) @binding(0) var<uniform> commented_out: f32;
+
+            fn project(position: vec3<f32>) -> vec4<f32> {
+                return camera.view_proj * vec4<f32>(position, 1.0);
+            }
+
+            @vertex
+            fn vs_main(@location(0) position: vec3<f32>) -> @builtin(position) vec4<f32> {
+                return project(position);
+            }
+
+            @fragment
+            fn fs_main(@builtin(position) position: vec4<f32>) -> @location(0) vec4<f32> {
+                let lit = textureSampleCompare(shadow, shadow_sampler, position.xy, position.z);
+                return textureSample(color, color_sampler, position.xy) * lit;
+            }
+            """;
+
+    private static final String COMPUTE_SHADER = """
+            @group(0) @binding(0) var<storage, read> input: array<f32>;
+            @group(0) @binding(1) var<storage, read_write> output: array<f32>;
+            @group(0) @binding(2) var image: texture_storage_2d<rgba8unorm, write>;
+
+            @compute @workgroup_size(64)
+            fn main(@builtin(global_invocation_id) id: vec3<u32>) {
+                output[id.x] = input[id.x] * 2.0;
+                textureStore(image, vec2<u32>(id.x, 0u), vec4<f32>(1.0));
+            }
+            """;
+
+    @Test
+    void testReflectRenderShader() {
+        WgslReflection reflection = WgslReflection.reflect(RENDER_SHADER);
+
+        assertEquals(Map.of(ShaderStageFlags.VERTEX, List.of("vs_main"), ShaderStageFlags.FRAGMENT, List.of("fs_main")),
+                reflection.getEntryPoints());
+        assertEquals(2, reflection.getGroupCount());
+        assertEquals(5, reflection.getResources().size());
+
+        WgslReflection.Resource camera = reflection.getResources().get(0);
+        assertEquals("camera", camera.getName());
+        assertEquals(EnumSet.of(ShaderStageFlags.VERTEX), camera.getVisibility(), "used through project()");
+        assertEquals(BufferBindingType.UNIFORM, camera.getEntry().getBufferType());
+
+        List<BindGroupLayoutEntry> material = reflection.getBindGroupLayout(1).getEntries();
+        assertEquals(List.of(0, 1, 2, 3), material.stream().map(BindGroupLayoutEntry::getBinding).toList());
+        assertEquals(TextureSampleType.FLOAT, material.get(0).getTextureBindingLayout().getSampleType());
+        assertEquals(SamplerBindingType.FILTERING, material.get(1).getSamplerBindingLayout().getType());
+        assertEquals(TextureSampleType.DEPTH, material.get(2).getTextureBindingLayout().getSampleType());
+        assertEquals(SamplerBindingType.COMPARISON, material.get(3).getSamplerBindingLayout().getType());
+        for (BindGroupLayoutEntry entry : material) {
+            assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT), entry.getVisibility());
+        }
+    }
+
+    @Test
+    void testReflectComputeShader() {
+        List<WgslReflection.Resource> resources = WgslReflection.reflect(COMPUTE_SHADER).getResources();
+
+        assertEquals(BufferBindingType.READ_ONLY_STORAGE, resources.get(0).getEntry().getBufferType());
+        assertEquals(BufferBindingType.STORAGE, resources.get(1).getEntry().getBufferType());
+        StorageTextureBindingLayout image = resources.get(2).getEntry().getStorageTextureBindingLayout();
+        assertEquals(TextureFormat.RGBA8_UNORM, image.getFormat());
+        assertEquals(StorageTextureAccess.WRITE_ONLY, image.getAccess());
+        assertEquals(TextureViewDimension.TWO_D, image.getViewDimension());
+        for (WgslReflection.Resource resource : resources) {
+            assertEquals(EnumSet.of(ShaderStageFlags.COMPUTE), resource.getVisibility());
+        }
+    }
+
+    @Test
+    void testMergeSeparateModules() {
+        WgslReflection vertex = WgslReflection.reflect("""
+                @group(0) @binding(0) var<uniform> transform: mat4x4<f32>;
+                @vertex fn main(@location(0) p: vec4<f32>) -> @builtin(position) vec4<f32> { return transform * p; }
+                """);
+        WgslReflection fragment = WgslReflection.reflect("""
+                @group(0) @binding(0) var<uniform> transform: mat4x4<f32>;
+                @group(0) @binding(1) var<uniform> tint: vec4<f32>;
+                @fragment fn main() -> @location(0) vec4<f32> { return tint; }
+                """);
+
+        WgslReflection merged = WgslReflection.merge(vertex, fragment);
+        assertEquals(Map.of(ShaderStageFlags.VERTEX, List.of("main"), ShaderStageFlags.FRAGMENT, List.of("main")),
+                merged.getEntryPoints(), "both modules name their entry point main");
+        assertEquals(EnumSet.of(ShaderStageFlags.VERTEX, ShaderStageFlags.FRAGMENT),
+                merged.getResources().get(0).getVisibility(), "unused in the fragment module, so visible to its stage");
+        assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT), merged.getResources().get(1).getVisibility());
+
+        WgslReflection conflicting = WgslReflection.reflect("""
+                @group(0) @binding(0) var<storage, read> transform: array<f32>;
+                @fragment fn main() -> @location(0) vec4<f32> { return vec4<f32>(transform[0]); }
+                """);
+        assertThrows(IllegalArgumentException.class, () -> WgslReflection.merge(vertex, conflicting));
+    }
+
+    @Test
+    void testUnusedWritableStorageIsNotVisibleToVertex() {
+        String shader = """
+                @group(0) @binding(0) var<storage, read_write> unused_buffer: array<f32>;
+                @group(0) @binding(1) var unused_image: texture_storage_2d<rgba8unorm, write>;
+                @group(0) @binding(2) var<storage, read> unused_input: array<f32>;
+                @vertex fn vs_main() -> @builtin(position) vec4<f32> { return vec4<f32>(0.0); }
+                @fragment fn fs_main() -> @location(0) vec4<f32> { return vec4<f32>(1.0); }
+                """;
+        List<WgslReflection.Resource> resources = WgslReflection.reflect(shader).getResources();
+        assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT), resources.get(0).getVisibility());
+        assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT), resources.get(0).getEntry().getVisibility());
+        assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT), resources.get(1).getVisibility());
+        assertEquals(EnumSet.of(ShaderStageFlags.VERTEX, ShaderStageFlags.FRAGMENT), resources.get(2).getVisibility(),
+                "read-only storage stays visible to every stage");
+
+        WgslReflection vertex = WgslReflection.reflect("""
+                @group(0) @binding(0) var<storage, read_write> counters: array<u32>;
+                @vertex fn main() -> @builtin(position) vec4<f32> { return vec4<f32>(0.0); }
+                """);
+        WgslReflection fragment = WgslReflection.reflect("""
+                @group(0) @binding(0) var<storage, read_write> counters: array<u32>;
+                @fragment fn main() -> @location(0) vec4<f32> { counters[0] = 1u; return vec4<f32>(1.0); }
+                """);
+        assertEquals(EnumSet.of(ShaderStageFlags.FRAGMENT),
+                WgslReflection.merge(vertex, fragment).getResources().get(0).getEntry().getVisibility());
+    }
+
+    @Test
+    void testRejectsUnsupportedDeclarations() {
+        assertThrows(IllegalArgumentException.class, () -> WgslReflection.reflect(
+                "@group(0) var<uniform> x: f32;"));
+        assertThrows(IllegalArgumentException.class, () -> WgslReflection.reflect(
+                "@group(0) @binding(0) var video: texture_external;"));
+        assertThrows(IllegalArgumentException.class, () -> WgslReflection.reflect(
+                "@group(0) @binding(0) var<uniform> a: f32;\n@group(0) @binding(0) var<uniform> b: f32;"));
+    }
+
+    @Test
+    void testLayoutCacheSharesLayouts() throws Exception {
+        String otherShader = COMPUTE_SHADER.replace("* 2.0", "+ 1.0").replace("fn main", "fn add_one");
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             BindGroupLayoutCache layouts = new BindGroupLayoutCache(device);
+             ShaderModule first = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(COMPUTE_SHADER)
+                     .build());
+             ShaderModule second = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .wgslCode(otherShader)
+                     .build())) {
+
+            PipelineLayout firstLayout = layouts.getPipelineLayout(WgslReflection.reflect(COMPUTE_SHADER));
+            PipelineLayout secondLayout = layouts.getPipelineLayout(WgslReflection.reflect(otherShader));
+            assertSame(firstLayout, secondLayout);
+            assertEquals(1, layouts.getBindGroupLayoutCount());
+            assertEquals(1, layouts.getPipelineLayoutCount());
+
+            // The same entries declared in a different order resolve to the same layout.
+            List<BindGroupLayoutEntry> entries = WgslReflection.reflect(COMPUTE_SHADER).getBindGroupLayout(0).getEntries();
+            BindGroupLayoutDescriptor.Builder reversed = BindGroupLayoutDescriptor.builder().label("reversed");
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                reversed.entry(entries.get(i));
+            }
+            assertSame(layouts.getBindGroupLayouts(WgslReflection.reflect(COMPUTE_SHADER)).get(0),
+                    layouts.getBindGroupLayout(reversed.build()));
+
+            try (ComputePipeline a = device.createComputePipeline(ComputePipelineDescriptor.builder()
+                         .pipelineLayout(firstLayout)
+                         .computeShader(first)
+                         .entryPoint("main")
+                         .build());
+                 ComputePipeline b = device.createComputePipeline(ComputePipelineDescriptor.builder()
+                         .pipelineLayout(secondLayout)
+                         .computeShader(second)
+                         .entryPoint("add_one")
+                         .build())) {
+                assertNotNull(a);
+                assertNotNull(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.wgpu4j.descriptor;
+
+import org.junit.jupiter.api.Test;
+import org.wgpu4j.resource.Adapter;
+import org.wgpu4j.resource.Device;
+import org.wgpu4j.resource.DeviceErrorListener;
+import org.wgpu4j.resource.Instance;
+
+import java.lang.foreign.Arena;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that device error routes are released with the device or request they belong to.
+ */
+class DeviceCallbacksTest {
+
+    private static final DeviceErrorListener IGNORE = (type, message) -> {
+    };
+
+    @Test
+    void testRouteReleasedWithMarshalArena() {
+        int before = DeviceCallbacks.getRouteCount();
+        try (Arena arena = Arena.ofConfined()) {
+            DeviceDescriptor.builder().errorListener(IGNORE).build().marshal(arena);
+            assertEquals(before + 1, DeviceCallbacks.getRouteCount());
+        }
+        assertEquals(before, DeviceCallbacks.getRouteCount());
+    }
+
+    @Test
+    void testRouteReleasedAfterDeviceClose() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS)) {
+            int before = DeviceCallbacks.getRouteCount();
+            Device device = adapter.requestDevice(DeviceDescriptor.builder()
+                    .errorListener(IGNORE)
+                    .build()).get(5, TimeUnit.SECONDS);
+            assertEquals(before + 1, DeviceCallbacks.getRouteCount());
+            device.close();
+            assertEquals(before, DeviceCallbacks.getRouteCount());
+        }
+    }
+
+    @Test
+    void testRouteReleasedAfterFailedRequest() throws Exception {
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS)) {
+            int before = DeviceCallbacks.getRouteCount();
+            DeviceDescriptor impossible = DeviceDescriptor.builder()
+                    .requiredLimits(Limits.builder().maxBindGroups(Integer.MAX_VALUE).build())
+                    .errorListener(IGNORE)
+                    .build();
+            assertThrows(ExecutionException.class, () -> adapter.requestDevice(impossible).get(5, TimeUnit.SECONDS));
+            assertEquals(before, DeviceCallbacks.getRouteCount());
+        }
+    }
+}
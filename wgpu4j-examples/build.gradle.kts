@@ -51,9 +51,10 @@ tasks.withType<Test> {
 
 
 application {
-    mainClass = "org.wgpu4j.examples.TriangleExample"
+    mainClass = (project.findProperty("mainClass") as String?) ?: "org.wgpu4j.examples.TriangleExample"
 
-    val jvmArgs = mutableListOf("--enable-native-access=ALL-UNNAMED")
+    // The examples add the Vector API module so the benchmarks use the vectorized packing kernels.
+    val jvmArgs = mutableListOf("--enable-native-access=ALL-UNNAMED", "--add-modules=jdk.incubator.vector")
 
 
     if (System.getProperty("os.name").lowercase().contains("mac")) {
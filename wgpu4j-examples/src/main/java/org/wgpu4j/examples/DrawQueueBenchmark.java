@@ -0,0 +1,120 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.DrawQueue;
+import org.wgpu4j.resource.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DrawQueue} at 100k draws per frame: filling the queue, sorting it, and emitting
+ * it into a render bundle. Usage:
+ * <pre>
+ * ../gradlew run -PmainClass=org.wgpu4j.examples.DrawQueueBenchmark --args="100000"
+ * </pre>
+ */
+public class DrawQueueBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DrawQueueBenchmark.class);
+
+    private static final int WARMUP_FRAMES = 50;
+    private static final int MEASURED_FRAMES = 200;
+    private static final int PIPELINES = 8;
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32) -> @builtin(position) vec4<f32> {
+                return vec4<f32>(f32(i) * 0.01, 0.0, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 1.0, 1.0, 1.0);
+            }
+            """;
+
+    public static void main(String[] args) throws Exception {
+        int drawCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .label("benchmark")
+                     .wgslCode(SHADER)
+                     .build())) {
+
+            DrawQueue queue = new DrawQueue(drawCount);
+            int[] pipelineIds = new int[PIPELINES];
+            RenderPipeline[] pipelines = new RenderPipeline[PIPELINES];
+            for (int i = 0; i < PIPELINES; i++) {
+                pipelines[i] = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                        .label("benchmark-" + i)
+                        .vertexShader(shader)
+                        .fragmentShader(shader)
+                        .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                        .build());
+                pipelineIds[i] = queue.registerPipeline(pipelines[i]);
+            }
+
+            Random random = new Random(1);
+            int[] drawPipeline = new int[drawCount];
+            float[] drawDepth = new float[drawCount];
+            for (int i = 0; i < drawCount; i++) {
+                drawPipeline[i] = pipelineIds[random.nextInt(PIPELINES)];
+                drawDepth[i] = random.nextFloat();
+            }
+
+            RenderBundleEncoderDescriptor bundleFormat = RenderBundleEncoderDescriptor.builder()
+                    .label("benchmark")
+                    .colorFormat(TextureFormat.RGBA8_UNORM)
+                    .build();
+
+            long[] fillNanos = new long[MEASURED_FRAMES];
+            long[] sortNanos = new long[MEASURED_FRAMES];
+            long[] emitNanos = new long[MEASURED_FRAMES];
+
+            for (int frame = 0; frame < WARMUP_FRAMES + MEASURED_FRAMES; frame++) {
+                long start = System.nanoTime();
+                queue.clear();
+                for (int i = 0; i < drawCount; i++) {
+                    int pipeline = drawPipeline[i];
+                    queue.add(DrawQueue.sortKey(pipeline, 0, 0, drawDepth[i]), pipeline, DrawQueue.NONE, 3, 1, 0, i);
+                }
+                long filled = System.nanoTime();
+                queue.sort();
+                long sorted = System.nanoTime();
+                try (RenderBundleEncoder encoder = device.createRenderBundleEncoder(bundleFormat)) {
+                    queue.emit(encoder);
+                    encoder.finish().close();
+                }
+                long emitted = System.nanoTime();
+
+                if (frame >= WARMUP_FRAMES) {
+                    int sample = frame - WARMUP_FRAMES;
+                    fillNanos[sample] = filled - start;
+                    sortNanos[sample] = sorted - filled;
+                    emitNanos[sample] = emitted - sorted;
+                }
+            }
+
+            logger.info(String.format("draws=%d fill=%.3f ms sort=%.3f ms emit=%.3f ms state changes=%d",
+                    drawCount, median(fillNanos), median(sortNanos), median(emitNanos), queue.getLastStateChangeCount()));
+
+            for (RenderPipeline pipeline : pipelines) {
+                pipeline.close();
+            }
+        }
+    }
+
+    private static double median(long[] samples) {
+        long[] copy = samples.clone();
+        Arrays.sort(copy);
+        return copy[copy.length / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,92 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.BufferUsage;
+import org.wgpu4j.constant.ErrorFilter;
+import org.wgpu4j.descriptor.BufferDescriptor;
+import org.wgpu4j.descriptor.DeviceDescriptor;
+import org.wgpu4j.resource.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the per-operation cost of the debug and production instance profiles, with every operation wrapped
+ * in an error scope and with errors routed to a {@link DeviceErrorListener}. One operation creates a buffer,
+ * uploads to it, and submits an empty command buffer. Usage:
+ * <pre>
+ * ../gradlew run -PmainClass=org.wgpu4j.examples.ErrorHandlingBenchmark --args="2000"
+ * </pre>
+ */
+public class ErrorHandlingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorHandlingBenchmark.class);
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 7;
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        for (boolean production : new boolean[]{false, true}) {
+            for (boolean scoped : new boolean[]{true, false}) {
+                double micros = measure(production, scoped, operations);
+                logger.info(String.format("%-10s %-8s %.2f us/op",
+                        production ? "production" : "debug", scoped ? "scopes" : "listener", micros));
+            }
+        }
+    }
+
+    private static double measure(boolean production, boolean scoped, int operations) throws Exception {
+        AtomicLong errors = new AtomicLong();
+        byte[] data = new byte[256];
+
+        try (Instance instance = production ? Instance.createProduction() : Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice(DeviceDescriptor.builder()
+                     .label("ErrorHandlingBenchmark")
+                     .errorListener((type, message) -> errors.incrementAndGet())
+                     .build()).get(5, TimeUnit.SECONDS);
+             Queue queue = device.getQueue()) {
+
+            BufferDescriptor bufferDescriptor = BufferDescriptor.builder()
+                    .size(data.length)
+                    .usage(BufferUsage.UNIFORM | BufferUsage.COPY_DST)
+                    .build();
+
+            long[] samples = new long[MEASURED_ROUNDS];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    if (scoped) {
+                        device.pushErrorScope(ErrorFilter.VALIDATION);
+                    }
+                    try (Buffer buffer = device.createBuffer(bufferDescriptor);
+                         CommandEncoder encoder = device.createCommandEncoder();
+                         CommandBuffer commands = encoder.finish()) {
+                        queue.writeBuffer(buffer, 0, data);
+                        queue.submit(commands);
+                    }
+                    if (scoped) {
+                        String error = device.popErrorScope().get(5, TimeUnit.SECONDS);
+                        if (error != null) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                if (round >= WARMUP_ROUNDS) {
+                    samples[round - WARMUP_ROUNDS] = elapsed;
+                }
+            }
+
+            if (errors.get() != 0) {
+                logger.warn("{} errors reported during the run", errors.get());
+            }
+            Arrays.sort(samples);
+            return samples[samples.length / 2] / 1000.0 / operations;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.descriptor.RenderPassColorAttachment;
+import org.wgpu4j.descriptor.RenderPassDescriptor;
+import org.wgpu4j.render.HeadlessRenderer;
+import org.wgpu4j.resource.RenderPassEncoder;
+
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Compares {@link HeadlessRenderer} with pipelined readback against a naive loop that waits for every
+ * frame to be read back before rendering the next one. Usage:
+ * <pre>
+ * ../gradlew run -PmainClass=org.wgpu4j.examples.HeadlessRenderBenchmark --args="1920 1080 300 fallback"
+ * </pre>
+ * Pass {@code fallback} as the fourth argument to force the software adapter.
+ */
+public class HeadlessRenderBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessRenderBenchmark.class);
+
+    private static final int WARMUP_FRAMES = 20;
+
+    private static final HeadlessRenderer.FrameCallback CLEAR = (encoder, target, frameIndex) -> {
+        double t = (frameIndex % 100) / 100.0;
+        try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                .colorAttachment(RenderPassColorAttachment.builder()
+                        .view(target)
+                        .clearColor(t, 1.0 - t, 0.5, 1.0)
+                        .build())
+                .build())) {
+            pass.end();
+        }
+    };
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 1920;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 1080;
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+        boolean fallback = args.length > 3 && args[3].equals("fallback");
+
+        double naive = measure(width, height, frames, 1, fallback, true);
+        double pipelined = measure(width, height, frames, HeadlessRenderer.DEFAULT_FRAMES_IN_FLIGHT, fallback, false);
+
+        logger.info(String.format("%dx%d naive=%.1f fps pipelined=%.1f fps (%.2fx)",
+                width, height, naive, pipelined, pipelined / naive));
+    }
+
+    private static double measure(int width, int height, int frames, int framesInFlight, boolean fallback, boolean waitEachFrame) {
+        long[] checksum = new long[1];
+        try (HeadlessRenderer renderer = HeadlessRenderer.builder()
+                .size(width, height)
+                .framesInFlight(framesInFlight)
+                .forceFallbackAdapter(fallback)
+                .sink(frame -> checksum[0] += frame.getPixels().get(ValueLayout.JAVA_BYTE, 0))
+                .build()) {
+
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                renderer.render(CLEAR);
+            }
+            renderer.flush();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                renderer.render(CLEAR);
+                if (waitEachFrame) {
+                    renderer.flush();
+                }
+            }
+            renderer.flush();
+            long elapsed = System.nanoTime() - start;
+
+            logger.debug("checksum {}", checksum[0]);
+            return frames / (elapsed / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.TextureFormat;
+import org.wgpu4j.constant.TextureUsage;
+import org.wgpu4j.descriptor.*;
+import org.wgpu4j.render.DrawCommand;
+import org.wgpu4j.render.ParallelPassRecorder;
+import org.wgpu4j.resource.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link ParallelPassRecorder} scales with the number of recording threads.
+ * <p>
+ * Records the same draw list with 1, 2, 4, 8 and 16 worker threads and reports the median time to
+ * record the bundles and execute them in an offscreen render pass. Usage:
+ * <pre>
+ * ../gradlew run -PmainClass=org.wgpu4j.examples.ParallelRecordingBenchmark --args="50000"
+ * </pre>
+ */
+public class ParallelRecordingBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRecordingBenchmark.class);
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 15;
+
+    private static final String SHADER = """
+            @vertex
+            fn vs_main(@builtin(vertex_index) i: u32, @builtin(instance_index) inst: u32) -> @builtin(position) vec4<f32> {
+                let x = f32(inst % 256u) / 128.0 - 1.0;
+                let y = f32(inst / 256u % 256u) / 128.0 - 1.0;
+                return vec4<f32>(x + f32(i) * 0.004, y + f32(i & 1u) * 0.004, 0.0, 1.0);
+            }
+
+            @fragment
+            fn fs_main() -> @location(0) vec4<f32> {
+                return vec4<f32>(1.0, 1.0, 1.0, 1.0);
+            }
+            """;
+
+    public static void main(String[] args) throws Exception {
+        int drawCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        try (Instance instance = Instance.create();
+             Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS);
+             Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS);
+             ShaderModule shader = device.createShaderModule(ShaderModuleDescriptor.builder()
+                     .label("benchmark")
+                     .wgslCode(SHADER)
+                     .build());
+             RenderPipeline pipeline = device.createRenderPipeline(RenderPipelineDescriptor.builder()
+                     .label("benchmark")
+                     .vertexShader(shader)
+                     .fragmentShader(shader)
+                     .colorTarget(ColorTargetState.builder().format(TextureFormat.RGBA8_UNORM).build())
+                     .build());
+             Texture target = device.createTexture(TextureDescriptor.builder()
+                     .label("benchmark/target")
+                     .size(256, 256)
+                     .format(TextureFormat.RGBA8_UNORM)
+                     .usage(TextureUsage.RENDER_ATTACHMENT)
+                     .build());
+             TextureView view = target.createView()) {
+
+            List<DrawCommand> draws = new ArrayList<>(drawCount);
+            for (int i = 0; i < drawCount; i++) {
+                draws.add(DrawCommand.builder()
+                        .pipeline(pipeline)
+                        .draw(3, 1, 0, i)
+                        .build());
+            }
+
+            RenderBundleEncoderDescriptor bundleFormat = RenderBundleEncoderDescriptor.builder()
+                    .label("benchmark")
+                    .colorFormat(TextureFormat.RGBA8_UNORM)
+                    .build();
+
+            logger.info("Recording {} draws on {} available processors", drawCount, Runtime.getRuntime().availableProcessors());
+            double baseline = 0;
+            for (int threads : THREAD_COUNTS) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    ParallelPassRecorder recorder = new ParallelPassRecorder(device, bundleFormat, pool, 256);
+                    double millis = measure(device, view, recorder, draws);
+                    if (threads == 1) {
+                        baseline = millis;
+                    }
+                    logger.info(String.format("threads=%2d bundles=%2d median=%8.2f ms speedup=%5.2fx",
+                            threads, recorder.getChunkCount(drawCount), millis, baseline / millis));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    private static double measure(Device device, TextureView view, ParallelPassRecorder recorder,
+                                  List<DrawCommand> draws) {
+        long[] samples = new long[MEASURED_ITERATIONS];
+        try (Queue queue = device.getQueue()) {
+            for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASURED_ITERATIONS; iteration++) {
+                try (CommandEncoder encoder = device.createCommandEncoder()) {
+                    long start = System.nanoTime();
+                    try (RenderPassEncoder pass = encoder.beginRenderPass(RenderPassDescriptor.builder()
+                            .colorAttachment(RenderPassColorAttachment.builder().view(view).build())
+                            .build())) {
+                        recorder.recordInto(pass, draws);
+                        pass.end();
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (iteration >= WARMUP_ITERATIONS) {
+                        samples[iteration - WARMUP_ITERATIONS] = elapsed;
+                    }
+                    try (CommandBuffer commands = encoder.finish()) {
+                        queue.submit(commands);
+                    }
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2] / 1_000_000.0;
+    }
+}
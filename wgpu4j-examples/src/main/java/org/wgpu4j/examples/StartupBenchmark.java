@@ -0,0 +1,197 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.WgpuNative;
+import org.wgpu4j.resource.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a fresh JVM takes to reach its first {@link Device} and its first {@link Queue#submit},
+ * with and without a class archive trained on that same path. Every run is a new JVM, since only the first
+ * pass through the binding classes pays for loading, linking and initializing them.
+ * <p>
+ * Archives only hold classes loaded from JARs, so run it from the installed distribution rather than with
+ * {@code gradlew run}. Create an archive with a training run, then compare:
+ * <pre>
+ * ../gradlew installDist -PmainClass=org.wgpu4j.examples.StartupBenchmark
+ * build/install/wgpu4j-examples/bin/wgpu4j-examples train build/startup.aot
+ * build/install/wgpu4j-examples/bin/wgpu4j-examples 10 build/startup.aot
+ * </pre>
+ * A path ending in {@code .aot} creates a JEP 483 AOT cache (JDK 24+), which also keeps classes linked. A
+ * path ending in {@code .jsa} creates a dynamic AppCDS archive instead.
+ */
+public class StartupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final String CHILD = "child";
+    private static final String RESULT_PREFIX = "STARTUP ";
+    private static final String[] PHASES = {"main", "native", "instance", "adapter", "device", "submit"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CHILD)) {
+            runChild();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("train")) {
+            train(Path.of(args.length > 1 ? args[1] : "build/startup.aot"));
+            return;
+        }
+
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path archive = args.length > 1 ? Path.of(args[1]) : null;
+
+        report("default", measure(runs, List.of()));
+        if (archive != null) {
+            if (!Files.exists(archive)) {
+                logger.error("Archive {} does not exist, create it with: train {}", archive, archive);
+                return;
+            }
+            checkClassPathIsJars();
+            report(archive.getFileName().toString(), measure(runs, useArchiveFlags(archive)));
+        }
+    }
+
+    /**
+     * Walks the startup path once and prints the time of each phase, in milliseconds since the JVM started.
+     */
+    private static void runChild() throws Exception {
+        long mainStart = System.nanoTime();
+        long[] phases = new long[PHASES.length];
+
+        WgpuNative.ensureLoaded();
+        phases[1] = System.nanoTime();
+        try (Instance instance = Instance.create()) {
+            phases[2] = System.nanoTime();
+            try (Adapter adapter = instance.requestAdapter().get(5, TimeUnit.SECONDS)) {
+                phases[3] = System.nanoTime();
+                try (Device device = adapter.requestDevice().get(5, TimeUnit.SECONDS)) {
+                    phases[4] = System.nanoTime();
+                    try (Queue queue = device.getQueue();
+                         CommandEncoder encoder = device.createCommandEncoder();
+                         CommandBuffer commands = encoder.finish()) {
+                        queue.submit(commands);
+                    }
+                    phases[5] = System.nanoTime();
+                }
+            }
+        }
+
+        // Uptime is read last: the management classes would otherwise be counted in the first phase.
+        double mainMillis = ManagementFactory.getRuntimeMXBean().getUptime()
+                - (System.nanoTime() - mainStart) / 1_000_000.0;
+        StringBuilder line = new StringBuilder(RESULT_PREFIX);
+        for (int i = 0; i < PHASES.length; i++) {
+            double millis = i == 0 ? mainMillis : mainMillis + (phases[i] - mainStart) / 1_000_000.0;
+            line.append(PHASES[i]).append('=').append(String.format("%.1f", millis)).append(' ');
+        }
+        System.out.println(line.toString().trim());
+    }
+
+    /**
+     * Runs the startup path in a JVM that records the classes it uses, then builds the archive from them.
+     */
+    private static void train(Path archive) throws Exception {
+        checkClassPathIsJars();
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        if (archive.toString().endsWith(".jsa")) {
+            runChildJvm(List.of("-XX:ArchiveClassesAtExit=" + archive));
+        } else {
+            Path configuration = Path.of(archive + "conf");
+            runChildJvm(List.of("-XX:AOTMode=record", "-XX:AOTConfiguration=" + configuration));
+            runJvm(List.of("-XX:AOTMode=create", "-XX:AOTConfiguration=" + configuration, "-XX:AOTCache=" + archive));
+            Files.deleteIfExists(configuration);
+        }
+        logger.info("Created {} ({} KiB)", archive, Files.size(archive) / 1024);
+    }
+
+    private static void checkClassPathIsJars() {
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (Files.isDirectory(Path.of(entry))) {
+                throw new IllegalStateException("Class archives need a class path of JARs, but " + entry
+                        + " is a directory. Run the installDist distribution instead of gradlew run.");
+            }
+        }
+    }
+
+    private static List<String> useArchiveFlags(Path archive) {
+        if (archive.toString().endsWith(".jsa")) {
+            return List.of("-XX:SharedArchiveFile=" + archive);
+        }
+        return List.of("-XX:AOTCache=" + archive);
+    }
+
+    private static double[][] measure(int runs, List<String> flags) throws Exception {
+        double[][] samples = new double[PHASES.length][runs];
+        for (int run = 0; run < runs; run++) {
+            String result = runChildJvm(flags);
+            String[] fields = result.substring(RESULT_PREFIX.length()).split(" ");
+            for (int i = 0; i < PHASES.length; i++) {
+                samples[i][run] = Double.parseDouble(fields[i].substring(fields[i].indexOf('=') + 1));
+            }
+        }
+        return samples;
+    }
+
+    private static void report(String label, double[][] samples) {
+        StringBuilder line = new StringBuilder(String.format("%-12s", label));
+        for (int i = 0; i < PHASES.length; i++) {
+            line.append(String.format(" %s=%.1fms", PHASES[i], median(samples[i])));
+        }
+        logger.info(line.toString());
+    }
+
+    private static String runChildJvm(List<String> flags) throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(flags);
+        arguments.add(StartupBenchmark.class.getName());
+        arguments.add(CHILD);
+        String output = runJvm(arguments);
+        return output.lines()
+                .filter(line -> line.startsWith(RESULT_PREFIX))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Startup run printed no result:\n" + output));
+    }
+
+    /**
+     * Starts a JVM with this JVM's class path and options, so archives match the runs that use them.
+     */
+    private static String runJvm(List<String> arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!option.startsWith("-XX:AOT") && !option.startsWith("-XX:SharedArchiveFile")
+                    && !option.startsWith("-XX:ArchiveClassesAtExit") && !option.startsWith("-agentlib")) {
+                command.add(option);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(arguments);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("JVM exited with " + process.exitValue() + ": " + command + "\n" + output);
+        }
+        return output;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
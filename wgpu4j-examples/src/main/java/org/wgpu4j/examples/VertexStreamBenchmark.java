@@ -0,0 +1,86 @@
+package org.wgpu4j.examples;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wgpu4j.constant.VertexFormat;
+import org.wgpu4j.descriptor.VertexAttribute;
+import org.wgpu4j.descriptor.VertexBufferLayout;
+import org.wgpu4j.utils.VertexStreamBuilder;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures {@link VertexStreamBuilder} throughput in GB/s with the Vector API kernels and with the
+ * scalar fallback, packing a typical mesh layout (float3 position, snorm8x4 normal, half2 uv,
+ * unorm8x4 color). Usage:
+ * <pre>
+ * ../gradlew run -PmainClass=org.wgpu4j.examples.VertexStreamBenchmark --args="1000000"
+ * </pre>
+ */
+public class VertexStreamBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(VertexStreamBenchmark.class);
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        int vertexCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        VertexBufferLayout layout = VertexBufferLayout.builder()
+                .arrayStride(24)
+                .attribute(VertexAttribute.builder().shaderLocation(0).format(VertexFormat.FLOAT32X3).offset(0).build())
+                .attribute(VertexAttribute.builder().shaderLocation(1).format(VertexFormat.SNORM8X4).offset(12).build())
+                .attribute(VertexAttribute.builder().shaderLocation(2).format(VertexFormat.FLOAT16X2).offset(16).build())
+                .attribute(VertexAttribute.builder().shaderLocation(3).format(VertexFormat.UNORM8X4).offset(20).build())
+                .build();
+
+        Random random = new Random(1);
+        float[] positions = fill(random, vertexCount * 3, -100f, 100f);
+        float[] normals = fill(random, vertexCount * 3, -1f, 1f);
+        float[] uvs = fill(random, vertexCount * 2, 0f, 1f);
+        float[] colors = fill(random, vertexCount * 4, 0f, 1f);
+        long inputBytes = (long) (positions.length + normals.length + uvs.length + colors.length) * Float.BYTES;
+
+        logger.info("Vector API available: {}", VertexStreamBuilder.isVectorApiAvailable());
+
+        try (Arena arena = Arena.ofConfined()) {
+            for (boolean scalar : new boolean[]{true, false}) {
+                VertexStreamBuilder builder = new VertexStreamBuilder(layout, vertexCount)
+                        .attribute(0, positions)
+                        .attribute(1, normals, 3)
+                        .attribute(2, uvs)
+                        .attribute(3, colors)
+                        .forceScalar(scalar);
+                MemorySegment output = arena.allocate(builder.getByteSize(), Float.BYTES);
+
+                long[] samples = new long[MEASURED_ITERATIONS];
+                for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+                    long start = System.nanoTime();
+                    builder.writeTo(output, 0);
+                    long elapsed = System.nanoTime() - start;
+                    if (i >= WARMUP_ITERATIONS) {
+                        samples[i - WARMUP_ITERATIONS] = elapsed;
+                    }
+                }
+
+                Arrays.sort(samples);
+                double seconds = samples[samples.length / 2] / 1_000_000_000.0;
+                logger.info(String.format("%-7s vertices=%d read=%.2f GB/s written=%.2f GB/s (%.3f ms)",
+                        builder.isVectorized() ? "vector" : "scalar", vertexCount,
+                        inputBytes / seconds / 1e9, builder.getByteSize() / seconds / 1e9, seconds * 1000));
+            }
+        }
+    }
+
+    private static float[] fill(Random random, int length, float min, float max) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = min + random.nextFloat() * (max - min);
+        }
+        return values;
+    }
+}